@@ -1,5 +1,7 @@
 package it.polimi.se2018;
 
+import it.polimi.se2018.controller.MatchMaker;
+import it.polimi.se2018.controller.ObjectiveRegistry;
 import it.polimi.se2018.networking.server.HybridServer;
 import it.polimi.se2018.utils.*;
 import it.polimi.se2018.view.ClientView;
@@ -66,6 +68,8 @@ public class App {
         try {
             XmlServerConfigLoader serverConfigLoader = new XmlServerConfigLoader(parser.getConfigLocation());
             ServerConfiguration configuration = serverConfigLoader.loadConfiguration();
+            //the public objectives are loaded once for all the games
+            ObjectiveRegistry.getInstance();
 
             HybridServer server = new HybridServer(configuration.getAddress(),
                     configuration.getServiceName(), configuration.getPortNumber());
@@ -73,6 +77,8 @@ public class App {
             Scanner in = new Scanner(System.in);
             String cmd = in.nextLine();
             while (!cmd.equalsIgnoreCase("quit")) {
+                if (cmd.equalsIgnoreCase("status"))
+                    logStatus();
                 cmd = in.nextLine();
             }
             server.stop();
@@ -81,6 +87,20 @@ public class App {
         }
     }
 
+    /**
+     * Logs the status of the server: the timers waiting to be run, how late
+     * they start and how the lobbies are being filled.
+     */
+    private static void logStatus() {
+        Scheduler scheduler = Scheduler.getInstance();
+        MatchMaker matchMaker = MatchMaker.getInstance();
+        Logger.getDefaultLogger().log("Timers: " + scheduler.getPendingTimers() + " pending, lag " +
+                scheduler.getLastLag() + " ms (max " + scheduler.getMaxLag() + " ms)");
+        Logger.getDefaultLogger().log("Lobbies: " + matchMaker.getOpenLobbies() + " open, " +
+                matchMaker.getClosedLobbies() + " closed, wait " + matchMaker.getAverageWait() +
+                " ms (max " + matchMaker.getMaxWait() + " ms)");
+    }
+
     /**
      * Launches the client.
      *
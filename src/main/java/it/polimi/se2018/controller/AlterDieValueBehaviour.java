@@ -7,8 +7,6 @@ import it.polimi.se2018.model.events.IncrementDieValue;
 import it.polimi.se2018.model.events.SelectDie;
 import it.polimi.se2018.model.events.ViewMessage;
 
-import java.util.List;
-
 /**
  * This class manges the usage of the tool cards that alter the die value.
  *
@@ -90,13 +88,9 @@ public class AlterDieValueBehaviour implements ToolCardBehaviour {
     public ToolCardBehaviourResponse useToolCard(Game game, ViewMessage message) {
         SelectDie selectMessage = (SelectDie) message;
         try {
-            List<Die> dice = game.getDraftPool().getDice();
-
-            Die die = dice.get(selectMessage.getDieIndex());
+            Die die = game.getDraftPool().get(selectMessage.getDieIndex());
             die = alterDie(die, selectMessage);
-            dice.set(selectMessage.getDieIndex(), die);
-
-            game.getDraftPool().setDice(dice);
+            game.getDraftPool().replace(selectMessage.getDieIndex(), die);
 
             //Setting of the forced selection in the current turn
             game.getTurnManager().getCurrentTurn().setForcedSelectionIndex(
@@ -5,7 +5,7 @@ import it.polimi.se2018.model.Die;
 
 /**
  * The class that contains a useful method for it's subclasses
- * to see if all elements of an array of cells are different for
+ * to see if all elements of a row or a column of cells are different for
  * a certain property.
  *
  * @author michelemarzollo
@@ -25,21 +25,28 @@ public abstract class ArrayVarietyScore extends PublicObjectiveScore {
     }
 
     /**
-     * The method that controls if in an array of Cells all values or colours
-     * of the dice are different, and there are no empty cells.
+     * The method that controls if in a line of Cells of the grid all values or
+     * colours of the dice are different, and there are no empty cells.
+     * <p>The codes of the properties already seen are kept as bits of a mask,
+     * so each cell is checked only once.</p>
      *
-     * @param cellArray the array.
+     * @param grid  the grid.
+     * @param line  the index of the row or of the column.
+     * @param isRow {@code true} if the line is a row, {@code false} if it's a column.
      * @return {@code true} if all cells are not null and have dice with different
      * values or colours, {@code false} otherwise.
      */
-    protected boolean allDifferentValues(Cell[] cellArray) {
-        for (int i = 0; i < cellArray.length - 1; i++) {
-            for (int j = i + 1; j < cellArray.length; j++) {
-                Die die1 = cellArray[i].getDie();
-                Die die2 = cellArray[j].getDie();
-                if (die1 == null || die2 == null || getProperty(die1).equals(getProperty(die2)))
-                    return false;
-            }
+    protected boolean allDifferentValues(Cell[][] grid, int line, boolean isRow) {
+        int length = isRow ? grid[line].length : grid.length;
+        int seen = 0;
+        for (int i = 0; i < length; i++) {
+            Die die = isRow ? grid[line][i].getDie() : grid[i][line].getDie();
+            if (die == null)
+                return false;
+            int bit = 1 << getCode(die);
+            if ((seen & bit) != 0)
+                return false;
+            seen |= bit;
         }
         return true;
     }
@@ -0,0 +1,270 @@
+package it.polimi.se2018.controller;
+
+import it.polimi.se2018.model.Colour;
+import it.polimi.se2018.model.Die;
+import it.polimi.se2018.model.Pattern;
+import it.polimi.se2018.model.PublicObjectiveCard;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ForkJoinPool;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+import static it.polimi.se2018.model.Pattern.COLS;
+import static it.polimi.se2018.model.Pattern.ROWS;
+
+/**
+ * The class to score large numbers of finished boards against a set of
+ * public objectives, independently from a {@link Controller} and a
+ * {@link it.polimi.se2018.model.Game}.
+ * <p>The boards are read from their encoding (see {@link #encode(Pattern)})
+ * and scored in parallel on a {@link ForkJoinPool}: each board is profiled
+ * once and all the objectives are evaluated on its {@link BoardProfile}.
+ * The calculators of the objectives are immutable, so they are shared by
+ * all the threads.</p>
+ *
+ * @author michelemarzollo
+ */
+public class BatchScorer {
+
+    /**
+     * The encoding of an empty cell.
+     */
+    private static final String EMPTY_CELL = "--";
+
+    /**
+     * The colours of the dice, by the first letter of their name.
+     */
+    private static final String COLOUR_LETTERS;
+
+    static {
+        StringBuilder letters = new StringBuilder();
+        for (Colour colour : Colour.values())
+            letters.append(colour.name().charAt(0));
+        COLOUR_LETTERS = letters.toString();
+    }
+
+    /**
+     * The public objectives the boards are scored against.
+     */
+    private final PublicObjectiveCard[] cards;
+
+    /**
+     * The calculators of the scores of {@code cards}, in the same order.
+     */
+    private final PublicObjectiveScore[] scores;
+
+    /**
+     * The constructor of the class.
+     *
+     * @param elements the public objectives and their calculators.
+     */
+    public BatchScorer(PublicObjectiveElements elements) {
+        this.cards = elements.getCards().clone();
+        this.scores = elements.getScoreCalculators().clone();
+        if (cards.length != scores.length)
+            throw new IllegalArgumentException("Each card must have a score calculator");
+    }
+
+    /**
+     * Creates a scorer for all the public objectives of the {@link ObjectiveRegistry}.
+     *
+     * @return the scorer.
+     */
+    public static BatchScorer withAllObjectives() {
+        return new BatchScorer(ObjectiveRegistry.getInstance().getAll());
+    }
+
+    /**
+     * Getter for the public objectives, in the order of the scores.
+     *
+     * @return the public objectives.
+     */
+    public PublicObjectiveCard[] getCards() {
+        return cards.clone();
+    }
+
+    /**
+     * Getter for the calculators of the scores, in the order of the cards.
+     *
+     * @return the calculators of the scores.
+     */
+    PublicObjectiveScore[] getScoreCalculators() {
+        return scores.clone();
+    }
+
+    /**
+     * Scores the boards on the common {@link ForkJoinPool}, which uses all the cores.
+     *
+     * @param boards the encodings of the boards.
+     * @return the scores of the boards.
+     * @throws IllegalArgumentException if a board is not encoded correctly.
+     */
+    public Result score(Stream<String> boards) {
+        return score(boards, ForkJoinPool.commonPool());
+    }
+
+    /**
+     * Scores the boards on the specified pool.
+     *
+     * @param boards the encodings of the boards.
+     * @param pool   the pool where the boards are scored.
+     * @return the scores of the boards.
+     * @throws IllegalArgumentException if a board is not encoded correctly.
+     */
+    public Result score(Stream<String> boards, ForkJoinPool pool) {
+        //A parallel stream started from a task of a pool is executed by that pool
+        List<int[]> results;
+        try {
+            results = pool.submit(() -> boards.parallel()
+                    .map(this::score)
+                    .collect(Collectors.toList())).get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while scoring the boards", e);
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof RuntimeException)
+                throw (RuntimeException) e.getCause();
+            throw new IllegalStateException(e.getCause());
+        }
+        return new Result(results.toArray(new int[results.size()][]), scores.length);
+    }
+
+    /**
+     * Scores a single board against all the objectives.
+     *
+     * @param board the encoding of the board.
+     * @return the score of each objective.
+     * @throws IllegalArgumentException if the board is not encoded correctly.
+     */
+    public int[] score(String board) {
+        BoardProfile profile = decode(board);
+        int[] result = new int[scores.length];
+        for (int i = 0; i < scores.length; i++)
+            result[i] = scores[i].getScore(profile);
+        return result;
+    }
+
+    /**
+     * Encodes the dice on a pattern. Each cell, row by row, is encoded by two
+     * characters: the first letter of the colour and the value of the die,
+     * or {@code "--"} if the cell is empty.
+     *
+     * @param pattern the pattern.
+     * @return the encoding of the board.
+     */
+    public static String encode(Pattern pattern) {
+        StringBuilder board = new StringBuilder(ROWS * COLS * 2);
+        for (int row = 0; row < ROWS; row++) {
+            for (int col = 0; col < COLS; col++) {
+                Die die = pattern.getDie(row, col);
+                if (die == null)
+                    board.append(EMPTY_CELL);
+                else
+                    board.append(die.getColour().name().charAt(0)).append(die.getValue());
+            }
+        }
+        return board.toString();
+    }
+
+    /**
+     * Builds the profile of an encoded board.
+     *
+     * @param board the encoding of the board.
+     * @return the profile of the board.
+     * @throws IllegalArgumentException if the board is not encoded correctly.
+     */
+    static BoardProfile decode(String board) {
+        if (board.length() != ROWS * COLS * 2)
+            throw new IllegalArgumentException("Invalid board: it must have " + ROWS * COLS + " cells");
+        BoardProfile profile = new BoardProfile();
+        for (int index = 0; index < ROWS * COLS; index++) {
+            char colour = board.charAt(2 * index);
+            char value = board.charAt(2 * index + 1);
+            if (colour == EMPTY_CELL.charAt(0) && value == EMPTY_CELL.charAt(1))
+                continue;
+            int ordinal = COLOUR_LETTERS.indexOf(colour);
+            if (ordinal < 0 || value < '1' || value > '6')
+                throw new IllegalArgumentException("Invalid board: wrong die in cell " + index);
+            profile.place(index / COLS, index % COLS, Die.of(value - '0', Colour.values()[ordinal]));
+        }
+        return profile;
+    }
+
+    /**
+     * The scores of a batch of boards.
+     * <p>This class is immutable.</p>
+     */
+    public static class Result {
+
+        /**
+         * The scores of each board, for each objective.
+         */
+        private final int[][] scores;
+
+        /**
+         * For each objective, the number of boards that got each score.
+         */
+        private final long[][] histograms;
+
+        /**
+         * The constructor of the class.
+         *
+         * @param scores     the scores of each board, for each objective.
+         * @param objectives the number of objectives.
+         */
+        private Result(int[][] scores, int objectives) {
+            this.scores = scores;
+            this.histograms = new long[objectives][];
+            for (int i = 0; i < objectives; i++) {
+                int max = 0;
+                for (int[] board : scores)
+                    max = Math.max(max, board[i]);
+                histograms[i] = new long[max + 1];
+                for (int[] board : scores)
+                    histograms[i][board[i]]++;
+            }
+        }
+
+        /**
+         * Getter for the number of boards.
+         *
+         * @return the number of boards.
+         */
+        public int getBoards() {
+            return scores.length;
+        }
+
+        /**
+         * Getter for the scores of a board.
+         *
+         * @param board the position of the board in the batch.
+         * @return the score of each objective, in the order of {@link BatchScorer#getCards()}.
+         */
+        public int[] getScores(int board) {
+            return scores[board].clone();
+        }
+
+        /**
+         * Getter for the histogram of the scores of an objective.
+         *
+         * @param objective the position of the objective in {@link BatchScorer#getCards()}.
+         * @return the number of boards that got each score, indexed by the score.
+         */
+        public long[] getHistogram(int objective) {
+            return histograms[objective].clone();
+        }
+
+        /**
+         * Getter for the average score of an objective.
+         *
+         * @param objective the position of the objective in {@link BatchScorer#getCards()}.
+         * @return the average score, or 0 if there are no boards.
+         */
+        public double getAverage(int objective) {
+            return Arrays.stream(scores).mapToInt(board -> board[objective]).average().orElse(0);
+        }
+    }
+}
@@ -0,0 +1,296 @@
+package it.polimi.se2018.controller;
+
+import it.polimi.se2018.model.Colour;
+import it.polimi.se2018.model.Die;
+
+import static it.polimi.se2018.model.Pattern.COLS;
+import static it.polimi.se2018.model.Pattern.ROWS;
+
+/**
+ * The aggregates of a {@link it.polimi.se2018.model.Pattern} on which all the
+ * objectives are evaluated.
+ * <p>The profile is built by {@link ScoringEngine} with a single traversal
+ * of the board, so that each objective doesn't need to scan the grid again,
+ * and it can be kept up to date with a constant amount of work for each
+ * die placed or removed. Colours are identified by their ordinal and values
+ * by {@code value - 1}; the cell with coordinates {@code (row, col)} has
+ * index {@code row * COLS + col}.</p>
+ *
+ * @author michelemarzollo
+ */
+public class BoardProfile {
+
+    /**
+     * The number of colours.
+     */
+    private static final int COLOURS = Colour.values().length;
+
+    /**
+     * The number of values.
+     */
+    private static final int VALUES = 6;
+
+    /**
+     * For each cell, the ordinal of the colour of its die + 1, or 0 if it's empty.
+     */
+    private final int[] colours = new int[ROWS * COLS];
+
+    /**
+     * For each cell, the value of its die, or 0 if it's empty.
+     */
+    private final int[] values = new int[ROWS * COLS];
+
+    /**
+     * The number of dice on the board.
+     */
+    private int dice;
+
+    /**
+     * The number of dice in each row.
+     */
+    private final int[] rowCounts = new int[ROWS];
+
+    /**
+     * The number of dice in each column.
+     */
+    private final int[] columnCounts = new int[COLS];
+
+    /**
+     * For each row, the number of dice of each colour.
+     */
+    private final int[][] rowColours = new int[ROWS][COLOURS];
+
+    /**
+     * For each row, the number of dice of each value.
+     */
+    private final int[][] rowValues = new int[ROWS][VALUES];
+
+    /**
+     * For each column, the number of dice of each colour.
+     */
+    private final int[][] columnColours = new int[COLS][COLOURS];
+
+    /**
+     * For each column, the number of dice of each value.
+     */
+    private final int[][] columnValues = new int[COLS][VALUES];
+
+    /**
+     * The number of rows whose dice have all different colours.
+     */
+    private int distinctColourRows;
+
+    /**
+     * The number of rows whose dice have all different values.
+     */
+    private int distinctValueRows;
+
+    /**
+     * The number of columns whose dice have all different colours.
+     */
+    private int distinctColourColumns;
+
+    /**
+     * The number of columns whose dice have all different values.
+     */
+    private int distinctValueColumns;
+
+    /**
+     * The number of dice of each colour.
+     */
+    private final int[] colourCounts = new int[COLOURS];
+
+    /**
+     * The sum of the values of the dice of each colour.
+     */
+    private final int[] colourSums = new int[COLOURS];
+
+    /**
+     * The number of dice of each value.
+     */
+    private final int[] valueCounts = new int[VALUES];
+
+    /**
+     * For each colour, the mask of the cells that contain a die of that colour.
+     */
+    private final int[] colourPlanes = new int[COLOURS];
+
+    /**
+     * For each value, the mask of the cells that contain a die with that value.
+     */
+    private final int[] valuePlanes = new int[VALUES];
+
+    /**
+     * Adds a die placed in an empty cell to the aggregates.
+     *
+     * @param row the row of the cell.
+     * @param col the column of the cell.
+     * @param die the die.
+     */
+    void place(int row, int col, Die die) {
+        int index = row * COLS + col;
+        colours[index] = die.getColour().ordinal() + 1;
+        values[index] = die.getValue();
+        update(row, col, 1);
+    }
+
+    /**
+     * Removes the die in a cell from the aggregates.
+     *
+     * @param row the row of the cell.
+     * @param col the column of the cell.
+     */
+    void remove(int row, int col) {
+        update(row, col, -1);
+    }
+
+    /**
+     * Adds or removes the die in a cell from the aggregates. The lines
+     * with all different dice are counted again only for the row and
+     * the column of the cell.
+     *
+     * @param row   the row of the cell.
+     * @param col   the column of the cell.
+     * @param delta 1 if the die is added, -1 if it's removed.
+     */
+    private void update(int row, int col, int delta) {
+        int index = row * COLS + col;
+        int colour = colours[index] - 1;
+        int value = values[index] - 1;
+
+        distinctColourRows -= distinct(rowCounts[row], rowColours[row], COLS);
+        distinctValueRows -= distinct(rowCounts[row], rowValues[row], COLS);
+        distinctColourColumns -= distinct(columnCounts[col], columnColours[col], ROWS);
+        distinctValueColumns -= distinct(columnCounts[col], columnValues[col], ROWS);
+
+        dice += delta;
+        rowCounts[row] += delta;
+        columnCounts[col] += delta;
+        rowColours[row][colour] += delta;
+        rowValues[row][value] += delta;
+        columnColours[col][colour] += delta;
+        columnValues[col][value] += delta;
+        colourCounts[colour] += delta;
+        colourSums[colour] += delta * (value + 1);
+        valueCounts[value] += delta;
+        colourPlanes[colour] ^= 1 << index;
+        valuePlanes[value] ^= 1 << index;
+
+        distinctColourRows += distinct(rowCounts[row], rowColours[row], COLS);
+        distinctValueRows += distinct(rowCounts[row], rowValues[row], COLS);
+        distinctColourColumns += distinct(columnCounts[col], columnColours[col], ROWS);
+        distinctValueColumns += distinct(columnCounts[col], columnValues[col], ROWS);
+
+        if (delta < 0) {
+            colours[index] = 0;
+            values[index] = 0;
+        }
+    }
+
+    /**
+     * Tells if a line is complete and has a different property for each die.
+     *
+     * @param count  the number of dice in the line.
+     * @param counts the number of dice of the line for each property.
+     * @param length the length of the line.
+     * @return 1 if the line is complete with all different dice, 0 otherwise.
+     */
+    private static int distinct(int count, int[] counts, int length) {
+        if (count != length)
+            return 0;
+        for (int n : counts) {
+            if (n > 1)
+                return 0;
+        }
+        return 1;
+    }
+
+    /**
+     * Getter for the number of empty cells.
+     *
+     * @return the number of empty cells.
+     */
+    public int getEmptyCells() {
+        return ROWS * COLS - dice;
+    }
+
+    /**
+     * Counts the complete rows whose dice are all different for a property.
+     *
+     * @param propertyIsColour {@code true} if the property is the colour,
+     *                         {@code false} if it's the value.
+     * @return the number of rows.
+     */
+    public int getVarietyRows(boolean propertyIsColour) {
+        return propertyIsColour ? distinctColourRows : distinctValueRows;
+    }
+
+    /**
+     * Counts the complete columns whose dice are all different for a property.
+     *
+     * @param propertyIsColour {@code true} if the property is the colour,
+     *                         {@code false} if it's the value.
+     * @return the number of columns.
+     */
+    public int getVarietyColumns(boolean propertyIsColour) {
+        return propertyIsColour ? distinctColourColumns : distinctValueColumns;
+    }
+
+    /**
+     * Getter for the number of dice of a colour.
+     *
+     * @param colour the colour.
+     * @return the number of dice of that colour.
+     */
+    public int getColourCount(Colour colour) {
+        return colourCounts[colour.ordinal()];
+    }
+
+    /**
+     * Getter for the sum of the values of the dice of a colour.
+     *
+     * @param colour the colour.
+     * @return the sum of the values.
+     */
+    public int getColourSum(Colour colour) {
+        return colourSums[colour.ordinal()];
+    }
+
+    /**
+     * Getter for the number of dice with a value.
+     *
+     * @param value the value, between 1 and 6.
+     * @return the number of dice with that value.
+     */
+    public int getValueCount(int value) {
+        return valueCounts[value - 1];
+    }
+
+    /**
+     * Getter for the number of dice with a property.
+     *
+     * @param propertyIsColour {@code true} if the property is the colour,
+     *                         {@code false} if it's the value.
+     * @param code             the code of the property.
+     * @return the number of dice.
+     * @see PublicObjectiveScore#getCode
+     */
+    public int getCount(boolean propertyIsColour, int code) {
+        return propertyIsColour ? colourCounts[code] : valueCounts[code];
+    }
+
+    /**
+     * Getter for the mask of the cells with a diagonally adjacent die with
+     * the same property.
+     *
+     * @param propertyIsColour {@code true} if the property is the colour,
+     *                         {@code false} if it's the value.
+     * @return the mask of the cells.
+     */
+    public int getDiagonalMask(boolean propertyIsColour) {
+        int mask = 0;
+        for (int plane : propertyIsColour ? colourPlanes : valuePlanes)
+            mask |= DiagonalScore.diagonalCells(plane);
+        return mask;
+    }
+}
@@ -118,27 +118,19 @@ public class CardDealer {
     /**
      * Deals public objectives.
      * <p>Sets the PublicObjectiveCards in the model and returns an array
-     * of PublicObjectiveScores to the controller.</p>
+     * of PublicObjectiveScores to the controller. The cards are sampled from
+     * the {@link ObjectiveRegistry}.</p>
      *
      * @param publicObj The number of public objectives to deal.
      * @return the array of PublicObjectiveScores to be set in the controller.
      */
     private PublicObjectiveScore[] dealPublicObjectives(int publicObj) {
+        PublicObjectiveElements publicObjectiveElements = ObjectiveRegistry.getInstance().sample(publicObj);
 
-        try {
-            XmlPublicObjectiveLoader publicObjectiveFactory = new XmlPublicObjectiveLoader();
-            PublicObjectiveElements publicObjectiveElements = publicObjectiveFactory.load(publicObj);
-
-            //sets the cards in the model
-            this.getGame().setPublicObjectiveCards(publicObjectiveElements.getCards());
-            //returns the objects to calculate the score to the controller
-            return publicObjectiveElements.getScoreCalculators();
-
-        } catch (SAXException e) {
-            Logger.getDefaultLogger().log("USAXException " + e);
-        }
-
-        return new PublicObjectiveScore[]{};
+        //sets the cards in the model
+        this.getGame().setPublicObjectiveCards(publicObjectiveElements.getCards());
+        //returns the objects to calculate the score to the controller
+        return publicObjectiveElements.getScoreCalculators();
     }
 
 
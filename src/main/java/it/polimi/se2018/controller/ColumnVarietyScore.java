@@ -39,17 +39,23 @@ public class ColumnVarietyScore extends ArrayVarietyScore {
         //The number of complete columns with all different property
         int numOfColumns = 0;
 
-        Cell[] columnArray = new Cell[grid.length];
-
-        //For each column I create an equivalent array
         for (int col = 0; col < grid[0].length; col++) {
-            for (int row = 0; row < grid.length; row++) {
-                columnArray[row] = grid[row][col];
-            }
-            if (allDifferentValues(columnArray))
+            if (allDifferentValues(grid, col, false))
                 numOfColumns++;
         }
 
         return victoryPoints * numOfColumns;
     }
+
+    /**
+     * The score is given by the number of complete columns with all different
+     * values for the property, multiplied by the {@code victoryPoints} of the card.
+     *
+     * @param profile the aggregates of the {@link it.polimi.se2018.model.Pattern}.
+     * @return the score.
+     */
+    @Override
+    protected int getScore(BoardProfile profile) {
+        return victoryPoints * profile.getVarietyColumns(propertyIsColour);
+    }
 }
@@ -2,12 +2,19 @@ package it.polimi.se2018.controller;
 
 import it.polimi.se2018.model.*;
 import it.polimi.se2018.model.events.Action;
+import it.polimi.se2018.model.events.ModelUpdate;
+import it.polimi.se2018.model.events.ModelUpdateBatch;
 import it.polimi.se2018.model.events.PlaceDie;
+import it.polimi.se2018.model.events.PlayerStatus;
 import it.polimi.se2018.model.events.SelectCard;
 import it.polimi.se2018.model.events.ViewMessage;
 import it.polimi.se2018.utils.Observer;
+import it.polimi.se2018.utils.Scheduler;
 
 import java.util.*;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
 import java.util.function.Consumer;
 import java.util.stream.Collectors;
 
@@ -19,25 +26,39 @@ import java.util.stream.Collectors;
  * which allow to tweak the behavior of the above operations.</p>
  * <p>Subclasses can override the method {@code registerActions} to define
  * how the controller will react when a specified view event occurs.</p>
- * <p>Similarly, overriding the method {@code registerToolCardBehaviors}
- * custom tool cards can be registered.</p>
+ * <p>The behaviours of the tool cards are stateless and shared by all the
+ * controllers: the state of a tool card applied in more steps is kept in
+ * the {@link Turn}.</p>
  * <p>This class is an {@code Observable<ViewMessage>} and its instances
  * have to be registered as observer to all the {@code Observable<ViewMessage>}
  * that are handled by that instance.</p>
- * <p>This class has no thread-safety yet.</p>
+ * <p>The actions on the game, the ones sent by the views and the ones
+ * triggered by the timers, are executed one at a time by the {@link Mailbox}
+ * of the controller, so they don't need to be synchronized.</p>
  */
 public abstract class Controller implements Observer<ViewMessage> {
 
     /**
-     * The game the controller is bound to.
+     * Error string for placements that don't respect restrictions.
      */
-    private Game game;
+    private static final String PLACEMENT_ERROR = "Placement doesn't respect restrictions!\n";
 
     /**
-     * The dictionary which associates tool card names
+     * The dictionary which associates tool cards
      * to their behavior.
      */
-    private final Map<String, ToolCardBehaviour> toolCardBehaviors;
+    private static final Map<ToolCardType, ToolCardBehaviour> TOOL_CARD_BEHAVIOURS;
+
+    static {
+        Map<ToolCardType, ToolCardBehaviour> behaviours = new EnumMap<>(ToolCardType.class);
+        registerToolCardBehaviors(behaviours);
+        TOOL_CARD_BEHAVIOURS = Collections.unmodifiableMap(behaviours);
+    }
+
+    /**
+     * The game the controller is bound to.
+     */
+    private Game game;
 
     /**
      * Map used to resolve requests by mapping each action to its
@@ -45,6 +66,11 @@ public abstract class Controller implements Observer<ViewMessage> {
      */
     private final Map<Action, Consumer<ViewMessage>> actionMap;
 
+    /**
+     * The mailbox that executes the actions on the game one at a time.
+     */
+    private final Mailbox mailbox;
+
     /**
      * The amount of time to wait before making the turn skip although
      * the layer didn't make the move.
@@ -52,10 +78,10 @@ public abstract class Controller implements Observer<ViewMessage> {
     private int turnDuration;
 
     /**
-     * The timer that handles the termination of the turn if the time to make the
-     * move finished.
+     * The handle of the task, on the shared {@link Scheduler}, that terminates
+     * the turn if the time to make the move finished.
      */
-    private Timer turnTimer;
+    private ScheduledFuture<?> turnDeadline;
 
     /**
      * The array of objects that contain the method to calculate the score of
@@ -101,6 +127,14 @@ public abstract class Controller implements Observer<ViewMessage> {
      */
     protected abstract void calculateScores();
 
+    /**
+     * Creates the tracker of the score of a player, according to the
+     * scoring rules of the game mode.
+     *
+     * @return the tracker of the score.
+     */
+    protected abstract LiveScore createLiveScore();
+
     /**
      * Register a new player in the game.
      * <p>When the maximum number of players is reached, it starts the game.</p>
@@ -138,16 +172,30 @@ public abstract class Controller implements Observer<ViewMessage> {
 
     /**
      * Creates a new controller associated to the specified game instance.
+     * <p>The actions are executed by the thread that sends them.</p>
      *
      * @param game         The game to be bound to the controller.
      * @param turnDuration the maximum amount of time allowed for the player to make the move,
      *                     before the turn is automatically skipped.
      */
     protected Controller(Game game, int turnDuration) {
+        this(game, turnDuration, Runnable::run);
+    }
+
+    /**
+     * Creates a new controller associated to the specified game instance, whose
+     * actions are executed by the specified workers.
+     *
+     * @param game         The game to be bound to the controller.
+     * @param turnDuration the maximum amount of time allowed for the player to make the move,
+     *                     before the turn is automatically skipped.
+     * @param workers      the executor that provides the threads to the {@link Mailbox} of the
+     *                     controller; with {@code Runnable::run} the actions are executed by the
+     *                     thread that sends them.
+     */
+    protected Controller(Game game, int turnDuration, Executor workers) {
         this.game = game;
-        toolCardBehaviors = new HashMap<>();
-        registerToolCardBehaviors(toolCardBehaviors);
-        turnTimer = new Timer("Turn timer");
+        mailbox = new Mailbox(workers);
         this.turnDuration = turnDuration;
 
         actionMap = new EnumMap<>(Action.class);
@@ -173,27 +221,38 @@ public abstract class Controller implements Observer<ViewMessage> {
     }
 
     /**
-     * Allows to register custom tool card behaviors.
+     * Registers the behaviours of the tool cards.
      *
-     * @param behaviors The map containing the name-behavior pairs.
+     * @param behaviors The map containing the card-behavior pairs.
      */
-    private void registerToolCardBehaviors(Map<String, ToolCardBehaviour> behaviors) {
-        behaviors.put("Grozing Pliers", new AlterDieValueBehaviour(true));
-        behaviors.put("Eglomise Brush",
+    private static void registerToolCardBehaviors(Map<ToolCardType, ToolCardBehaviour> behaviors) {
+        behaviors.put(ToolCardType.GROZING_PLIERS, new AlterDieValueBehaviour(true));
+        behaviors.put(ToolCardType.EGLOMISE_BRUSH,
                 new MoveDiceBehaviour(1, Restriction.ONLY_VALUE));
-        behaviors.put("Copper Foil Burnisher",
+        behaviors.put(ToolCardType.COPPER_FOIL_BURNISHER,
                 new MoveDiceBehaviour(1, Restriction.ONLY_COLOUR));
-        behaviors.put("Lathekin", new MoveDiceBehaviour(2, Restriction.DEFAULT));
-        behaviors.put("Lens Cutter", new SwapDiceBehaviour());
-        behaviors.put("Flux Brush", new ReRollDieBehaviour());
-        behaviors.put("Glazing Hammer", new ReRollDraftPoolBehaviour());
-        behaviors.put("Running Pliers",
+        behaviors.put(ToolCardType.LATHEKIN, new MoveDiceBehaviour(2, Restriction.DEFAULT));
+        behaviors.put(ToolCardType.LENS_CUTTER, new SwapDiceBehaviour());
+        behaviors.put(ToolCardType.FLUX_BRUSH, new ReRollDieBehaviour());
+        behaviors.put(ToolCardType.GLAZING_HAMMER, new ReRollDraftPoolBehaviour());
+        behaviors.put(ToolCardType.RUNNING_PLIERS,
                 new PlaceDieBehaviour(true, Restriction.DEFAULT));
-        behaviors.put("Cork-backed Straightedge",
+        behaviors.put(ToolCardType.CORK_BACKED_STRAIGHTEDGE,
                 new PlaceDieBehaviour(false, Restriction.NOT_ADJACENT));
-        behaviors.put("Grinding Stone", new AlterDieValueBehaviour(false));
-        behaviors.put("Flux Remover", new PullAgainAndPlaceBehaviour());
-        behaviors.put("Tap Wheel", new MoveSomeDiceBehaviour());
+        behaviors.put(ToolCardType.GRINDING_STONE, new AlterDieValueBehaviour(false));
+        behaviors.put(ToolCardType.FLUX_REMOVER, new PullAgainAndPlaceBehaviour());
+        behaviors.put(ToolCardType.TAP_WHEEL, new MoveSomeDiceBehaviour());
+    }
+
+    /**
+     * Finds the behaviour of a tool card.
+     *
+     * @param toolCardName the name of the tool card.
+     * @return the behaviour, or {@code null} if the tool card has no behaviour.
+     */
+    private static ToolCardBehaviour behaviourOf(String toolCardName) {
+        ToolCardType type = ToolCardType.fromName(toolCardName);
+        return type == null ? null : TOOL_CARD_BEHAVIOURS.get(type);
     }
 
     /**
@@ -219,11 +278,32 @@ public abstract class Controller implements Observer<ViewMessage> {
 
     /**
      * Entry point for events generated by the view.
+     * <p>The action is queued in the mailbox of the controller, and it's
+     * executed in a transaction of the game, so that all the updates it
+     * generates are sent to the views in a single message.</p>
      *
      * @param message The message generated by the view.
      */
     public final void update(ViewMessage message) {
-        performAction(message);
+        submit(() -> performAction(message));
+    }
+
+    /**
+     * Queues an action in the mailbox of the controller. The action will
+     * be executed in a transaction of the game, after the ones already queued.
+     *
+     * @param action the action.
+     */
+    void submit(Runnable action) {
+        mailbox.execute(() -> {
+            Game currentGame = getGame();
+            currentGame.beginTransaction();
+            try {
+                action.run();
+            } finally {
+                currentGame.commit();
+            }
+        });
     }
 
     /**
@@ -233,10 +313,7 @@ public abstract class Controller implements Observer<ViewMessage> {
      * @return the {@link Player}.
      */
     protected Optional<Player> findPlayer(String playerName) {
-        return getGame().getPlayers().stream()
-                .filter(p -> p.getName().equals(playerName))
-                .findFirst();
-
+        return getGame().findPlayer(playerName);
     }
 
     /**
@@ -245,13 +322,12 @@ public abstract class Controller implements Observer<ViewMessage> {
      *
      * @param message The message generated by the view.
      */
-    protected synchronized void endTurn(ViewMessage message) {
-        turnTimer.cancel();
+    protected void endTurn(ViewMessage message) {
+        cancelTurnDeadline();
         boolean updateSuccessful = getGame().getTurnManager().updateTurn();
-        if (updateSuccessful) {
-            turnTimer = new Timer("TurnTimer");
-            turnTimer.schedule(new EndTurnTask(message), (long) turnDuration * 1000);
-        } else
+        if (updateSuccessful)
+            scheduleTurnDeadline(message);
+        else
             endRound(message);
     }
 
@@ -280,8 +356,7 @@ public abstract class Controller implements Observer<ViewMessage> {
             getGame().getTurnManager().setupNewRound();
             refillDraftPool();
             getGame().getTurnManager().updateTurn();
-            turnTimer = new Timer("TurnTimer");
-            turnTimer.schedule(new EndTurnTask(message), (long) turnDuration * 1000);
+            scheduleTurnDeadline(message);
         } catch (TurnManager.GameFinishedException e) {
             endGame(message);
         }
@@ -307,6 +382,25 @@ public abstract class Controller implements Observer<ViewMessage> {
         );
     }
 
+    /**
+     * Sends the whole status of the players, the draft pool and the round track
+     * to the view that sent the message, in a single update.
+     * <p>The views receive only the changes of that data: a view asks for it
+     * again when it misses a change, or when it doesn't know it.</p>
+     *
+     * @param message The message generated by the view.
+     */
+    protected void resync(ViewMessage message) {
+        if (!getGame().isStarted())
+            return;
+        List<ModelUpdate> updates = new ArrayList<>();
+        for (Player player : getGame().getPlayers())
+            updates.add(new PlayerStatus(player));
+        updates.add(getGame().getDraftPool().createUpdate());
+        updates.add(getGame().getRoundTrack().createUpdate());
+        message.getView().update(new ModelUpdateBatch(updates));
+    }
+
     /**
      * Helper method to check if the specified player can move this
      * turn.
@@ -357,20 +451,26 @@ public abstract class Controller implements Observer<ViewMessage> {
     private void executePlacement(PlaceDie message) {
         Turn currentTurn = getGame().getTurnManager().getCurrentTurn();
         try {
-            Die die = getGame().getDraftPool().select(getDieIndex(message));
-            // place die
+            int dieIndex = getDieIndex(message);
+            Die die = getGame().getDraftPool().get(dieIndex);
             Pattern currentPattern = currentTurn.getPlayer().getPattern();
+            // check the placement before building the new pattern
+            PlacementResult result =
+                    currentPattern.canPlace(die, message.getDestination(), Restriction.DEFAULT);
+            if (!result.isSuccessful()) {
+                message.getView().showError(PLACEMENT_ERROR + result.getMessage());
+                return;
+            }
+            // place die
             Pattern newPattern = currentPattern.placeDie(die, message.getDestination());
             currentTurn.getPlayer().setPattern(newPattern);
 
-            getGame().getDraftPool().draft(getDieIndex(message));
+            getGame().getDraftPool().draft(dieIndex);
             currentTurn.placeDie();
         } catch (IndexOutOfBoundsException e) {
             message.getView().showError("Invalid selection!");
         } catch (PlacementErrorException e) {
-            message.getView().showError(
-                    "Placement doesn't respect restrictions!\n" + e.getMessage()
-            );
+            message.getView().showError(PLACEMENT_ERROR + e.getMessage());
         }
     }
 
@@ -417,8 +517,8 @@ public abstract class Controller implements Observer<ViewMessage> {
             selectMessage.getView().showError("The tool card doesn't exist.");
             return;
         }
-        ToolCardBehaviour behaviour = toolCardBehaviors.get(selectMessage.getName());
-        if (!behaviour.areRequirementsSatisfied(game)) {
+        ToolCardBehaviour behaviour = behaviourOf(selectMessage.getName());
+        if (behaviour == null || !behaviour.areRequirementsSatisfied(game)) {
             selectMessage.getView().showError("You can't use this tool card now.");
             return;
         }
@@ -462,7 +562,7 @@ public abstract class Controller implements Observer<ViewMessage> {
      */
     private void applyBehaviour(ViewMessage message) {
         ToolCardBehaviour behavior =
-                toolCardBehaviors.get(game.getTurnManager().getCurrentTurn().getSelectedToolCard().getName());
+                behaviourOf(game.getTurnManager().getCurrentTurn().getSelectedToolCard().getName());
 
         if (behavior != null) {
             ToolCardBehaviourResponse response = behavior.useToolCard(getGame(), message);
@@ -505,6 +605,8 @@ public abstract class Controller implements Observer<ViewMessage> {
         }
 
         player.setTokens(pattern.getDifficulty());
+        if (publicScoreCalculators != null)
+            player.setScoreTracker(createLiveScore());
         player.setPattern(pattern);
         displayGame(message); //selectGameView
 
@@ -524,7 +626,28 @@ public abstract class Controller implements Observer<ViewMessage> {
             getGame().start();
             getGame().getTurnManager().updateTurn();
             refillDraftPool();
-            turnTimer.schedule(new EndTurnTask(message), (long) turnDuration * 1000);
+            scheduleTurnDeadline(message);
+        }
+    }
+
+    /**
+     * Schedules the end of the current turn, when the time to make the move finishes.
+     *
+     * @param message The message sent by the view.
+     */
+    private void scheduleTurnDeadline(ViewMessage message) {
+        cancelTurnDeadline();
+        turnDeadline = Scheduler.getInstance()
+                .schedule(new EndTurnTask(message), turnDuration, TimeUnit.SECONDS);
+    }
+
+    /**
+     * Cancels the end of the current turn, if it was scheduled.
+     */
+    private void cancelTurnDeadline() {
+        if (turnDeadline != null) {
+            turnDeadline.cancel(false);
+            turnDeadline = null;
         }
     }
 
@@ -544,20 +667,25 @@ public abstract class Controller implements Observer<ViewMessage> {
      */
     protected void finalizeMatch() {
         game.deregisterAll();
-        turnTimer.cancel();
+        cancelTurnDeadline();
     }
 
     /**
-     * The task to end the turn when the turnTimer ends because the player
+     * The task to end the turn when the turn deadline expires because the player
      * spent to much time to make the move.
      */
-    private class EndTurnTask extends TimerTask {
+    private class EndTurnTask implements Runnable {
 
         /**
          * The message form the view. It's used to call {@code endTurn}.
          */
         private ViewMessage message;
 
+        /**
+         * The turn to end.
+         */
+        private final Turn turn;
+
         /**
          * The constructor of the inner class.
          *
@@ -565,25 +693,21 @@ public abstract class Controller implements Observer<ViewMessage> {
          */
         EndTurnTask(ViewMessage message) {
             this.message = message;
+            this.turn = getGame().getTurnManager().getCurrentTurn();
         }
 
         /**
-         * The action to do when the {@code turnTimer} finishes: the turn must
-         * be updated.
+         * The action to do when the {@code turnDeadline} expires: the turn must
+         * be updated, unless it already ended while the action was waiting in
+         * the mailbox.
          */
         @Override
         public void run() {
-            endTurn(message);
+            submit(() -> {
+                if (getGame().getTurnManager().getCurrentTurn() == turn)
+                    endTurn(message);
+            });
         }
     }
 
-    /**
-     * Tells if the controller can accept other new players.
-     *
-     * @return {@code true} if it can accept new players; {@code false} otherwise.
-     */
-    boolean acceptsNewPlayers() {
-        return !getGame().isSetupComplete();
-    }
-
 }
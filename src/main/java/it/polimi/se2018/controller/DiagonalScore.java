@@ -1,16 +1,47 @@
 package it.polimi.se2018.controller;
 
 import it.polimi.se2018.model.Cell;
+import it.polimi.se2018.model.Die;
+import it.polimi.se2018.model.Pattern;
+
+import static it.polimi.se2018.model.Pattern.COLS;
+import static it.polimi.se2018.model.Pattern.ROWS;
 
 /**
  * The class to calculate the score given by the dice which are diagonally
  * adjacent for a certain property on the grid.
  * It's used by the card 'Color Diagonals'.
+ * <p>The grid is represented by bitboards, one for each colour or value
+ * (a "plane"): the cell with coordinates {@code (row, col)} is the bit
+ * {@code row * COLS + col}. Moving down and right means shifting by {@code COLS + 1},
+ * moving down and left means shifting by {@code COLS - 1}.</p>
  *
  * @author michelemarzollo
  */
 public class DiagonalScore extends PublicObjectiveScore {
 
+    /**
+     * The mask of all the cells of the grid.
+     */
+    private static final int BOARD = (1 << ROWS * COLS) - 1;
+
+    /**
+     * The mask of the cells of the first column.
+     */
+    private static final int FIRST_COLUMN;
+
+    static {
+        int column = 0;
+        for (int row = 0; row < ROWS; row++)
+            column |= 1 << row * COLS;
+        FIRST_COLUMN = column;
+    }
+
+    /**
+     * The mask of the cells of the last column.
+     */
+    private static final int LAST_COLUMN = FIRST_COLUMN << (COLS - 1);
+
     /**
      * The constructor of the class.
      *
@@ -30,55 +61,104 @@ public class DiagonalScore extends PublicObjectiveScore {
      * point to the score if there is a die with the same property in at least one of the
      * following positions: (i-1, j-1), (i+1, j-1), (i-1, j+1), (i+1, j+1).</p>
      * <p>
-     * The method uses an auxiliary matrix of the same dimension of {@code grid},
-     * with all cells initialized to 0. If the die in position (i, j) has
-     * a diagonally adjacent die in position (i-1, j+1) or (i+1, j+1), the corresponding
-     * cells of the two (or three) adjacent dice are set to 1 in the auxiliary matrix.
-     * The final score is given by the sum of the "1s" in the matrix.</p>
+     * The method builds a plane for each code of the property and
+     * counts the cells found by {@code diagonalCells} in each plane.</p>
      *
      * @param grid the grid on which the score must be calculated.
      * @return the score.
      */
     @Override
     public int getScore(Cell[][] grid) {
+        int[] planes = new int[6];
+        for (int row = 0; row < ROWS; row++) {
+            for (int col = 0; col < COLS; col++) {
+                Die die = grid[row][col].getDie();
+                if (die != null)
+                    planes[getCode(die)] |= 1 << row * COLS + col;
+            }
+        }
 
-        //Number of dice that have a diagonally adjacent die of the same property
         int numOfCells = 0;
+        for (int plane : planes)
+            numOfCells += Integer.bitCount(diagonalCells(plane));
+        return victoryPoints * numOfCells;
+    }
 
-        //A matrix of the same dimension of grid, that contains 0 if the die in the corresponding
-        //cell wasn't still counted, 1 otherwise. Every cell is initialized to 0 by default
-        byte[][] countedCells = new byte[grid.length][grid[0].length];
-
-        //If a die in the following row and precedent or following column has the same property of the
-        //current one they are both set to 1 in the corresponding cell in countedCells
-        for (int row = 0; row < grid.length; row++) {
-            for (int col = 0; col < grid[0].length; col++) {
-                if (row + 1 < grid.length && col - 1 > 0 && grid[row][col].getDie() != null
-                        && grid[row + 1][col - 1].getDie() != null &&
-                        getProperty(grid[row][col].getDie()).equals(getProperty((grid[row + 1][col - 1].getDie())))) {
-
-                    countedCells[row][col] = 1;
-                    countedCells[row + 1][col - 1] = 1;
-
-                }
-
-                if (row + 1 < grid.length && col + 1 < grid[0].length && grid[row][col].getDie() != null
-                        && grid[row + 1][col + 1].getDie() != null &&
-                        getProperty(grid[row][col].getDie()).equals(getProperty((grid[row + 1][col + 1].getDie())))) {
+    /**
+     * Calculates the score from the mask of the cells with a diagonally
+     * adjacent die with the same property.
+     *
+     * @param profile the aggregates of the {@link it.polimi.se2018.model.Pattern}.
+     * @return the score.
+     */
+    @Override
+    protected int getScore(BoardProfile profile) {
+        return victoryPoints * Integer.bitCount(profile.getDiagonalMask(propertyIsColour));
+    }
 
-                    countedCells[row][col] = 1;
-                    countedCells[row + 1][col + 1] = 1;
+    /**
+     * Finds the chain of dice with the same property that contains the die in
+     * a cell: two dice are in the same chain if they are diagonally adjacent,
+     * or if they are connected by diagonally adjacent dice.
+     * <p>It can be used to suggest where to place a die to extend a chain.</p>
+     *
+     * @param pattern the pattern.
+     * @param row     the row of the die.
+     * @param col     the column of the die.
+     * @return the mask of the cells of the chain (the bit of the cell with
+     * coordinates {@code (row, col)} is {@code row * COLS + col}), or 0 if
+     * the cell is empty.
+     */
+    public int getChain(Pattern pattern, int row, int col) {
+        Die die = pattern.getDie(row, col);
+        if (die == null)
+            return 0;
+        int plane = propertyIsColour ?
+                pattern.getColourMask(die.getColour()) : pattern.getValueMask(die.getValue());
+        return diagonalChain(plane, row * COLS + col);
+    }
 
-                }
-            }
-        }
-        //Adds all the "1s" in countedCells to get the final result
-        for (byte[] row : countedCells) {
-            for (byte elem : row)
-                numOfCells += (int) elem;
-        }
+    /**
+     * Finds the cells of a plane that have a diagonally adjacent cell in the plane.
+     *
+     * @param plane the cells that contain a die with a certain property.
+     * @return the mask of the cells.
+     */
+    public static int diagonalCells(int plane) {
+        //The bit of each pair is set on the upper cell, which must not be on the border
+        int downRight = plane & (plane >>> (COLS + 1)) & ~LAST_COLUMN;
+        int downLeft = plane & (plane >>> (COLS - 1)) & ~FIRST_COLUMN;
+        return downRight | downRight << (COLS + 1) | downLeft | downLeft << (COLS - 1);
+    }
 
-        return victoryPoints * numOfCells;
+    /**
+     * Finds the cells of a plane that are connected to a cell through
+     * diagonally adjacent cells of the plane.
+     *
+     * @param plane the cells that contain a die with a certain property.
+     * @param index the index of the starting cell, which must be in the plane.
+     * @return the mask of the connected cells, including the starting one.
+     */
+    public static int diagonalChain(int plane, int index) {
+        int chain = 1 << index;
+        int previous;
+        do {
+            previous = chain;
+            chain |= spread(chain) & plane;
+        } while (chain != previous);
+        return chain;
+    }
 
+    /**
+     * Moves each cell of a mask to its diagonally adjacent cells.
+     *
+     * @param cells the mask of the cells.
+     * @return the mask of the diagonally adjacent cells.
+     */
+    private static int spread(int cells) {
+        int notFirst = cells & ~FIRST_COLUMN;
+        int notLast = cells & ~LAST_COLUMN;
+        return (notLast << (COLS + 1) | notFirst << (COLS - 1)
+                | notFirst >>> (COLS + 1) | notLast >>> (COLS - 1)) & BOARD;
     }
 }
@@ -1,8 +1,8 @@
 package it.polimi.se2018.controller;
 
 import it.polimi.se2018.model.Cell;
-
-import java.util.Arrays;
+import it.polimi.se2018.model.Colour;
+import it.polimi.se2018.model.Die;
 
 /**
  * The class to calculate the score linked with the presence of a certain
@@ -15,10 +15,29 @@ import java.util.Arrays;
 public class GridVarietyScore extends PublicObjectiveScore {
 
     /**
-     * The elements on which the number of complete occurrences
+     * The number of bits of the counter of each code in the histogram.
+     * A grid can't contain more than 20 dice.
+     */
+    private static final int COUNTER_BITS = 5;
+
+    /**
+     * The mask of the counter of a code in the histogram.
+     */
+    private static final long COUNTER_MASK = (1L << COUNTER_BITS) - 1;
+
+    /**
+     * The codes of the elements on which the number of complete occurrences
      * must be calculated.
+     *
+     * @see PublicObjectiveScore#getCode
      */
-    private final Object[] elements;
+    private final int[] codes;
+
+    /**
+     * The lookup table of the codes of the elements: the bit of each
+     * code in {@code codes} is set.
+     */
+    private final int selected;
 
     /**
      * The constructor of the class.
@@ -29,13 +48,21 @@ public class GridVarietyScore extends PublicObjectiveScore {
      */
     GridVarietyScore(int victoryPoints, boolean propertyIsColour, Object[] elements) {
         super(victoryPoints, propertyIsColour);
-        this.elements = elements;
+        this.codes = new int[elements.length];
+        int mask = 0;
+        for (int i = 0; i < elements.length; i++) {
+            codes[i] = propertyIsColour ? ((Colour) elements[i]).ordinal() : (Integer) elements[i] - 1;
+            mask |= 1 << codes[i];
+        }
+        this.selected = mask;
     }
 
     /**
      * Given a set of objects, counts the number of times all objects of the set
      * occur in the whole grid. (It's the number of occurrences of the element
      * among the ones in {@code elements} that occurs fewer times).
+     * <p>The occurrences of the codes are counted in a histogram packed in a
+     * {@code long}, with a counter of {@code COUNTER_BITS} bits for each code.</p>
      * <p>The score is given by the number of occurrences multiplied by
      * the victory points of the {@link it.polimi.se2018.model.PublicObjectiveCard}</p>
      *
@@ -44,23 +71,35 @@ public class GridVarietyScore extends PublicObjectiveScore {
      */
     @Override
     protected int getScore(Cell[][] grid) {
-        /*An array that counts the occurrences of the elements in the array "elements"
-        in the grid, with a correspondence of positions with elements.
-        All cells are initialized to 0 by default*/
-        int[] occurrences = new int[elements.length];
+        long histogram = 0;
 
         for (Cell[] row : grid) {
             for (Cell cell : row) {
-                for (int i = 0; i < elements.length; i++)
-                    if (cell.getDie() != null &&
-                            getProperty(cell.getDie()).equals(elements[i]))
-                        occurrences[i]++;
+                Die die = cell.getDie();
+                if (die != null && (selected & 1 << getCode(die)) != 0)
+                    histogram += 1L << (getCode(die) * COUNTER_BITS);
             }
         }
-        //Sorts the occurrences array, so that the minimum (the value on which the result depends)
-        //is in position 0
-        Arrays.sort(occurrences);
-        return victoryPoints * occurrences[0];
+
+        int min = Integer.MAX_VALUE;
+        for (int code : codes)
+            min = Math.min(min, (int) (histogram >>> (code * COUNTER_BITS) & COUNTER_MASK));
+        return victoryPoints * min;
+    }
+
+    /**
+     * Counts the number of complete occurrences of {@code elements} from the
+     * histogram of the property in the profile.
+     *
+     * @param profile the aggregates of the {@link it.polimi.se2018.model.Pattern}.
+     * @return the score.
+     */
+    @Override
+    protected int getScore(BoardProfile profile) {
+        int min = Integer.MAX_VALUE;
+        for (int code : codes)
+            min = Math.min(min, profile.getCount(propertyIsColour, code));
+        return victoryPoints * min;
     }
 
 }
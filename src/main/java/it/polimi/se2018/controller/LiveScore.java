@@ -0,0 +1,107 @@
+package it.polimi.se2018.controller;
+
+import it.polimi.se2018.model.Colour;
+import it.polimi.se2018.model.Die;
+import it.polimi.se2018.model.ScoreTracker;
+
+/**
+ * The {@link ScoreTracker} that keeps a {@link BoardProfile} of the pattern
+ * of a player up to date, so that his score is always known during the game
+ * and at the end of the game it only has to be read.
+ *
+ * @author michelemarzollo
+ */
+public class LiveScore implements ScoreTracker {
+
+    /**
+     * The calculators of the public objectives of the game.
+     */
+    private final PublicObjectiveScore[] publicScores;
+
+    /**
+     * The points lost for each empty cell.
+     */
+    private final int emptyCellPenalty;
+
+    /**
+     * The points given by each unused token.
+     */
+    private final int tokenValue;
+
+    /**
+     * The aggregates of the pattern of the player.
+     */
+    private final BoardProfile profile = new BoardProfile();
+
+    /**
+     * The score given by the public objectives, updated after each change.
+     */
+    private int objectivesScore;
+
+    /**
+     * The constructor of the class.
+     *
+     * @param publicScores     the calculators of the public objectives of the game.
+     * @param emptyCellPenalty the points lost for each empty cell.
+     * @param tokenValue       the points given by each unused token.
+     */
+    LiveScore(PublicObjectiveScore[] publicScores, int emptyCellPenalty, int tokenValue) {
+        this.publicScores = publicScores.clone();
+        this.emptyCellPenalty = emptyCellPenalty;
+        this.tokenValue = tokenValue;
+        this.objectivesScore = computeObjectivesScore();
+    }
+
+    /**
+     * Updates the profile with the new content of the cell and
+     * evaluates the public objectives on it.
+     *
+     * @param row     the row of the cell.
+     * @param col     the column of the cell.
+     * @param removed the die that was in the cell, or {@code null}.
+     * @param placed  the die that is now in the cell, or {@code null}.
+     */
+    @Override
+    public void cellChanged(int row, int col, Die removed, Die placed) {
+        if (removed != null)
+            profile.remove(row, col);
+        if (placed != null)
+            profile.place(row, col, placed);
+        objectivesScore = computeObjectivesScore();
+    }
+
+    /**
+     * Evaluates the public objectives on the profile.
+     *
+     * @return the score given by the public objectives.
+     */
+    private int computeObjectivesScore() {
+        int score = 0;
+        for (PublicObjectiveScore publicScore : publicScores)
+            score += publicScore.getScore(profile);
+        return score;
+    }
+
+    /**
+     * Gets the score of the player without his private objective.
+     *
+     * @param tokens the tokens of the player.
+     * @return the score given by the public objectives, the tokens and
+     * the empty cells.
+     */
+    @Override
+    public int getPublicScore(int tokens) {
+        return objectivesScore + tokenValue * tokens - emptyCellPenalty * profile.getEmptyCells();
+    }
+
+    /**
+     * Gets the score given by a private objective.
+     *
+     * @param colour the colour of the private objective.
+     * @return the sum of the values of the dice of that colour.
+     */
+    @Override
+    public int getPrivateScore(Colour colour) {
+        return PrivateObjectiveScore.getInstance().getScore(profile, colour);
+    }
+}
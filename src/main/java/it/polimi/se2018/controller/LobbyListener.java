@@ -0,0 +1,39 @@
+package it.polimi.se2018.controller;
+
+import it.polimi.se2018.view.View;
+
+/**
+ * The interface to be notified by a {@link MultiPlayerController} of the
+ * changes of its lobby, while the players are joining the game.
+ * <p>The methods are called by the thread that executes the actions
+ * of the controller.</p>
+ *
+ * @author michelemarzollo
+ */
+interface LobbyListener {
+
+    /**
+     * Called when a view registers its player in the lobby.
+     *
+     * @param view the view.
+     */
+    void playerJoined(View view);
+
+    /**
+     * Called when a player leaves the lobby before the game is set up.
+     */
+    void playerLeft();
+
+    /**
+     * Called when a view leaves the lobby before the game is set up,
+     * without having registered its player.
+     *
+     * @param view the view.
+     */
+    void viewLeft(View view);
+
+    /**
+     * Called when the game is set up: no more players can join it.
+     */
+    void gameSetUp();
+}
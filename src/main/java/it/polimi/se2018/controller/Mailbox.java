@@ -0,0 +1,130 @@
+package it.polimi.se2018.controller;
+
+import it.polimi.se2018.utils.Logger;
+
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * The mailbox of a game: the actions sent to the {@link Controller} of the
+ * game are queued and executed one at a time, in the order they arrived.
+ * <p>The mailbox has no thread of its own: when there are actions to execute,
+ * it borrows a thread of a worker pool shared by all the games, executes a
+ * batch of actions and gives it back. So the actions of a game never overlap,
+ * the games run in parallel on the workers and the threads that deliver the
+ * actions (network readers, RMI threads, the scheduler) never wait for the
+ * controller.</p>
+ * <p>An action sent while the mailbox is executing another one (for example
+ * by the controller itself) is executed after it.</p>
+ * <p>This class is thread-safe.</p>
+ *
+ * @author michelemarzollo
+ */
+class Mailbox implements Executor {
+
+    /**
+     * The maximum number of actions executed before giving the worker
+     * back to the pool, so that a busy game doesn't starve the others.
+     */
+    private static final int BATCH_SIZE = 32;
+
+    /**
+     * The holder of the pool shared by all the games, which is created
+     * by the class loader the first time it's needed.
+     */
+    private static class Workers {
+        private static final ExecutorService POOL = createPool();
+
+        /**
+         * Creates a pool with a daemon thread for each core.
+         *
+         * @return the pool.
+         */
+        private static ExecutorService createPool() {
+            AtomicInteger count = new AtomicInteger();
+            return Executors.newFixedThreadPool(Runtime.getRuntime().availableProcessors(), task -> {
+                Thread thread = new Thread(task, "Game-worker-" + count.incrementAndGet());
+                thread.setDaemon(true);
+                return thread;
+            });
+        }
+    }
+
+    /**
+     * The executor that provides the threads.
+     */
+    private final Executor workers;
+
+    /**
+     * The actions waiting to be executed.
+     */
+    private final Queue<Runnable> actions = new ConcurrentLinkedQueue<>();
+
+    /**
+     * Tells if a worker is executing the actions of the mailbox (or is about to).
+     */
+    private final AtomicBoolean scheduled = new AtomicBoolean();
+
+    /**
+     * The constructor of the class.
+     *
+     * @param workers the executor that provides the threads. With an executor
+     *                that runs the tasks on the calling thread the actions are
+     *                executed before {@code execute} returns, unless the mailbox
+     *                is already executing an action.
+     */
+    Mailbox(Executor workers) {
+        this.workers = workers;
+    }
+
+    /**
+     * Getter for the pool of workers shared by all the games.
+     *
+     * @return the pool.
+     */
+    static Executor sharedWorkers() {
+        return Workers.POOL;
+    }
+
+    /**
+     * Queues an action, and borrows a worker to execute it if the
+     * mailbox is idle.
+     *
+     * @param action the action.
+     */
+    @Override
+    public void execute(Runnable action) {
+        actions.add(action);
+        if (scheduled.compareAndSet(false, true))
+            workers.execute(this::drain);
+    }
+
+    /**
+     * Executes a batch of actions, then gives the worker back and, if
+     * there are actions left, borrows it again: this is done even if an
+     * action throws an error, so that the mailbox doesn't stop.
+     */
+    private void drain() {
+        try {
+            for (int i = 0; i < BATCH_SIZE; i++) {
+                Runnable action = actions.poll();
+                if (action == null)
+                    break;
+                try {
+                    action.run();
+                } catch (RuntimeException e) {
+                    Logger.getDefaultLogger().log("Action failed: " + e);
+                }
+            }
+        } finally {
+            scheduled.set(false);
+            if (!actions.isEmpty() && scheduled.compareAndSet(false, true))
+                workers.execute(this::drain);
+        }
+    }
+}
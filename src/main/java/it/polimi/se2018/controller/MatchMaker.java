@@ -6,28 +6,105 @@ import it.polimi.se2018.utils.MissingConfigurationException;
 import it.polimi.se2018.utils.ServerConfiguration;
 import it.polimi.se2018.view.View;
 
-import java.lang.ref.WeakReference;
+import java.util.Comparator;
+import java.util.NavigableSet;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentSkipListSet;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Supplier;
 
 
 /**
  * Singleton used to link a view to a controller.
+ * <p>The multi player games are filled through lobbies: there can be many open
+ * lobbies at the same time, and each view is sent to one of them according to
+ * the {@link FillPolicy}. The seats of the lobbies are reserved with atomic
+ * operations, without locks, so the views can be linked concurrently by the
+ * threads of the connections. A full lobby leaves the set of the open ones
+ * (it's back if a player leaves), and a lobby is closed when its game is set up.</p>
+ * <p>Single player games don't use lobbies: each view gets its own controller.</p>
+ * <p>This class is thread-safe.</p>
  */
 public class MatchMaker {
 
     /**
-     * The only instance of the class.
+     * The maximum number of players of a multi player game.
      */
-    private static MatchMaker instance;
+    private static final int SEATS = 4;
 
     /**
-     * A multi player controller that can accept new players.
+     * The policy to choose the lobby of a new player.
      */
-    private WeakReference<MultiPlayerController> multiPlayer;
+    public enum FillPolicy {
+        /**
+         * The player joins the oldest lobby with a free seat, so that
+         * the games start as soon as possible.
+         */
+        FILL_FIRST,
+        /**
+         * The player joins the lobby with the fewest players, so that
+         * the players are spread among the open lobbies.
+         */
+        SPREAD
+    }
+
+    /**
+     * The holder of the instance of the singleton, which is created
+     * by the class loader the first time it's needed.
+     */
+    private static class Holder {
+        private static final MatchMaker INSTANCE = new MatchMaker(MatchMaker::newMultiPlayerController);
+    }
+
+    /**
+     * The factory of the controllers of the lobbies. It returns {@code null}
+     * if a controller can't be created.
+     */
+    private final Supplier<MultiPlayerController> lobbyFactory;
+
+    /**
+     * The lobbies that have free seats, from the oldest.
+     */
+    private final NavigableSet<Lobby> openLobbies =
+            new ConcurrentSkipListSet<>(Comparator.comparingLong((Lobby lobby) -> lobby.number));
+
+    /**
+     * The number of lobbies opened so far, used to sort them by age.
+     */
+    private final AtomicLong openedLobbies = new AtomicLong();
 
     /**
-     * Private constructor to force singleton behaviour.
+     * The policy to choose the lobby of a new player.
+     */
+    private volatile FillPolicy fillPolicy = FillPolicy.FILL_FIRST;
+
+    /**
+     * The number of lobbies whose game has been set up.
+     */
+    private final LongAdder closedLobbies = new LongAdder();
+
+    /**
+     * The total time the lobbies waited, from the first player to the set
+     * up of the game, in nanoseconds.
+     */
+    private final LongAdder totalWait = new LongAdder();
+
+    /**
+     * The maximum time a lobby waited, in nanoseconds.
+     */
+    private final AtomicLong maxWait = new AtomicLong();
+
+    /**
+     * The constructor of the class.
+     *
+     * @param lobbyFactory the factory of the controllers of the lobbies.
      */
-    private MatchMaker() {
+    MatchMaker(Supplier<MultiPlayerController> lobbyFactory) {
+        this.lobbyFactory = lobbyFactory;
     }
 
     /**
@@ -36,34 +113,83 @@ public class MatchMaker {
      * @return The instance of MatchMaker.
      */
     public static MatchMaker getInstance() {
-        if (instance == null)
-            instance = new MatchMaker();
-        return instance;
+        return Holder.INSTANCE;
+    }
+
+    /**
+     * Creates the controller of a lobby, with the parameters of the {@link ServerConfiguration}.
+     *
+     * @return the controller, or {@code null} if the server isn't configured.
+     */
+    private static MultiPlayerController newMultiPlayerController() {
+        try {
+            ServerConfiguration configuration = ServerConfiguration.getInstance();
+            return new MultiPlayerController(new Game(),
+                    configuration.getTurnDuration(), configuration.getMultiPlayerTimeOut(),
+                    Mailbox.sharedWorkers());
+        } catch (MissingConfigurationException e) {
+            Logger.getDefaultLogger().log(e.getMessage());
+            return null;
+        }
+    }
+
+    /**
+     * Setter for the policy to choose the lobby of a new player.
+     *
+     * @param fillPolicy the policy.
+     */
+    public void setFillPolicy(FillPolicy fillPolicy) {
+        this.fillPolicy = fillPolicy;
     }
 
     /**
      * Links a view to a multi player controller.
+     * <p>If no open lobby has a free seat, a new one is opened.</p>
      *
      * @param view The view to be linked.
      */
     public void makeMultiPlayerMatchFor(View view) {
-        MultiPlayerController controller = null;
-        if (multiPlayer != null)
-            controller = multiPlayer.get();
-
-        if (controller == null || !controller.acceptsNewPlayers()) {
-            try {
-                ServerConfiguration configuration = ServerConfiguration.getInstance();
-                controller = new MultiPlayerController(new Game(),
-                        configuration.getTurnDuration(), configuration.getMultiPlayerTimeOut());
-
-                multiPlayer = new WeakReference<>(controller);
-            } catch (MissingConfigurationException e) {
-                Logger.getDefaultLogger().log(e.getMessage());
+        Lobby lobby = fillPolicy == FillPolicy.SPREAD ? reserveEmptiest() : reserveOldest();
+        if (lobby == null) {
+            MultiPlayerController controller = lobbyFactory.get();
+            if (controller == null)
                 return;
+            lobby = new Lobby(controller);
+            lobby.updateListing();
+        }
+        lobby.unregistered.add(view);
+        view.registerObserver(lobby.controller);
+    }
+
+    /**
+     * Reserves a seat in the oldest lobby with a free seat.
+     *
+     * @return the lobby, or {@code null} if no lobby has a free seat.
+     */
+    private Lobby reserveOldest() {
+        for (Lobby lobby : openLobbies) {
+            if (lobby.reserve())
+                return lobby;
+        }
+        return null;
+    }
+
+    /**
+     * Reserves a seat in the lobby with the fewest players.
+     *
+     * @return the lobby, or {@code null} if no lobby has a free seat.
+     */
+    private Lobby reserveEmptiest() {
+        while (true) {
+            Lobby emptiest = null;
+            for (Lobby lobby : openLobbies) {
+                int seats = lobby.seats.get();
+                if (seats >= 0 && seats < SEATS && (emptiest == null || seats < emptiest.seats.get()))
+                    emptiest = lobby;
             }
+            if (emptiest == null || emptiest.reserve())
+                return emptiest;
         }
-        view.registerObserver(controller);
     }
 
     /**
@@ -76,11 +202,197 @@ public class MatchMaker {
             ServerConfiguration configuration = ServerConfiguration.getInstance();
 
             Controller singlePlayer = new SinglePlayerController(new Game(),
-                    configuration.getTurnDuration());
+                    configuration.getTurnDuration(), Mailbox.sharedWorkers());
 
             view.registerObserver(singlePlayer);
         } catch (MissingConfigurationException e) {
             Logger.getDefaultLogger().log(e.getMessage());
         }
     }
+
+    /**
+     * Getter for the number of lobbies that have free seats.
+     *
+     * @return the number of open lobbies.
+     */
+    public int getOpenLobbies() {
+        return openLobbies.size();
+    }
+
+    /**
+     * Getter for the number of lobbies whose game has been set up.
+     *
+     * @return the number of closed lobbies.
+     */
+    public long getClosedLobbies() {
+        return closedLobbies.sum();
+    }
+
+    /**
+     * Getter for the average time the lobbies waited, from the first
+     * player to the set up of the game.
+     *
+     * @return the average time, in milliseconds, or 0 if no lobby was closed.
+     */
+    public long getAverageWait() {
+        long closed = closedLobbies.sum();
+        return closed == 0 ? 0 : TimeUnit.NANOSECONDS.toMillis(totalWait.sum() / closed);
+    }
+
+    /**
+     * Getter for the maximum time a lobby waited, from the first
+     * player to the set up of the game.
+     *
+     * @return the maximum time, in milliseconds.
+     */
+    public long getMaxWait() {
+        return TimeUnit.NANOSECONDS.toMillis(maxWait.get());
+    }
+
+    /**
+     * A lobby: a multi player game that is waiting for its players.
+     */
+    private class Lobby implements LobbyListener {
+
+        /**
+         * The value of {@code seats} when the lobby is closed.
+         */
+        private static final int CLOSED = -1;
+
+        /**
+         * The number of the lobby, in order of opening.
+         */
+        private final long number = openedLobbies.getAndIncrement();
+
+        /**
+         * The controller of the game.
+         */
+        private final MultiPlayerController controller;
+
+        /**
+         * The number of reserved seats, or {@code CLOSED}.
+         */
+        private final AtomicInteger seats = new AtomicInteger(1);
+
+        /**
+         * The views that have a reserved seat, but haven't registered their player yet.
+         */
+        private final Set<View> unregistered = ConcurrentHashMap.newKeySet();
+
+        /**
+         * Tells if the lobby is in the set of the open lobbies.
+         */
+        private boolean listed;
+
+        /**
+         * The time the lobby was opened, in nanoseconds.
+         */
+        private final long openedAt = System.nanoTime();
+
+        /**
+         * The constructor of the class: the first seat is reserved.
+         *
+         * @param controller the controller of the game.
+         */
+        Lobby(MultiPlayerController controller) {
+            this.controller = controller;
+            controller.setLobbyListener(this);
+        }
+
+        /**
+         * Reserves a seat, if the lobby is open and not full.
+         *
+         * @return {@code true} if the seat has been reserved; {@code false} otherwise.
+         */
+        boolean reserve() {
+            while (true) {
+                int reserved = seats.get();
+                if (reserved == CLOSED || reserved >= SEATS)
+                    return false;
+                if (seats.compareAndSet(reserved, reserved + 1)) {
+                    if (reserved + 1 == SEATS)
+                        updateListing();
+                    return true;
+                }
+            }
+        }
+
+        /**
+         * Adds the lobby to the set of the open lobbies, or removes it,
+         * according to its seats. It's called after each change from or to a
+         * full or closed lobby, so the last call sees the last change.
+         */
+        synchronized void updateListing() {
+            int reserved = seats.get();
+            boolean open = reserved != CLOSED && reserved < SEATS;
+            if (open == listed)
+                return;
+            listed = open;
+            if (open)
+                openLobbies.add(this);
+            else
+                openLobbies.remove(this);
+        }
+
+        /**
+         * The seat of the view now belongs to its player.
+         *
+         * @param view the view.
+         */
+        @Override
+        public void playerJoined(View view) {
+            unregistered.remove(view);
+        }
+
+        /**
+         * Frees the seat of a player that left.
+         */
+        @Override
+        public void playerLeft() {
+            release();
+        }
+
+        /**
+         * Frees the seat reserved for a view that left before registering its
+         * player: otherwise the seat would be held until the game is set up.
+         *
+         * @param view the view.
+         */
+        @Override
+        public void viewLeft(View view) {
+            if (unregistered.remove(view))
+                release();
+        }
+
+        /**
+         * Frees a seat, if the lobby is still open.
+         */
+        private void release() {
+            while (true) {
+                int reserved = seats.get();
+                if (reserved <= 0)
+                    return;
+                if (seats.compareAndSet(reserved, reserved - 1)) {
+                    if (reserved == SEATS)
+                        updateListing();
+                    return;
+                }
+            }
+        }
+
+        /**
+         * Closes the lobby and records how long it waited.
+         */
+        @Override
+        public void gameSetUp() {
+            if (seats.getAndSet(CLOSED) == CLOSED)
+                return;
+            unregistered.clear();
+            updateListing();
+            long wait = System.nanoTime() - openedAt;
+            closedLobbies.increment();
+            totalWait.add(wait);
+            maxWait.accumulateAndGet(wait, Math::max);
+        }
+    }
 }
@@ -1,7 +1,9 @@
 package it.polimi.se2018.controller;
 
 import it.polimi.se2018.model.Game;
+import it.polimi.se2018.model.Pattern;
 import it.polimi.se2018.model.PlacementErrorException;
+import it.polimi.se2018.model.PlacementResult;
 import it.polimi.se2018.model.Player;
 import it.polimi.se2018.model.Restriction;
 import it.polimi.se2018.model.events.MoveDice;
@@ -93,7 +95,13 @@ public class MoveDiceBehaviour implements ToolCardBehaviour {
 
         Player player = game.getTurnManager().getCurrentTurn().getPlayer();
         try {
-            player.setPattern(player.getPattern().moveDice(sources, destinations, restriction));
+            Pattern pattern = player.getPattern();
+            PlacementResult result = pattern.canMoveDice(sources, destinations, restriction);
+            if (!result.isSuccessful()) {
+                message.getView().showError(result.getMessage());
+                return ToolCardBehaviourResponse.FAILURE;
+            }
+            player.setPattern(pattern.moveDice(sources, destinations, restriction));
             return ToolCardBehaviourResponse.SUCCESS;
         } catch (PlacementErrorException ex) {
             message.getView().showError(ex.getMessage());
@@ -48,39 +48,11 @@ public class MoveSomeDiceBehaviour implements ToolCardBehaviour {
      */
     private List<Die> getDiceAt(Pattern pattern, Coordinates[] coordinates) {
         List<Die> selected = new ArrayList<>();
-        Cell[][] grid = pattern.getGrid();
-        for (Coordinates c : coordinates) {
-            selected.add(
-                    grid[c.getRow()][c.getCol()]
-                            .getDie()
-            );
-        }
+        for (Coordinates c : coordinates)
+            selected.add(pattern.getDie(c.getRow(), c.getCol()));
         return selected;
     }
 
-    /**
-     * Computes the list of colours contained in a matrix of dice.
-     *
-     * @param matrix The matrix where the colours are extracted from.
-     * @return A list containing all found colours without repetition.
-     */
-    private List<Colour> getColoursIn(List<List<Die>> matrix) {
-        return matrix.stream()
-                // generate a matrix of colours with no row repetition
-                .map(row -> row.stream()
-                        .map(Die::getColour)
-                        .distinct()
-                        .collect(Collectors.toList()))
-                // reduce to a list of unique colours
-                .reduce(new ArrayList<>(), (list, colours) -> {
-                    // for each colour, add only if not already present in list
-                    colours.stream()
-                            .filter(c -> !list.contains(c))
-                            .forEach(list::add);
-                    return list;
-                });
-    }
-
     /**
      * Checks if {@code message} is semantically correct.
      * <p>To be correct the message requires the size of the source array
@@ -102,19 +74,19 @@ public class MoveSomeDiceBehaviour implements ToolCardBehaviour {
      * Also another die of their colour must be present in the round track.</p>
      *
      * @param selection  The dice to be checked.
-     * @param roundTrack The round track leftover dice.
+     * @param roundTrack The round track.
      * @return {@code true} if the selected die can be moved according to the rules;
      * {@code false} otherwise.
      */
-    private boolean isSelectionValid(List<Die> selection, List<List<Die>> roundTrack) {
+    private boolean isSelectionValid(List<Die> selection, RoundTrack roundTrack) {
         List<Colour> selectionColours = selection.stream()
                 .map(Die::getColour)
                 .distinct()
                 .collect(Collectors.toList());
 
         boolean sameColour = selectionColours.size() == 1;
-        boolean colourInRoundTrack = getColoursIn(roundTrack)
-                .containsAll(selectionColours);
+        boolean colourInRoundTrack = selectionColours.stream()
+                .allMatch(roundTrack::containsColour);
 
         return sameColour && colourInRoundTrack;
     }
@@ -140,7 +112,7 @@ public class MoveSomeDiceBehaviour implements ToolCardBehaviour {
         Pattern pattern = player.getPattern();
         List<Die> selected = getDiceAt(pattern, moveDice.getSources());
 
-        if (!isSelectionValid(selected, game.getRoundTrack().getLeftovers())) {
+        if (!isSelectionValid(selected, game.getRoundTrack())) {
             moveDice.getView().showError("Invalid selection: bad colours!");
             return ToolCardBehaviourResponse.FAILURE;
         }
@@ -3,11 +3,13 @@ package it.polimi.se2018.controller;
 import it.polimi.se2018.model.*;
 import it.polimi.se2018.model.events.*;
 import it.polimi.se2018.utils.Logger;
+import it.polimi.se2018.utils.Scheduler;
 
 import java.util.Map;
 import java.util.Optional;
-import java.util.Timer;
-import java.util.TimerTask;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
 import java.util.function.Consumer;
 
 /**
@@ -52,9 +54,14 @@ public class MultiPlayerController extends Controller {
     private int timeOut;
 
     /**
-     * The timer to be used in the lobby, when players are joining the game.
+     * The handle of the countdown of the lobby, when players are joining the game.
      */
-    private Timer lobbyTimer;
+    private ScheduledFuture<?> lobbyCountdown;
+
+    /**
+     * The listener of the changes of the lobby, if any.
+     */
+    private volatile LobbyListener lobbyListener;
 
     /**
      * The constructor of the class.
@@ -69,7 +76,32 @@ public class MultiPlayerController extends Controller {
     public MultiPlayerController(Game game, int turnDuration, int timeOut) {
         super(game, turnDuration);
         this.timeOut = timeOut;
-        lobbyTimer = new Timer("Lobby timer");
+    }
+
+    /**
+     * The constructor of the class, for a controller whose actions are
+     * executed by the specified workers.
+     *
+     * @param game         The instance of the class Game, which will describe the situation
+     *                     of the match for the whole duration of it.
+     * @param turnDuration the maximum amount of time allowed for the player to make the move,
+     *                     before the turn is automatically skipped.
+     * @param timeOut      The amount of time, counted from the moment the last player was added, to
+     *                     wait before making the game start if there aren't still 4 players.
+     * @param workers      the executor that provides the threads to execute the actions.
+     */
+    MultiPlayerController(Game game, int turnDuration, int timeOut, Executor workers) {
+        super(game, turnDuration, workers);
+        this.timeOut = timeOut;
+    }
+
+    /**
+     * Sets the listener of the changes of the lobby.
+     *
+     * @param lobbyListener the listener.
+     */
+    void setLobbyListener(LobbyListener lobbyListener) {
+        this.lobbyListener = lobbyListener;
     }
 
     /**
@@ -89,6 +121,7 @@ public class MultiPlayerController extends Controller {
         actions.put(Action.END_TURN, this::endTurn);
         actions.put(Action.DISCONNECT_PLAYER, this::disconnectPlayer);
         actions.put(Action.CHOOSE_VALUE, this::applyToolCard);
+        actions.put(Action.RESYNC, this::resync);
         //Messages that shouldn't be received in MultiPlayerConfiguration
         actions.put(Action.SELECT_DIFFICULTY, this::showInvalidMessageError);
         actions.put(Action.SELECT_PRIVATE_OBJECTIVE, this::showInvalidMessageError);
@@ -205,25 +238,29 @@ public class MultiPlayerController extends Controller {
      * <p>
      * After calculating the player's score, the method sets to the final score
      * the attribute {@code score} in {@link Player}</p>
+     * <p>If the score of the player was tracked during the game it is just read
+     * from the {@link it.polimi.se2018.model.ScoreTracker}.</p>
      */
     @Override
     protected void calculateScores() {
 
+        ScoringEngine scoringEngine = new ScoringEngine(getPublicScoreCalculators());
+
         for (Player player : getGame().getPlayers()) {
 
-            //The score of one player
-            int score = 0;
-            //Each PublicObjectiveCard gives an additional score
-            for (PublicObjectiveScore publicScore : getPublicScoreCalculators()) {
-                score += publicScore.getScore(player.getPattern().getGrid());
+            Colour privateColour = player.getCards()[0].getColour();
+            ScoreTracker tracker = player.getScoreTracker();
+            int score;
+            if (tracker != null) {
+                score = tracker.getPublicScore(player.getTokens()) + tracker.getPrivateScore(privateColour);
+            } else {
+                //The score given by the PublicObjectiveCards and by the PrivateObjectiveCard
+                score = scoringEngine.getScore(player.getPattern(), privateColour);
+                //The score given by the unused tokens
+                score += player.getTokens();
+                //The score subtracted by the empty cells
+                score -= EMPTY_CELL_PENALTY * player.getPattern().emptyCells();
             }
-            //The score given by the PrivateObjectiveCard
-            score += PrivateObjectiveScore.getInstance().
-                    getScore(player.getPattern().getGrid(), player.getCards()[0].getColour());
-            //The score given by the unused tokens
-            score += player.getTokens();
-            //The score subtracted by the empty cells
-            score -= EMPTY_CELL_PENALTY * player.getPattern().emptyCells();
 
             player.setScore(score);
 
@@ -231,6 +268,17 @@ public class MultiPlayerController extends Controller {
 
     }
 
+    /**
+     * Creates the tracker of the score of a player: each unused token gives
+     * one point and each empty cell takes one point.
+     *
+     * @return the tracker of the score.
+     */
+    @Override
+    protected LiveScore createLiveScore() {
+        return new LiveScore(getPublicScoreCalculators(), EMPTY_CELL_PENALTY, 1);
+    }
+
     /**
      * The method to register a new player to the game before the start of the game.
      * <p>
@@ -254,15 +302,17 @@ public class MultiPlayerController extends Controller {
             //When the method is called there is one player to add
             getGame().addPlayer(new Player(message.getPlayerName()));
             Logger.getDefaultLogger().log("connecting " + message.getPlayerName());
+            LobbyListener listener = lobbyListener;
+            if (listener != null)
+                listener.playerJoined(message.getView());
 
             getGame().registerObserver(message.getView());
-            if (getGame().getPlayers().size() == 2) {
-                lobbyTimer.schedule(new StartingTask(getGame()), (long) timeOut * 1000);
+            if (getGame().getPlayers().size() == 2 && (lobbyCountdown == null || lobbyCountdown.isDone())) {
+                lobbyCountdown = Scheduler.getInstance()
+                        .schedule(new StartingTask(getGame()), timeOut, TimeUnit.SECONDS);
             }
-            synchronized (getGame()) {
-                if (getGame().getPlayers().size() == 4) {
-                    setUpGame();
-                }
+            if (getGame().getPlayers().size() == 4) {
+                setUpGame();
             }
         } else message.getView().showError(ALREADY_FOUR_REGISTERED_PLAYERS);
 
@@ -287,12 +337,16 @@ public class MultiPlayerController extends Controller {
      */
     private void setUpGame() {
         if (!getGame().isSetupComplete()) {
-            lobbyTimer.cancel();
+            if (lobbyCountdown != null)
+                lobbyCountdown.cancel(false);
             CardDealer cardDealer = new CardDealer(getGame());
             PublicObjectiveScore[] publicScoreCalculators = cardDealer
                     .deal(NUM_OF_PUBLIC_OBJECTIVE, NUM_OF_PRIVATE_OBJECTIVE, NUM_OF_TOOL_CARDS);
             setPublicScoreCalculators(publicScoreCalculators);
             getGame().terminateSetup();
+            LobbyListener listener = lobbyListener;
+            if (listener != null)
+                listener.gameSetUp();
         }
     }
 
@@ -307,16 +361,19 @@ public class MultiPlayerController extends Controller {
     @Override
     protected void disconnectPlayer(ViewMessage message) {
         Logger.getDefaultLogger().log("disconnecting " + message.getPlayerName());
-        String playerName = message.getPlayerName();
-        Optional<Player> player = getGame().getPlayers().stream()
-                .filter(p -> p.getName().equals(playerName))
-                .findFirst();
+        Optional<Player> player = findPlayer(message.getPlayerName());
 
         if (getGame().isSetupComplete())
             player.ifPresent(p -> p.setConnected(false));
         else {
             getGame().deregisterObserver(message.getView());
-            player.ifPresent(p -> getGame().removePlayer(p));
+            LobbyListener listener = lobbyListener;
+            if (player.isPresent()) {
+                getGame().removePlayer(player.get());
+                if (listener != null)
+                    listener.playerLeft();
+            } else if (listener != null)
+                listener.viewLeft(message.getView());
         }
 
         //checks if there is any connected player
@@ -341,10 +398,7 @@ public class MultiPlayerController extends Controller {
     private void reconnectPlayer(ViewMessage message) {
         Logger.getDefaultLogger().log("Reconnecting " + message.getPlayerName());
 
-        String playerName = message.getPlayerName();
-        Optional<Player> maybePlayer = getGame().getPlayers().stream()
-                .filter(p -> p.getName().equals(playerName))
-                .findFirst();
+        Optional<Player> maybePlayer = findPlayer(message.getPlayerName());
         maybePlayer.ifPresent(player -> player.setConnected(true));
         if (maybePlayer.isPresent())
             restoreGameData(message);
@@ -383,16 +437,7 @@ public class MultiPlayerController extends Controller {
      * @param message The message sent by the view.
      */
     private void restoreGameStatus(ViewMessage message) {
-        for (Player player : getGame().getPlayers()) {
-            PlayerStatus playerStatus = new PlayerStatus(player);
-            message.getView().update(playerStatus);
-        }
-        DraftPoolUpdate draftPoolUpdate
-                = new DraftPoolUpdate(getGame().getDraftPool().getDice());
-        message.getView().update(draftPoolUpdate);
-        RoundTrackUpdate roundTrackUpdate
-                = new RoundTrackUpdate(getGame().getRoundTrack().getLeftovers());
-        message.getView().update(roundTrackUpdate);
+        resync(message);
         NextTurn nextTurn = new NextTurn(getGame().getTurnManager().getCurrentTurn());
         message.getView().update(nextTurn);
         message.getView().showMultiPlayerGame();
@@ -400,11 +445,11 @@ public class MultiPlayerController extends Controller {
 
 
     /**
-     * The class to implement the task for the Timer in {@code registerPlayer()}.
+     * The class to implement the task for the countdown in {@code registerPlayer()}.
      *
      * @author michelemarzollo
      */
-    private class StartingTask extends TimerTask {
+    private class StartingTask implements Runnable {
 
         /**
          * The game that contains the players and that must be started at the
@@ -422,16 +467,17 @@ public class MultiPlayerController extends Controller {
         }
 
         /**
-         * The task to be scheduled when the Timer stops:
+         * The task to be scheduled when the countdown stops, which is queued
+         * in the mailbox of the controller:
          * if the number of players of the game is less than two the method
          * doesn't do anything, otherwise it starts the game.
          */
         @Override
         public void run() {
-            synchronized (game) {
+            submit(() -> {
                 if (game.getPlayers().size() > 1)
                     setUpGame();
-            }
+            });
         }
     }
 }
@@ -0,0 +1,134 @@
+package it.polimi.se2018.controller;
+
+import it.polimi.se2018.model.PublicObjectiveCard;
+import it.polimi.se2018.utils.Logger;
+import org.xml.sax.SAXException;
+
+import java.util.Random;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * The registry of all the {@link PublicObjectiveCard}s of the game, with
+ * the {@link PublicObjectiveScore}s that calculate their scores.
+ * <p>The xml files of the cards are parsed and validated only once, when the
+ * registry is first used (the server does it at startup): then the cards are
+ * dealt without touching the file system. The registry is immutable and the
+ * score calculators are stateless, so they are shared by all the games, and
+ * games can be set up concurrently.</p>
+ *
+ * @author michelemarzollo
+ */
+public class ObjectiveRegistry {
+
+    /**
+     * The holder of the instance of the singleton, which is created
+     * by the class loader the first time it's needed.
+     */
+    private static class Holder {
+        private static final ObjectiveRegistry INSTANCE = compile();
+    }
+
+    /**
+     * The cards of the registry.
+     */
+    private final PublicObjectiveCard[] cards;
+
+    /**
+     * The calculators of the scores of {@code cards}, in the same order.
+     */
+    private final PublicObjectiveScore[] scores;
+
+    /**
+     * The constructor of the class.
+     *
+     * @param elements the cards and their score calculators.
+     */
+    ObjectiveRegistry(PublicObjectiveElements elements) {
+        this.cards = elements.getCards().clone();
+        this.scores = elements.getScoreCalculators().clone();
+        if (cards.length != scores.length)
+            throw new IllegalArgumentException("Each card must have a score calculator");
+    }
+
+    /**
+     * The method to get (and eventually create) the instance of the singleton.
+     *
+     * @return the instance of the singleton.
+     */
+    public static ObjectiveRegistry getInstance() {
+        return Holder.INSTANCE;
+    }
+
+    /**
+     * Loads all the cards from the default directory. If they can't be
+     * loaded, because a file is invalid or a card can't be created, the
+     * error is logged and the registry is empty.
+     *
+     * @return the registry.
+     */
+    private static ObjectiveRegistry compile() {
+        try {
+            return new ObjectiveRegistry(new XmlPublicObjectiveLoader().loadAll());
+        } catch (SAXException | XmlPublicObjectiveLoader.CouldNotCreateObjectException e) {
+            Logger.getDefaultLogger().log("The public objectives can't be loaded: " + e);
+            return new ObjectiveRegistry(new PublicObjectiveElements(
+                    new PublicObjectiveCard[]{}, new PublicObjectiveScore[]{}));
+        }
+    }
+
+    /**
+     * Getter for the number of cards.
+     *
+     * @return the number of cards.
+     */
+    public int size() {
+        return cards.length;
+    }
+
+    /**
+     * Gets all the cards and their score calculators.
+     *
+     * @return the cards and their score calculators.
+     */
+    public PublicObjectiveElements getAll() {
+        return new PublicObjectiveElements(cards.clone(), scores.clone());
+    }
+
+    /**
+     * Selects {@code n} different cards at random.
+     * <p>If there are not enough cards, all the cards are returned in random order.</p>
+     *
+     * @param n the number of cards.
+     * @return the cards and their score calculators.
+     */
+    public PublicObjectiveElements sample(int n) {
+        return sample(n, ThreadLocalRandom.current());
+    }
+
+    /**
+     * Selects {@code n} different cards at random, with a partial
+     * Fisher-Yates shuffle of their positions.
+     *
+     * @param n      the number of cards.
+     * @param random the source of randomness.
+     * @return the cards and their score calculators.
+     */
+    PublicObjectiveElements sample(int n, Random random) {
+        int size = Math.min(n, cards.length);
+        int[] positions = new int[cards.length];
+        for (int i = 0; i < positions.length; i++)
+            positions[i] = i;
+
+        PublicObjectiveCard[] sampledCards = new PublicObjectiveCard[size];
+        PublicObjectiveScore[] sampledScores = new PublicObjectiveScore[size];
+        for (int i = 0; i < size; i++) {
+            int j = i + random.nextInt(positions.length - i);
+            int position = positions[j];
+            positions[j] = positions[i];
+            positions[i] = position;
+            sampledCards[i] = cards[position];
+            sampledScores[i] = scores[position];
+        }
+        return new PublicObjectiveElements(sampledCards, sampledScores);
+    }
+}
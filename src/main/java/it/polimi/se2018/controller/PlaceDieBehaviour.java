@@ -12,6 +12,11 @@ import it.polimi.se2018.utils.Logger;
  */
 public class PlaceDieBehaviour implements ToolCardBehaviour {
 
+    /**
+     * Error string for placements that don't respect restrictions.
+     */
+    private static final String PLACEMENT_ERROR = "Placement doesn't respect restrictions: ";
+
     /**
      * Flag to indicate if the second turn is to be used.
      */
@@ -72,10 +77,16 @@ public class PlaceDieBehaviour implements ToolCardBehaviour {
     public ToolCardBehaviourResponse useToolCard(Game game, ViewMessage message) {
 
         PlaceDie placeDie = (PlaceDie) message;
-        Die selectedDie = game.getDraftPool().select(placeDie.getDieIndex());
         Turn currentTurn = game.getTurnManager().getCurrentTurn();
         try {
+            Die selectedDie = game.getDraftPool().get(placeDie.getDieIndex());
             Pattern currentPattern = currentTurn.getPlayer().getPattern();
+            PlacementResult result =
+                    currentPattern.canPlace(selectedDie, placeDie.getDestination(), restriction);
+            if (!result.isSuccessful()) {
+                placeDie.getView().showError(PLACEMENT_ERROR + result.getMessage());
+                return ToolCardBehaviourResponse.FAILURE;
+            }
             Pattern newPattern =
                     currentPattern.placeDie(selectedDie, placeDie.getDestination(), restriction);
             currentTurn.getPlayer().setPattern(newPattern);
@@ -86,15 +97,10 @@ public class PlaceDieBehaviour implements ToolCardBehaviour {
             else
                 currentTurn.placeDie();
 
-            if(currentTurn.getSacrificeIndex() > placeDie.getDieIndex())
-                currentTurn.setSacrificeIndex(currentTurn.getSacrificeIndex() - 1);
-
             return ToolCardBehaviourResponse.SUCCESS;
 
         } catch (PlacementErrorException e) {
-            placeDie.getView().showError(
-                    "Placement doesn't respect restrictions: " + e.getMessage()
-            );
+            placeDie.getView().showError(PLACEMENT_ERROR + e.getMessage());
         } catch (IndexOutOfBoundsException e) {
             placeDie.getView().showError("Bad selection!");
         }
@@ -56,4 +56,16 @@ public class PrivateObjectiveScore {
         }
         return count;
     }
+
+    /**
+     * The method to calculate the score dealing with the PrivateObjectiveCard
+     * from the aggregates of the {@link it.polimi.se2018.model.Pattern}.
+     *
+     * @param profile the aggregates of the Pattern.
+     * @param colour  the colour for which the score must be calculated.
+     * @return the score.
+     */
+    public int getScore(BoardProfile profile, Colour colour) {
+        return profile.getColourSum(colour);
+    }
 }
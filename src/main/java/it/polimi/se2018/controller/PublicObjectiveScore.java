@@ -45,16 +45,29 @@ public abstract class PublicObjectiveScore {
     protected abstract int getScore(Cell[][] grid);
 
     /**
-     * Gets the attribute of the die related to the property of the card:
-     * if the card work on colours it's the colour, otherwise it's the value.
+     * The method to calculate the score related to the
+     * {@link it.polimi.se2018.model.PublicObjectiveCard} from the aggregates
+     * of the final {@link it.polimi.se2018.model.Pattern}. The result is the
+     * same of {@code getScore(Cell[][])} on the grid of the Pattern.
+     *
+     * @param profile the aggregates of the Pattern.
+     * @return the score.
+     */
+    protected abstract int getScore(BoardProfile profile);
+
+    /**
+     * Gets the code of the attribute of the die related to the property of the card:
+     * if the card work on colours it's the ordinal of the colour, otherwise it's
+     * the value - 1. The codes are between 0 and 5, so they can be used as
+     * indexes of tables and bit masks.
      *
      * @param die the die we are interested in.
-     * @return the colour or value of the die.
+     * @return the code of the colour or value of the die.
      */
-    protected Object getProperty(Die die) {
+    protected int getCode(Die die) {
         if (propertyIsColour)
-            return die.getColour();
-        else return die.getValue();
+            return die.getColour().ordinal();
+        else return die.getValue() - 1;
     }
 
 }
@@ -5,24 +5,21 @@ import it.polimi.se2018.model.events.ChooseValue;
 import it.polimi.se2018.model.events.SelectDie;
 import it.polimi.se2018.model.events.ViewMessage;
 
-import java.util.ArrayList;
-import java.util.List;
-import java.util.Random;
-
 /**
  * This class manages the usage of tool cards that puts a die back in the dice bag
  * and pulls a new one, allowing the player to select the value before placing it.
+ * <p>The tool card is applied in two steps: the step to do is kept in the current
+ * {@link Turn}, so the class is stateless.</p>
  *
  * @author michelemarzollo
  */
 public class PullAgainAndPlaceBehaviour implements ToolCardBehaviour {
 
     /**
-     * The attribute to indicate if the first part of the procedure linked
-     * to the toolCard was already done. It's set to {@code false} if the first
-     * step wasn't already done, to {@code true} otherwise.
+     * The number of steps done when the die has been pulled again, and
+     * the value of the die has to be chosen.
      */
-    private boolean firstStepDone = false;
+    private static final int FIRST_STEP_DONE = 1;
 
     /**
      * Tells if the tool card can be applied.
@@ -46,7 +43,6 @@ public class PullAgainAndPlaceBehaviour implements ToolCardBehaviour {
     @Override
     public void askParameters(ViewMessage message) {
         message.getView().showDieSelection();
-        firstStepDone = false;
     }
 
     /**
@@ -64,7 +60,7 @@ public class PullAgainAndPlaceBehaviour implements ToolCardBehaviour {
     @Override
     public ToolCardBehaviourResponse useToolCard(Game game, ViewMessage message) {
 
-        if (!firstStepDone) {
+        if (game.getTurnManager().getCurrentTurn().getToolCardStep() != FIRST_STEP_DONE) {
             SelectDie selectMessage = (SelectDie) message;
             return firstStep(game, selectMessage);
         } else {
@@ -90,20 +86,16 @@ public class PullAgainAndPlaceBehaviour implements ToolCardBehaviour {
      */
     private ToolCardBehaviourResponse firstStep(Game game, SelectDie selectMessage) {
         try {
-            List<Die> dice = game.getDraftPool().getDice();
-
-            Die oldDie = dice.remove(selectMessage.getDieIndex());
+            Die oldDie = game.getDraftPool().get(selectMessage.getDieIndex());
             game.getDiceBag().pushBack(oldDie);
-            //I draft 1 die from the diceBag and put it in the list of dice
+            //I draft 1 die from the diceBag and put it in the slot of the old one
             Die newDie = game.getDiceBag().draft(1).get(0);
-            dice.add(selectMessage.getDieIndex(), newDie);
-            //I set the new DraftPool in the game
-            game.getDraftPool().setDice(dice);
+            game.getDraftPool().replace(selectMessage.getDieIndex(), newDie);
             //Setting of the forced selection in the current turn
             game.getTurnManager().getCurrentTurn().setForcedSelectionIndex(
                     selectMessage.getDieIndex());
 
-            firstStepDone = true;
+            game.getTurnManager().getCurrentTurn().setToolCardStep(FIRST_STEP_DONE);
             selectMessage.getView().showValueDestinationSelection();
             return ToolCardBehaviourResponse.CONSUME;
         } catch (IndexOutOfBoundsException e) {
@@ -125,11 +117,11 @@ public class PullAgainAndPlaceBehaviour implements ToolCardBehaviour {
     private ToolCardBehaviourResponse secondStep(Game game, ChooseValue chooseMessage) {
 
         int forcedSelection = game.getTurnManager().getCurrentTurn().getForcedSelectionIndex();
-        Die oldDie = game.getDraftPool().getDice().get(forcedSelection);
+        Die oldDie = game.getDraftPool().get(forcedSelection);
 
         //I create a new die with the same colour and the specified value
-        Die newDie = new Die(chooseMessage.getValue(), new Random(), oldDie.getColour());
-        insertNewDie(game, newDie, forcedSelection);
+        Die newDie = Die.of(chooseMessage.getValue(), oldDie.getColour());
+        game.getDraftPool().replace(forcedSelection, newDie);
         try {
             Turn currentTurn = game.getTurnManager().getCurrentTurn();
 
@@ -140,28 +132,13 @@ public class PullAgainAndPlaceBehaviour implements ToolCardBehaviour {
             game.getDraftPool().draft(forcedSelection);
 
             currentTurn.placeDie();
-
-            if(currentTurn.getSacrificeIndex() > currentTurn.getForcedSelectionIndex())
-                currentTurn.setSacrificeIndex(currentTurn.getSacrificeIndex() - 1);
             currentTurn.setForcedSelectionIndex(-1);
         } catch (PlacementErrorException e) {
             chooseMessage.getView().showError(
                     "Placement doesn't respect restrictions!\n" + e.getMessage()
             );
         }
-        firstStepDone = false;
+        game.getTurnManager().getCurrentTurn().setToolCardStep(0);
         return ToolCardBehaviourResponse.USE;
     }
-
-    /**
-     * Inserts the given die at the given position.
-     * @param game The game owning the die.
-     * @param newDie The die to insert.
-     * @param index The index of the die.
-     */
-    private void insertNewDie(Game game, Die newDie, int index) {
-        List<Die> draftPool = new ArrayList<>(game.getDraftPool().getDice());
-        draftPool.set(index, newDie);
-        game.getDraftPool().setDice(draftPool);
-    }
 }
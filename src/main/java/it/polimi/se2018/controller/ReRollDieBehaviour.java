@@ -1,12 +1,10 @@
 package it.polimi.se2018.controller;
 
-import it.polimi.se2018.model.Die;
+import it.polimi.se2018.model.DraftPool;
 import it.polimi.se2018.model.Game;
 import it.polimi.se2018.model.events.SelectDie;
 import it.polimi.se2018.model.events.ViewMessage;
 
-import java.util.List;
-
 /**
  * This class manages the usage of tool cards that re-rolls a die.
  *
@@ -50,13 +48,11 @@ public class ReRollDieBehaviour implements ToolCardBehaviour {
     public ToolCardBehaviourResponse useToolCard(Game game, ViewMessage message) {
         SelectDie selectDie = (SelectDie) message;
         try {
-            List<Die> draftPool = game.getDraftPool().getDice();
-            Die rerolledDie = draftPool.get(selectDie.getDieIndex()).roll();
-            draftPool.set(selectDie.getDieIndex(), rerolledDie);
-            game.getDraftPool().setDice(draftPool);
+            DraftPool draftPool = game.getDraftPool();
+            int index = selectDie.getDieIndex();
+            draftPool.replace(index, game.getDiceBag().roll(draftPool.get(index)));
 
             // force next selection
-            int index = draftPool.indexOf(rerolledDie);
             game.getTurnManager().getCurrentTurn().setForcedSelectionIndex(index);
 
         } catch (IndexOutOfBoundsException e) {
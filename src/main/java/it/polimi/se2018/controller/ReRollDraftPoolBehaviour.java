@@ -1,13 +1,9 @@
 package it.polimi.se2018.controller;
 
-import it.polimi.se2018.model.Die;
 import it.polimi.se2018.model.Game;
 import it.polimi.se2018.model.Turn;
 import it.polimi.se2018.model.events.ViewMessage;
 
-import java.util.List;
-import java.util.stream.Collectors;
-
 /**
  * This class manages the usage of tool cards that re-rolls all dice in the draft pool.
  *
@@ -51,10 +47,7 @@ public class ReRollDraftPoolBehaviour implements ToolCardBehaviour {
      */
     @Override
     public ToolCardBehaviourResponse useToolCard(Game game, ViewMessage message) {
-        List<Die> newDraftPool = game.getDraftPool().getDice().stream()
-                .map(Die::roll)
-                .collect(Collectors.toList());
-        game.getDraftPool().setDice(newDraftPool);
+        game.getDraftPool().replaceAll(game.getDiceBag()::roll);
         return ToolCardBehaviourResponse.SUCCESS;
     }
 }
@@ -38,10 +38,22 @@ public class RowVarietyScore extends ArrayVarietyScore {
     protected int getScore(Cell[][] grid) {
         int numOfRows = 0;
 
-        for (Cell[] row : grid) {
-            if (allDifferentValues(row))
+        for (int row = 0; row < grid.length; row++) {
+            if (allDifferentValues(grid, row, true))
                 numOfRows++;
         }
         return victoryPoints * numOfRows;
     }
+
+    /**
+     * The score is given by the number of complete rows with all different
+     * values for the property, multiplied by the {@code victoryPoints} of the card.
+     *
+     * @param profile the aggregates of the {@link it.polimi.se2018.model.Pattern}.
+     * @return the score.
+     */
+    @Override
+    protected int getScore(BoardProfile profile) {
+        return victoryPoints * profile.getVarietyRows(propertyIsColour);
+    }
 }
@@ -3,6 +3,7 @@ package it.polimi.se2018.controller;
 import it.polimi.se2018.model.Cell;
 import it.polimi.se2018.model.Colour;
 import it.polimi.se2018.model.Pattern;
+import it.polimi.se2018.model.PatternTemplate;
 import org.xml.sax.Attributes;
 import org.xml.sax.helpers.DefaultHandler;
 
@@ -31,7 +32,15 @@ public class SaxPatternBuilder extends DefaultHandler {
      * @return The pattern described in the xml.
      */
     public Pattern build() {
-        return new Pattern(name, difficulty, grid);
+        return new Pattern(buildTemplate());
+    }
+
+    /**
+     * Creates a new template using the parsed data.
+     * @return The template described in the xml.
+     */
+    public PatternTemplate buildTemplate() {
+        return new PatternTemplate(name, difficulty, grid);
     }
 
     /**
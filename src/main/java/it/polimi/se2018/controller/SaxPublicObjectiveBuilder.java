@@ -90,7 +90,7 @@ public class SaxPublicObjectiveBuilder extends DefaultHandler {
      * A map to connect the string {@code strategy} to the class that
      * will calculate the score of the card.
      */
-    private static final Map<String, PublicObjectiveScore> scoreStrategies = new HashMap<>();
+    private final Map<String, PublicObjectiveScore> scoreStrategies = new HashMap<>();
 
     /**
      * The method to set the map {@code scoreStrategies}.
@@ -99,8 +99,12 @@ public class SaxPublicObjectiveBuilder extends DefaultHandler {
         scoreStrategies.put("Row", new RowVarietyScore(victoryPoints, propertyIsColour));
         scoreStrategies.put("Column", new ColumnVarietyScore(victoryPoints, propertyIsColour));
         scoreStrategies.put("Diagonals", new DiagonalScore(victoryPoints, propertyIsColour));
-        scoreStrategies.put("Grid", new GridVarietyScore(victoryPoints, propertyIsColour,
-                propertyIsColour ? colourArray : valueArray));
+        //Only the cards with the strategy 'Grid' have the elements to count
+        Object[] elements = propertyIsColour ? colourArray : valueArray;
+        if (elements != null)
+            scoreStrategies.put("Grid", new GridVarietyScore(victoryPoints, propertyIsColour, elements));
+        else
+            scoreStrategies.remove("Grid");
     }
 
     /**
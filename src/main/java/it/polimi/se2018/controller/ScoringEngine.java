@@ -0,0 +1,68 @@
+package it.polimi.se2018.controller;
+
+import it.polimi.se2018.model.Colour;
+import it.polimi.se2018.model.Die;
+import it.polimi.se2018.model.Pattern;
+
+import static it.polimi.se2018.model.Pattern.COLS;
+import static it.polimi.se2018.model.Pattern.ROWS;
+
+/**
+ * The class that calculates the score given by the objectives on a
+ * {@link Pattern} at the end of the game.
+ * <p>Each board is traversed only once to build its {@link BoardProfile}:
+ * all the {@link PublicObjectiveScore}s and the {@link PrivateObjectiveScore}
+ * are then evaluated on the profile.</p>
+ *
+ * @author michelemarzollo
+ */
+public class ScoringEngine {
+
+    /**
+     * The calculators of the public objectives of the game.
+     */
+    private final PublicObjectiveScore[] publicScores;
+
+    /**
+     * The constructor of the class.
+     *
+     * @param publicScores the calculators of the public objectives of the game.
+     */
+    public ScoringEngine(PublicObjectiveScore[] publicScores) {
+        this.publicScores = publicScores.clone();
+    }
+
+    /**
+     * Calculates the score given by all the public objectives and by the
+     * private objective on a pattern.
+     *
+     * @param pattern       the pattern of the player.
+     * @param privateColour the colour of the private objective of the player.
+     * @return the score.
+     */
+    public int getScore(Pattern pattern, Colour privateColour) {
+        BoardProfile profile = profile(pattern);
+        int score = 0;
+        for (PublicObjectiveScore publicScore : publicScores)
+            score += publicScore.getScore(profile);
+        return score + PrivateObjectiveScore.getInstance().getScore(profile, privateColour);
+    }
+
+    /**
+     * Builds the profile of a pattern with a single traversal of its cells.
+     *
+     * @param pattern the pattern.
+     * @return the profile of the pattern.
+     */
+    public static BoardProfile profile(Pattern pattern) {
+        BoardProfile profile = new BoardProfile();
+        for (int row = 0; row < ROWS; row++) {
+            for (int col = 0; col < COLS; col++) {
+                Die die = pattern.getDie(row, col);
+                if (die != null)
+                    profile.place(row, col, die);
+            }
+        }
+        return profile;
+    }
+}
@@ -5,6 +5,7 @@ import it.polimi.se2018.model.events.*;
 import it.polimi.se2018.utils.Logger;
 
 import java.util.Map;
+import java.util.concurrent.Executor;
 import java.util.function.Consumer;
 
 
@@ -65,6 +66,20 @@ public class SinglePlayerController extends Controller {
         super(game, turnDuration);
     }
 
+    /**
+     * Creates a new controller for the Single Player mode
+     * associated to the specified game instance, whose actions
+     * are executed by the specified workers.
+     *
+     * @param game         The game that has to be bound
+     *                     to the controller.
+     * @param turnDuration The time that the player have to consume his turn.
+     * @param workers      the executor that provides the threads to execute the actions.
+     */
+    SinglePlayerController(Game game, int turnDuration, Executor workers) {
+        super(game, turnDuration, workers);
+    }
+
     /**
      * Allows to register custom action handlers. It registers
      * all the actions common to both SinglePlayer mode and multiPlayer
@@ -85,6 +100,7 @@ public class SinglePlayerController extends Controller {
         actions.put(Action.DISCONNECT_PLAYER, this::disconnectPlayer);
         actions.put(Action.SELECT_PRIVATE_OBJECTIVE, this::selectPrivateObjective);
         actions.put(Action.CHOOSE_VALUE, this::applyToolCard);
+        actions.put(Action.RESYNC, this::resync);
 
     }
 
@@ -197,6 +213,17 @@ public class SinglePlayerController extends Controller {
         selectCard.getView().showError("The chosen private objective card is not available!");
     }
 
+    /**
+     * Creates the tracker of the score of the player: the unused tokens
+     * give no points and each empty cell takes three points.
+     *
+     * @return the tracker of the score.
+     */
+    @Override
+    protected LiveScore createLiveScore() {
+        return new LiveScore(getPublicScoreCalculators(), EMPTY_CELL_PENALTY, 0);
+    }
+
     /**
      * Calculate the scores of the two players: the user
      * and the {@link RoundTrack}. It is calculated
@@ -206,20 +233,19 @@ public class SinglePlayerController extends Controller {
      */
     @Override
     protected void calculateScores() {
-        int publicScore = 0;
-        Cell[][] patternGrid = getGame().getPlayers().get(0).getPattern().getGrid();
-        for (PublicObjectiveScore publicScoreCalculator : getPublicScoreCalculators()) {
-            publicScore += publicScoreCalculator.getScore(patternGrid);
-        }
-        //The chosen PrivateObjectiveCard is placed in the first position of the array (0).
-        Colour privateObjectiveColour = getGame().getPlayers().get(0).getCards()[0].getColour();
-        int privateScore = PrivateObjectiveScore.getInstance().
-                getScore(patternGrid, privateObjectiveColour);
-
-        int emptySpacePenalty = EMPTY_CELL_PENALTY * getGame().getPlayers().get(0).getPattern().emptyCells();
         //Player in position 0 is the user.
-        getGame().getPlayers().get(0).
-                setScore(publicScore + privateScore - emptySpacePenalty);
+        Player player = getGame().getPlayers().get(0);
+        //The chosen PrivateObjectiveCard is placed in the first position of the array (0).
+        Colour privateObjectiveColour = player.getCards()[0].getColour();
+        ScoreTracker tracker = player.getScoreTracker();
+        if (tracker != null) {
+            player.setScore(tracker.getPublicScore(player.getTokens()) + tracker.getPrivateScore(privateObjectiveColour));
+        } else {
+            int objectivesScore = new ScoringEngine(getPublicScoreCalculators()).
+                    getScore(player.getPattern(), privateObjectiveColour);
+            int emptySpacePenalty = EMPTY_CELL_PENALTY * player.getPattern().emptyCells();
+            player.setScore(objectivesScore - emptySpacePenalty);
+        }
         //Player in position 1 is the RoundTrack.
         getGame().getPlayers().get(1).
                 setScore(getGame().getRoundTrack().getSum());
@@ -253,7 +279,7 @@ public class SinglePlayerController extends Controller {
         int dieIndex = selectionMessage.getDieIndex();
         try {
             if (!toolCard.isUsed()) {
-                if (getGame().getDraftPool().getDice().get(dieIndex).getColour().
+                if (getGame().getDraftPool().get(dieIndex).getColour().
                         equals(toolCard.getColour())) {
                     getGame().getTurnManager().getCurrentTurn().
                             setSacrificeIndex(dieIndex);
@@ -304,10 +330,6 @@ public class SinglePlayerController extends Controller {
         int dieIndex = currentTurn.getSacrificeIndex();
         getGame().getDraftPool().draft(dieIndex);
         currentTurn.getSelectedToolCard().use();
-
-        if (currentTurn.getForcedSelectionIndex() > currentTurn.getSacrificeIndex() &&
-                currentTurn.getSacrificeIndex() != -1)
-            currentTurn.setForcedSelectionIndex(currentTurn.getForcedSelectionIndex() - 1);
     }
 
     /**
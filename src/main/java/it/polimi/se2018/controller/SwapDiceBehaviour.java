@@ -5,8 +5,6 @@ import it.polimi.se2018.model.Game;
 import it.polimi.se2018.model.events.DiceSwap;
 import it.polimi.se2018.model.events.ViewMessage;
 
-import java.util.List;
-
 /**
  * This class manages the usage of tool cards that swap a die from the draft pool with
  * one from the round track.
@@ -57,16 +55,13 @@ public class SwapDiceBehaviour implements ToolCardBehaviour {
     @Override
     public ToolCardBehaviourResponse useToolCard(Game game, ViewMessage message) {
         DiceSwap swapMessage = (DiceSwap) message;
-        Die fromDraftPool = game.getDraftPool().select(swapMessage.getSourceIndex());
-
         try {
+            Die fromDraftPool = game.getDraftPool().get(swapMessage.getSourceIndex());
             Die fromRoundTrack = game.getRoundTrack().swap(swapMessage.getDestination(),
                     fromDraftPool);
             if (fromRoundTrack != null) {
                 //Update of the DraftPool inserting the die from the RoundTrack
-                List<Die> dice = game.getDraftPool().getDice();
-                dice.set(swapMessage.getSourceIndex(), fromRoundTrack);
-                game.getDraftPool().setDice(dice);
+                game.getDraftPool().replace(swapMessage.getSourceIndex(), fromRoundTrack);
                 //Setting of the forced selection in the current turn
                 game.getTurnManager().getCurrentTurn().setForcedSelectionIndex(
                         swapMessage.getSourceIndex());
@@ -0,0 +1,67 @@
+package it.polimi.se2018.controller;
+
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Enum that represents the tool cards of the game, whose behaviours are
+ * registered in the {@link Controller}.
+ * <p>The cards are identified by their name, as it's written in their xml file.</p>
+ */
+public enum ToolCardType {
+    GROZING_PLIERS("Grozing Pliers"),
+    EGLOMISE_BRUSH("Eglomise Brush"),
+    COPPER_FOIL_BURNISHER("Copper Foil Burnisher"),
+    LATHEKIN("Lathekin"),
+    LENS_CUTTER("Lens Cutter"),
+    FLUX_BRUSH("Flux Brush"),
+    GLAZING_HAMMER("Glazing Hammer"),
+    RUNNING_PLIERS("Running Pliers"),
+    CORK_BACKED_STRAIGHTEDGE("Cork-backed Straightedge"),
+    GRINDING_STONE("Grinding Stone"),
+    FLUX_REMOVER("Flux Remover"),
+    TAP_WHEEL("Tap Wheel");
+
+    /**
+     * The types of the cards, by name.
+     */
+    private static final Map<String, ToolCardType> BY_NAME = new HashMap<>();
+
+    static {
+        for (ToolCardType type : values())
+            BY_NAME.put(type.name, type);
+    }
+
+    /**
+     * The name of the card.
+     */
+    private final String name;
+
+    /**
+     * Creates a new type of card.
+     *
+     * @param name the name of the card.
+     */
+    ToolCardType(String name) {
+        this.name = name;
+    }
+
+    /**
+     * Getter for the name of the card.
+     *
+     * @return the name of the card.
+     */
+    public String getName() {
+        return name;
+    }
+
+    /**
+     * Finds the type of a card from its name.
+     *
+     * @param name the name of the card.
+     * @return the type of the card, or {@code null} if there is no card with that name.
+     */
+    public static ToolCardType fromName(String name) {
+        return BY_NAME.get(name);
+    }
+}
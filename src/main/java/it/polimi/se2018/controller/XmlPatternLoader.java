@@ -1,12 +1,15 @@
 package it.polimi.se2018.controller;
 
 import it.polimi.se2018.model.Pattern;
+import it.polimi.se2018.model.PatternTemplate;
 import it.polimi.se2018.utils.ResourceManager;
 import org.xml.sax.SAXException;
 
 import java.io.IOException;
 import java.io.InputStream;
 import java.util.Collections;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
 
 /**
  * This class allows to load pattern cards from xml files contained in
@@ -21,6 +24,13 @@ public class XmlPatternLoader extends XmlCardLoader implements PatternLoader{
 
     private static final String PATTERNS_DIR = "it/polimi/se2018/model/patterns/";
 
+    /**
+     * The templates already parsed, indexed by their resource path.
+     * <p>Templates are immutable, so they are parsed only once and
+     * shared by all the loaders (and so by all the games).</p>
+     */
+    private static final Map<String, PatternTemplate> TEMPLATES = new ConcurrentHashMap<>();
+
     /**
      * The directory where patterns are stored.
      */
@@ -76,12 +86,27 @@ public class XmlPatternLoader extends XmlCardLoader implements PatternLoader{
 
     /**
      * Loads a pattern from an xml file.
+     * <p>The file is parsed only the first time, then the
+     * cached template is used.</p>
      *
      * @param resource The name of the resource where the pattern is described.
      * @return A pattern matching its description in xml. If {@code null}
      * is returned then some error while loading happened.
      */
     private Pattern loadPattern(String resource) {
+        PatternTemplate template = TEMPLATES.computeIfAbsent(basePath + resource,
+                path -> loadTemplate(resource));
+        return template == null ? null : new Pattern(template);
+    }
+
+    /**
+     * Loads a template from an xml file.
+     *
+     * @param resource The name of the resource where the pattern is described.
+     * @return A template matching its description in xml. If {@code null}
+     * is returned then some error while loading happened.
+     */
+    private PatternTemplate loadTemplate(String resource) {
         try {
 
             InputStream inputStream =
@@ -89,7 +114,7 @@ public class XmlPatternLoader extends XmlCardLoader implements PatternLoader{
             SaxPatternBuilder saxPatternBuilder = new SaxPatternBuilder();
 
             saxParser.parse(inputStream, saxPatternBuilder);
-            return saxPatternBuilder.build();
+            return saxPatternBuilder.buildTemplate();
 
         } catch (SAXException | IOException ignored) {
             return null;
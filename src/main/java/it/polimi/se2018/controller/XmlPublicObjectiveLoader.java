@@ -105,6 +105,26 @@ public class XmlPublicObjectiveLoader extends XmlCardLoader {
         return new PublicObjectiveElements(arrayOfCards, scoreCalculators);
     }
 
+    /**
+     * Loads all the valid cards of the base directory, in the order of the list file.
+     *
+     * @return The cards and their score calculators.
+     */
+    public PublicObjectiveElements loadAll() {
+        PublicObjectiveCard[] arrayOfCards = new PublicObjectiveCard[loadableCards.size()];
+        PublicObjectiveScore[] scoreCalculators = new PublicObjectiveScore[loadableCards.size()];
+
+        for (int i = 0; i < loadableCards.size(); i++) {
+            PublicObjectiveElements cardAndScoreCalculator = loadCard(loadableCards.get(i));
+            if (cardAndScoreCalculator == null)
+                throw new CouldNotCreateObjectException(PARSING_ERROR_MESSAGE); //should never enter here
+            arrayOfCards[i] = cardAndScoreCalculator.getCards()[0];
+            scoreCalculators[i] = cardAndScoreCalculator.getScoreCalculators()[0];
+        }
+
+        return new PublicObjectiveElements(arrayOfCards, scoreCalculators);
+    }
+
     /**
      * Loads a {@link PublicObjectiveElements} from an xml file.
      *
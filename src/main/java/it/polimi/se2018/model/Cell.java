@@ -71,6 +71,20 @@ public class Cell implements Serializable {
         this.placedDie = cell.placedDie;
     }
 
+    /**
+     * Constructs a Cell with the given restrictions and die, without
+     * checking them. It's used by {@link Pattern} to build its grid.
+     *
+     * @param value     The value of the restriction (0 if there isn't one).
+     * @param colour    The colour of the restriction (null if there isn't one).
+     * @param placedDie The die placed in the Cell (null if it's empty).
+     */
+    Cell(int value, Colour colour, Die placedDie) {
+        this.value = value;
+        this.colour = colour;
+        this.placedDie = placedDie;
+    }
+
     /**
      * Getter for the value restriction on the Cell.
      *
@@ -9,38 +9,59 @@ import java.util.Random;
  * keep trace of all the dice of the Game that have not
  * been drafted yet and to draft new dice at the beginning of
  * each round.
+ * <p>The dice that have never been drafted are not stored one by one:
+ * the DiceBag only counts how many dice of each colour are left and
+ * rolls the value of a die when it's drafted.</p>
  *
  * @author giorgiolbt
  */
 public class DiceBag {
 
     /**
-     * The dice in the DiceBag.
+     * The number of dice of each colour in a new DiceBag.
      */
-    private ArrayList<Die> dice;
+    private static final int DICE_PER_COLOUR = 18;
 
     /**
-     * Random number generator: assigned to every
-     * {@link Die} to allow to roll it.
+     * The colours, indexed by ordinal.
      */
-    private Random random;
+    private static final Colour[] COLOURS = Colour.values();
 
     /**
-     * Constructs a new DiceBag creating immediately
-     * all the 90 dice  having already rolled them
-     * (they already have a random value assigned).
+     * The number of dice of each colour in the DiceBag that have
+     * never been drafted, indexed by the ordinal of the colour.
+     * <p>Their value is not stored: it's rolled when they are drafted.</p>
+     */
+    private final int[] remaining;
+
+    /**
+     * The dice that have been returned to the DiceBag: they keep
+     * the value they had when they were returned.
+     */
+    private final ArrayList<Die> returned;
+
+    /**
+     * The total number of dice in the DiceBag.
+     */
+    private int size;
+
+    /**
+     * Random number generator: used to roll the dice
+     * and to draft them.
+     */
+    private final Random random;
+
+    /**
+     * Constructs a new DiceBag containing
+     * all the 90 dice (18 for each of the five colours).
      */
     public DiceBag() {
-        dice = new ArrayList<>();
         random = new Random();
-        int diceCounter = 0;
-        //18 dice for each of the five colour
-        for (Colour colour : Colour.values()) {
-            for (; diceCounter < 18; diceCounter++) {
-                dice.add(new Die(random, colour));
-            }
-            diceCounter = 0;
-        }
+        remaining = new int[COLOURS.length];
+        returned = new ArrayList<>();
+        for (Colour colour : COLOURS)
+            remaining[colour.ordinal()] = DICE_PER_COLOUR;
+        size = COLOURS.length * DICE_PER_COLOUR;
     }
 
     /**
@@ -52,19 +73,58 @@ public class DiceBag {
      * in the drafted order.
      */
     public List<Die> draft(int n) {
-        int diceCounter = 0;
-        ArrayList<Die> draftPool = new ArrayList<>();
-        if (this.dice.size() < n)
+        List<Die> draftPool = new ArrayList<>(n);
+        draft(n, draftPool);
+        return draftPool;
+    }
+
+    /**
+     * Draft the indicated number of dice from the DiceBag
+     * in a random way, adding them to the specified list.
+     *
+     * @param n   The number of dice to be drafted.
+     * @param out The list where the drafted dice are added,
+     *            in the drafted order.
+     */
+    public void draft(int n, List<Die> out) {
+        if (size < n)
             throw new IllegalArgumentException("The DiceBag is empty or doesn't contain enough elements");
-        for (; diceCounter < n; diceCounter++) {
-            //index is a random value between 0 and dice's size -1
-            //to randomly choose the die from the DiceBag.
-            int index = random.nextInt(dice.size());
-            draftPool.add(dice.get(index));
-            //Once drafted the die must be removed from the DiceBag.
-            dice.remove(index);
+        for (int i = 0; i < n; i++)
+            out.add(draftOne());
+    }
+
+    /**
+     * Draft a single die: every die in the DiceBag has the same
+     * probability to be chosen.
+     *
+     * @return The drafted die.
+     */
+    private Die draftOne() {
+        int index = random.nextInt(size);
+        size--;
+        if (index < returned.size()) {
+            //the last returned die takes the place of the drafted one
+            Die last = returned.remove(returned.size() - 1);
+            return index == returned.size() ? last : returned.set(index, last);
         }
-        return draftPool;
+        index -= returned.size();
+        int colour = 0;
+        while (index >= remaining[colour]) {
+            index -= remaining[colour];
+            colour++;
+        }
+        remaining[colour]--;
+        return Die.random(random, COLOURS[colour]);
+    }
+
+    /**
+     * Roll a die using the random number generator of the DiceBag.
+     *
+     * @param d The Die that has to be rolled.
+     * @return A Die of the same colour with a random value.
+     */
+    public Die roll(Die d) {
+        return d.roll(random);
     }
 
     /**
@@ -73,7 +133,17 @@ public class DiceBag {
      * @param d The Die that has to be returned to the DiceBag.
      */
     public void pushBack(Die d) {
-        dice.add(d);
+        returned.add(d);
+        size++;
+    }
+
+    /**
+     * Getter for the number of dice in the DiceBag.
+     *
+     * @return The number of dice that can still be drafted.
+     */
+    public int size() {
+        return size;
     }
 
 }
@@ -1,28 +1,43 @@
 package it.polimi.se2018.model;
 
 import java.io.Serializable;
-import java.util.Objects;
 import java.util.Random;
 
 /**
  * The class represent a six-sides Die.
  * The class is immutable, so all the attributes are final.
+ * <p>There are only 30 different dice (one for each pair of colour and
+ * value): instances can't be created directly, but they are obtained
+ * from a table of shared dice through the factory methods. For this
+ * reason two dice are equal if and only if they are the same instance.</p>
+ * <p>Dice don't hold a random number generator: the caller has to
+ * provide it when a die has to be rolled.</p>
  *
  * @author giorgiolbt
  */
 public class Die implements Serializable {
 
     /**
-     * Value of the Die.
+     * The number of faces of a die.
      */
-    private final int value;
+    private static final int FACES = 6;
 
     /**
-     * Random number generator: it allows to have a random {@code value}
-     * when the Die is rolled or drafted from the
-     * {@link DiceBag}.
+     * The table of all the possible dice, indexed by
+     * {@code colour.ordinal() * FACES + value - 1}.
      */
-    private final transient Random random;
+    private static final Die[] DICE = new Die[Colour.values().length * FACES];
+
+    static {
+        for (Colour colour : Colour.values())
+            for (int value = 1; value <= FACES; ++value)
+                DICE[colour.ordinal() * FACES + value - 1] = new Die(value, colour);
+    }
+
+    /**
+     * Value of the Die.
+     */
+    private final int value;
 
     /**
      * Colour of the Die.
@@ -30,36 +45,45 @@ public class Die implements Serializable {
     private final Colour colour;
 
     /**
-     * Constructor to be used when a Die is rolled or drafted
-     * from the {@link DiceBag}: the value is a random number
-     * between 1 and 6.
+     * Constructor used to fill the table of dice.
      *
-     * @param random The random number generator of the Die.
+     * @param value  The value of the Die
      * @param colour The colour of the Die.
      */
-    public Die(Random random, Colour colour) {
-        this.value = random.nextInt(6) + 1;
-        this.random = random;
+    private Die(int value, Colour colour) {
+        this.value = value;
         this.colour = colour;
     }
 
     /**
-     * Constructor to be used when the Die's value has to be chosen
-     * in a non-random way: it is the case of the use of a {@link ToolCard}.
+     * Returns the die with the specified value and colour: it has to
+     * be used when the Die's value has to be chosen in a non-random way,
+     * as in the case of the use of a {@link ToolCard}.
      *
      * @param value  The value of the Die
-     * @param random The random number generator of the Die.
      * @param colour The colour of the Die.
+     * @return The shared instance of the die.
      * @throws DieValueException if the value is not among the possible
      *                           values of a six-sides die.
      */
-    public Die(int value, Random random, Colour colour) {
-        if (value < 1 || value > 6) {
+    public static Die of(int value, Colour colour) {
+        if (value < 1 || value > FACES) {
             throw new DieValueException("Die's value out of range: value must be between 1 and 6");
         }
-        this.value = value;
-        this.random = random;
-        this.colour = colour;
+        return DICE[colour.ordinal() * FACES + value - 1];
+    }
+
+    /**
+     * Returns a die with the specified colour and a random value
+     * between 1 and 6: it has to be used when a Die is rolled or
+     * drafted from the {@link DiceBag}.
+     *
+     * @param random The random number generator used to choose the value.
+     * @param colour The colour of the Die.
+     * @return The shared instance of the die.
+     */
+    public static Die random(Random random, Colour colour) {
+        return DICE[colour.ordinal() * FACES + random.nextInt(FACES)];
     }
 
     /**
@@ -83,26 +107,27 @@ public class Die implements Serializable {
     /**
      * Roll the Die.
      *
-     * @return a new Die with a random value.
+     * @param random The random number generator used to choose the value.
+     * @return a Die of the same colour with a random value.
      */
-    public Die roll() {
-        return new Die(random, colour);
+    public Die roll(Random random) {
+        return random(random, colour);
     }
 
     /**
      * Flip the Die on the opposite face
      *
-     * @return a new Die with a fixed value that is
+     * @return a Die with a fixed value that is
      * the one of the opposite face.
      */
     public Die flip() {
-        return new Die(7 - value, random, colour);
+        return of(FACES + 1 - value, colour);
     }
 
     /**
      * Decrease the Die's value.
      *
-     * @return a new Die with value decreased by 1.
+     * @return a Die with value decreased by 1.
      * @throws DieValueException when value is 1:
      *                           1 may not change to 6 due to the Game's rules.
      */
@@ -110,28 +135,37 @@ public class Die implements Serializable {
         if (value == 1) {
             throw new DieValueException("Cannot decrease the value of the drafted Die: value must be between 1 and 6");
         } else {
-            return new Die(value - 1, random, colour);
+            return of(value - 1, colour);
         }
     }
 
     /**
      * Increase the Die's value.
      *
-     * @return a new Die with value increased by 1.
+     * @return a Die with value increased by 1.
      * @throws DieValueException when value is 6:
      *                           6 may not change to 1 due to the Game's rules.
      */
     public Die increase() {
-        if (value == 6) {
+        if (value == FACES) {
             throw new DieValueException("Cannot increase the value of the drafted Die: value must be between 1 and 6");
         } else {
-            return new Die(value + 1, random, colour);
+            return of(value + 1, colour);
         }
     }
 
+    /**
+     * Replaces a deserialized die with the shared instance.
+     *
+     * @return The shared instance with the same value and colour.
+     */
+    private Object readResolve() {
+        return of(value, colour);
+    }
+
     /**
      * Overrides the equals method: two dice are equals if they have the same
-     * value and the same colour.
+     * value and the same colour, which means they are the same instance.
      *
      * @param o The object that has to be analyzed.
      * @return {@code true} if o is equal to the object,
@@ -139,16 +173,7 @@ public class Die implements Serializable {
      */
     @Override
     public boolean equals(Object o) {
-        if (o == this)
-            return true;
-        if (o == null)
-            return false;
-        if (!(o instanceof Die))
-            return false;
-
-        Die die = (Die) o;
-        return this.getValue() == die.getValue() && this.getColour() == die.getColour();
-
+        return o == this;
     }
 
     /**
@@ -158,6 +183,6 @@ public class Die implements Serializable {
      */
     @Override
     public int hashCode() {
-        return Objects.hash(value, colour);
+        return colour.ordinal() * FACES + value - 1;
     }
 }
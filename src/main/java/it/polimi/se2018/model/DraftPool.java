@@ -1,21 +1,41 @@
 package it.polimi.se2018.model;
 
+import it.polimi.se2018.model.events.DraftPoolDelta;
 import it.polimi.se2018.model.events.DraftPoolUpdate;
 
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.List;
+import java.util.function.UnaryOperator;
 
 /**
  * The class represents the dice in the draft pool at a certain moment in the game.
+ * <p>The dice are kept in a fixed number of slots, which is set when the
+ * dice are drafted from the {@link DiceBag}: when a die is removed its slot
+ * is left empty, so the slot of every other die doesn't change until the
+ * end of the round. The indexes sent by the views and stored in the
+ * {@link Turn} are slot numbers.</p>
+ * <p>Every change is numbered: when a single slot changes only the slot is
+ * sent to the views, with a {@link DraftPoolDelta}.</p>
  *
  * @author michelemarzollo
  */
 public class DraftPool {
 
     /**
-     * The array that contains the dice in the draft pool at the moment.
+     * The slots of the draft pool: an empty slot contains {@code null}.
      */
-    private List<Die> dice;
+    private Die[] slots;
+
+    /**
+     * The number of dice in the draft pool.
+     */
+    private int size;
+
+    /**
+     * The sequence number of the last change notified to the views.
+     */
+    private int sequence;
 
     /**
      * The reference to the {@link Game} to which the DraftPool belongs.
@@ -28,7 +48,8 @@ public class DraftPool {
      * @param game The game to which the DraftPool has to be bound.
      */
     public DraftPool(Game game) {
-        this.dice = null;
+        this.slots = new Die[0];
+        this.size = 0;
         this.game = game;
     }
 
@@ -36,52 +57,141 @@ public class DraftPool {
      * The method to notify the view of a change of its status.
      */
     private void notifyChange() {
-        DraftPoolUpdate message = new DraftPoolUpdate(getDice());
+        sequence++;
+        DraftPoolUpdate message = createUpdate();
         game.notifyObservers(message);
     }
 
     /**
-     * The getter for {@code dice}.
+     * The method to notify the view of the change of a single slot.
+     *
+     * @param slot the slot that changed.
+     */
+    private void notifyChange(int slot) {
+        sequence++;
+        game.notifyObservers(new DraftPoolDelta(slot, slots[slot], sequence));
+    }
+
+    /**
+     * Creates a message with the content of all the slots, to send it
+     * to a view that doesn't know it.
+     *
+     * @return the message.
+     */
+    public DraftPoolUpdate createUpdate() {
+        return new DraftPoolUpdate(getSlots(), sequence);
+    }
+
+    /**
+     * The getter for the dice in the draft pool.
      * <p>
-     * A copy of the list is returned, in order not to expose
-     * the rep.</p>
+     * A new list is returned, in order not to expose
+     * the rep. The empty slots are skipped.</p>
      *
-     * @return The list {@code dice}.
+     * @return The list of the dice in the draft pool.
      */
     public List<Die> getDice() {
-        return new ArrayList<>(dice);
+        List<Die> dice = new ArrayList<>(size);
+        for (Die die : slots) {
+            if (die != null)
+                dice.add(die);
+        }
+        return dice;
     }
 
     /**
-     * The setter for {@code dice}.
+     * The getter for the content of the slots.
+     * <p>
+     * A new list is returned, in order not to expose
+     * the rep.</p>
+     *
+     * @return The list of the slots: the die at index {@code i} is the
+     * one in slot {@code i} ({@code null} if the slot is empty).
+     */
+    public List<Die> getSlots() {
+        return new ArrayList<>(Arrays.asList(slots));
+    }
+
+    /**
+     * The setter for the dice: each die is put in the slot
+     * corresponding to its index in the list.
      *
      * @param dice The new list of dice to set.
      */
     public void setDice(List<Die> dice) {
-        this.dice = dice;
+        slots = dice.toArray(new Die[dice.size()]);
+        size = 0;
+        for (Die die : slots) {
+            if (die != null)
+                size++;
+        }
         notifyChange();
     }
 
     /**
-     * The method to remove a die form the DraftPool.
+     * The method to remove a die form the DraftPool: its slot
+     * is left empty.
      *
-     * @param index the position of the die to draft in the list.
-     * @throws IndexOutOfBoundsException if the index is out of range.
+     * @param slot the slot of the die to draft.
+     * @throws IndexOutOfBoundsException if the slot is out of range or empty.
      */
-    public void draft(int index) {
-        dice.remove(index);
-        notifyChange();
+    public void draft(int slot) {
+        get(slot);
+        slots[slot] = null;
+        size--;
+        notifyChange(slot);
     }
 
     /**
      * The method to select a die from the DraftPool, without removing it.
      *
-     * @param index the index of the die to select in the DraftPool.
+     * @param slot the slot of the die to select.
      * @return the die.
-     * @throws IndexOutOfBoundsException if the index is out of range.
+     * @throws IndexOutOfBoundsException if the slot is out of range or empty.
+     */
+    public Die get(int slot) {
+        Die die = slots[slot];
+        if (die == null)
+            throw new IndexOutOfBoundsException("The slot " + slot + " is empty");
+        return die;
+    }
+
+    /**
+     * The method to replace the die in a slot with another one.
+     *
+     * @param slot the slot of the die to replace.
+     * @param die  the die to put in the slot.
+     * @return the die that has been replaced.
+     * @throws IndexOutOfBoundsException if the slot is out of range or empty.
+     */
+    public Die replace(int slot, Die die) {
+        Die old = get(slot);
+        slots[slot] = die;
+        notifyChange(slot);
+        return old;
+    }
+
+    /**
+     * The method to replace every die in the DraftPool with the result
+     * of the specified function: the empty slots are left empty.
+     *
+     * @param operator the function applied to each die.
+     */
+    public void replaceAll(UnaryOperator<Die> operator) {
+        for (int i = 0; i < slots.length; ++i) {
+            if (slots[i] != null)
+                slots[i] = operator.apply(slots[i]);
+        }
+        notifyChange();
+    }
+
+    /**
+     * Getter for the number of dice in the DraftPool.
+     *
+     * @return the number of non-empty slots.
      */
-    public Die select(int index) {
-        return dice.get(index);
+    public int size() {
+        return size;
     }
 
-}
\ No newline at end of file
+}
@@ -3,12 +3,15 @@ package it.polimi.se2018.model;
 import it.polimi.se2018.model.events.GameEnd;
 import it.polimi.se2018.model.events.GameSetup;
 import it.polimi.se2018.model.events.ModelUpdate;
+import it.polimi.se2018.model.events.ModelUpdateBatch;
 import it.polimi.se2018.utils.Observable;
 
 import java.util.ArrayList;
+import java.util.HashMap;
 import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.Optional;
 
 /**
  * The class that represents the status of the game
@@ -37,6 +40,16 @@ public class Game extends Observable<ModelUpdate> {
      */
     private List<Player> players = new ArrayList<>();
 
+    /**
+     * The players indexed by their name.
+     */
+    private final Map<String, Player> playersByName = new HashMap<>();
+
+    /**
+     * The players indexed by their seat: a free seat contains {@code null}.
+     */
+    private final List<Player> seats = new ArrayList<>();
+
     /**
      * The container of the dice of the game that weren't already drafted.
      */
@@ -67,6 +80,28 @@ public class Game extends Observable<ModelUpdate> {
      */
     private List<Player> scoreBoard;
 
+    /**
+     * The transaction opened by each thread, if any.
+     */
+    private final ThreadLocal<Transaction> transaction = new ThreadLocal<>();
+
+    /**
+     * This class collects the updates generated inside a transaction.
+     */
+    private static class Transaction {
+
+        /**
+         * The number of nested calls to {@code beginTransaction}
+         * that haven't been committed yet.
+         */
+        private int depth;
+
+        /**
+         * The updates generated in the transaction.
+         */
+        private final List<ModelUpdate> updates = new ArrayList<>();
+    }
+
 
     /**
      * The getter of the DraftPool.
@@ -93,7 +128,15 @@ public class Game extends Observable<ModelUpdate> {
      */
     public void addPlayer(Player player) {
         player.setGame(this);
+        int seat = seats.indexOf(null);
+        if (seat == -1) {
+            seat = seats.size();
+            seats.add(player);
+        } else
+            seats.set(seat, player);
+        player.setSeat(seat);
         players.add(player);
+        playersByName.putIfAbsent(player.getName(), player);
     }
 
     /**
@@ -102,7 +145,31 @@ public class Game extends Observable<ModelUpdate> {
      * @param player The player to remove.
      */
     public void removePlayer(Player player) {
-        players.remove(player);
+        if (players.remove(player)) {
+            seats.set(player.getSeat(), null);
+            playersByName.remove(player.getName(), player);
+        }
+    }
+
+    /**
+     * Finds the player with the specified name.
+     *
+     * @param name The name of the player.
+     * @return The player, if there is one with that name.
+     */
+    public Optional<Player> findPlayer(String name) {
+        return Optional.ofNullable(playersByName.get(name));
+    }
+
+    /**
+     * Getter for the player sitting at the specified seat.
+     *
+     * @param seat The seat of the player.
+     * @return The player ({@code null} if the seat is free).
+     * @throws IndexOutOfBoundsException if no player ever sat at the seat.
+     */
+    public Player getPlayerAt(int seat) {
+        return seats.get(seat);
     }
 
     /**
@@ -239,5 +306,57 @@ public class Game extends Observable<ModelUpdate> {
         return started;
     }
 
+    /**
+     * Opens a transaction for the current thread: until the matching
+     * {@code commit}, the updates generated by the thread are not sent
+     * to the observers, but collected.
+     * <p>Transactions can be nested: the updates are sent when the
+     * outermost transaction is committed.</p>
+     */
+    public void beginTransaction() {
+        Transaction current = transaction.get();
+        if (current == null) {
+            current = new Transaction();
+            transaction.set(current);
+        }
+        current.depth++;
+    }
+
+    /**
+     * Closes the transaction opened by the last call to {@code beginTransaction}.
+     * <p>When the outermost transaction is closed, the updates superseded
+     * by a following one are discarded and the others are sent to the
+     * observers in a single message.</p>
+     *
+     * @throws IllegalStateException if there is no open transaction.
+     */
+    public void commit() {
+        Transaction current = transaction.get();
+        if (current == null)
+            throw new IllegalStateException("No transaction to commit");
+        if (--current.depth > 0)
+            return;
+        transaction.remove();
+
+        List<ModelUpdate> updates = ModelUpdateBatch.coalesce(current.updates);
+        if (updates.size() == 1)
+            super.notifyObservers(updates.get(0));
+        else if (!updates.isEmpty())
+            super.notifyObservers(new ModelUpdateBatch(updates));
+    }
 
+    /**
+     * Notifies the observers of an update, or collects it if the
+     * current thread has opened a transaction.
+     *
+     * @param message The update to be sent to the observers.
+     */
+    @Override
+    public void notifyObservers(ModelUpdate message) {
+        Transaction current = transaction.get();
+        if (current != null)
+            current.updates.add(message);
+        else
+            super.notifyObservers(message);
+    }
 }
@@ -3,12 +3,20 @@ package it.polimi.se2018.model;
 import it.polimi.se2018.utils.Coordinates;
 
 import java.io.Serializable;
-import java.util.ArrayList;
-import java.util.List;
 
 /**
  * The class represents a Window Pattern Card.
  * The class is immutable, so all the attributes are final.
+ * <p>The grid is not stored as a matrix of {@link Cell}: the name, the
+ * difficulty and the restrictions are kept by a {@link PatternTemplate},
+ * which is shared by all the Patterns of the same card, while the placed
+ * dice are packed in a few primitive fields, so that copying a Pattern is
+ * just a copy of those values and of the template's reference. The cell
+ * with coordinates {@code (row, col)} has index {@code row * COLS + col};
+ * each cell uses one bit of the occupancy mask and a 3-bit field in each
+ * of the packed {@code long}s.</p>
+ * <p>The matrix of Cell is still available through {@code getGrid}, which
+ * builds it from the packed data only when it's requested.</p>
  *
  * @author giorgiolbt
  */
@@ -23,22 +31,71 @@ public class Pattern implements Serializable {
      */
     public static final int COLS = 5;
 
+    /**
+     * The number of bits used by each cell in the packed fields.
+     */
+    private static final int FIELD_BITS = 3;
+
+    /**
+     * The mask to extract a single field from a packed field.
+     */
+    private static final long FIELD_MASK = 0b111;
+
+    /**
+     * The colours, indexed by ordinal: cached to avoid copying
+     * the array returned by {@code Colour.values()} at every access.
+     */
+    private static final Colour[] COLOURS = Colour.values();
+
+    /**
+     * The masks of the cells orthogonally adjacent to each cell.
+     */
+    private static final int[] ORTHOGONAL = new int[ROWS * COLS];
+
+    /**
+     * The masks of the cells adjacent to each cell, diagonals included.
+     */
+    private static final int[] NEIGHBOURS = new int[ROWS * COLS];
+
+    static {
+        for (int row = 0; row < ROWS; row++) {
+            for (int col = 0; col < COLS; col++) {
+                for (int i = -1; i < 2; i++) {
+                    for (int j = -1; j < 2; j++) {
+                        if ((i != 0 || j != 0) && validCoordinates(row + i, col + j)) {
+                            int neighbour = 1 << index(row + i, col + j);
+                            NEIGHBOURS[index(row, col)] |= neighbour;
+                            if (i == 0 || j == 0)
+                                ORTHOGONAL[index(row, col)] |= neighbour;
+                        }
+                    }
+                }
+            }
+        }
+    }
 
     /**
-     * The name of the Pattern
+     * The template with the name, the difficulty and the
+     * restrictions of the Pattern: it's shared by all the
+     * Patterns built from the same card.
      */
-    private final String name;
+    private final PatternTemplate template;
 
     /**
-     * The difficulty of the Pattern
+     * The mask of the cells that contain a die.
      */
-    private final int difficulty;
+    private final int occupied;
 
     /**
-     * The matrix of Cell that actually represents
-     * the grid of the Pattern.
+     * The colours of the placed dice: each field contains the
+     * ordinal of the colour of the die. Fields of empty cells are 0.
      */
-    private final Cell[][] grid;
+    private final long colours;
+
+    /**
+     * The values of the placed dice. Fields of empty cells are 0.
+     */
+    private final long values;
 
     /**
      * Constructs a Pattern with the {@code grid} passed.
@@ -54,31 +111,76 @@ public class Pattern implements Serializable {
      * @param grid       The matrix of Cell that represents the Pattern.
      */
     public Pattern(String name, int difficulty, Cell[][] grid) {
-        if (difficulty < 3 || difficulty > 6) {
-            throw new IllegalArgumentException("The difficulty is not between 3 and 6");
-        }
-        boolean isRegular = (grid.length == ROWS);
-        for (Cell[] row : grid) {
-            if (row.length != COLS) isRegular = false;
+        this.template = new PatternTemplate(name, difficulty, grid);
+
+        int packedOccupied = 0;
+        long packedColours = 0;
+        long packedValues = 0;
+        for (int row = 0; row < ROWS; row++) {
+            for (int col = 0; col < COLS; col++) {
+                Die die = grid[row][col].getDie();
+                if (die != null) {
+                    int index = index(row, col);
+                    packedOccupied |= 1 << index;
+                    packedColours = withField(packedColours, index, die.getColour().ordinal());
+                    packedValues = withField(packedValues, index, die.getValue());
+                }
+            }
         }
-        if (!isRegular) throw new IllegalArgumentException("Irregular matrix: the matrix has to be rectangular");
-
-        this.name = name;
-        this.difficulty = difficulty;
-        this.grid = grid;
+        this.occupied = packedOccupied;
+        this.colours = packedColours;
+        this.values = packedValues;
+    }
 
+    /**
+     * Constructs an empty Pattern from the specified template.
+     *
+     * @param template The template with the name, the difficulty
+     *                 and the restrictions of the Pattern.
+     */
+    public Pattern(PatternTemplate template) {
+        this.template = template;
+        this.occupied = 0;
+        this.colours = 0;
+        this.values = 0;
     }
 
     /**
      * Copy constructor to create a new Pattern that is
-     * the deep copy of the pattern passed as a parameter
+     * the copy of the pattern passed as a parameter.
+     * <p>All the attributes are primitive values or immutable objects,
+     * so the copy doesn't need to allocate anything else.</p>
      *
      * @param pattern The pattern that has to be copied.
      */
     public Pattern(Pattern pattern) {
-        this.name = pattern.name;
-        this.difficulty = pattern.difficulty;
-        this.grid = pattern.getGrid();
+        this(pattern, pattern.occupied, pattern.colours, pattern.values);
+    }
+
+    /**
+     * Creates a Pattern with the same template of {@code pattern},
+     * but with the specified dice.
+     *
+     * @param pattern  The pattern the template is taken from.
+     * @param occupied The mask of the cells that contain a die.
+     * @param colours  The packed colours of the placed dice.
+     * @param values   The packed values of the placed dice.
+     */
+    private Pattern(Pattern pattern, int occupied, long colours, long values) {
+        this.template = pattern.template;
+        this.occupied = occupied;
+        this.colours = colours;
+        this.values = values;
+    }
+
+    /**
+     * Getter for the template of the Pattern.
+     *
+     * @return the template with the name, the difficulty
+     * and the restrictions of the Pattern.
+     */
+    public PatternTemplate getTemplate() {
+        return template;
     }
 
     /**
@@ -87,7 +189,7 @@ public class Pattern implements Serializable {
      * @return the name of the Pattern
      */
     public String getName() {
-        return name;
+        return template.getName();
     }
 
     /**
@@ -96,26 +198,70 @@ public class Pattern implements Serializable {
      * @return the difficulty of the Pattern
      */
     public int getDifficulty() {
-        return difficulty;
+        return template.getDifficulty();
     }
 
     /**
      * Getter for the grid of the Pattern.
-     * It returns a deep copy of the grid: it
-     * is necessary for the copy constructor
+     * The grid is built from the packed representation at every call,
+     * so it can be freely modified by the caller.
+     * <p>Prefer {@code getDie} and the restriction getters when
+     * only some cells have to be read.</p>
      *
-     * @return A deep copy of the grid of the Pattern.
+     * @return A new matrix of Cell representing the Pattern.
      */
     public Cell[][] getGrid() {
-        Cell[][] gridCopy = new Cell[ROWS][COLS];
+        Cell[][] grid = new Cell[ROWS][COLS];
         for (int i = 0; i < ROWS; i++) {
             for (int j = 0; j < COLS; j++) {
-                gridCopy[i][j] = new Cell(grid[i][j]);
+                grid[i][j] = new Cell(getValueRestriction(i, j),
+                        getColourRestriction(i, j), getDie(i, j));
             }
         }
-        return gridCopy;
+        return grid;
     }
 
+    /**
+     * Getter for the die placed in the specified cell.
+     *
+     * @param row The row index of the cell.
+     * @param col The column index of the cell.
+     * @return The die placed in the cell ({@code null} if the cell is empty).
+     * @throws IndexOutOfBoundsException if the coordinates are not valid.
+     */
+    public Die getDie(int row, int col) {
+        int index = checkedIndex(row, col);
+        if ((occupied & (1 << index)) == 0)
+            return null;
+        return Die.of(field(values, index), COLOURS[field(colours, index)]);
+    }
+
+    /**
+     * Getter for the colour restriction of the specified cell.
+     *
+     * @param row The row index of the cell.
+     * @param col The column index of the cell.
+     * @return The colour of the restriction (null if the cell has no
+     * colour restriction).
+     * @throws IndexOutOfBoundsException if the coordinates are not valid.
+     */
+    public Colour getColourRestriction(int row, int col) {
+        int restriction = field(template.getColourRestrictions(), checkedIndex(row, col));
+        return restriction == 0 ? null : COLOURS[restriction - 1];
+    }
+
+    /**
+     * Getter for the value restriction of the specified cell.
+     *
+     * @param row The row index of the cell.
+     * @param col The column index of the cell.
+     * @return The value of the restriction (0 if the cell has no
+     * value restriction).
+     * @throws IndexOutOfBoundsException if the coordinates are not valid.
+     */
+    public int getValueRestriction(int row, int col) {
+        return field(template.getValueRestrictions(), checkedIndex(row, col));
+    }
 
     /**
      * Places the Die {@code d} at the position identified
@@ -143,8 +289,8 @@ public class Pattern implements Serializable {
      *                                 If the position indicated by the Coordinates {@code c}
      *                                 is orthogonally adjacent to a Cell that has a Die of the
      *                                 same Colour or value of {@code d}.
-     *                                 It also propagates the exception if it is thrown from
-     *                                 {@link Cell}'s {@code place} method.
+     *                                 It is also thrown if the restrictions of the
+     *                                 cell itself are not respected.
      */
     public Pattern placeDie(Die d, Coordinates c) throws PlacementErrorException {
         return placeDie(d, c, Restriction.DEFAULT);
@@ -170,72 +316,140 @@ public class Pattern implements Serializable {
      *                                 on the first Die placement (that has to be always respected) or
      *                                 if {@code d} is null or if the {@code restriction} specified
      *                                 is not respected.
-     *                                 It also propagates the exception if it is thrown from
-     *                                 {@link Cell}'s {@code place} method.
+     *                                 It is also thrown if the restrictions of the
+     *                                 cell itself are not respected.
+     * @throws IndexOutOfBoundsException if {@code coordinates} are not valid.
      */
     public Pattern placeDie(Die die, Coordinates coordinates,
                             Restriction restriction) throws PlacementErrorException {
-        if (die == null)
-            throw new PlacementErrorException("The die to be placed does not exists");
-
-        Pattern pattern = new Pattern(this);
-        if (pattern.isEmpty(pattern.grid) && pattern.notEdgeOrCorner(coordinates))
-            throw new PlacementErrorException("The first die is not placed on an edge or corner space");
-
-
-        boolean hasAdjacent = isEmpty(pattern.grid) || isAdjacent(coordinates);
-        pattern.checkAdjacency(hasAdjacent, restriction);
-
-        pattern.checkConstraints(die, coordinates, restriction);
-
-        pattern.grid[coordinates.getRow()][coordinates.getCol()]
-                .place(die, restriction);
-
-        return pattern;
+        PlacementResult result = canPlace(die, coordinates, restriction);
+        if (!result.isSuccessful())
+            throw new PlacementErrorException(result.getMessage());
+
+        int index = index(coordinates.getRow(), coordinates.getCol());
+        return new Pattern(this,
+                occupied | (1 << index),
+                withField(colours, index, die.getColour().ordinal()),
+                withField(values, index, die.getValue()));
     }
 
     /**
-     * Checks if adjacency is respected according to the restriction.
+     * Tells if the Die {@code die} can be placed at the position
+     * identified by the Coordinates {@code coordinates}, respecting
+     * the specified restriction {@code restriction} and the
+     * restrictions that have always to be respected.
+     * <p>The rules are checked in the same order as {@code placeDie},
+     * which throws an exception with the message of the returned value.
+     * The method doesn't allocate anything, so it can be used to validate
+     * a move before building the new pattern.</p>
      *
-     * @param hasAdjacent {@code true} if there is at least one adjacent die;
-     *                    {@code false} otherwise.
-     * @param restriction The restriction under which the adjacency has to be checked.
-     * @throws PlacementErrorException if adjacency rules are not respected.
+     * @param die         The die to be placed.
+     * @param coordinates The Coordinates that indicates the placement position on
+     *                    the Pattern's grid.
+     * @param restriction The restriction that has to be respected.
+     * @return {@code PlacementResult.OK} if the placement is valid, otherwise
+     * the first rule that is broken.
+     * @throws IndexOutOfBoundsException if {@code coordinates} are not valid
+     *                                   and no other rule is broken.
      */
-    private void checkAdjacency(boolean hasAdjacent,
-                                Restriction restriction) throws PlacementErrorException {
-
-        if (restriction != Restriction.NOT_ADJACENT && !hasAdjacent)
-            throw new PlacementErrorException(
-                    "The die is not adjacent to a previously placed die");
+    public PlacementResult canPlace(Die die, Coordinates coordinates, Restriction restriction) {
+        return check(occupied, colours, values, die, coordinates, restriction);
+    }
 
-        if (restriction == Restriction.NOT_ADJACENT && hasAdjacent)
-            throw new PlacementErrorException(
-                    "The die is adjacent to a previously placed die when a non-adjacent place is used");
+    /**
+     * Tells if the dice at the positions {@code sources} can be moved to
+     * the positions {@code destinations}, as {@code moveDice} would do.
+     * <p>The moves are simulated on the packed representation, so no
+     * intermediate pattern is created.</p>
+     *
+     * @param sources      The present positions of the dice on the Pattern.
+     * @param destinations The positions in which the Player wants to move the dice.
+     * @param restriction  The restriction that has to be respected.
+     * @return {@code PlacementResult.OK} if all the moves are valid, otherwise
+     * the first rule that is broken.
+     * @throws IndexOutOfBoundsException if some coordinates are not valid.
+     */
+    public PlacementResult canMoveDice(Coordinates[] sources, Coordinates[] destinations,
+                                       Restriction restriction) {
+        int movedOccupied = occupied;
+        long movedColours = colours;
+        long movedValues = values;
+        for (Coordinates source : sources)
+            movedOccupied &= ~(1 << checkedIndex(source.getRow(), source.getCol()));
+
+        for (int i = 0; i < sources.length; ++i) {
+            Die die = getDie(sources[i].getRow(), sources[i].getCol());
+            PlacementResult result = check(movedOccupied, movedColours, movedValues,
+                    die, destinations[i], restriction);
+            if (!result.isSuccessful())
+                return result;
+
+            int index = index(destinations[i].getRow(), destinations[i].getCol());
+            movedOccupied |= 1 << index;
+            movedColours = withField(movedColours, index, die.getColour().ordinal());
+            movedValues = withField(movedValues, index, die.getValue());
+        }
+        return PlacementResult.OK;
     }
 
     /**
-     * Checks if the specified die can be moved in the cell identified by the coordinates.
+     * Checks all the placement rules against the given dice layer.
      *
+     * @param occupied    The mask of the cells that contain a die.
+     * @param colours     The packed colours of the placed dice.
+     * @param values      The packed values of the placed dice.
      * @param die         The die to be placed.
-     * @param coordinates The coordinates where the die will be placed.
-     * @param restriction The restriction under which the constraints has to be checked.
-     * @throws PlacementErrorException if a colour or value constraint is not respected.
+     * @param coordinates The position where the die has to be placed.
+     * @param restriction The restriction that has to be respected.
+     * @return {@code PlacementResult.OK} if the placement is valid, otherwise
+     * the first rule that is broken.
+     * @throws IndexOutOfBoundsException if {@code coordinates} are not valid
+     *                                   and no other rule is broken.
      */
-    private void checkConstraints(Die die, Coordinates coordinates,
-                                  Restriction restriction) throws PlacementErrorException {
+    private PlacementResult check(int occupied, long colours, long values, Die die,
+                                  Coordinates coordinates, Restriction restriction) {
+        if (die == null)
+            return PlacementResult.NO_DIE;
 
-        List<Die> orthogonallyAdjacent = getOrthogonallyAdjacent(coordinates);
+        int row = coordinates.getRow();
+        int col = coordinates.getCol();
+        boolean valid = validCoordinates(row, col);
+        int index = valid ? index(row, col) : -1;
 
-        if (restriction.checkColourConstraint() &&
-                !respectColourRestrictions(die, orthogonallyAdjacent))
-            throw new PlacementErrorException(
-                    "The die is placed orthogonally adjacent to a die of the same colour");
+        if (occupied == 0 && notEdgeOrCorner(coordinates))
+            return PlacementResult.NOT_EDGE;
+
+        boolean hasAdjacent = occupied == 0 || (valid && (NEIGHBOURS[index] & occupied) != 0);
+        if (restriction != Restriction.NOT_ADJACENT && !hasAdjacent)
+            return PlacementResult.NOT_ADJACENT;
+        if (restriction == Restriction.NOT_ADJACENT && hasAdjacent)
+            return PlacementResult.ADJACENT;
 
+        int orthogonal = valid ? ORTHOGONAL[index] & occupied : 0;
+        if (restriction.checkColourConstraint() &&
+                anyField(orthogonal, colours, die.getColour().ordinal()))
+            return PlacementResult.COLOUR_CLASH;
         if (restriction.checkValueConstraint() &&
-                !respectValueRestrictions(die, orthogonallyAdjacent))
-            throw new PlacementErrorException(
-                    "The die is placed orthogonally adjacent to a die of the same value");
+                anyField(orthogonal, values, die.getValue()))
+            return PlacementResult.VALUE_CLASH;
+
+        if (!valid)
+            throw new IndexOutOfBoundsException("Invalid coordinates: (" + row + ", " + col + ")");
+
+        if ((occupied & (1 << index)) != 0)
+            return PlacementResult.OCCUPIED;
+
+        int colourRestriction = field(template.getColourRestrictions(), index);
+        if (restriction.checkColourConstraint() && colourRestriction != 0 &&
+                colourRestriction != die.getColour().ordinal() + 1)
+            return PlacementResult.CELL_COLOUR;
+
+        int valueRestriction = field(template.getValueRestrictions(), index);
+        if (restriction.checkValueConstraint() && valueRestriction != 0 &&
+                valueRestriction != die.getValue())
+            return PlacementResult.CELL_VALUE;
+
+        return PlacementResult.OK;
     }
 
     /**
@@ -260,15 +474,12 @@ public class Pattern implements Serializable {
      * @throws PlacementErrorException if the placement doesn't respect some restriction on the whole grid
      *                                 (at a 'global' level) or if {@code d} is null.
      *                                 It is propagated if thrown by the {@code placeDie}.
-     *                                 It also propagates the exception if it is thrown from
-     *                                 {@link Cell}'s {@code place} method.
      */
     public Pattern moveDie(Coordinates source, Coordinates destination,
                            Restriction restriction) throws PlacementErrorException {
-        Pattern pattern = new Pattern(this);
-        Die die = pattern.removeDie(source);
+        Die die = getDie(source.getRow(), source.getCol());
         //throws an exception if there is some placement problem.
-        return pattern.placeDie(die, destination, restriction);
+        return removeDie(source).placeDie(die, destination, restriction);
     }
 
     /**
@@ -287,20 +498,20 @@ public class Pattern implements Serializable {
      * @throws PlacementErrorException if the placement doesn't respect some restriction on the whole grid
      *                                 (at a 'global' level) or if {@code d1} or {@code d2} is null.
      *                                 It is propagated if thrown by the {@code placeDie}.
-     *                                 It also propagates the exception if it is thrown from
-     *                                 {@link Cell}'s {@code place} method.
      */
     public Pattern moveDice(Coordinates[] sources, Coordinates[] destinations, Restriction restriction)
             throws PlacementErrorException {
 
-        Pattern pattern = new Pattern(this);
-        List<Die> removed = new ArrayList<>();
-        for (Coordinates source : sources)
-            removed.add(pattern.removeDie(source));
+        Die[] removed = new Die[sources.length];
+        Pattern pattern = this;
+        for (int i = 0; i < sources.length; ++i) {
+            removed[i] = getDie(sources[i].getRow(), sources[i].getCol());
+            pattern = pattern.removeDie(sources[i]);
+        }
 
-        for (int i = 0; i < removed.size(); ++i)
+        for (int i = 0; i < removed.length; ++i)
             //throws an exception if there is some placement problem.
-            pattern = pattern.placeDie(removed.get(i), destinations[i], restriction);
+            pattern = pattern.placeDie(removed[i], destinations[i], restriction);
 
         return pattern; //returns the new Pattern if the placement has been successful
     }
@@ -309,27 +520,6 @@ public class Pattern implements Serializable {
         return moveDice(sources, destinations, Restriction.DEFAULT);
     }
 
-    /**
-     * Helper method that verifies that the grid is empty
-     * (that has no placed dice).
-     * It is necessary for the {@code placeDie} to verify whether
-     * the Die that has to be placed is the first one or not.
-     *
-     * @param g The grid to be analyzed.
-     * @return {@code true} if the grid {@code g} is empty.
-     * {@code false} otherwise.
-     */
-    private boolean isEmpty(Cell[][] g) {
-        for (Cell[] row : g) {
-            for (Cell cell : row) {
-                if (cell.getDie() != null) {
-                    return false;
-                }
-            }
-        }
-        return true;
-    }
-
     /**
      * Helper method that verifies that {@code c} is NOT
      * a {@link Coordinates} that represents the edges or corner
@@ -341,36 +531,10 @@ public class Pattern implements Serializable {
      * @return {@code true} if {@code c} doesn't represent
      * an edge or corner space, {@code false} otherwise.
      */
-    private boolean notEdgeOrCorner(Coordinates c) {
+    private static boolean notEdgeOrCorner(Coordinates c) {
         return c.getRow() >= 1 && c.getRow() <= 2 && c.getCol() >= 1 && c.getCol() <= 3;
     }
 
-    /**
-     * Helper method that verifies if the {@link Cell}
-     * indicated by {@link Coordinates} {@code c} is adjacent
-     * to a previously placed Die or not.
-     * It is necessary for the {@code placeDie} to verify
-     * that one of the 'global' restrictions on the placement
-     * of a Die is respected.
-     *
-     * @param c the {@link Coordinates} to be analyzed.
-     * @return {@code true} if {@link Cell}
-     * indicated by {@link Coordinates} {@code c} is adjacent
-     * to a previously placed Die, {@code false} otherwise.
-     */
-    private boolean isAdjacent(Coordinates c) {
-        for (int i = -1; i < 2; i++) {
-            for (int j = -1; j < 2; j++) {
-                if (validCoordinates(c.getRow() + i, c.getCol() + j) &&
-                        fullCell(c.getRow() + i, c.getCol() + j) &&
-                        (i != 0 || j != 0)) {
-                    return true;
-                }
-            }
-        }
-        return false;
-    }
-
     /**
      * Helper method that verifies that the {@code row} and {@code col}
      * indexes are valid: row index must be between 0 and 3 and col index
@@ -381,125 +545,265 @@ public class Pattern implements Serializable {
      * @return {@code true} if the Coordinates are valid according to
      * the previous description, {@code false} otherwise.
      */
-    private boolean validCoordinates(int row, int col) {
+    private static boolean validCoordinates(int row, int col) {
         return row >= 0 && row < ROWS && col >= 0 && col < COLS;
     }
 
     /**
-     * Helper method that verifies that the {@link Cell} indicated
-     * by the indexes passed as parameters is full.
+     * Helper method that tells if one of the cells in {@code mask}
+     * has the specified field in {@code packed}.
      *
-     * @param row The row index of the {@link Cell}.
-     * @param col The column index of the {@link Cell}.
-     * @return {@code true} if the {@link Cell} indicated
-     * by the indexes passed as parameters is full, {@code false}
-     * otherwise.
+     * @param mask   The mask of the cells to be analyzed.
+     * @param packed The packed field to be read ({@code colours} or {@code values}).
+     * @param field  The field to be searched.
+     * @return {@code true} if one of the cells has the field;
+     * {@code false} otherwise.
      */
-    private boolean fullCell(int row, int col) {
-        return grid[row][col].getDie() != null;
+    private static boolean anyField(int mask, long packed, int field) {
+        for (int cells = mask; cells != 0; cells &= cells - 1) {
+            if (field(packed, Integer.numberOfTrailingZeros(cells)) == field)
+                return true;
+        }
+        return false;
     }
 
     /**
-     * Helper method that verifies if the Die {@code die}
-     * passed as a parameter respect the Colour
-     * restriction that concerns the orthogonally adjacent
-     * cells: the Colour of an adjacent placed Die must be different.
-     * It is necessary for the {@code placeDie} to verify
-     * that one of the 'global' restrictions on the placement
-     * of a Die is respected.
+     * Remove the Die placed at the {@link Cell}
+     * of Coordinates {@code c}.
      *
-     * @param die is the Die that needs to be analyzed.
-     * @param adj is a list of the die orthogonally adjacent to
-     *            {@code d}.
-     * @return {@code true} if {@code die} has different Colour
-     * from all the dice in {@code adj}.
+     * @param c The coordinates of the Cell
+     *          that contains the Die to be
+     *          removed.
+     * @return A copy of this Pattern without the die at {@code c}.
      */
-    private boolean respectColourRestrictions(Die die, List<Die> adj) {
-        for (Die d : adj) {
-            if (d.getColour() == die.getColour()) return false;
-        }
-        return true;
+    private Pattern removeDie(Coordinates c) {
+        return withDie(c.getRow(), c.getCol(), null);
     }
 
     /**
-     * Helper method that verifies if the Die {@code die}
-     * passed as a parameter respect the value
-     * restriction that concerns the orthogonally adjacent
-     * cells: the value of an adjacent placed Die must be different.
-     * It is necessary for the {@code placeDie} to verify
-     * that one of the 'global' restrictions on the placement
-     * of a Die is respected.
+     * Puts a die in a cell, or clears it, without checking the
+     * placement restrictions. It is used to apply the changes of a
+     * pattern received from the model.
      *
-     * @param die is the Die that needs to be analyzed.
-     * @param adj is a list of the die orthogonally adjacent to
-     *            {@code d}.
-     * @return {@code true} if {@code die} has different value
-     * from all the dice in {@code adj}.
+     * @param row The row of the cell.
+     * @param col The column of the cell.
+     * @param die The die to put in the cell, or {@code null} to clear it.
+     * @return A copy of this Pattern with {@code die} in the cell.
+     * @throws IndexOutOfBoundsException if the coordinates are not valid.
      */
-    private boolean respectValueRestrictions(Die die, List<Die> adj) {
-        for (Die d : adj) {
-            if (d.getValue() == die.getValue()) return false;
-        }
-        return true;
+    public Pattern withDie(int row, int col, Die die) {
+        int index = checkedIndex(row, col);
+        if (die == null)
+            return new Pattern(this,
+                    occupied & ~(1 << index),
+                    withField(colours, index, 0),
+                    withField(values, index, 0));
+        return new Pattern(this,
+                occupied | (1 << index),
+                withField(colours, index, die.getColour().ordinal()),
+                withField(values, index, die.getValue()));
+    }
+
+    /**
+     * Calculates the number of empty spaces
+     * (spaces with no placed Die) in the grid.
+     * It is useful in the end game scoring's calculus.
+     *
+     * @return the number of empty spaces in the Pattern's
+     * grid.
+     */
+    public int emptyCells() {
+        return ROWS * COLS - Integer.bitCount(occupied);
     }
 
     /**
-     * Helper method that returns the list of the orthogonally adjacent
-     * dice to the {@link Cell} at {@link Coordinates} {@code c}.
+     * Getter for the mask of the cells that contain a die.
      *
-     * @param c the {@link Coordinates} of the {@link Cell} that has to be
-     *          analyzed.
-     * @return A list of the orthogonally adjacent dice to the {@link Cell} of
-     * {@link Coordinates} {@code c}.
+     * @return The mask of the full cells: the bit {@code row * COLS + col}
+     * is set if the corresponding cell contains a die.
      */
-    private ArrayList<Die> getOrthogonallyAdjacent(Coordinates c) {
-        ArrayList<Die> result = new ArrayList<>();
+    int getOccupiedMask() {
+        return occupied;
+    }
 
-        if (c.getRow() - 1 >= 0 && fullCell(c.getRow() - 1, c.getCol())) {
-            result.add(grid[c.getRow() - 1][c.getCol()].getDie());
-        }
-        if (c.getRow() + 1 < ROWS && fullCell(c.getRow() + 1, c.getCol())) {
-            result.add(grid[c.getRow() + 1][c.getCol()].getDie());
-        }
-        if (c.getCol() - 1 >= 0 && fullCell(c.getRow(), c.getCol() - 1)) {
-            result.add(grid[c.getRow()][c.getCol() - 1].getDie());
+    /**
+     * Computes the cells that contain a die of the specified colour.
+     *
+     * @param colour The colour.
+     * @return The mask of the cells: the bit {@code row * COLS + col}
+     * is set if the corresponding cell contains a die of that colour.
+     */
+    public int getColourMask(Colour colour) {
+        return cellsWith(colours, colour.ordinal());
+    }
+
+    /**
+     * Computes the cells that contain a die with the specified value.
+     *
+     * @param value The value.
+     * @return The mask of the cells: the bit {@code row * COLS + col}
+     * is set if the corresponding cell contains a die with that value.
+     */
+    public int getValueMask(int value) {
+        return cellsWith(values, value);
+    }
+
+    /**
+     * Computes the full cells whose field is equal to the specified one.
+     *
+     * @param packed The packed fields.
+     * @param field  The field to look for.
+     * @return The mask of the cells.
+     */
+    private int cellsWith(long packed, int field) {
+        int mask = 0;
+        for (int cells = occupied; cells != 0; cells &= cells - 1) {
+            int index = Integer.numberOfTrailingZeros(cells);
+            if (field(packed, index) == field)
+                mask |= 1 << index;
         }
-        if (c.getCol() + 1 < COLS && fullCell(c.getRow(), c.getCol() + 1)) {
-            result.add(grid[c.getRow()][c.getCol() + 1].getDie());
+        return mask;
+    }
+
+    /**
+     * Tells if another pattern has been obtained from the same template,
+     * so that it differs from this one only for the dice placed.
+     *
+     * @param other The other pattern.
+     * @return {@code true} if the patterns share the template.
+     */
+    boolean hasSameTemplate(Pattern other) {
+        return template == other.template;
+    }
+
+    /**
+     * Computes the cells whose content is different in another pattern.
+     *
+     * @param other The other pattern.
+     * @return The mask of the cells that contain a die only in one of the
+     * patterns, or a different die in the two patterns.
+     */
+    int changedCells(Pattern other) {
+        int changed = occupied ^ other.occupied;
+        long different = (colours ^ other.colours) | (values ^ other.values);
+        for (int common = occupied & other.occupied; common != 0; common &= common - 1) {
+            int index = Integer.numberOfTrailingZeros(common);
+            if (field(different, index) != 0)
+                changed |= 1 << index;
         }
+        return changed;
+    }
 
-        return result;
+    /**
+     * Getter for the ordinal of the colour of the die in the specified cell.
+     *
+     * @param index The index of the cell.
+     * @return The ordinal of the colour of the die (meaningless if
+     * the cell is empty).
+     */
+    int getColourAt(int index) {
+        return field(colours, index);
     }
 
     /**
-     * Remove the Die placed at the {@link Cell}
-     * of Coordinates {@code c}.
+     * Getter for the value of the die in the specified cell.
      *
-     * @param c The coordinates of the Cell
-     *          that contains the Die to be
-     *          removed.
-     * @return The removed Die (null if the
-     * {@link Cell was empty).
+     * @param index The index of the cell.
+     * @return The value of the die (0 if the cell is empty).
      */
-    private Die removeDie(Coordinates c) {
-        return grid[c.getRow()][c.getCol()].remove();
+    int getValueAt(int index) {
+        return field(values, index);
     }
 
     /**
-     * Calculates the number of empty spaces
-     * (spaces with no placed Die) in the grid.
-     * It is useful in the end game scoring's calculus.
+     * Getter for the colour restriction of the specified cell.
      *
-     * @return the number of empty spaces in the Pattern's
-     * grid.
+     * @param index The index of the cell.
+     * @return The ordinal of the colour of the restriction + 1
+     * (0 if there isn't a colour restriction).
      */
-    public int emptyCells() {
-        int cells = 0;
-        for (int i = 0; i < ROWS; i++) {
-            for (int j = 0; j < COLS; j++) {
-                if (getGrid()[i][j].getDie() == null) cells++;
-            }
-        }
-        return cells;
+    int getColourRestrictionAt(int index) {
+        return field(template.getColourRestrictions(), index);
+    }
+
+    /**
+     * Getter for the value restriction of the specified cell.
+     *
+     * @param index The index of the cell.
+     * @return The value of the restriction (0 if there isn't a value restriction).
+     */
+    int getValueRestrictionAt(int index) {
+        return field(template.getValueRestrictions(), index);
+    }
+
+    /**
+     * Getter for the mask of the cells orthogonally adjacent to a cell.
+     *
+     * @param index The index of the cell.
+     * @return The mask of the orthogonally adjacent cells.
+     */
+    static int getOrthogonalMask(int index) {
+        return ORTHOGONAL[index];
+    }
+
+    /**
+     * Getter for the mask of the cells adjacent to a cell,
+     * diagonals included.
+     *
+     * @param index The index of the cell.
+     * @return The mask of the adjacent cells.
+     */
+    static int getNeighboursMask(int index) {
+        return NEIGHBOURS[index];
+    }
+
+    /**
+     * Computes the index of a cell in the packed representation.
+     *
+     * @param row The row index of the cell.
+     * @param col The column index of the cell.
+     * @return The index of the cell.
+     */
+    static int index(int row, int col) {
+        return row * COLS + col;
+    }
+
+    /**
+     * Computes the index of a cell in the packed representation,
+     * checking that the coordinates are valid.
+     *
+     * @param row The row index of the cell.
+     * @param col The column index of the cell.
+     * @return The index of the cell.
+     * @throws IndexOutOfBoundsException if the coordinates are not valid.
+     */
+    private static int checkedIndex(int row, int col) {
+        if (!validCoordinates(row, col))
+            throw new IndexOutOfBoundsException("Invalid coordinates: (" + row + ", " + col + ")");
+        return index(row, col);
+    }
+
+    /**
+     * Reads the field of a cell from a packed field.
+     *
+     * @param packed The packed field.
+     * @param index  The index of the cell.
+     * @return The value of the field of the cell.
+     */
+    private static int field(long packed, int index) {
+        return (int) ((packed >>> (index * FIELD_BITS)) & FIELD_MASK);
+    }
+
+    /**
+     * Writes the field of a cell in a packed field.
+     *
+     * @param packed The packed field.
+     * @param index  The index of the cell.
+     * @param field  The value to be written.
+     * @return The packed field with the new value in place.
+     */
+    static long withField(long packed, int index, int field) {
+        int shift = index * FIELD_BITS;
+        return (packed & ~(FIELD_MASK << shift)) | ((long) field << shift);
     }
 }
@@ -0,0 +1,114 @@
+package it.polimi.se2018.model;
+
+import java.io.Serializable;
+
+/**
+ * The class represents the printed side of a Window Pattern Card:
+ * its name, its difficulty and the restrictions of its cells.
+ * <p>The class is immutable, so a single instance of each template can be
+ * shared by all the games: the dice placed by a player are kept by the
+ * {@link Pattern}s built on top of the template.</p>
+ * <p>The restrictions are packed as in {@link Pattern}: the cell with
+ * coordinates {@code (row, col)} has a 3-bit field at index
+ * {@code row * COLS + col}.</p>
+ */
+public class PatternTemplate implements Serializable {
+
+    /**
+     * The name of the template.
+     */
+    private final String name;
+
+    /**
+     * The difficulty of the template.
+     */
+    private final int difficulty;
+
+    /**
+     * The colour restrictions of the cells: each field contains
+     * the ordinal of the colour + 1, or 0 if there is no restriction.
+     */
+    private final long colourRestrictions;
+
+    /**
+     * The value restrictions of the cells: each field contains
+     * the value, or 0 if there is no restriction.
+     */
+    private final long valueRestrictions;
+
+    /**
+     * Constructs a template with the restrictions of the cells in {@code grid}.
+     * The dice placed in the cells are ignored.
+     *
+     * @param name       The name of the template.
+     * @param difficulty The difficulty of the template.
+     *                   According to the Game's rules it must be
+     *                   between 3 and 6 otherwise an
+     *                   IllegalArgumentException will be thrown.
+     * @param grid       The matrix of Cell with the restrictions.
+     */
+    public PatternTemplate(String name, int difficulty, Cell[][] grid) {
+        if (difficulty < 3 || difficulty > 6) {
+            throw new IllegalArgumentException("The difficulty is not between 3 and 6");
+        }
+        boolean isRegular = (grid.length == Pattern.ROWS);
+        for (Cell[] row : grid) {
+            if (row.length != Pattern.COLS) isRegular = false;
+        }
+        if (!isRegular) throw new IllegalArgumentException("Irregular matrix: the matrix has to be rectangular");
+
+        this.name = name;
+        this.difficulty = difficulty;
+
+        long packedColourRestrictions = 0;
+        long packedValueRestrictions = 0;
+        for (int row = 0; row < Pattern.ROWS; row++) {
+            for (int col = 0; col < Pattern.COLS; col++) {
+                Cell cell = grid[row][col];
+                int index = Pattern.index(row, col);
+                if (cell.getColour() != null)
+                    packedColourRestrictions = Pattern.withField(packedColourRestrictions, index,
+                            cell.getColour().ordinal() + 1);
+                packedValueRestrictions = Pattern.withField(packedValueRestrictions, index, cell.getValue());
+            }
+        }
+        this.colourRestrictions = packedColourRestrictions;
+        this.valueRestrictions = packedValueRestrictions;
+    }
+
+    /**
+     * Getter for the name of the template.
+     *
+     * @return the name of the template.
+     */
+    public String getName() {
+        return name;
+    }
+
+    /**
+     * Getter for the difficulty of the template.
+     *
+     * @return the difficulty of the template.
+     */
+    public int getDifficulty() {
+        return difficulty;
+    }
+
+    /**
+     * Getter for the packed colour restrictions.
+     *
+     * @return the packed colour restrictions of the cells.
+     */
+    long getColourRestrictions() {
+        return colourRestrictions;
+    }
+
+    /**
+     * Getter for the packed value restrictions.
+     *
+     * @return the packed value restrictions of the cells.
+     */
+    long getValueRestrictions() {
+        return valueRestrictions;
+    }
+}
@@ -0,0 +1,254 @@
+package it.polimi.se2018.model;
+
+import it.polimi.se2018.utils.Coordinates;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * This class enumerates the legal placements of dice on a {@link Pattern}.
+ * <p>When it's created, the masks of the cells where a die of each colour
+ * and of each value can be placed are computed with a single pass over the
+ * grid. The legal cells for a die are then the intersection of the mask of
+ * its colour, the mask of its value and the mask of the cells that respect
+ * the adjacency rules, so every query is answered without trying the
+ * placement.</p>
+ * <p>The class is immutable: a new instance has to be created when the
+ * pattern changes.</p>
+ */
+public class PlacementGenerator {
+
+    /**
+     * The number of cells in a pattern.
+     */
+    private static final int CELLS = Pattern.ROWS * Pattern.COLS;
+
+    /**
+     * The mask with all the cells of a pattern.
+     */
+    private static final int ALL_CELLS = (1 << CELLS) - 1;
+
+    /**
+     * The mask of the cells on the edges of a pattern.
+     */
+    private static final int EDGE_CELLS;
+
+    static {
+        int edges = 0;
+        for (int row = 0; row < Pattern.ROWS; ++row)
+            for (int col = 0; col < Pattern.COLS; ++col)
+                if (row == 0 || row == Pattern.ROWS - 1 || col == 0 || col == Pattern.COLS - 1)
+                    edges |= 1 << (row * Pattern.COLS + col);
+        EDGE_CELLS = edges;
+    }
+
+    /**
+     * This class represents a legal placement: the index of a die
+     * in the list passed to the generator and the destination cell.
+     */
+    public static class Placement {
+
+        /**
+         * The index of the die in the list.
+         */
+        private final int dieIndex;
+
+        /**
+         * The destination of the die.
+         */
+        private final Coordinates coordinates;
+
+        /**
+         * Creates a new placement.
+         *
+         * @param dieIndex    The index of the die in the list.
+         * @param coordinates The destination of the die.
+         */
+        Placement(int dieIndex, Coordinates coordinates) {
+            this.dieIndex = dieIndex;
+            this.coordinates = coordinates;
+        }
+
+        /**
+         * Getter for the index of the die.
+         *
+         * @return The index of the die in the list passed to the generator.
+         */
+        public int getDieIndex() {
+            return dieIndex;
+        }
+
+        /**
+         * Getter for the destination of the die.
+         *
+         * @return The coordinates of the destination cell.
+         */
+        public Coordinates getCoordinates() {
+            return coordinates;
+        }
+    }
+
+    /**
+     * The mask of the empty cells that respect the adjacency rules.
+     */
+    private final int candidates;
+
+    /**
+     * The masks of the cells where a die of each colour can be placed,
+     * indexed by the ordinal of the colour.
+     */
+    private final int[] colourMasks = new int[Colour.values().length];
+
+    /**
+     * The masks of the cells where a die of each value can be placed,
+     * indexed by value - 1.
+     */
+    private final int[] valueMasks = new int[6];
+
+    /**
+     * Creates a generator for the specified pattern and restriction.
+     *
+     * @param pattern     The pattern where the dice have to be placed.
+     * @param restriction The restriction that has to be respected.
+     */
+    public PlacementGenerator(Pattern pattern, Restriction restriction) {
+        int occupied = pattern.getOccupiedMask();
+        int adjacent = 0;
+        int[] colourClashes = new int[colourMasks.length];
+        int[] valueClashes = new int[valueMasks.length];
+        int[] colourAllowed = new int[colourMasks.length];
+        int[] valueAllowed = new int[valueMasks.length];
+
+        for (int index = 0; index < CELLS; ++index) {
+            if ((occupied & (1 << index)) != 0) {
+                adjacent |= Pattern.getNeighboursMask(index);
+                colourClashes[pattern.getColourAt(index)] |= Pattern.getOrthogonalMask(index);
+                valueClashes[pattern.getValueAt(index) - 1] |= Pattern.getOrthogonalMask(index);
+            }
+            allow(colourAllowed, pattern.getColourRestrictionAt(index), index);
+            allow(valueAllowed, pattern.getValueRestrictionAt(index), index);
+        }
+
+        int reachable;
+        if (occupied == 0)
+            // the first die can't be placed if it mustn't be adjacent to another
+            reachable = restriction == Restriction.NOT_ADJACENT ? 0 : EDGE_CELLS;
+        else if (restriction == Restriction.NOT_ADJACENT)
+            reachable = ~adjacent;
+        else
+            reachable = adjacent;
+        candidates = reachable & ~occupied & ALL_CELLS;
+
+        for (int i = 0; i < colourMasks.length; ++i)
+            colourMasks[i] = restriction.checkColourConstraint() ?
+                    colourAllowed[i] & ~colourClashes[i] : ALL_CELLS;
+        for (int i = 0; i < valueMasks.length; ++i)
+            valueMasks[i] = restriction.checkValueConstraint() ?
+                    valueAllowed[i] & ~valueClashes[i] : ALL_CELLS;
+    }
+
+    /**
+     * Marks a cell as allowed for the properties accepted by its restriction.
+     *
+     * @param allowed     The masks of allowed cells for each property.
+     * @param restriction The restriction of the cell: 0 if there isn't one,
+     *                    otherwise the index of the property + 1.
+     * @param index       The index of the cell.
+     */
+    private static void allow(int[] allowed, int restriction, int index) {
+        if (restriction == 0) {
+            for (int i = 0; i < allowed.length; ++i)
+                allowed[i] |= 1 << index;
+        } else
+            allowed[restriction - 1] |= 1 << index;
+    }
+
+    /**
+     * Computes the mask of the cells where the specified die can be placed.
+     *
+     * @param die The die to be placed.
+     * @return The mask of the legal cells: the bit {@code row * COLS + col}
+     * is set if the die can be placed in the corresponding cell.
+     */
+    public int getLegalMask(Die die) {
+        return candidates &
+                colourMasks[die.getColour().ordinal()] &
+                valueMasks[die.getValue() - 1];
+    }
+
+    /**
+     * Computes the list of the cells where the specified die can be placed.
+     *
+     * @param die The die to be placed.
+     * @return The list of the coordinates of the legal cells.
+     */
+    public List<Coordinates> getLegalCells(Die die) {
+        List<Coordinates> cells = new ArrayList<>();
+        for (int mask = getLegalMask(die); mask != 0; mask &= mask - 1) {
+            int index = Integer.numberOfTrailingZeros(mask);
+            cells.add(new Coordinates(index / Pattern.COLS, index % Pattern.COLS));
+        }
+        return cells;
+    }
+
+    /**
+     * Tells if the specified die can be placed at the specified coordinates.
+     *
+     * @param die         The die to be placed.
+     * @param coordinates The destination of the die.
+     * @return {@code true} if the placement is legal; {@code false} otherwise.
+     */
+    public boolean isLegal(Die die, Coordinates coordinates) {
+        int row = coordinates.getRow();
+        int col = coordinates.getCol();
+        if (row < 0 || row >= Pattern.ROWS || col < 0 || col >= Pattern.COLS)
+            return false;
+        return (getLegalMask(die) & (1 << (row * Pattern.COLS + col))) != 0;
+    }
+
+    /**
+     * Computes the masks of the legal cells for each die in the list.
+     *
+     * @param dice The dice to be placed.
+     * @return An array with the mask of the legal cells of each die,
+     * in the same order of {@code dice}.
+     */
+    public int[] getLegalMasks(List<Die> dice) {
+        int[] masks = new int[dice.size()];
+        for (int i = 0; i < masks.length; ++i)
+            masks[i] = getLegalMask(dice.get(i));
+        return masks;
+    }
+
+    /**
+     * Computes all the legal placements for the dice in the list.
+     *
+     * @param dice The dice to be placed.
+     * @return The list of all the legal pairs of die index and destination.
+     */
+    public List<Placement> getLegalPlacements(List<Die> dice) {
+        List<Placement> placements = new ArrayList<>();
+        for (int i = 0; i < dice.size(); ++i) {
+            for (Coordinates coordinates : getLegalCells(dice.get(i)))
+                placements.add(new Placement(i, coordinates));
+        }
+        return placements;
+    }
+
+    /**
+     * Tells if at least one of the dice in the list can be placed.
+     *
+     * @param dice The dice to be placed.
+     * @return {@code true} if there is at least one legal placement;
+     * {@code false} otherwise.
+     */
+    public boolean anyLegalMove(List<Die> dice) {
+        if (candidates == 0)
+            return false;
+        for (Die die : dice) {
+            if (getLegalMask(die) != 0)
+                return true;
+        }
+        return false;
+    }
+}
@@ -0,0 +1,55 @@
+package it.polimi.se2018.model;
+
+/**
+ * This enum represents the outcome of the validation of a placement
+ * on a {@link Pattern}.
+ * <p>Each entry except {@code OK} corresponds to one of the rules
+ * that can be broken and carries the message used when a
+ * {@link PlacementErrorException} is thrown for it.</p>
+ */
+public enum PlacementResult {
+    OK(null),
+    NO_DIE("The die to be placed does not exists"),
+    NOT_EDGE("The first die is not placed on an edge or corner space"),
+    NOT_ADJACENT("The die is not adjacent to a previously placed die"),
+    ADJACENT("The die is adjacent to a previously placed die when a non-adjacent place is used"),
+    COLOUR_CLASH("The die is placed orthogonally adjacent to a die of the same colour"),
+    VALUE_CLASH("The die is placed orthogonally adjacent to a die of the same value"),
+    OCCUPIED("This cell has already a placed placedDie. Choose another cell."),
+    CELL_COLOUR("The placedDie's colour is different from the colour restriction of the cell"),
+    CELL_VALUE("The placedDie's value is different from the value restriction of the cell");
+
+    /**
+     * The description of the broken rule.
+     */
+    private final String message;
+
+    /**
+     * Creates an entry with the specified description.
+     *
+     * @param message The description of the broken rule
+     *                ({@code null} for a valid placement).
+     */
+    PlacementResult(String message) {
+        this.message = message;
+    }
+
+    /**
+     * Tells if the placement is valid.
+     *
+     * @return {@code true} if no rule is broken; {@code false} otherwise.
+     */
+    public boolean isSuccessful() {
+        return this == OK;
+    }
+
+    /**
+     * Getter for the description of the broken rule.
+     *
+     * @return The description of the broken rule ({@code null}
+     * if the placement is valid).
+     */
+    public String getMessage() {
+        return message;
+    }
+}
@@ -2,6 +2,9 @@ package it.polimi.se2018.model;
 
 import it.polimi.se2018.model.events.PlayerConnectionStatus;
 import it.polimi.se2018.model.events.PlayerStatus;
+import it.polimi.se2018.model.events.PlayerStatusDelta;
+
+import java.util.OptionalInt;
 
 /**
  * This class represents a Player
@@ -17,6 +20,12 @@ public class Player {
      */
     private final String name;
 
+    /**
+     * The seat of the Player in the game: a small number, unique
+     * among the players of the game, assigned when the Player is added.
+     */
+    private int seat = -1;
+
     /**
      * The game to which the player is bound to.
      */
@@ -50,6 +59,12 @@ public class Player {
      */
     private Pattern pattern;
 
+    /**
+     * The sequence number of the last change of the status of the player
+     * notified to the views.
+     */
+    private int statusSequence;
+
     /**
      * Array that contains the Private Objective Card/Cards of the player.
      * In MultiPlayer mode the player has only one Private
@@ -57,6 +72,12 @@ public class Player {
      */
     private PrivateObjectiveCard[] cards;
 
+    /**
+     * The tracker that keeps the score of the player up to date,
+     * or {@code null} if the score is calculated only at the end of the game.
+     */
+    private ScoreTracker scoreTracker;
+
     /**
      * The constructor of Player
      *
@@ -76,6 +97,25 @@ public class Player {
         return name;
     }
 
+    /**
+     * Getter for the seat of the Player.
+     *
+     * @return the seat of the Player in the game
+     * ({@code -1} if the Player hasn't been added to a game).
+     */
+    public int getSeat() {
+        return seat;
+    }
+
+    /**
+     * Setter for the seat of the Player: it's assigned by the {@link Game}.
+     *
+     * @param seat the seat of the Player in the game.
+     */
+    void setSeat(int seat) {
+        this.seat = seat;
+    }
+
     /**
      * Getter for the score attribute.
      *
@@ -113,6 +153,16 @@ public class Player {
         this.tokens = tokens;
     }
 
+    /**
+     * Getter for the sequence number of the last change of the status
+     * of the player notified to the views.
+     *
+     * @return the sequence number.
+     */
+    public int getStatusSequence() {
+        return statusSequence;
+    }
+
 
     /**
      * Getter for the attribute connected.
@@ -169,17 +219,34 @@ public class Player {
     }
 
     /**
-     * Setter for the attribute pattern. It also generates
-     * a {@link PlayerStatus} message.
+     * Setter for the attribute pattern. It also generates a
+     * {@link PlayerStatusDelta} message with the cells that changed,
+     * or a {@link PlayerStatus} message if the pattern is a new one.
      *
      * @param pattern is the {@link Pattern} set for the attribute.
      *                This method also set the number of tokens of the player
      *                that depends on the {@code difficulty} of the {@link Pattern}.
      */
     public void setPattern(Pattern pattern) {
+        Pattern previous = this.pattern;
+        if (scoreTracker != null)
+            trackChanges(previous, pattern);
         this.pattern = pattern;
-        PlayerStatus message = new PlayerStatus(this);
-        game.notifyObservers(message);
+        notifyStatus(previous);
+    }
+
+    /**
+     * Notifies the views of a change of the status of the player: only the
+     * cells that changed are sent, unless the template of the pattern changed.
+     *
+     * @param previous the pattern before the change.
+     */
+    private void notifyStatus(Pattern previous) {
+        statusSequence++;
+        if (previous != null && pattern != null && previous.hasSameTemplate(pattern))
+            game.notifyObservers(new PlayerStatusDelta(this, previous.changedCells(pattern)));
+        else
+            game.notifyObservers(new PlayerStatus(this));
     }
 
     /**
@@ -216,7 +283,76 @@ public class Player {
             throw new NotEnoughTokensException("Not enough tokens to use the Toolcard");
         }
         tokens -= n;
-        game.notifyObservers(new PlayerStatus(this));
+        notifyStatus(pattern);
+    }
+
+    /**
+     * Setter for the tracker of the score. The tracker is immediately
+     * notified of the dice already on the pattern of the player.
+     *
+     * @param scoreTracker the tracker of the score.
+     */
+    public void setScoreTracker(ScoreTracker scoreTracker) {
+        this.scoreTracker = scoreTracker;
+        if (scoreTracker != null)
+            trackChanges(null, pattern);
+    }
+
+    /**
+     * Getter for the tracker of the score.
+     *
+     * @return the tracker of the score, or {@code null} if the score
+     * is not tracked.
+     */
+    public ScoreTracker getScoreTracker() {
+        return scoreTracker;
+    }
+
+    /**
+     * Gets the score of the player during the game, without his
+     * private objective.
+     *
+     * @return the score, or an empty value if the score is not tracked.
+     */
+    public OptionalInt getLiveScore() {
+        return scoreTracker == null ? OptionalInt.empty() : OptionalInt.of(scoreTracker.getPublicScore(tokens));
+    }
+
+    /**
+     * Gets the score given by the private objective of the player during
+     * the game: it's known when the player has a single private objective.
+     *
+     * @return the score, or an empty value if the score is not tracked
+     * or the private objective is not known.
+     */
+    public OptionalInt getPrivateScore() {
+        if (scoreTracker == null || cards == null || cards.length != 1)
+            return OptionalInt.empty();
+        return OptionalInt.of(scoreTracker.getPrivateScore(cards[0].getColour()));
+    }
+
+    /**
+     * Notifies the tracker of the score of the cells that changed
+     * between two patterns.
+     *
+     * @param previous the previous pattern, or {@code null}.
+     * @param current  the new pattern, or {@code null}.
+     */
+    private void trackChanges(Pattern previous, Pattern current) {
+        int changed;
+        if (previous == null)
+            changed = current == null ? 0 : current.getOccupiedMask();
+        else
+            changed = current == null ? previous.getOccupiedMask() : previous.changedCells(current);
+
+        for (; changed != 0; changed &= changed - 1) {
+            int index = Integer.numberOfTrailingZeros(changed);
+            int row = index / Pattern.COLS;
+            int col = index % Pattern.COLS;
+            scoreTracker.cellChanged(row, col,
+                    previous == null ? null : previous.getDie(row, col),
+                    current == null ? null : current.getDie(row, col));
+        }
     }
 
     /**
@@ -1,9 +1,11 @@
 package it.polimi.se2018.model;
 
+import it.polimi.se2018.model.events.RoundTrackDelta;
 import it.polimi.se2018.model.events.RoundTrackUpdate;
 import it.polimi.se2018.utils.Coordinates;
 
 import java.util.ArrayList;
+import java.util.Collections;
 import java.util.List;
 
 /**
@@ -11,7 +13,11 @@ import java.util.List;
  * <p>Its role is to keep track of all the dice that
  * are left unused after each round, since they still may
  * be used in some cases</p>
- * <p>The class is immutable.</p>
+ * <p>The sum of the values of the dice and the number of dice of
+ * each colour are updated every time the leftovers change, so that
+ * they can be read in constant time. Every change also increases the
+ * version of the RoundTrack, which is used to rebuild the read-only
+ * snapshot of the leftovers only when it's necessary.</p>
  * @author dvdmff
  */
 public class RoundTrack {
@@ -23,6 +29,39 @@ public class RoundTrack {
 
     private final Game game;
 
+    /**
+     * The sum of the values of all the dice in the RoundTrack.
+     */
+    private int sum;
+
+    /**
+     * The number of dice of each colour in the RoundTrack,
+     * indexed by the ordinal of the colour.
+     */
+    private final int[] colourCounts = new int[Colour.values().length];
+
+    /**
+     * The mask of the colours in the RoundTrack: the bit
+     * {@code colour.ordinal()} is set if there is at least
+     * one die of that colour.
+     */
+    private int colourMask;
+
+    /**
+     * The number of changes made to the RoundTrack.
+     */
+    private int version;
+
+    /**
+     * The read-only snapshot of the leftovers.
+     */
+    private List<List<Die>> snapshot;
+
+    /**
+     * The version of the RoundTrack when the snapshot was built.
+     */
+    private int snapshotVersion = -1;
+
     /**
      * Creates a RoundTrack object able to manage the specified
      * number of rounds.
@@ -36,9 +75,24 @@ public class RoundTrack {
         this.game = game;
     }
 
-    private void notifyChange(){
-        RoundTrackUpdate message = new RoundTrackUpdate(getLeftovers());
-        game.notifyObservers(message);
+    /**
+     * Notifies the views of the change of a round: the version of the
+     * RoundTrack is the sequence number of the change.
+     * @param round The index of the round that changed.
+     * @param removed The index of the die removed from the round, or -1.
+     * @param added The dice added at the end of the round.
+     */
+    private void notifyChange(int round, int removed, List<? extends Die> added){
+        game.notifyObservers(new RoundTrackDelta(round, removed, added, version));
+    }
+
+    /**
+     * Creates a message with the whole RoundTrack, to send it to a view
+     * that doesn't know it.
+     * @return The message.
+     */
+    public RoundTrackUpdate createUpdate() {
+        return new RoundTrackUpdate(getSnapshot(), version);
     }
 
     /**
@@ -49,7 +103,10 @@ public class RoundTrack {
      */
     public void addAllForRound(int round, List<? extends Die> dice) {
         leftovers.get(round - 1).addAll(dice);
-        notifyChange();
+        for (Die die : dice)
+            count(die, 1);
+        version++;
+        notifyChange(round - 1, -1, dice);
     }
 
     /**
@@ -57,11 +114,77 @@ public class RoundTrack {
      * @return The sum of the values of the dice.
      */
     public int getSum() {
-        return leftovers.stream()
-                .map(a -> a.stream()
-                        .map(Die::getValue)
-                        .reduce(0, (s, v) -> s + v))
-                .reduce(0, (s, v) -> s + v);
+        return sum;
+    }
+
+    /**
+     * Counts the dice of the specified colour in the RoundTrack.
+     * @param colour The colour of the dice.
+     * @return The number of dice of the colour.
+     */
+    public int getColourCount(Colour colour) {
+        return colourCounts[colour.ordinal()];
+    }
+
+    /**
+     * Tells if there is at least one die of the specified colour
+     * in the RoundTrack.
+     * @param colour The colour of the dice.
+     * @return {@code true} if there is a die of the colour;
+     * {@code false} otherwise.
+     */
+    public boolean containsColour(Colour colour) {
+        return (colourMask & (1 << colour.ordinal())) != 0;
+    }
+
+    /**
+     * Getter for the mask of the colours in the RoundTrack.
+     * @return The mask of the colours: the bit {@code colour.ordinal()}
+     * is set if there is at least one die of that colour.
+     */
+    public int getColourMask() {
+        return colourMask;
+    }
+
+    /**
+     * Getter for the version of the RoundTrack.
+     * @return The number of changes made to the RoundTrack.
+     */
+    public int getVersion() {
+        return version;
+    }
+
+    /**
+     * Updates the aggregates when a die is added or removed.
+     * @param die The die that is added or removed.
+     * @param amount 1 if the die is added, -1 if it's removed.
+     */
+    private void count(Die die, int amount) {
+        int colour = die.getColour().ordinal();
+        sum += amount * die.getValue();
+        colourCounts[colour] += amount;
+        if (colourCounts[colour] == 0)
+            colourMask &= ~(1 << colour);
+        else
+            colourMask |= 1 << colour;
+    }
+
+    /**
+     * Returns a read-only view of the leftover dice.
+     * <p>The view is rebuilt only if the RoundTrack has changed since
+     * the last call, so it can be shared by all the readers and
+     * by the messages sent to the views.</p>
+     * @return An unmodifiable copy of the List of dice in the RoundTrack.
+     */
+    public List<List<Die>> getSnapshot() {
+        if (snapshotVersion != version) {
+            List<List<Die>> copy = new ArrayList<>(leftovers.size());
+            for (List<Die> dice : leftovers)
+                copy.add(Collections.unmodifiableList(new ArrayList<>(dice)));
+            snapshot = Collections.unmodifiableList(copy);
+            snapshotVersion = version;
+        }
+        return snapshot;
     }
 
     /**
@@ -101,11 +224,14 @@ public class RoundTrack {
             return null;
         }
         leftovers.get(coordinates.getRow())
-                .remove(toSwap);
+                .remove(coordinates.getCol());
         leftovers.get(coordinates.getRow())
                 .add(die);
+        count(toSwap, -1);
+        count(die, 1);
+        version++;
 
-        notifyChange();
+        notifyChange(coordinates.getRow(), coordinates.getCol(), Collections.singletonList(die));
         return toSwap;
     }
 }
@@ -0,0 +1,38 @@
+package it.polimi.se2018.model;
+
+/**
+ * The interface of the objects that keep the score of a {@link Player}
+ * up to date while the dice are placed on his {@link Pattern}.
+ * <p>The tracker is notified of every cell that changes when the
+ * pattern of the player is replaced.</p>
+ */
+public interface ScoreTracker {
+
+    /**
+     * Notifies the tracker that the content of a cell has changed.
+     *
+     * @param row     the row of the cell.
+     * @param col     the column of the cell.
+     * @param removed the die that was in the cell, or {@code null}.
+     * @param placed  the die that is now in the cell, or {@code null}.
+     */
+    void cellChanged(int row, int col, Die removed, Die placed);
+
+    /**
+     * Gets the score of the player without his private objective, which
+     * is not known by the other players.
+     *
+     * @param tokens the tokens of the player.
+     * @return the score given by the public objectives, the tokens and
+     * the empty cells.
+     */
+    int getPublicScore(int tokens);
+
+    /**
+     * Gets the score given by a private objective.
+     *
+     * @param colour the colour of the private objective.
+     * @return the score given by the private objective.
+     */
+    int getPrivateScore(Colour colour);
+}
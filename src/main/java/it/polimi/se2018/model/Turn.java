@@ -30,12 +30,14 @@ public class Turn {
 
     /**
      * The index of the die that the player is forced to select.
+     * <p>It's the slot of the die in the {@link DraftPool}, so it
+     * doesn't change when other dice are drafted.</p>
      */
     private int forcedSelectionIndex;
 
     /**
      * The index of the die that will be consumed to activate a tool
-     * card in single player mode.
+     * card in single player mode (its slot in the {@link DraftPool}).
      */
     private int sacrificeIndex;
 
@@ -44,6 +46,12 @@ public class Turn {
      */
     private ToolCard selectedToolCard;
 
+    /**
+     * The number of steps of the active tool card already done,
+     * for the tool cards that are applied in more steps.
+     */
+    private int toolCardStep;
+
     /**
      * Creates a Turn object for the given player.
      * <p>The newly created turn has, by default, {@code hasAlreadyPlacedDie()}
@@ -181,6 +189,24 @@ public class Turn {
      */
     public void setSelectedToolCard(ToolCard selectedToolCard) {
         this.selectedToolCard = selectedToolCard;
+        this.toolCardStep = 0;
         notifyChange();
     }
+
+    /**
+     * Getter for the number of steps of the active tool card already done.
+     * <p>It's reset when a tool card is set active.</p>
+     * @return The number of steps already done.
+     */
+    public int getToolCardStep() {
+        return toolCardStep;
+    }
+
+    /**
+     * Setter for the number of steps of the active tool card already done.
+     * @param toolCardStep The number of steps already done.
+     */
+    public void setToolCardStep(int toolCardStep) {
+        this.toolCardStep = toolCardStep;
+    }
 }
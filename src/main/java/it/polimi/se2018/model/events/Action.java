@@ -10,6 +10,7 @@ public enum Action {
     PLACE_DIE, ACTIVATE_TOOL_CARD, APPLY_TOOL_CARD, END_TURN,
     REGISTER_PLAYER, DISCONNECT_PLAYER, RECONNECT_PLAYER, SELECT_PATTERN,
     SELECT_DIFFICULTY, SELECT_PRIVATE_OBJECTIVE, //single player actions
-    INCREMENT_DIE, CHOOSE_VALUE //to be used by the ToolCard FluxRemover
+    INCREMENT_DIE, CHOOSE_VALUE, //to be used by the ToolCard FluxRemover
+    RESYNC //to ask again the whole status of the game
 
 }
@@ -0,0 +1,83 @@
+package it.polimi.se2018.model.events;
+
+import it.polimi.se2018.model.Die;
+import it.polimi.se2018.model.viewmodel.ViewDataOrganizer;
+
+/**
+ * Represents a message containing the change of a slot of the draft pool:
+ * a die has been drafted from the slot or put in it.
+ * <p>The sequence number tells the receiver if it missed a change: the
+ * delta can be applied only to the draft pool with the previous sequence
+ * number.</p>
+ * <p>This class is immutable.</p>
+ *
+ * @author dvdmff
+ */
+public class DraftPoolDelta extends ModelUpdate {
+
+    /**
+     * The slot that changed.
+     */
+    private final int slot;
+
+    /**
+     * The die in the slot, or {@code null} if the die has been drafted.
+     */
+    private final Die die;
+
+    /**
+     * The sequence number of the change.
+     */
+    private final int sequence;
+
+    /**
+     * The constructor of the class.
+     *
+     * @param slot     The slot that changed.
+     * @param die      The die in the slot, or {@code null} if the die has been drafted.
+     * @param sequence The sequence number of the change.
+     */
+    public DraftPoolDelta(int slot, Die die, int sequence) {
+        super(ModelEvent.DRAFT_POOL_DELTA);
+        this.slot = slot;
+        this.die = die;
+        this.sequence = sequence;
+    }
+
+    /**
+     * Getter for the slot that changed.
+     *
+     * @return The slot.
+     */
+    public int getSlot() {
+        return slot;
+    }
+
+    /**
+     * Getter for the die in the slot.
+     *
+     * @return The die, or {@code null} if the slot is empty.
+     */
+    public Die getDie() {
+        return die;
+    }
+
+    /**
+     * Getter for the sequence number of the change.
+     *
+     * @return The sequence number.
+     */
+    public int getSequence() {
+        return sequence;
+    }
+
+    /**
+     * Pushes this instance of DraftPoolDelta into the organizer.
+     *
+     * @param organizer The organizer where the message will be pushed into.
+     */
+    @Override
+    public void pushInto(ViewDataOrganizer organizer) {
+        organizer.push(this);
+    }
+}
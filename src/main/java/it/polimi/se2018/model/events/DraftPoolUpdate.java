@@ -7,6 +7,9 @@ import java.util.List;
 
 /**
  * Represents a message containing information about the draft pool.
+ * <p>It carries the whole content of the slots and the sequence number of
+ * the change of the draft pool, so that the following {@link DraftPoolDelta}s
+ * can be applied to it.</p>
  * <p>This class is immutable.</p>
  *
  * @author dvdmff
@@ -19,13 +22,29 @@ public class DraftPoolUpdate extends ModelUpdate {
     private final List<Die> dice;
 
     /**
-     * The constructor of the class.
+     * The sequence number of the last change of the draft pool.
+     */
+    private final int sequence;
+
+    /**
+     * The constructor of the class, for a draft pool that has never changed.
      *
      * @param dice The dice in the draft pool.
      */
     public DraftPoolUpdate(List<Die> dice) {
+        this(dice, 0);
+    }
+
+    /**
+     * The constructor of the class.
+     *
+     * @param dice     The dice in the draft pool.
+     * @param sequence The sequence number of the last change of the draft pool.
+     */
+    public DraftPoolUpdate(List<Die> dice, int sequence) {
         super(ModelEvent.DRAFT_POOL_UPDATE);
         this.dice = dice;
+        this.sequence = sequence;
     }
 
     /**
@@ -37,6 +56,28 @@ public class DraftPoolUpdate extends ModelUpdate {
         return dice;
     }
 
+    /**
+     * Getter for the sequence number of the last change of the draft pool.
+     *
+     * @return The sequence number.
+     */
+    public int getSequence() {
+        return sequence;
+    }
+
+    /**
+     * A newer draft pool replaces the previous one, and the changes
+     * sent before it.
+     *
+     * @param other The message sent before this one.
+     * @return {@code true} if {@code other} is a draft pool update or delta.
+     */
+    @Override
+    public boolean supersedes(ModelUpdate other) {
+        return other.getEventType() == ModelEvent.DRAFT_POOL_UPDATE ||
+                other.getEventType() == ModelEvent.DRAFT_POOL_DELTA;
+    }
+
     /**
      * Pushes this instance of DraftPoolUpdate into the organizer.
      *
@@ -4,6 +4,7 @@ import it.polimi.se2018.model.*;
 import it.polimi.se2018.model.viewmodel.ViewDataOrganizer;
 
 import java.util.Arrays;
+import java.util.stream.IntStream;
 
 
 /**
@@ -18,6 +19,13 @@ public class GameSetup extends ModelUpdate {
      */
     private final String[] players;
 
+    /**
+     * The seats of the players (see {@link Player#getSeat()}), with a correspondence
+     * of indexes with the array {@code players}: the later messages about a
+     * player are sent with the seat only.
+     */
+    private final int[] seats;
+
     /**
      * The array of private objective cards.
      * There is a correspondence of indexes with the array {@code players} (each player
@@ -52,6 +60,9 @@ public class GameSetup extends ModelUpdate {
         this.players = game.getPlayers().stream()
                 .map(Player::getName)
                 .toArray(String[]::new);
+        this.seats = game.getPlayers().stream()
+                .mapToInt(Player::getSeat)
+                .toArray();
         this.toolCards = Arrays.stream(game.getToolCards())
                 .map(ToolCard::new)
                 .toArray(ToolCard[]::new);
@@ -67,6 +78,46 @@ public class GameSetup extends ModelUpdate {
                 .toArray(PrivateObjectiveCard[][]::new);
     }
 
+    /**
+     * Creates a game setup message from its content, as it is when
+     * it's decoded from the network.
+     *
+     * @param players           The names of the players.
+     * @param privateObjectives The private objective cards of each player.
+     * @param toolCards         The tool cards of the game.
+     * @param publicObjectives  The public objective cards of the game.
+     * @param candidates        The patterns among which each player will choose.
+     */
+    public GameSetup(String[] players, PrivateObjectiveCard[][] privateObjectives, ToolCard[] toolCards,
+                     PublicObjectiveCard[] publicObjectives, Pattern[][] candidates) {
+        this(players, IntStream.range(0, players.length).toArray(), privateObjectives, toolCards,
+                publicObjectives, candidates);
+    }
+
+    /**
+     * Creates a game setup message from its content, with the seats of the players.
+     *
+     * @param players           The names of the players.
+     * @param seats             The seats of the players.
+     * @param privateObjectives The private objective cards of each player.
+     * @param toolCards         The tool cards of the game.
+     * @param publicObjectives  The public objective cards of the game.
+     * @param candidates        The patterns among which each player will choose.
+     * @throws IllegalArgumentException if there isn't a seat for each player.
+     */
+    public GameSetup(String[] players, int[] seats, PrivateObjectiveCard[][] privateObjectives,
+                     ToolCard[] toolCards, PublicObjectiveCard[] publicObjectives, Pattern[][] candidates) {
+        super(ModelEvent.GAME_SETUP);
+        if (seats.length != players.length)
+            throw new IllegalArgumentException("A seat is needed for each player");
+        this.players = players;
+        this.seats = seats;
+        this.privateObjectives = privateObjectives;
+        this.toolCards = toolCards;
+        this.publicObjectives = publicObjectives;
+        this.candidates = candidates;
+    }
+
     /**
      * The getter for {@code players}.
      *
@@ -76,6 +127,15 @@ public class GameSetup extends ModelUpdate {
         return players;
     }
 
+    /**
+     * The getter for {@code seats}.
+     *
+     * @return {@code seats}.
+     */
+    public int[] getSeats() {
+        return seats;
+    }
+
     /**
      * The getter for {@code privateObjectives}.
      *
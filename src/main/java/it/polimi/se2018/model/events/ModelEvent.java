@@ -11,5 +11,9 @@ public enum ModelEvent {
     NEXT_TURN,
     ROUND_TRACK_UPDATE,
     PLAYER_CONNECTION_STATUS,
-    USE_TOOL_CARD
+    USE_TOOL_CARD,
+    BATCH,
+    DRAFT_POOL_DELTA,
+    ROUND_TRACK_DELTA,
+    PLAYER_STATUS_DELTA
 }
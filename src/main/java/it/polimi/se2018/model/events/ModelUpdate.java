@@ -37,6 +37,44 @@ public abstract class ModelUpdate implements Serializable {
         return eventType;
     }
 
+    /**
+     * Tells if this message carries an event of the specified type.
+     *
+     * @param eventType The type of event.
+     * @return {@code true} if the message is of that type;
+     * {@code false} otherwise.
+     */
+    public boolean hasEvent(ModelEvent eventType) {
+        return this.eventType == eventType;
+    }
+
+    /**
+     * Tells if this message makes {@code other} useless when it's
+     * delivered after it, because it carries a newer version of the
+     * same data.
+     * <p>By default a message doesn't supersede any other message.</p>
+     *
+     * @param other The message sent before this one.
+     * @return {@code true} if {@code other} can be discarded;
+     * {@code false} otherwise.
+     */
+    public boolean supersedes(ModelUpdate other) {
+        return false;
+    }
+
+    /**
+     * Gets the message as it must be sent to a player: the data that only
+     * another player may know is removed.
+     * <p>By default a message doesn't carry any private data.</p>
+     *
+     * @param recipient The name of the player who receives the message.
+     * @return The message itself, or a copy without the private data
+     * of the other players.
+     */
+    public ModelUpdate projectFor(String recipient) {
+        return this;
+    }
+
     /**
      * Pushes the update message into the organizer.
      *
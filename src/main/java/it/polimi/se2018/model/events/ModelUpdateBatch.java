@@ -0,0 +1,137 @@
+package it.polimi.se2018.model.events;
+
+import it.polimi.se2018.model.viewmodel.ViewDataOrganizer;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Represents a message containing all the updates produced by a single
+ * action on the model, so that they are delivered to the view at once.
+ * <p>This class is immutable.</p>
+ */
+public class ModelUpdateBatch extends ModelUpdate {
+
+    /**
+     * The updates in the order they were generated.
+     */
+    private final List<ModelUpdate> updates;
+
+    /**
+     * The last projection of the batch, so that the players who receive
+     * the same data share it.
+     */
+    private transient ModelUpdateBatch projection;
+
+    /**
+     * The constructor of the class.
+     *
+     * @param updates The updates in the order they were generated.
+     */
+    public ModelUpdateBatch(List<ModelUpdate> updates) {
+        super(ModelEvent.BATCH);
+        this.updates = Collections.unmodifiableList(new ArrayList<>(updates));
+    }
+
+    /**
+     * Removes from the list the updates superseded by a following one.
+     * <p>The remaining updates keep their relative order.</p>
+     *
+     * @param updates The updates in the order they were generated.
+     * @return A new list without the superseded updates.
+     */
+    public static List<ModelUpdate> coalesce(List<ModelUpdate> updates) {
+        List<ModelUpdate> result = new ArrayList<>(updates.size());
+        for (int i = 0; i < updates.size(); ++i) {
+            ModelUpdate update = updates.get(i);
+            boolean superseded = false;
+            for (int j = i + 1; j < updates.size() && !superseded; ++j)
+                superseded = updates.get(j).supersedes(update);
+            if (!superseded)
+                result.add(update);
+        }
+        return result;
+    }
+
+    /**
+     * Getter for the updates.
+     *
+     * @return The updates in the order they were generated.
+     */
+    public List<ModelUpdate> getUpdates() {
+        return updates;
+    }
+
+    /**
+     * Tells if any of the updates carries an event of the specified type.
+     *
+     * @param eventType The type of event.
+     * @return {@code true} if at least one update is of that type;
+     * {@code false} otherwise.
+     */
+    @Override
+    public boolean hasEvent(ModelEvent eventType) {
+        if (super.hasEvent(eventType))
+            return true;
+        for (ModelUpdate update : updates) {
+            if (update.hasEvent(eventType))
+                return true;
+        }
+        return false;
+    }
+
+    /**
+     * Gets the batch as it must be sent to a player, projecting each update.
+     *
+     * @param recipient The name of the player who receives the message.
+     * @return The batch itself, if no update carries private data of the
+     * other players, or a batch of the projected updates.
+     */
+    @Override
+    public ModelUpdate projectFor(String recipient) {
+        List<ModelUpdate> projected = new ArrayList<>(updates.size());
+        boolean changed = false;
+        for (ModelUpdate update : updates) {
+            ModelUpdate projectedUpdate = update.projectFor(recipient);
+            changed |= projectedUpdate != update;
+            projected.add(projectedUpdate);
+        }
+        if (!changed)
+            return this;
+        ModelUpdateBatch last = projection;
+        if (last == null || !sameUpdates(last.updates, projected)) {
+            last = new ModelUpdateBatch(projected);
+            projection = last;
+        }
+        return last;
+    }
+
+    /**
+     * Tells if two lists contain the same instances, in the same order.
+     *
+     * @param first  The first list.
+     * @param second The second list.
+     * @return {@code true} if the lists contain the same instances.
+     */
+    private static boolean sameUpdates(List<ModelUpdate> first, List<ModelUpdate> second) {
+        if (first.size() != second.size())
+            return false;
+        for (int i = 0; i < first.size(); i++) {
+            if (first.get(i) != second.get(i))
+                return false;
+        }
+        return true;
+    }
+
+    /**
+     * Pushes all the updates into the organizer, in order.
+     *
+     * @param organizer The organizer where the message will be pushed into.
+     */
+    @Override
+    public void pushInto(ViewDataOrganizer organizer) {
+        for (ModelUpdate update : updates)
+            update.pushInto(organizer);
+    }
+}
@@ -18,6 +18,12 @@ public class NextTurn extends ModelUpdate {
      */
     private final String playerName;
 
+    /**
+     * The seat of the next player to move (see {@link it.polimi.se2018.model.Player#getSeat()}),
+     * or -1 if it's not known.
+     */
+    private final int seat;
+
     /**
      * Flag to indicate if the player has a second turn this round.
      */
@@ -56,6 +62,7 @@ public class NextTurn extends ModelUpdate {
     public NextTurn(Turn turn) {
         super(ModelEvent.NEXT_TURN);
         playerName = turn.getPlayer().getName();
+        seat = turn.getPlayer().getSeat();
         secondTurnAvailable = turn.isSecondTurnAvailable();
         alreadyPlacedDie = turn.hasAlreadyPlacedDie();
         alreadyUsedToolCard = turn.hasAlreadyUsedToolCard();
@@ -64,6 +71,52 @@ public class NextTurn extends ModelUpdate {
         activeToolCard = turn.getSelectedToolCard();
     }
 
+    /**
+     * Creates a message from its content, as it is when it's decoded from the network.
+     *
+     * @param playerName           The name of the next player to move.
+     * @param secondTurnAvailable  {@code true} if the player has a second turn this round.
+     * @param alreadyPlacedDie     {@code true} if the player has already placed a die.
+     * @param alreadyUsedToolCard  {@code true} if the player has already used a tool card.
+     * @param forcedSelectionIndex The index of the only die the player can draft.
+     * @param sacrificeIndex       The index of the die that will be sacrificed.
+     * @param activeToolCard       The currently active tool card, or {@code null}.
+     */
+    public NextTurn(String playerName, boolean secondTurnAvailable, boolean alreadyPlacedDie,
+                    boolean alreadyUsedToolCard, int forcedSelectionIndex, int sacrificeIndex,
+                    ToolCard activeToolCard) {
+        this(playerName, -1, secondTurnAvailable, alreadyPlacedDie, alreadyUsedToolCard,
+                forcedSelectionIndex, sacrificeIndex, activeToolCard);
+    }
+
+    /**
+     * Creates a message from its content, with the seat of the next player: when
+     * it's decoded from the network the name is {@code null}, until it's resolved
+     * by {@link #withPlayerName(String)}.
+     *
+     * @param playerName           The name of the next player to move.
+     * @param seat                 The seat of the next player, or -1 if it's not known.
+     * @param secondTurnAvailable  {@code true} if the player has a second turn this round.
+     * @param alreadyPlacedDie     {@code true} if the player has already placed a die.
+     * @param alreadyUsedToolCard  {@code true} if the player has already used a tool card.
+     * @param forcedSelectionIndex The index of the only die the player can draft.
+     * @param sacrificeIndex       The index of the die that will be sacrificed.
+     * @param activeToolCard       The currently active tool card, or {@code null}.
+     */
+    public NextTurn(String playerName, int seat, boolean secondTurnAvailable, boolean alreadyPlacedDie,
+                    boolean alreadyUsedToolCard, int forcedSelectionIndex, int sacrificeIndex,
+                    ToolCard activeToolCard) {
+        super(ModelEvent.NEXT_TURN);
+        this.playerName = playerName;
+        this.seat = seat;
+        this.secondTurnAvailable = secondTurnAvailable;
+        this.alreadyPlacedDie = alreadyPlacedDie;
+        this.alreadyUsedToolCard = alreadyUsedToolCard;
+        this.forcedSelectionIndex = forcedSelectionIndex;
+        this.sacrificeIndex = sacrificeIndex;
+        this.activeToolCard = activeToolCard;
+    }
+
     /**
      * Getter for the player name.
      *
@@ -73,6 +126,16 @@ public class NextTurn extends ModelUpdate {
         return playerName;
     }
 
+    /**
+     * Getter for the seat of the player, which is sent over the network
+     * in place of the name.
+     *
+     * @return The seat of the player, or -1 if it's not known.
+     */
+    public int getSeat() {
+        return seat;
+    }
+
     /**
      * Tells if the player has a second turn this round.
      *
@@ -130,6 +193,29 @@ public class NextTurn extends ModelUpdate {
         return activeToolCard;
     }
 
+    /**
+     * A newer turn status replaces the previous one.
+     *
+     * @param other The message sent before this one.
+     * @return {@code true} if {@code other} is a turn update.
+     */
+    @Override
+    public boolean supersedes(ModelUpdate other) {
+        return other.getEventType() == ModelEvent.NEXT_TURN;
+    }
+
+    /**
+     * Returns this message with the name of the player, resolved from
+     * the seat on the client.
+     *
+     * @param name The name of the player sitting at the seat.
+     * @return A message equal to this one, with the name of the player.
+     */
+    public NextTurn withPlayerName(String name) {
+        return new NextTurn(name, seat, secondTurnAvailable, alreadyPlacedDie, alreadyUsedToolCard,
+                forcedSelectionIndex, sacrificeIndex, activeToolCard);
+    }
+
     /**
      * Pushes this instance of NextTurn into the organizer.
      *
@@ -15,6 +15,12 @@ public class PlayerConnectionStatus extends ModelUpdate {
      * The name of the involved player.
      */
     private final String playerName;
+
+    /**
+     * The seat of the player in the game (see {@link Player#getSeat()}),
+     * or -1 if it's not known.
+     */
+    private final int seat;
     /**
      * Flag to indicate if the player is connected.
      */
@@ -28,9 +34,37 @@ public class PlayerConnectionStatus extends ModelUpdate {
     public PlayerConnectionStatus(Player player) {
         super(ModelEvent.PLAYER_CONNECTION_STATUS);
         this.playerName = player.getName();
+        this.seat = player.getSeat();
         this.connected = player.isConnected();
     }
 
+    /**
+     * Creates a new instance with the specified name and connection flag,
+     * without using a {@link Player}.
+     *
+     * @param playerName The name of the player who changed its connection status.
+     * @param connected  {@code true} if the player is connected.
+     */
+    public PlayerConnectionStatus(String playerName, boolean connected) {
+        this(playerName, -1, connected);
+    }
+
+    /**
+     * Creates a new instance with the specified name, seat and connection flag:
+     * when it's decoded from the network the name is {@code null}, until it's
+     * resolved by {@link #withPlayerName(String)}.
+     *
+     * @param playerName The name of the player who changed its connection status.
+     * @param seat       The seat of the player, or -1 if it's not known.
+     * @param connected  {@code true} if the player is connected.
+     */
+    public PlayerConnectionStatus(String playerName, int seat, boolean connected) {
+        super(ModelEvent.PLAYER_CONNECTION_STATUS);
+        this.playerName = playerName;
+        this.seat = seat;
+        this.connected = connected;
+    }
+
     /**
      * Getter for the involved player name.
      *
@@ -40,6 +74,16 @@ public class PlayerConnectionStatus extends ModelUpdate {
         return playerName;
     }
 
+    /**
+     * Getter for the seat of the player, which is sent over the network
+     * in place of the name.
+     *
+     * @return The seat of the player, or -1 if it's not known.
+     */
+    public int getSeat() {
+        return seat;
+    }
+
     /**
      * Getter for the connection flag.
      *
@@ -50,6 +94,17 @@ public class PlayerConnectionStatus extends ModelUpdate {
         return connected;
     }
 
+    /**
+     * Returns this message with the name of the player, resolved from
+     * the seat on the client.
+     *
+     * @param name The name of the player sitting at the seat.
+     * @return A message equal to this one, with the name of the player.
+     */
+    public PlayerConnectionStatus withPlayerName(String name) {
+        return new PlayerConnectionStatus(name, seat, connected);
+    }
+
     /**
      * Pushes this instance of PlayerConnectionStatus into the organizer.
      *
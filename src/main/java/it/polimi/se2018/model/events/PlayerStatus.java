@@ -4,9 +4,13 @@ import it.polimi.se2018.model.Pattern;
 import it.polimi.se2018.model.Player;
 import it.polimi.se2018.model.viewmodel.ViewDataOrganizer;
 
+import java.util.OptionalInt;
+
 /**
  * Represents a message containing information about a player status, excluded
  * connection status.
+ * <p>It carries the sequence number of the last change of the status, so that
+ * the following {@link PlayerStatusDelta}s can be applied to it.</p>
  * <p>This class is immutable.</p>
  *
  * @author dvdmff
@@ -18,6 +22,12 @@ public class PlayerStatus extends ModelUpdate {
      */
     private final String playerName;
 
+    /**
+     * The seat of the player in the game (see {@link Player#getSeat()}),
+     * or -1 if it's not known.
+     */
+    private final int seat;
+
     /**
      * The number of tokens of the player.
      */
@@ -28,6 +38,28 @@ public class PlayerStatus extends ModelUpdate {
      */
     private final Pattern pattern;
 
+    /**
+     * The score of the player during the game, without his private
+     * objective, or {@code null} if it's not known.
+     */
+    private final Integer liveScore;
+
+    /**
+     * The score given by the private objective of the player, or {@code null}
+     * if it's not known: it's sent only to the player (see {@link #projectFor(String)}).
+     */
+    private final Integer privateScore;
+
+    /**
+     * The status without the private score, sent to the other players.
+     */
+    private transient PlayerStatus publicStatus;
+
+    /**
+     * The sequence number of the last change of the status.
+     */
+    private final int sequence;
+
     /**
      * The constructor of the class.
      *
@@ -36,8 +68,14 @@ public class PlayerStatus extends ModelUpdate {
     public PlayerStatus(Player player) {
         super(ModelEvent.PLAYER_STATUS);
         this.playerName = player.getName();
+        this.seat = player.getSeat();
         this.tokens = player.getTokens();
         this.pattern = player.getPattern();
+        OptionalInt score = player.getLiveScore();
+        this.liveScore = score.isPresent() ? score.getAsInt() : null;
+        OptionalInt ownScore = player.getPrivateScore();
+        this.privateScore = ownScore.isPresent() ? ownScore.getAsInt() : null;
+        this.sequence = player.getStatusSequence();
     }
 
     /**
@@ -53,8 +91,67 @@ public class PlayerStatus extends ModelUpdate {
     public PlayerStatus(String name, int difficulty, Pattern pattern) {
         super(ModelEvent.PLAYER_STATUS);
         this.playerName = name;
+        this.seat = -1;
         this.tokens = difficulty;
         this.pattern = pattern;
+        this.liveScore = null;
+        this.privateScore = null;
+        this.sequence = 0;
+    }
+
+    /**
+     * A constructor to create a PlayerStatus from its content, as it is
+     * when it's decoded from the network.
+     *
+     * @param name      the name of the player.
+     * @param tokens    the number of tokens of the player.
+     * @param pattern   the pattern.
+     * @param liveScore the score of the player during the game, if it's known.
+     * @param sequence  the sequence number of the last change of the status.
+     */
+    public PlayerStatus(String name, int tokens, Pattern pattern, OptionalInt liveScore, int sequence) {
+        this(name, tokens, pattern, liveScore, OptionalInt.empty(), sequence);
+    }
+
+    /**
+     * A constructor to create a PlayerStatus from its content, with the score
+     * given by the private objective, as it is sent to the player.
+     *
+     * @param name         the name of the player.
+     * @param tokens       the number of tokens of the player.
+     * @param pattern      the pattern.
+     * @param liveScore    the score of the player during the game, if it's known.
+     * @param privateScore the score given by the private objective, if it's known.
+     * @param sequence     the sequence number of the last change of the status.
+     */
+    public PlayerStatus(String name, int tokens, Pattern pattern, OptionalInt liveScore,
+                        OptionalInt privateScore, int sequence) {
+        this(name, -1, tokens, pattern, liveScore, privateScore, sequence);
+    }
+
+    /**
+     * A constructor to create a PlayerStatus from its content, with the seat
+     * of the player: when it's decoded from the network the name is
+     * {@code null}, until it's resolved by {@link #withPlayerName(String)}.
+     *
+     * @param name         the name of the player.
+     * @param seat         the seat of the player, or -1 if it's not known.
+     * @param tokens       the number of tokens of the player.
+     * @param pattern      the pattern.
+     * @param liveScore    the score of the player during the game, if it's known.
+     * @param privateScore the score given by the private objective, if it's known.
+     * @param sequence     the sequence number of the last change of the status.
+     */
+    public PlayerStatus(String name, int seat, int tokens, Pattern pattern, OptionalInt liveScore,
+                        OptionalInt privateScore, int sequence) {
+        super(ModelEvent.PLAYER_STATUS);
+        this.playerName = name;
+        this.seat = seat;
+        this.tokens = tokens;
+        this.pattern = pattern;
+        this.liveScore = liveScore.isPresent() ? liveScore.getAsInt() : null;
+        this.privateScore = privateScore.isPresent() ? privateScore.getAsInt() : null;
+        this.sequence = sequence;
     }
 
     /**
@@ -66,6 +163,16 @@ public class PlayerStatus extends ModelUpdate {
         return playerName;
     }
 
+    /**
+     * Getter for the seat of the player, which is sent over the network
+     * in place of the name.
+     *
+     * @return The seat of the player, or -1 if it's not known.
+     */
+    public int getSeat() {
+        return seat;
+    }
+
     /**
      * Getter for the number of tokens of the player.
      *
@@ -84,6 +191,81 @@ public class PlayerStatus extends ModelUpdate {
         return pattern;
     }
 
+    /**
+     * Getter for the score of the player during the game. The score doesn't
+     * include the private objective, which is known only by the player.
+     *
+     * @return The score, or an empty value if it's not known.
+     */
+    public OptionalInt getLiveScore() {
+        return liveScore == null ? OptionalInt.empty() : OptionalInt.of(liveScore);
+    }
+
+    /**
+     * Getter for the score given by the private objective of the player.
+     *
+     * @return The score, or an empty value if it's not known.
+     */
+    public OptionalInt getPrivateScore() {
+        return privateScore == null ? OptionalInt.empty() : OptionalInt.of(privateScore);
+    }
+
+    /**
+     * Getter for the sequence number of the last change of the status.
+     *
+     * @return The sequence number.
+     */
+    public int getSequence() {
+        return sequence;
+    }
+
+    /**
+     * A newer status of the same player replaces the previous one, and
+     * the changes sent before it.
+     *
+     * @param other The message sent before this one.
+     * @return {@code true} if {@code other} is the status, or a change of
+     * the status, of the same player.
+     */
+    @Override
+    public boolean supersedes(ModelUpdate other) {
+        if (other instanceof PlayerStatusDelta)
+            return ((PlayerStatusDelta) other).getPlayerName().equals(playerName);
+        return other instanceof PlayerStatus &&
+                ((PlayerStatus) other).playerName.equals(playerName);
+    }
+
+    /**
+     * The score given by the private objective is sent only to the player:
+     * the other players receive a status without it, shared by all of them.
+     *
+     * @param recipient The name of the player who receives the message.
+     * @return This status, or the status without the private score.
+     */
+    @Override
+    public ModelUpdate projectFor(String recipient) {
+        if (privateScore == null || playerName.equals(recipient))
+            return this;
+        PlayerStatus status = publicStatus;
+        if (status == null) {
+            status = new PlayerStatus(playerName, seat, tokens, pattern, getLiveScore(),
+                    OptionalInt.empty(), sequence);
+            publicStatus = status;
+        }
+        return status;
+    }
+
+    /**
+     * Returns this status with the name of the player, resolved from
+     * the seat on the client.
+     *
+     * @param name The name of the player sitting at the seat.
+     * @return A status equal to this one, with the name of the player.
+     */
+    public PlayerStatus withPlayerName(String name) {
+        return new PlayerStatus(name, seat, tokens, pattern, getLiveScore(), getPrivateScore(), sequence);
+    }
+
     /**
      * Pushes this instance of PlayerStatus into the organizer.
      *
@@ -0,0 +1,290 @@
+package it.polimi.se2018.model.events;
+
+import it.polimi.se2018.model.Die;
+import it.polimi.se2018.model.Pattern;
+import it.polimi.se2018.model.Player;
+import it.polimi.se2018.model.viewmodel.ViewDataOrganizer;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.OptionalInt;
+
+/**
+ * Represents a message containing the change of a player status: the cells
+ * of the pattern where a die has been set or cleared, and the new number of
+ * tokens and score of the player.
+ * <p>The sequence number tells the receiver if it missed a change: the
+ * delta can be applied only to the status with the previous sequence number.</p>
+ * <p>This class is immutable.</p>
+ *
+ * @author dvdmff
+ */
+public class PlayerStatusDelta extends ModelUpdate {
+
+    /**
+     * The name of the player.
+     */
+    private final String playerName;
+
+    /**
+     * The seat of the player in the game (see {@link Player#getSeat()}),
+     * or -1 if it's not known.
+     */
+    private final int seat;
+
+    /**
+     * The mask of the cells that changed: the bit {@code row * COLS + col}
+     * is set if the corresponding cell changed.
+     */
+    private final int changedCells;
+
+    /**
+     * The content of the cells that changed, in the order of their bits:
+     * {@code null} if the cell has been cleared.
+     */
+    private final List<Die> dice;
+
+    /**
+     * The number of tokens of the player.
+     */
+    private final int tokens;
+
+    /**
+     * The score of the player during the game, without his private
+     * objective, or {@code null} if it's not known.
+     */
+    private final Integer liveScore;
+
+    /**
+     * The score given by the private objective of the player, or {@code null}
+     * if it's not known: it's sent only to the player (see {@link #projectFor(String)}).
+     */
+    private final Integer privateScore;
+
+    /**
+     * The change without the private score, sent to the other players.
+     */
+    private transient PlayerStatusDelta publicDelta;
+
+    /**
+     * The sequence number of the change.
+     */
+    private final int sequence;
+
+    /**
+     * The constructor of the class.
+     *
+     * @param player       The player whose status changed.
+     * @param changedCells The mask of the cells of the pattern that changed.
+     */
+    public PlayerStatusDelta(Player player, int changedCells) {
+        super(ModelEvent.PLAYER_STATUS_DELTA);
+        this.playerName = player.getName();
+        this.seat = player.getSeat();
+        this.changedCells = changedCells;
+        List<Die> content = new ArrayList<>(Integer.bitCount(changedCells));
+        for (int cells = changedCells; cells != 0; cells &= cells - 1) {
+            int index = Integer.numberOfTrailingZeros(cells);
+            content.add(player.getPattern().getDie(index / Pattern.COLS, index % Pattern.COLS));
+        }
+        this.dice = Collections.unmodifiableList(content);
+        this.tokens = player.getTokens();
+        OptionalInt score = player.getLiveScore();
+        this.liveScore = score.isPresent() ? score.getAsInt() : null;
+        OptionalInt ownScore = player.getPrivateScore();
+        this.privateScore = ownScore.isPresent() ? ownScore.getAsInt() : null;
+        this.sequence = player.getStatusSequence();
+    }
+
+    /**
+     * A constructor to create a PlayerStatusDelta from its content, as it is
+     * when it's decoded from the network.
+     *
+     * @param name         the name of the player.
+     * @param changedCells the mask of the cells of the pattern that changed.
+     * @param dice         the content of the cells that changed, in the order of
+     *                     their bits.
+     * @param tokens       the number of tokens of the player.
+     * @param liveScore    the score of the player during the game, if it's known.
+     * @param sequence     the sequence number of the change.
+     * @throws IllegalArgumentException if the number of dice isn't the number
+     *                                  of cells that changed.
+     */
+    public PlayerStatusDelta(String name, int changedCells, List<Die> dice, int tokens,
+                             OptionalInt liveScore, int sequence) {
+        this(name, changedCells, dice, tokens, liveScore, OptionalInt.empty(), sequence);
+    }
+
+    /**
+     * A constructor to create a PlayerStatusDelta from its content, with the
+     * score given by the private objective, as it is sent to the player.
+     *
+     * @param name         the name of the player.
+     * @param changedCells the mask of the cells of the pattern that changed.
+     * @param dice         the content of the cells that changed, in the order of
+     *                     their bits.
+     * @param tokens       the number of tokens of the player.
+     * @param liveScore    the score of the player during the game, if it's known.
+     * @param privateScore the score given by the private objective, if it's known.
+     * @param sequence     the sequence number of the change.
+     * @throws IllegalArgumentException if the number of dice isn't the number
+     *                                  of cells that changed.
+     */
+    public PlayerStatusDelta(String name, int changedCells, List<Die> dice, int tokens,
+                             OptionalInt liveScore, OptionalInt privateScore, int sequence) {
+        this(name, -1, changedCells, dice, tokens, liveScore, privateScore, sequence);
+    }
+
+    /**
+     * A constructor to create a PlayerStatusDelta from its content, with the
+     * seat of the player: when it's decoded from the network the name is
+     * {@code null}, and the player is known by the seat only.
+     *
+     * @param name         the name of the player.
+     * @param seat         the seat of the player, or -1 if it's not known.
+     * @param changedCells the mask of the cells of the pattern that changed.
+     * @param dice         the content of the cells that changed, in the order of
+     *                     their bits.
+     * @param tokens       the number of tokens of the player.
+     * @param liveScore    the score of the player during the game, if it's known.
+     * @param privateScore the score given by the private objective, if it's known.
+     * @param sequence     the sequence number of the change.
+     * @throws IllegalArgumentException if the number of dice isn't the number
+     *                                  of cells that changed.
+     */
+    public PlayerStatusDelta(String name, int seat, int changedCells, List<Die> dice, int tokens,
+                             OptionalInt liveScore, OptionalInt privateScore, int sequence) {
+        super(ModelEvent.PLAYER_STATUS_DELTA);
+        if (dice.size() != Integer.bitCount(changedCells))
+            throw new IllegalArgumentException("A die is needed for each cell that changed");
+        this.playerName = name;
+        this.seat = seat;
+        this.changedCells = changedCells;
+        this.dice = Collections.unmodifiableList(new ArrayList<>(dice));
+        this.tokens = tokens;
+        this.liveScore = liveScore.isPresent() ? liveScore.getAsInt() : null;
+        this.privateScore = privateScore.isPresent() ? privateScore.getAsInt() : null;
+        this.sequence = sequence;
+    }
+
+    /**
+     * Getter for the player name.
+     *
+     * @return The player name.
+     */
+    public String getPlayerName() {
+        return playerName;
+    }
+
+    /**
+     * Getter for the seat of the player, which is sent over the network
+     * in place of the name.
+     *
+     * @return The seat of the player, or -1 if it's not known.
+     */
+    public int getSeat() {
+        return seat;
+    }
+
+    /**
+     * Getter for the mask of the cells that changed.
+     *
+     * @return The mask: the bit {@code row * COLS + col} is set if the
+     * corresponding cell changed.
+     */
+    public int getChangedCells() {
+        return changedCells;
+    }
+
+    /**
+     * Getter for the content of the cells that changed.
+     *
+     * @return The dice, in the order of the bits of the cells:
+     * {@code null} if the cell has been cleared.
+     */
+    public List<Die> getDice() {
+        return dice;
+    }
+
+    /**
+     * Getter for the number of tokens of the player.
+     *
+     * @return The number of tokens of the player.
+     */
+    public int getTokens() {
+        return tokens;
+    }
+
+    /**
+     * Getter for the score of the player during the game.
+     *
+     * @return The score, or an empty value if it's not known.
+     */
+    public OptionalInt getLiveScore() {
+        return liveScore == null ? OptionalInt.empty() : OptionalInt.of(liveScore);
+    }
+
+    /**
+     * Getter for the score given by the private objective of the player.
+     *
+     * @return The score, or an empty value if it's not known.
+     */
+    public OptionalInt getPrivateScore() {
+        return privateScore == null ? OptionalInt.empty() : OptionalInt.of(privateScore);
+    }
+
+    /**
+     * Getter for the sequence number of the change.
+     *
+     * @return The sequence number.
+     */
+    public int getSequence() {
+        return sequence;
+    }
+
+    /**
+     * Applies the change of the cells to a pattern.
+     *
+     * @param pattern The pattern of the player before the change.
+     * @return The pattern after the change.
+     */
+    public Pattern applyTo(Pattern pattern) {
+        int i = 0;
+        for (int cells = changedCells; cells != 0; cells &= cells - 1) {
+            int index = Integer.numberOfTrailingZeros(cells);
+            pattern = pattern.withDie(index / Pattern.COLS, index % Pattern.COLS, dice.get(i++));
+        }
+        return pattern;
+    }
+
+    /**
+     * The score given by the private objective is sent only to the player:
+     * the other players receive a change without it, shared by all of them.
+     *
+     * @param recipient The name of the player who receives the message.
+     * @return This change, or the change without the private score.
+     */
+    @Override
+    public ModelUpdate projectFor(String recipient) {
+        if (privateScore == null || playerName.equals(recipient))
+            return this;
+        PlayerStatusDelta delta = publicDelta;
+        if (delta == null) {
+            delta = new PlayerStatusDelta(playerName, seat, changedCells, dice, tokens, getLiveScore(),
+                    OptionalInt.empty(), sequence);
+            publicDelta = delta;
+        }
+        return delta;
+    }
+
+    /**
+     * Pushes this instance of PlayerStatusDelta into the organizer.
+     *
+     * @param organizer The organizer where the message will be pushed into.
+     */
+    @Override
+    public void pushInto(ViewDataOrganizer organizer) {
+        organizer.push(this);
+    }
+}
@@ -0,0 +1,105 @@
+package it.polimi.se2018.model.events;
+
+import it.polimi.se2018.model.Die;
+import it.polimi.se2018.model.viewmodel.ViewDataOrganizer;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Represents a message containing the change of a round of the round track:
+ * the leftovers of the round have been added, or a die has been swapped.
+ * A swap removes a die from the round and adds the new one at its end.
+ * <p>The sequence number tells the receiver if it missed a change: the
+ * delta can be applied only to the round track with the previous sequence
+ * number.</p>
+ * <p>This class is immutable.</p>
+ *
+ * @author dvdmff
+ */
+public class RoundTrackDelta extends ModelUpdate {
+
+    /**
+     * The index of the round that changed, starting from 0.
+     */
+    private final int round;
+
+    /**
+     * The index of the die removed from the round, or -1 if no die has been removed.
+     */
+    private final int removed;
+
+    /**
+     * The dice added at the end of the round.
+     */
+    private final List<Die> added;
+
+    /**
+     * The sequence number of the change.
+     */
+    private final int sequence;
+
+    /**
+     * The constructor of the class.
+     *
+     * @param round    The index of the round that changed, starting from 0.
+     * @param removed  The index of the die removed from the round, or -1 if no
+     *                 die has been removed.
+     * @param added    The dice added at the end of the round.
+     * @param sequence The sequence number of the change.
+     */
+    public RoundTrackDelta(int round, int removed, List<? extends Die> added, int sequence) {
+        super(ModelEvent.ROUND_TRACK_DELTA);
+        this.round = round;
+        this.removed = removed;
+        this.added = Collections.unmodifiableList(new ArrayList<>(added));
+        this.sequence = sequence;
+    }
+
+    /**
+     * Getter for the index of the round that changed.
+     *
+     * @return The index of the round, starting from 0.
+     */
+    public int getRound() {
+        return round;
+    }
+
+    /**
+     * Getter for the index of the die removed from the round.
+     *
+     * @return The index of the die, or -1 if no die has been removed.
+     */
+    public int getRemoved() {
+        return removed;
+    }
+
+    /**
+     * Getter for the dice added at the end of the round.
+     *
+     * @return The dice.
+     */
+    public List<Die> getAdded() {
+        return added;
+    }
+
+    /**
+     * Getter for the sequence number of the change.
+     *
+     * @return The sequence number.
+     */
+    public int getSequence() {
+        return sequence;
+    }
+
+    /**
+     * Pushes this instance of RoundTrackDelta into the organizer.
+     *
+     * @param organizer The organizer where the message will be pushed into.
+     */
+    @Override
+    public void pushInto(ViewDataOrganizer organizer) {
+        organizer.push(this);
+    }
+}
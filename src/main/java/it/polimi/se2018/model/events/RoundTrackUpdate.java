@@ -7,6 +7,8 @@ import java.util.List;
 
 /**
  * Represents a message containing information about the round track.
+ * <p>It carries the whole round track and the sequence number of its last
+ * change, so that the following {@link RoundTrackDelta}s can be applied to it.</p>
  * <p>This class is immutable.</p>
  *
  * @author dvdmff
@@ -19,13 +21,29 @@ public class RoundTrackUpdate extends ModelUpdate {
     private final List<List<Die>> roundTrack;
 
     /**
-     * The constructor of the class.
+     * The sequence number of the last change of the round track.
+     */
+    private final int sequence;
+
+    /**
+     * The constructor of the class, for a round track that has never changed.
      *
      * @param roundTrack The matrix of dice in the round track.
      */
     public RoundTrackUpdate(List<List<Die>> roundTrack) {
+        this(roundTrack, 0);
+    }
+
+    /**
+     * The constructor of the class.
+     *
+     * @param roundTrack The matrix of dice in the round track.
+     * @param sequence   The sequence number of the last change of the round track.
+     */
+    public RoundTrackUpdate(List<List<Die>> roundTrack, int sequence) {
         super(ModelEvent.ROUND_TRACK_UPDATE);
         this.roundTrack = roundTrack;
+        this.sequence = sequence;
     }
 
     /**
@@ -37,6 +55,28 @@ public class RoundTrackUpdate extends ModelUpdate {
         return roundTrack;
     }
 
+    /**
+     * Getter for the sequence number of the last change of the round track.
+     *
+     * @return The sequence number.
+     */
+    public int getSequence() {
+        return sequence;
+    }
+
+    /**
+     * A newer round track replaces the previous one, and the changes
+     * sent before it.
+     *
+     * @param other The message sent before this one.
+     * @return {@code true} if {@code other} is a round track update or delta.
+     */
+    @Override
+    public boolean supersedes(ModelUpdate other) {
+        return other.getEventType() == ModelEvent.ROUND_TRACK_UPDATE ||
+                other.getEventType() == ModelEvent.ROUND_TRACK_DELTA;
+    }
+
     /**
      * Pushes this instance of RoundTrackUpdate into the organizer.
      *
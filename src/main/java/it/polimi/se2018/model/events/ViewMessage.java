@@ -75,6 +75,16 @@ public class ViewMessage implements Serializable {
         return playerName;
     }
 
+    /**
+     * Setter for the name of the player that is performing the action: it's
+     * the player of the connection that received the message.
+     *
+     * @param playerName the name of the player.
+     */
+    public void setPlayerName(String playerName) {
+        this.playerName = playerName;
+    }
+
     /**
      * Setter for the View reference.
      *
@@ -1,6 +1,7 @@
 package it.polimi.se2018.model.viewmodel;
 
 import it.polimi.se2018.model.Die;
+import it.polimi.se2018.model.Pattern;
 import it.polimi.se2018.model.ToolCard;
 import it.polimi.se2018.model.events.*;
 
@@ -8,6 +9,13 @@ import java.util.*;
 
 /**
  * This class is used to store all information sent by the server to the view.
+ * <p>The draft pool, the round track and the status of the players are kept
+ * up to date applying the changes sent by the model to a local copy. The
+ * changes of each of them are numbered: when a change is missing, the data
+ * isn't updated anymore until the whole data is received again, and
+ * {@link #isResyncNeeded()} tells that it must be requested.</p>
+ * <p>The updates about a player may carry only the seat of the player: the
+ * name is resolved with the seats sent by the {@link GameSetup}.</p>
  */
 public class ViewDataOrganizer {
 
@@ -16,6 +24,11 @@ public class ViewDataOrganizer {
      */
     private GameSetup gameSetup;
 
+    /**
+     * The names of the players, by seat.
+     */
+    private Map<Integer, String> playersBySeat = new HashMap<>();
+
     /**
      * GameEnd message.
      */
@@ -37,14 +50,39 @@ public class ViewDataOrganizer {
     private NextTurn nextTurn;
 
     /**
-     * Latest RoundTrackUpdate message.
+     * The dice in the round track.
+     */
+    private List<List<Die>> roundTrack = new ArrayList<>();
+
+    /**
+     * The sequence number of the last change of the round track.
+     */
+    private int roundTrackSequence;
+
+    /**
+     * Flag to indicate that a change of the round track is missing.
+     */
+    private boolean roundTrackStale = false;
+
+    /**
+     * The slots of the draft pool.
      */
-    private RoundTrackUpdate roundTrack;
+    private List<Die> draftPool = new ArrayList<>();
 
     /**
-     * Latest DraftPoolUpdate message.
+     * The sequence number of the last change of the draft pool.
      */
-    private DraftPoolUpdate draftPool;
+    private int draftPoolSequence;
+
+    /**
+     * Flag to indicate that a change of the draft pool is missing.
+     */
+    private boolean draftPoolStale = false;
+
+    /**
+     * The names of the players whose status misses a change.
+     */
+    private Set<String> staleStatus = new HashSet<>();
 
     /**
      * The name of the local player.
@@ -61,6 +99,11 @@ public class ViewDataOrganizer {
      */
     private int changedConnectionIndex = -1;
 
+    /**
+     * Flag to indicate whether the last update revealed a missing change.
+     */
+    private boolean resyncNeeded = false;
+
     /**
      * The map that contains the names of the ToolCards of the game,
      * and a boolean value to see if they were used.
@@ -167,23 +210,19 @@ public class ViewDataOrganizer {
     /**
      * Returns the draft pool.
      *
-     * @return The draft pool or {@code null} if there isn't any.
+     * @return The slots of the draft pool: an empty slot contains {@code null}.
      */
     public List<Die> getDraftPool() {
-        if (draftPool != null)
-            return draftPool.getDice();
-        return new ArrayList<>();
+        return Collections.unmodifiableList(draftPool);
     }
 
     /**
      * Returns the round track.
      *
-     * @return The round track or {@code null} if there isn't any.
+     * @return The dice in the round track, by round.
      */
     public List<List<Die>> getRoundTrack() {
-        if (roundTrack != null)
-            return roundTrack.getRoundTrack();
-        return new ArrayList<>();
+        return Collections.unmodifiableList(roundTrack);
     }
 
     /**
@@ -195,6 +234,9 @@ public class ViewDataOrganizer {
      */
     public void push(GameSetup gameSetup) {
         this.gameSetup = gameSetup;
+        playersBySeat.clear();
+        for (int i = 0; i < gameSetup.getPlayers().length; i++)
+            playersBySeat.put(gameSetup.getSeats()[i], gameSetup.getPlayers()[i]);
         for (ToolCard toolCard : gameSetup.getToolCards()) {
             usedToolCards.put(toolCard.getName(), false);
         }
@@ -215,10 +257,46 @@ public class ViewDataOrganizer {
      * @param playerStatus The message to push.
      */
     public void push(PlayerStatus playerStatus) {
-
+        if (playerStatus.getPlayerName() == null) {
+            String name = playersBySeat.get(playerStatus.getSeat());
+            if (name != null)
+                push(playerStatus.withPlayerName(name));
+            return;
+        }
         this.playerStatusList
                 .removeIf(p -> p.getPlayerName().equals(playerStatus.getPlayerName()));
         this.playerStatusList.add(playerStatus);
+        staleStatus.remove(playerStatus.getPlayerName());
+    }
+
+    /**
+     * Pushes a PlayerStatusDelta message: the change is applied to the
+     * status of the player, if it follows the last change received.
+     *
+     * @param delta The message to push.
+     */
+    public void push(PlayerStatusDelta delta) {
+        String name = delta.getPlayerName();
+        if (name == null)
+            name = playersBySeat.get(delta.getSeat());
+        if (name == null) {
+            resyncNeeded = true;
+            return;
+        }
+        PlayerStatus playerStatus = getPlayerStatus(name);
+        if (staleStatus.contains(name))
+            return;
+        if (playerStatus == null || delta.getSequence() != playerStatus.getSequence() + 1 ||
+                (playerStatus.getPattern() == null && delta.getChangedCells() != 0)) {
+            staleStatus.add(name);
+            resyncNeeded = true;
+            return;
+        }
+        Pattern pattern = playerStatus.getPattern();
+        if (delta.getChangedCells() != 0)
+            pattern = delta.applyTo(pattern);
+        push(new PlayerStatus(name, delta.getSeat(), delta.getTokens(), pattern, delta.getLiveScore(),
+                delta.getPrivateScore(), delta.getSequence()));
     }
 
     /**
@@ -227,6 +305,12 @@ public class ViewDataOrganizer {
      * @param connectionStatus The message to push.
      */
     public void push(PlayerConnectionStatus connectionStatus) {
+        if (connectionStatus.getPlayerName() == null) {
+            String name = playersBySeat.get(connectionStatus.getSeat());
+            if (name != null)
+                push(connectionStatus.withPlayerName(name));
+            return;
+        }
         this.connectionStatusList
                 .removeIf(p -> p.getPlayerName().equals(connectionStatus.getPlayerName()));
         this.connectionStatusList.add(connectionStatus);
@@ -239,6 +323,12 @@ public class ViewDataOrganizer {
      * @param nextTurn The message to push.
      */
     public void push(NextTurn nextTurn) {
+        if (nextTurn.getPlayerName() == null) {
+            String name = playersBySeat.get(nextTurn.getSeat());
+            if (name != null)
+                push(nextTurn.withPlayerName(name));
+            return;
+        }
         if (this.nextTurn != null)
             turnChanged = !this.nextTurn.equals(nextTurn);
         else
@@ -252,7 +342,34 @@ public class ViewDataOrganizer {
      * @param roundTrack The message to push.
      */
     public void push(RoundTrackUpdate roundTrack) {
-        this.roundTrack = roundTrack;
+        this.roundTrack = new ArrayList<>(roundTrack.getRoundTrack().size());
+        for (List<Die> dice : roundTrack.getRoundTrack())
+            this.roundTrack.add(new ArrayList<>(dice));
+        roundTrackSequence = roundTrack.getSequence();
+        roundTrackStale = false;
+    }
+
+    /**
+     * Pushes a RoundTrackDelta message: the change is applied to the
+     * round track, if it follows the last change received.
+     *
+     * @param delta The message to push.
+     */
+    public void push(RoundTrackDelta delta) {
+        if (roundTrackStale)
+            return;
+        while (roundTrack.size() <= delta.getRound())
+            roundTrack.add(new ArrayList<>());
+        List<Die> dice = roundTrack.get(delta.getRound());
+        if (delta.getSequence() != roundTrackSequence + 1 || delta.getRemoved() >= dice.size()) {
+            roundTrackStale = true;
+            resyncNeeded = true;
+            return;
+        }
+        if (delta.getRemoved() >= 0)
+            dice.remove(delta.getRemoved());
+        dice.addAll(delta.getAdded());
+        roundTrackSequence = delta.getSequence();
     }
 
     /**
@@ -261,7 +378,27 @@ public class ViewDataOrganizer {
      * @param draftPool The message to push.
      */
     public void push(DraftPoolUpdate draftPool) {
-        this.draftPool = draftPool;
+        this.draftPool = new ArrayList<>(draftPool.getDice());
+        draftPoolSequence = draftPool.getSequence();
+        draftPoolStale = false;
+    }
+
+    /**
+     * Pushes a DraftPoolDelta message: the change is applied to the
+     * draft pool, if it follows the last change received.
+     *
+     * @param delta The message to push.
+     */
+    public void push(DraftPoolDelta delta) {
+        if (draftPoolStale)
+            return;
+        if (delta.getSequence() != draftPoolSequence + 1 || delta.getSlot() >= draftPool.size()) {
+            draftPoolStale = true;
+            resyncNeeded = true;
+            return;
+        }
+        draftPool.set(delta.getSlot(), delta.getDie());
+        draftPoolSequence = delta.getSequence();
     }
 
     /**
@@ -283,6 +420,7 @@ public class ViewDataOrganizer {
     public void push(ModelUpdate update) {
         turnChanged = false;
         changedConnectionIndex = -1;
+        resyncNeeded = false;
         update.pushInto(this);
     }
 
@@ -313,6 +451,19 @@ public class ViewDataOrganizer {
         return turnChanged;
     }
 
+    /**
+     * Tells if the last update revealed that a change of the draft pool, of the
+     * round track or of the status of a player is missing: then the whole status
+     * of the game must be requested.
+     * <p>It's set only by the first update after the missing change.</p>
+     *
+     * @return {@code true} if the status of the game must be requested again;
+     * {@code false} otherwise.
+     */
+    public boolean isResyncNeeded() {
+        return resyncNeeded;
+    }
+
     /**
      * Getter for the index of the player connection status changed with last update.
      *
@@ -5,14 +5,15 @@ import it.polimi.se2018.networking.messages.Message;
 import it.polimi.se2018.networking.server.RmiServerInterface;
 import it.polimi.se2018.networking.server.ServerNetInterface;
 import it.polimi.se2018.utils.Logger;
+import it.polimi.se2018.utils.Scheduler;
 
 import java.net.MalformedURLException;
 import java.rmi.Naming;
 import java.rmi.NotBoundException;
 import java.rmi.RemoteException;
 import java.rmi.server.UnicastRemoteObject;
-import java.util.Timer;
-import java.util.TimerTask;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
 
 /**
  * The network handler: it simulates the sever on the client.
@@ -50,9 +51,9 @@ public class RmiNetworkHandler implements ServerNetInterface {
     private RmiClientImplementation rmiClient;
 
     /**
-     * The timer to ping the server to detect of the connection is down.
+     * The handle of the task that pings the server to detect if the connection is down.
      */
-    private Timer pingTimer;
+    private ScheduledFuture<?> pingTask;
 
     /**
      * The constructor of the class: it asks the Stub of the server and creates
@@ -62,7 +63,6 @@ public class RmiNetworkHandler implements ServerNetInterface {
      * @param serviceName the name of the service.
      */
     public RmiNetworkHandler(String address, String serviceName) {
-        pingTimer = new Timer("Ping-Timer");
         try {
             server = (RmiServerInterface) Naming.lookup("//" + address + "/" + serviceName);
 
@@ -95,7 +95,7 @@ public class RmiNetworkHandler implements ServerNetInterface {
      * <p>It creates the Skeleton of the client, to interact
      * with the Stub of the server, and passes the remote reference of
      * the client to the server.</p>
-     * <p>It also starts a timer that pings the server to detect if the
+     * <p>It also schedules a task that pings the server to detect if the
      * connection is down.</p>
      *
      * @param client        the client to connect.
@@ -111,11 +111,9 @@ public class RmiNetworkHandler implements ServerNetInterface {
                     rmiClient, 0);
             boolean added = server.addClient(remoteRef, isMultiPlayer);
             if (added)
-                pingTimer.schedule(new TimerTask() {
-                    public void run() {
-                        send(new Message(Command.PING, ""));
-                    }
-                }, PING_TIMEOUT, PING_TIMEOUT);
+                pingTask = Scheduler.getInstance().scheduleAtFixedRate(
+                        () -> send(new Message(Command.PING, "")),
+                        PING_TIMEOUT, PING_TIMEOUT, TimeUnit.MILLISECONDS);
             return added;
         } catch (RemoteException e) {
             Logger.getDefaultLogger().log(ERROR_STRING + e.getMessage() + "!");
@@ -136,7 +134,8 @@ public class RmiNetworkHandler implements ServerNetInterface {
         } catch (RemoteException e) {
             Logger.getDefaultLogger().log(ERROR_STRING + e.getMessage() + "!");
         }
-        pingTimer.cancel();
+        if (pingTask != null)
+            pingTask.cancel(false);
         client.close();
     }
 
@@ -1,16 +1,21 @@
 package it.polimi.se2018.networking.client;
 
 import it.polimi.se2018.networking.messages.Command;
+import it.polimi.se2018.networking.messages.FrameCodec;
 import it.polimi.se2018.networking.messages.Message;
+import it.polimi.se2018.networking.messages.WireFormat;
 import it.polimi.se2018.networking.server.ServerNetInterface;
 import it.polimi.se2018.utils.Logger;
 
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
 import java.io.EOFException;
 import java.io.IOException;
-import java.io.ObjectInputStream;
-import java.io.ObjectOutputStream;
+import java.io.OutputStream;
 import java.net.Socket;
 import java.net.SocketException;
+import java.nio.ByteBuffer;
 import java.util.concurrent.Semaphore;
 
 /**
@@ -21,6 +26,10 @@ import java.util.concurrent.Semaphore;
  * It implements Runnable because the client needs to start a new thread of
  * execution when launching TcpNetworkHandler because the interaction with the
  * socket's stream (that are present here) are blocking methods.</p>
+ * <p>The messages are exchanged as frames (see {@link FrameCodec}). The login
+ * is sent in the binary format, and the following messages in the format of the
+ * answer of the server, which falls back to Java serialization if it doesn't
+ * support the version of the client.</p>
  *
  * @author giorgiolabate
  */
@@ -40,11 +49,16 @@ public class TcpNetworkHandler implements ServerNetInterface, Runnable {
     /**
      * The input stream used to read from socket.
      */
-    private final ObjectInputStream inputStream;
+    private final DataInputStream inputStream;
     /**
      * The output stream used to write to socket.
      */
-    private final ObjectOutputStream outputStream;
+    private final OutputStream outputStream;
+
+    /**
+     * The format of the messages sent to the server.
+     */
+    private volatile WireFormat format = WireFormat.BINARY;
 
     /**
      * Semaphore used to synchronize socket access.
@@ -66,8 +80,8 @@ public class TcpNetworkHandler implements ServerNetInterface, Runnable {
      */
     public TcpNetworkHandler(String address, int port) throws IOException {
         this.clientConnection = new Socket(address, port);
-        outputStream = new ObjectOutputStream(clientConnection.getOutputStream());
-        inputStream = new ObjectInputStream(clientConnection.getInputStream());
+        outputStream = new BufferedOutputStream(clientConnection.getOutputStream());
+        inputStream = new DataInputStream(new BufferedInputStream(clientConnection.getInputStream()));
         Thread networkThread = new Thread(this);
         alive = true;
         networkThread.start();
@@ -91,20 +105,13 @@ public class TcpNetworkHandler implements ServerNetInterface, Runnable {
         }
         while (alive) {
             try {
-                Message message = (Message) inputStream.readObject();
-                if (message == null)
-                    //the connection has been closed
-                    clientConnection.close();
-                else
-                    client.notify(message);
+                client.notify(FrameCodec.read(inputStream));
 
             } catch (SocketException | EOFException e) {
                 Logger.getDefaultLogger().log("Closed socket: terminating");
                 removeClient(client);
             } catch (IOException e) {
                 Logger.getDefaultLogger().log("An error occurred: " + e.getMessage());
-            } catch (ClassNotFoundException e) {
-                Logger.getDefaultLogger().log("Serialized class cannot be found" + e.getMessage());
             }
         }
     }
@@ -119,10 +126,9 @@ public class TcpNetworkHandler implements ServerNetInterface, Runnable {
      * @param message the message to send.
      */
     @Override
-    public void send(Message message) {
+    public synchronized void send(Message message) {
         try {
-            outputStream.writeObject(message);
-            outputStream.flush();
+            FrameCodec.write(outputStream, message, format);
 
         } catch (IOException e) {
             Logger.getDefaultLogger().log("An error occurred: " + e.getMessage());
@@ -144,10 +150,12 @@ public class TcpNetworkHandler implements ServerNetInterface, Runnable {
         Command command = isMultiPlayer ? Command.LOGIN_MP : Command.LOGIN_SP;
         send(new Message(command, client.getUsername()));
         try {
-            Message ack = (Message) inputStream.readObject();
+            ByteBuffer payload = FrameCodec.readPayload(inputStream);
+            format = FrameCodec.formatOf(payload);
+            Message ack = FrameCodec.decode(payload);
             sentUsername.release();
             return ack.getCommand() == Command.ACK && (Boolean) ack.getBody();
-        } catch (IOException | ClassNotFoundException e) {
+        } catch (IOException e) {
             return false;
         }
     }
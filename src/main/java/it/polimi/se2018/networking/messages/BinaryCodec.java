@@ -0,0 +1,1049 @@
+package it.polimi.se2018.networking.messages;
+
+import it.polimi.se2018.model.Cell;
+import it.polimi.se2018.model.Colour;
+import it.polimi.se2018.model.Die;
+import it.polimi.se2018.model.Pattern;
+import it.polimi.se2018.model.PlacementErrorException;
+import it.polimi.se2018.model.PrivateObjectiveCard;
+import it.polimi.se2018.model.PublicObjectiveCard;
+import it.polimi.se2018.model.Restriction;
+import it.polimi.se2018.model.ToolCard;
+import it.polimi.se2018.model.events.*;
+import it.polimi.se2018.utils.Coordinates;
+
+import java.io.IOException;
+import java.io.NotSerializableException;
+import java.io.OutputStream;
+import java.io.Serializable;
+import java.io.StreamCorruptedException;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.EnumSet;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.OptionalInt;
+import java.util.Set;
+
+/**
+ * The compact binary format of the {@link Message}s (see {@link WireFormat#BINARY}).
+ * <p>A message is the version of the protocol (one byte), the command (one byte)
+ * and the body. The type of the body is given by a one byte tag: the ordinal of
+ * the {@link ModelEvent} for the {@link ModelUpdate}s, the index in
+ * {@code VIEW_MESSAGES} for the {@link ViewMessage}s, followed by the ordinal
+ * of the {@link Action}. The integers are varints (zigzag encoded when they can
+ * be negative), the strings are UTF-8, a die is one byte (its colour and its
+ * value) and the most common strings of {@link Command#SHOW} are one byte.</p>
+ * <p>The tags depend on the order of the constants of the enums: changing it,
+ * or the layout of any body, requires a new {@code VERSION}. The layout of the
+ * login is the same in every version, so that the server can read it and
+ * answer with Java serialization when it doesn't know the version of the client.</p>
+ * <p>A batch of updates can't contain another batch, so that the depth of the
+ * decoding is bounded whatever the payload is.</p>
+ * <p>The names of the players are sent only by {@link GameSetup}: the other
+ * updates carry the seat of the player (see {@link it.polimi.se2018.model.Player#getSeat()}),
+ * which is resolved by the client, and the view messages carry no player at
+ * all, since it's the one of the connection.</p>
+ *
+ * @author giorgiolabate
+ */
+public class BinaryCodec {
+
+    /**
+     * The version of the protocol.
+     */
+    public static final int VERSION = 4;
+
+    /**
+     * The number of faces of a die.
+     */
+    private static final int FACES = 6;
+
+    /**
+     * The commands, by ordinal.
+     */
+    private static final Command[] COMMANDS = Command.values();
+
+    /**
+     * The model events, by ordinal.
+     */
+    private static final ModelEvent[] EVENTS = ModelEvent.values();
+
+    /**
+     * The actions, by ordinal.
+     */
+    private static final Action[] ACTIONS = Action.values();
+
+    /**
+     * The colours, by ordinal.
+     */
+    private static final Colour[] COLOURS = Colour.values();
+
+    /**
+     * The classes of the view messages that can be encoded, by tag.
+     */
+    private static final List<Class<?>> VIEW_MESSAGES = Arrays.asList(
+            ViewMessage.class, PlaceDie.class, SelectDie.class, IncrementDieValue.class,
+            MoveDice.class, DiceSwap.class, ChooseValue.class, SelectCard.class,
+            SelectCardSP.class, SelectDifficulty.class);
+
+    /**
+     * The strings of {@link Command#SHOW} that are encoded as one byte:
+     * the tag is the index plus one, zero is followed by the string.
+     */
+    private static final String[] SHOW_NAMES = {
+            "showMultiPlayerGame", "showSinglePlayerGame", "showPatternSelection",
+            "showPrivateObjectiveSelection", "showScoreBoard", "showDieSelection",
+            "showDieIncrementSelection", "showMoveSelection1", "showMoveSelection2",
+            "showMoveUpToTwo", "showDifficultySelection", "showLensCutterSelection",
+            "showValueDestinationSelection", "showPlaceDie", "showConfirm", "showLoginView"
+    };
+
+    /**
+     * The tags of {@code SHOW_NAMES}.
+     */
+    private static final Map<String, Integer> SHOW_TAGS = new HashMap<>();
+
+    static {
+        for (int i = 0; i < SHOW_NAMES.length; i++)
+            SHOW_TAGS.put(SHOW_NAMES[i], i + 1);
+    }
+
+    /**
+     * Private constructor to hide the implicit public one.
+     */
+    private BinaryCodec() {
+    }
+
+    /**
+     * Encodes a message.
+     *
+     * @param message the message.
+     * @param out     the stream where the message is written.
+     * @throws NotSerializableException if the body of the message can't be
+     *                                  encoded in this format: then it must be
+     *                                  sent with Java serialization.
+     * @throws IOException              if the stream can't be written.
+     */
+    public static void encode(Message message, OutputStream out) throws IOException {
+        Command command = message.getCommand();
+        Object body = message.getBody();
+        out.write(VERSION);
+        out.write(command.ordinal());
+        switch (command) {
+            case SHOW:
+                Integer tag = SHOW_TAGS.get(check(body, String.class));
+                writeVarint(out, tag == null ? 0 : tag);
+                if (tag == null)
+                    writeString(out, (String) body);
+                break;
+            case ACK:
+                writeBoolean(out, check(body, Boolean.class));
+                break;
+            case MODEL_UPDATE:
+                writeUpdate(out, check(body, ModelUpdate.class));
+                break;
+            case VIEW_MESSAGE:
+                writeViewMessage(out, check(body, ViewMessage.class));
+                break;
+            default:
+                //SHOW_ERROR, LOGIN_MP, LOGIN_SP, PING
+                writeString(out, body == null ? null : check(body, String.class));
+        }
+    }
+
+    /**
+     * Decodes a message.
+     *
+     * @param payload the message, from its position to its limit.
+     * @return the message.
+     * @throws StreamCorruptedException if the payload isn't a valid message,
+     *                                  or its version isn't supported.
+     */
+    public static Message decode(ByteBuffer payload) throws StreamCorruptedException {
+        return decode(payload, EnumSet.allOf(Command.class));
+    }
+
+    /**
+     * Decodes a message, if its command is one of the expected ones: the
+     * body of the other messages isn't read.
+     *
+     * @param payload  the message, from its position to its limit.
+     * @param accepted the commands that are expected.
+     * @return the message.
+     * @throws StreamCorruptedException if the payload isn't a valid message, its
+     *                                  version isn't supported or its command
+     *                                  isn't expected.
+     */
+    public static Message decode(ByteBuffer payload, Set<Command> accepted) throws StreamCorruptedException {
+        try {
+            int version = payload.get() & 0xFF;
+            Command command = COMMANDS[payload.get()];
+            if (!accepted.contains(command))
+                throw new StreamCorruptedException("Unexpected command: " + command);
+            if (version != VERSION && command != Command.LOGIN_MP && command != Command.LOGIN_SP)
+                throw new StreamCorruptedException("Unsupported protocol version: " + version);
+            Message message = new Message(command, readBody(payload, command));
+            if (payload.hasRemaining())
+                throw new StreamCorruptedException("Unexpected bytes after the message");
+            return message;
+        } catch (RuntimeException e) {
+            throw new StreamCorruptedException("Invalid message: " + e);
+        }
+    }
+
+    /**
+     * Reads the body of a message.
+     *
+     * @param in      the payload.
+     * @param command the command of the message.
+     * @return the body.
+     * @throws StreamCorruptedException if the body isn't valid.
+     */
+    private static Serializable readBody(ByteBuffer in, Command command) throws StreamCorruptedException {
+        switch (command) {
+            case SHOW:
+                int tag = readVarint(in);
+                return tag == 0 ? readString(in) : SHOW_NAMES[tag - 1];
+            case ACK:
+                return readBoolean(in);
+            case MODEL_UPDATE:
+                return readUpdate(in, true);
+            case VIEW_MESSAGE:
+                return readViewMessage(in);
+            default:
+                return readString(in);
+        }
+    }
+
+    /**
+     * Checks that an object can be encoded as the specified type.
+     *
+     * @param object the object.
+     * @param type   the type.
+     * @param <T>    the type.
+     * @return the object.
+     * @throws NotSerializableException if the object is not of the specified type.
+     */
+    private static <T> T check(Object object, Class<T> type) throws NotSerializableException {
+        if (!type.isInstance(object))
+            throw new NotSerializableException(object == null ? "null" : object.getClass().getName());
+        return type.cast(object);
+    }
+
+    /**
+     * Checks that an object is exactly of the specified class, so that
+     * none of its fields is lost.
+     *
+     * @param object the object.
+     * @param type   the class.
+     * @throws NotSerializableException if the object is of another class.
+     */
+    private static void checkExactly(Object object, Class<?> type) throws NotSerializableException {
+        if (object.getClass() != type)
+            throw new NotSerializableException(object.getClass().getName());
+    }
+
+    //Model updates
+
+    /**
+     * Writes a model update.
+     *
+     * @param out    the stream.
+     * @param update the update.
+     * @throws IOException if the update can't be written.
+     */
+    private static void writeUpdate(OutputStream out, ModelUpdate update) throws IOException {
+        writeUpdate(out, update, true);
+    }
+
+    /**
+     * Writes a model update.
+     *
+     * @param out          the stream.
+     * @param update       the update.
+     * @param batchAllowed {@code false} if the update is in a batch, so it
+     *                     can't be a batch.
+     * @throws IOException if the update can't be written.
+     */
+    private static void writeUpdate(OutputStream out, ModelUpdate update, boolean batchAllowed) throws IOException {
+        if (!batchAllowed && update.getEventType() == ModelEvent.BATCH)
+            throw new NotSerializableException("A batch can't contain another batch");
+        out.write(update.getEventType().ordinal());
+        switch (update.getEventType()) {
+            case GAME_SETUP:
+                checkExactly(update, GameSetup.class);
+                writeGameSetup(out, (GameSetup) update);
+                break;
+            case GAME_END:
+                checkExactly(update, GameEnd.class);
+                Map<String, Integer> scoreBoard = ((GameEnd) update).getScoreBoard();
+                writeVarint(out, scoreBoard.size());
+                for (Map.Entry<String, Integer> entry : scoreBoard.entrySet()) {
+                    writeString(out, entry.getKey());
+                    writeSigned(out, entry.getValue());
+                }
+                break;
+            case PLAYER_STATUS:
+                checkExactly(update, PlayerStatus.class);
+                PlayerStatus status = (PlayerStatus) update;
+                writeSeat(out, status.getSeat());
+                writeSigned(out, status.getTokens());
+                writeBoolean(out, status.getPattern() != null);
+                if (status.getPattern() != null)
+                    writePattern(out, status.getPattern());
+                writeOptional(out, status.getLiveScore());
+                writeOptional(out, status.getPrivateScore());
+                writeVarint(out, status.getSequence());
+                break;
+            case DRAFT_POOL_UPDATE:
+                checkExactly(update, DraftPoolUpdate.class);
+                writeVarint(out, ((DraftPoolUpdate) update).getSequence());
+                writeDice(out, ((DraftPoolUpdate) update).getDice());
+                break;
+            case NEXT_TURN:
+                checkExactly(update, NextTurn.class);
+                writeNextTurn(out, (NextTurn) update);
+                break;
+            case ROUND_TRACK_UPDATE:
+                checkExactly(update, RoundTrackUpdate.class);
+                writeVarint(out, ((RoundTrackUpdate) update).getSequence());
+                List<List<Die>> roundTrack = ((RoundTrackUpdate) update).getRoundTrack();
+                writeVarint(out, roundTrack.size());
+                for (List<Die> round : roundTrack)
+                    writeDice(out, round);
+                break;
+            case PLAYER_CONNECTION_STATUS:
+                checkExactly(update, PlayerConnectionStatus.class);
+                writeSeat(out, ((PlayerConnectionStatus) update).getSeat());
+                writeBoolean(out, ((PlayerConnectionStatus) update).isConnected());
+                break;
+            case USE_TOOL_CARD:
+                checkExactly(update, UseToolCard.class);
+                writeString(out, ((UseToolCard) update).getToolCardName());
+                break;
+            case BATCH:
+                checkExactly(update, ModelUpdateBatch.class);
+                List<ModelUpdate> updates = ((ModelUpdateBatch) update).getUpdates();
+                writeVarint(out, updates.size());
+                for (ModelUpdate nested : updates)
+                    writeUpdate(out, nested, false);
+                break;
+            case DRAFT_POOL_DELTA:
+                checkExactly(update, DraftPoolDelta.class);
+                DraftPoolDelta draftPoolDelta = (DraftPoolDelta) update;
+                writeVarint(out, draftPoolDelta.getSequence());
+                writeVarint(out, draftPoolDelta.getSlot());
+                writeDie(out, draftPoolDelta.getDie());
+                break;
+            case ROUND_TRACK_DELTA:
+                checkExactly(update, RoundTrackDelta.class);
+                RoundTrackDelta roundTrackDelta = (RoundTrackDelta) update;
+                writeVarint(out, roundTrackDelta.getSequence());
+                writeVarint(out, roundTrackDelta.getRound());
+                writeSigned(out, roundTrackDelta.getRemoved());
+                writeDice(out, roundTrackDelta.getAdded());
+                break;
+            case PLAYER_STATUS_DELTA:
+                checkExactly(update, PlayerStatusDelta.class);
+                writeStatusDelta(out, (PlayerStatusDelta) update);
+                break;
+            default:
+                throw new NotSerializableException(update.getClass().getName());
+        }
+    }
+
+    /**
+     * Reads a model update.
+     *
+     * @param in           the payload.
+     * @param batchAllowed {@code false} if the update is in a batch, so it
+     *                     can't be a batch.
+     * @return the update.
+     * @throws StreamCorruptedException if the update isn't valid.
+     */
+    private static ModelUpdate readUpdate(ByteBuffer in, boolean batchAllowed) throws StreamCorruptedException {
+        switch (EVENTS[in.get()]) {
+            case GAME_SETUP:
+                return readGameSetup(in);
+            case GAME_END:
+                int players = readCount(in);
+                Map<String, Integer> scoreBoard = new LinkedHashMap<>();
+                for (int i = 0; i < players; i++)
+                    scoreBoard.put(readString(in), readSigned(in));
+                return new GameEnd(scoreBoard);
+            case PLAYER_STATUS:
+                int seat = readVarint(in);
+                int tokens = readSigned(in);
+                Pattern pattern = readBoolean(in) ? readPattern(in) : null;
+                OptionalInt liveScore = readOptional(in);
+                OptionalInt privateScore = readOptional(in);
+                return new PlayerStatus(null, seat, tokens, pattern, liveScore, privateScore, readVarint(in));
+            case DRAFT_POOL_UPDATE:
+                int draftPoolSequence = readVarint(in);
+                return new DraftPoolUpdate(readDice(in), draftPoolSequence);
+            case NEXT_TURN:
+                return readNextTurn(in);
+            case ROUND_TRACK_UPDATE:
+                int roundTrackSequence = readVarint(in);
+                int rounds = readCount(in);
+                List<List<Die>> roundTrack = new ArrayList<>(rounds);
+                for (int i = 0; i < rounds; i++)
+                    roundTrack.add(readDice(in));
+                return new RoundTrackUpdate(roundTrack, roundTrackSequence);
+            case PLAYER_CONNECTION_STATUS:
+                return new PlayerConnectionStatus(null, readVarint(in), readBoolean(in));
+            case USE_TOOL_CARD:
+                return new UseToolCard(readString(in));
+            case BATCH:
+                if (!batchAllowed)
+                    throw new StreamCorruptedException("A batch can't contain another batch");
+                int size = readCount(in);
+                List<ModelUpdate> updates = new ArrayList<>(size);
+                for (int i = 0; i < size; i++)
+                    updates.add(readUpdate(in, false));
+                return new ModelUpdateBatch(updates);
+            case DRAFT_POOL_DELTA:
+                int slotSequence = readVarint(in);
+                return new DraftPoolDelta(readVarint(in), readDie(in), slotSequence);
+            case ROUND_TRACK_DELTA:
+                int roundSequence = readVarint(in);
+                int round = readVarint(in);
+                int removed = readSigned(in);
+                return new RoundTrackDelta(round, removed, readDice(in), roundSequence);
+            case PLAYER_STATUS_DELTA:
+                return readStatusDelta(in);
+            default:
+                throw new StreamCorruptedException("Unknown model event");
+        }
+    }
+
+    /**
+     * Writes the change of the status of a player: the cells that changed
+     * are a mask, followed by a die for each of them.
+     *
+     * @param out   the stream.
+     * @param delta the change.
+     * @throws IOException if the change can't be written.
+     */
+    private static void writeStatusDelta(OutputStream out, PlayerStatusDelta delta) throws IOException {
+        writeSeat(out, delta.getSeat());
+        writeVarint(out, delta.getSequence());
+        writeVarint(out, delta.getChangedCells());
+        for (Die die : delta.getDice())
+            writeDie(out, die);
+        writeSigned(out, delta.getTokens());
+        writeOptional(out, delta.getLiveScore());
+        writeOptional(out, delta.getPrivateScore());
+    }
+
+    /**
+     * Reads the change of the status of a player.
+     *
+     * @param in the payload.
+     * @return the change.
+     * @throws StreamCorruptedException if the mask of the cells isn't valid.
+     */
+    private static PlayerStatusDelta readStatusDelta(ByteBuffer in) throws StreamCorruptedException {
+        int seat = readVarint(in);
+        int sequence = readVarint(in);
+        int changedCells = readVarint(in);
+        if ((changedCells >>> (Pattern.ROWS * Pattern.COLS)) != 0)
+            throw new StreamCorruptedException("Invalid cells: " + changedCells);
+        List<Die> dice = new ArrayList<>(Integer.bitCount(changedCells));
+        for (int i = Integer.bitCount(changedCells); i > 0; i--)
+            dice.add(readDie(in));
+        int tokens = readSigned(in);
+        OptionalInt liveScore = readOptional(in);
+        OptionalInt privateScore = readOptional(in);
+        return new PlayerStatusDelta(null, seat, changedCells, dice, tokens, liveScore, privateScore, sequence);
+    }
+
+    /**
+     * Writes the setup of a game.
+     *
+     * @param out   the stream.
+     * @param setup the setup.
+     * @throws IOException if the setup can't be written.
+     */
+    private static void writeGameSetup(OutputStream out, GameSetup setup) throws IOException {
+        writeVarint(out, setup.getPlayers().length);
+        for (int i = 0; i < setup.getPlayers().length; i++) {
+            writeString(out, setup.getPlayers()[i]);
+            writeSeat(out, setup.getSeats()[i]);
+        }
+        writeVarint(out, setup.getPrivateObjectives().length);
+        for (PrivateObjectiveCard[] cards : setup.getPrivateObjectives()) {
+            writeVarint(out, cards.length);
+            for (PrivateObjectiveCard card : cards) {
+                writeString(out, card.getName());
+                writeColour(out, card.getColour());
+                writeString(out, card.getDescription());
+            }
+        }
+        writeVarint(out, setup.getToolCards().length);
+        for (ToolCard card : setup.getToolCards())
+            writeToolCard(out, card);
+        writeVarint(out, setup.getPublicObjectives().length);
+        for (PublicObjectiveCard card : setup.getPublicObjectives()) {
+            writeString(out, card.getName());
+            writeString(out, card.getDescription());
+            writeSigned(out, card.getVictoryPoints());
+        }
+        writeVarint(out, setup.getCandidates().length);
+        for (Pattern[] patterns : setup.getCandidates()) {
+            writeVarint(out, patterns.length);
+            for (Pattern pattern : patterns)
+                writePattern(out, pattern);
+        }
+    }
+
+    /**
+     * Reads the setup of a game.
+     *
+     * @param in the payload.
+     * @return the setup.
+     * @throws StreamCorruptedException if the setup isn't valid.
+     */
+    private static GameSetup readGameSetup(ByteBuffer in) throws StreamCorruptedException {
+        String[] players = new String[readCount(in)];
+        int[] seats = new int[players.length];
+        for (int i = 0; i < players.length; i++) {
+            players[i] = readString(in);
+            seats[i] = readVarint(in);
+        }
+        PrivateObjectiveCard[][] privateObjectives = new PrivateObjectiveCard[readCount(in)][];
+        for (int i = 0; i < privateObjectives.length; i++) {
+            privateObjectives[i] = new PrivateObjectiveCard[readCount(in)];
+            for (int j = 0; j < privateObjectives[i].length; j++) {
+                String name = readString(in);
+                Colour colour = readColour(in);
+                privateObjectives[i][j] = new PrivateObjectiveCard(name, colour, readString(in));
+            }
+        }
+        ToolCard[] toolCards = new ToolCard[readCount(in)];
+        for (int i = 0; i < toolCards.length; i++)
+            toolCards[i] = readToolCard(in);
+        PublicObjectiveCard[] publicObjectives = new PublicObjectiveCard[readCount(in)];
+        for (int i = 0; i < publicObjectives.length; i++)
+            publicObjectives[i] = new PublicObjectiveCard(readString(in), readString(in), readSigned(in));
+        Pattern[][] candidates = new Pattern[readCount(in)][];
+        for (int i = 0; i < candidates.length; i++) {
+            candidates[i] = new Pattern[readCount(in)];
+            for (int j = 0; j < candidates[i].length; j++)
+                candidates[i][j] = readPattern(in);
+        }
+        return new GameSetup(players, seats, privateObjectives, toolCards, publicObjectives, candidates);
+    }
+
+    /**
+     * Writes the message of the next turn.
+     *
+     * @param out  the stream.
+     * @param turn the message.
+     * @throws IOException if the message can't be written.
+     */
+    private static void writeNextTurn(OutputStream out, NextTurn turn) throws IOException {
+        writeSeat(out, turn.getSeat());
+        int flags = (turn.isSecondTurnAvailable() ? 1 : 0) |
+                (turn.isAlreadyPlacedDie() ? 2 : 0) |
+                (turn.isAlreadyUsedToolCard() ? 4 : 0) |
+                (turn.getActiveToolCard() != null ? 8 : 0);
+        out.write(flags);
+        writeSigned(out, turn.getForcedSelectionIndex());
+        writeSigned(out, turn.getSacrificeIndex());
+        if (turn.getActiveToolCard() != null)
+            writeToolCard(out, turn.getActiveToolCard());
+    }
+
+    /**
+     * Reads the message of the next turn.
+     *
+     * @param in the payload.
+     * @return the message.
+     * @throws StreamCorruptedException if the message isn't valid.
+     */
+    private static NextTurn readNextTurn(ByteBuffer in) throws StreamCorruptedException {
+        int seat = readVarint(in);
+        int flags = in.get();
+        int forcedSelectionIndex = readSigned(in);
+        int sacrificeIndex = readSigned(in);
+        ToolCard activeToolCard = (flags & 8) != 0 ? readToolCard(in) : null;
+        return new NextTurn(null, seat, (flags & 1) != 0, (flags & 2) != 0, (flags & 4) != 0,
+                forcedSelectionIndex, sacrificeIndex, activeToolCard);
+    }
+
+    //View messages
+
+    /**
+     * Writes a view message.
+     *
+     * @param out     the stream.
+     * @param message the message.
+     * @throws IOException if the message can't be written.
+     */
+    private static void writeViewMessage(OutputStream out, ViewMessage message) throws IOException {
+        int tag = VIEW_MESSAGES.indexOf(message.getClass());
+        if (tag < 0)
+            throw new NotSerializableException(message.getClass().getName());
+        out.write(tag);
+        out.write(message.getAction().ordinal());
+        if (message instanceof SelectDie)
+            writeSigned(out, ((SelectDie) message).getDieIndex());
+        if (message instanceof IncrementDieValue)
+            writeBoolean(out, ((IncrementDieValue) message).isIncrement());
+        if (message instanceof PlaceDie) {
+            writeSigned(out, ((PlaceDie) message).getDieIndex());
+            writeCoordinates(out, ((PlaceDie) message).getDestination());
+        }
+        if (message instanceof MoveDice) {
+            writeCoordinates(out, ((MoveDice) message).getSources());
+            writeCoordinates(out, ((MoveDice) message).getDestinations());
+        }
+        if (message instanceof DiceSwap) {
+            writeSigned(out, ((DiceSwap) message).getSourceIndex());
+            writeCoordinates(out, ((DiceSwap) message).getDestination());
+        }
+        if (message instanceof ChooseValue) {
+            writeSigned(out, ((ChooseValue) message).getValue());
+            writeCoordinates(out, ((ChooseValue) message).getDestination());
+        }
+        if (message instanceof SelectCard)
+            writeString(out, ((SelectCard) message).getName());
+        if (message instanceof SelectCardSP)
+            writeSigned(out, ((SelectCardSP) message).getDieIndex());
+        if (message instanceof SelectDifficulty)
+            writeSigned(out, ((SelectDifficulty) message).getDifficulty());
+    }
+
+    /**
+     * Reads a view message. The view and the name of the player of the
+     * message are {@code null}: they're set by the connection that receives it.
+     *
+     * @param in the payload.
+     * @return the message.
+     * @throws StreamCorruptedException if the message isn't valid.
+     */
+    private static ViewMessage readViewMessage(ByteBuffer in) throws StreamCorruptedException {
+        Class<?> type = VIEW_MESSAGES.get(in.get());
+        Action action = ACTIONS[in.get()];
+        if (type == SelectDie.class)
+            return new SelectDie(readSigned(in), null, action, null);
+        if (type == IncrementDieValue.class)
+            return new IncrementDieValue(readSigned(in), readBoolean(in), null, action, null);
+        if (type == PlaceDie.class)
+            return new PlaceDie(readSigned(in), readCoordinates(in), null, action, null);
+        if (type == MoveDice.class)
+            return new MoveDice(readCoordinatesArray(in), readCoordinatesArray(in), null, action, null);
+        if (type == DiceSwap.class)
+            return new DiceSwap(readSigned(in), readCoordinates(in), null, action, null);
+        if (type == ChooseValue.class)
+            return new ChooseValue(null, action, null, readSigned(in), readCoordinates(in));
+        if (type == SelectCard.class)
+            return new SelectCard(readString(in), null, action, null);
+        if (type == SelectCardSP.class)
+            return new SelectCardSP(readString(in), null, action, null, readSigned(in));
+        if (type == SelectDifficulty.class)
+            return new SelectDifficulty(readSigned(in), null, null);
+        return new ViewMessage(null, action, null);
+    }
+
+    /**
+     * Writes a pair of coordinates, which can be {@code null}.
+     *
+     * @param out         the stream.
+     * @param coordinates the coordinates.
+     * @throws IOException if the coordinates can't be written.
+     */
+    private static void writeCoordinates(OutputStream out, Coordinates coordinates) throws IOException {
+        writeBoolean(out, coordinates != null);
+        if (coordinates != null) {
+            writeSigned(out, coordinates.getRow());
+            writeSigned(out, coordinates.getCol());
+        }
+    }
+
+    /**
+     * Reads a pair of coordinates.
+     *
+     * @param in the payload.
+     * @return the coordinates, or {@code null}.
+     */
+    private static Coordinates readCoordinates(ByteBuffer in) {
+        return readBoolean(in) ? new Coordinates(readSigned(in), readSigned(in)) : null;
+    }
+
+    /**
+     * Writes an array of coordinates, which can be {@code null}.
+     *
+     * @param out   the stream.
+     * @param array the array.
+     * @throws IOException if the array can't be written.
+     */
+    private static void writeCoordinates(OutputStream out, Coordinates[] array) throws IOException {
+        writeVarint(out, array == null ? 0 : array.length + 1);
+        if (array != null) {
+            for (Coordinates coordinates : array)
+                writeCoordinates(out, coordinates);
+        }
+    }
+
+    /**
+     * Reads an array of coordinates.
+     *
+     * @param in the payload.
+     * @return the array, or {@code null}.
+     * @throws StreamCorruptedException if the length isn't valid.
+     */
+    private static Coordinates[] readCoordinatesArray(ByteBuffer in) throws StreamCorruptedException {
+        int length = readCount(in) - 1;
+        if (length < 0)
+            return null;
+        Coordinates[] array = new Coordinates[length];
+        for (int i = 0; i < length; i++)
+            array[i] = readCoordinates(in);
+        return array;
+    }
+
+    //Model objects
+
+    /**
+     * Writes a pattern: the name and the difficulty, the restrictions of the cells
+     * (two cells per byte), the mask of the occupied cells and the dice.
+     *
+     * @param out     the stream.
+     * @param pattern the pattern.
+     * @throws IOException if the pattern can't be written.
+     */
+    private static void writePattern(OutputStream out, Pattern pattern) throws IOException {
+        writeString(out, pattern.getName());
+        writeVarint(out, pattern.getDifficulty());
+        int occupied = 0;
+        int pair = 0;
+        for (int index = 0; index < Pattern.ROWS * Pattern.COLS; index++) {
+            int row = index / Pattern.COLS;
+            int col = index % Pattern.COLS;
+            Colour colour = pattern.getColourRestriction(row, col);
+            int restriction = colour != null ? colour.ordinal() + 1 :
+                    pattern.getValueRestriction(row, col) == 0 ? 0 :
+                            COLOURS.length + pattern.getValueRestriction(row, col);
+            if (index % 2 == 0) {
+                pair = restriction;
+            } else {
+                out.write(pair | restriction << 4);
+            }
+            if (pattern.getDie(row, col) != null)
+                occupied |= 1 << index;
+        }
+        writeVarint(out, occupied);
+        for (int cells = occupied; cells != 0; cells &= cells - 1) {
+            int index = Integer.numberOfTrailingZeros(cells);
+            writeDie(out, pattern.getDie(index / Pattern.COLS, index % Pattern.COLS));
+        }
+    }
+
+    /**
+     * Reads a pattern.
+     *
+     * @param in the payload.
+     * @return the pattern.
+     * @throws StreamCorruptedException if the pattern isn't valid.
+     */
+    private static Pattern readPattern(ByteBuffer in) throws StreamCorruptedException {
+        String name = readString(in);
+        int difficulty = readVarint(in);
+        Cell[][] grid = new Cell[Pattern.ROWS][Pattern.COLS];
+        int pair = 0;
+        for (int index = 0; index < Pattern.ROWS * Pattern.COLS; index++) {
+            if (index % 2 == 0)
+                pair = in.get() & 0xFF;
+            int restriction = index % 2 == 0 ? pair & 0xF : pair >>> 4;
+            grid[index / Pattern.COLS][index % Pattern.COLS] = restriction == 0 ? new Cell() :
+                    restriction <= COLOURS.length ? new Cell(COLOURS[restriction - 1]) :
+                            new Cell(restriction - COLOURS.length);
+        }
+        try {
+            for (int cells = readVarint(in); cells != 0; cells &= cells - 1) {
+                int index = Integer.numberOfTrailingZeros(cells);
+                Cell cell = grid[index / Pattern.COLS][index % Pattern.COLS];
+                //the die was placed on the server, so only the restrictions of the cell must be ignored
+                cell.place(readDie(in), cell.getColour() != null ? Restriction.ONLY_VALUE :
+                        cell.getValue() != 0 ? Restriction.ONLY_COLOUR : Restriction.DEFAULT);
+            }
+        } catch (PlacementErrorException e) {
+            throw new StreamCorruptedException("Invalid pattern: " + e.getMessage());
+        }
+        return new Pattern(name, difficulty, grid);
+    }
+
+    /**
+     * Writes a tool card.
+     *
+     * @param out  the stream.
+     * @param card the card.
+     * @throws IOException if the card can't be written.
+     */
+    private static void writeToolCard(OutputStream out, ToolCard card) throws IOException {
+        writeString(out, card.getName());
+        writeString(out, card.getDescription());
+        writeColour(out, card.getColour());
+        writeBoolean(out, card.isUsed());
+    }
+
+    /**
+     * Reads a tool card.
+     *
+     * @param in the payload.
+     * @return the card.
+     */
+    private static ToolCard readToolCard(ByteBuffer in) {
+        ToolCard card = new ToolCard(readString(in), readString(in), readColour(in));
+        if (readBoolean(in))
+            card.use();
+        return card;
+    }
+
+    /**
+     * Writes a list of dice.
+     *
+     * @param out  the stream.
+     * @param dice the dice.
+     * @throws IOException if the dice can't be written.
+     */
+    private static void writeDice(OutputStream out, List<Die> dice) throws IOException {
+        writeVarint(out, dice.size());
+        for (Die die : dice)
+            writeDie(out, die);
+    }
+
+    /**
+     * Reads a list of dice.
+     *
+     * @param in the payload.
+     * @return the dice.
+     * @throws StreamCorruptedException if the length isn't valid.
+     */
+    private static List<Die> readDice(ByteBuffer in) throws StreamCorruptedException {
+        int size = readCount(in);
+        List<Die> dice = new ArrayList<>(size);
+        for (int i = 0; i < size; i++)
+            dice.add(readDie(in));
+        return dice;
+    }
+
+    /**
+     * Writes a die, which can be {@code null}, as one byte.
+     *
+     * @param out the stream.
+     * @param die the die.
+     * @throws IOException if the die can't be written.
+     */
+    private static void writeDie(OutputStream out, Die die) throws IOException {
+        out.write(die == null ? 0 : die.getColour().ordinal() * FACES + die.getValue());
+    }
+
+    /**
+     * Reads a die.
+     *
+     * @param in the payload.
+     * @return the die, or {@code null}.
+     */
+    private static Die readDie(ByteBuffer in) {
+        int die = in.get() & 0xFF;
+        return die == 0 ? null : Die.of((die - 1) % FACES + 1, COLOURS[(die - 1) / FACES]);
+    }
+
+    /**
+     * Writes a colour, which can be {@code null}.
+     *
+     * @param out    the stream.
+     * @param colour the colour.
+     * @throws IOException if the colour can't be written.
+     */
+    private static void writeColour(OutputStream out, Colour colour) throws IOException {
+        out.write(colour == null ? 0 : colour.ordinal() + 1);
+    }
+
+    /**
+     * Reads a colour.
+     *
+     * @param in the payload.
+     * @return the colour, or {@code null}.
+     */
+    private static Colour readColour(ByteBuffer in) {
+        int colour = in.get();
+        return colour == 0 ? null : COLOURS[colour - 1];
+    }
+
+    //Primitives
+
+    /**
+     * Writes a boolean.
+     *
+     * @param out   the stream.
+     * @param value the boolean.
+     * @throws IOException if the boolean can't be written.
+     */
+    private static void writeBoolean(OutputStream out, boolean value) throws IOException {
+        out.write(value ? 1 : 0);
+    }
+
+    /**
+     * Reads a boolean.
+     *
+     * @param in the payload.
+     * @return the boolean.
+     */
+    private static boolean readBoolean(ByteBuffer in) {
+        return in.get() != 0;
+    }
+
+    /**
+     * Writes a non negative integer as a varint: seven bits per byte,
+     * the highest bit tells if another byte follows.
+     *
+     * @param out   the stream.
+     * @param value the integer.
+     * @throws IOException if the integer can't be written.
+     */
+    private static void writeVarint(OutputStream out, int value) throws IOException {
+        while ((value & ~0x7F) != 0) {
+            out.write((value & 0x7F) | 0x80);
+            value >>>= 7;
+        }
+        out.write(value);
+    }
+
+    /**
+     * Reads a varint.
+     *
+     * @param in the payload.
+     * @return the integer.
+     */
+    private static int readVarint(ByteBuffer in) {
+        int value = 0;
+        for (int shift = 0; shift < Integer.SIZE; shift += 7) {
+            byte b = in.get();
+            value |= (b & 0x7F) << shift;
+            if (b >= 0)
+                return value;
+        }
+        throw new IllegalArgumentException("Varint too long");
+    }
+
+    /**
+     * Writes an integer as a zigzag varint, so that small negative
+     * integers are short too.
+     *
+     * @param out   the stream.
+     * @param value the integer.
+     * @throws IOException if the integer can't be written.
+     */
+    private static void writeSigned(OutputStream out, int value) throws IOException {
+        writeVarint(out, (value << 1) ^ (value >> 31));
+    }
+
+    /**
+     * Reads a zigzag varint.
+     *
+     * @param in the payload.
+     * @return the integer.
+     */
+    private static int readSigned(ByteBuffer in) {
+        int value = readVarint(in);
+        return (value >>> 1) ^ -(value & 1);
+    }
+
+    /**
+     * Writes the seat of a player, in place of the name.
+     *
+     * @param out  the stream.
+     * @param seat the seat.
+     * @throws NotSerializableException if the seat isn't known, so the message
+     *                                  must be sent with its name.
+     * @throws IOException              if the seat can't be written.
+     */
+    private static void writeSeat(OutputStream out, int seat) throws IOException {
+        if (seat < 0)
+            throw new NotSerializableException("Player without a seat");
+        writeVarint(out, seat);
+    }
+
+    /**
+     * Writes an optional integer: a boolean that tells if it's present,
+     * followed by the integer as a zigzag varint.
+     *
+     * @param out   the stream.
+     * @param value the optional integer.
+     * @throws IOException if the integer can't be written.
+     */
+    private static void writeOptional(OutputStream out, OptionalInt value) throws IOException {
+        writeBoolean(out, value.isPresent());
+        if (value.isPresent())
+            writeSigned(out, value.getAsInt());
+    }
+
+    /**
+     * Reads an optional integer.
+     *
+     * @param in the payload.
+     * @return the optional integer.
+     */
+    private static OptionalInt readOptional(ByteBuffer in) {
+        return readBoolean(in) ? OptionalInt.of(readSigned(in)) : OptionalInt.empty();
+    }
+
+    /**
+     * Reads the number of the elements of a list: since each element takes at least
+     * one byte, it can't be greater than the bytes left.
+     *
+     * @param in the payload.
+     * @return the number of elements.
+     * @throws StreamCorruptedException if the number isn't valid.
+     */
+    private static int readCount(ByteBuffer in) throws StreamCorruptedException {
+        int count = readVarint(in);
+        if (count < 0 || count > in.remaining() + 1)
+            throw new StreamCorruptedException("Invalid length: " + count);
+        return count;
+    }
+
+    /**
+     * Writes a string, which can be {@code null}: its length plus one (zero for
+     * {@code null}) and its UTF-8 bytes.
+     *
+     * @param out    the stream.
+     * @param string the string.
+     * @throws IOException if the string can't be written.
+     */
+    private static void writeString(OutputStream out, String string) throws IOException {
+        if (string == null) {
+            out.write(0);
+            return;
+        }
+        byte[] bytes = string.getBytes(StandardCharsets.UTF_8);
+        writeVarint(out, bytes.length + 1);
+        out.write(bytes);
+    }
+
+    /**
+     * Reads a string.
+     *
+     * @param in the payload.
+     * @return the string, or {@code null}.
+     */
+    private static String readString(ByteBuffer in) {
+        int length = readVarint(in) - 1;
+        if (length < 0)
+            return null;
+        if (length > in.remaining())
+            throw new IllegalArgumentException("Invalid length: " + length);
+        byte[] bytes = new byte[length];
+        in.get(bytes);
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+}
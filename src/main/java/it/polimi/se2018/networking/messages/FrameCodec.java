@@ -0,0 +1,380 @@
+package it.polimi.se2018.networking.messages;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.IOException;
+import java.io.NotSerializableException;
+import java.io.ObjectInputFilter;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
+import java.io.OutputStream;
+import java.io.StreamCorruptedException;
+import java.nio.ByteBuffer;
+import java.util.Arrays;
+import java.util.EnumSet;
+import java.util.Set;
+
+/**
+ * The class to send {@link Message}s on a TCP connection as frames.
+ * <p>A frame is the length of the payload (a 4 bytes integer, big-endian)
+ * followed by the payload, which is the message in one of the {@link WireFormat}s.
+ * Since the frames are independent, a message can be decoded as soon as its bytes
+ * have arrived, without a stream that blocks a thread.</p>
+ * <p>The format of a payload is recognized by its first byte: Java serialization
+ * always starts with {@code 0xAC}, while the binary format starts with the version
+ * of the protocol, so the messages in both formats can be decoded anywhere.</p>
+ *
+ * @author giorgiolabate
+ */
+public class FrameCodec {
+
+    /**
+     * The length of the header of a frame.
+     */
+    public static final int HEADER_LENGTH = Integer.BYTES;
+
+    /**
+     * The maximum length of the payload of a frame: longer frames are
+     * rejected, to protect the server from malformed or malicious data.
+     */
+    public static final int MAX_PAYLOAD_LENGTH = 1 << 20;
+
+    /**
+     * The maximum depth of the objects of a message encoded with Java
+     * serialization: the messages of the game are much shallower.
+     */
+    private static final int MAX_DEPTH = 32;
+
+    /**
+     * The filter of the messages encoded with Java serialization: only the
+     * classes of the application and the basic classes of Java are accepted,
+     * and the depth of the objects is limited, so that a malicious payload
+     * can't exhaust the stack of the decoder.
+     */
+    private static final ObjectInputFilter FILTER = ObjectInputFilter.Config.createFilter(
+            "maxdepth=" + MAX_DEPTH + ";it.polimi.se2018.**;java.lang.*;java.util.*;!*");
+
+    /**
+     * The first byte of a payload encoded with Java serialization.
+     */
+    private static final byte SERIALIZATION_MAGIC = (byte) 0xAC;
+
+    /**
+     * Private constructor to hide the implicit public one.
+     */
+    private FrameCodec() {
+    }
+
+    /**
+     * Encodes a message in a frame, in the binary format.
+     *
+     * @param message the message.
+     * @return the frame, ready to be written.
+     * @throws IOException if the message can't be serialized.
+     */
+    public static ByteBuffer encode(Message message) throws IOException {
+        return encode(message, WireFormat.BINARY);
+    }
+
+    /**
+     * Encodes a message in a frame.
+     * <p>A message whose body isn't supported by the binary format
+     * is encoded with Java serialization.</p>
+     *
+     * @param message the message.
+     * @param format  the format of the payload.
+     * @return the frame, ready to be written.
+     * @throws IOException if the message can't be serialized.
+     */
+    public static ByteBuffer encode(Message message, WireFormat format) throws IOException {
+        FrameOutputStream bytes = new FrameOutputStream();
+        if (format == WireFormat.BINARY) {
+            try {
+                BinaryCodec.encode(message, bytes);
+                return bytes.toFrame();
+            } catch (NotSerializableException e) {
+                bytes.reset();
+            }
+        }
+        try (ObjectOutputStream out = new ObjectOutputStream(bytes)) {
+            out.writeObject(message);
+        }
+        return bytes.toFrame();
+    }
+
+    /**
+     * Encodes a message in a frame that can be shared by many connections.
+     * <p>The message is encoded only the first time, then the frame is kept in
+     * the message: the same update sent to all the clients of a game is encoded
+     * once for each format.</p>
+     *
+     * @param message the message, that mustn't change after it has been encoded.
+     * @param format  the format of the payload.
+     * @return a read-only view of the frame, with its own position.
+     * @throws IOException if the message can't be serialized.
+     */
+    public static ByteBuffer encodeShared(Message message, WireFormat format) throws IOException {
+        ByteBuffer frame = message.getFrame(format);
+        if (frame == null) {
+            frame = encode(message, format).asReadOnlyBuffer();
+            message.setFrame(format, frame);
+        }
+        return frame.duplicate();
+    }
+
+    /**
+     * Tells the format of the payload of a frame: a payload in a version of the
+     * binary format that isn't supported is a {@link WireFormat#SERIALIZATION},
+     * since it's the format of the answer to it.
+     *
+     * @param payload the payload, from its position to its limit.
+     * @return the format.
+     */
+    public static WireFormat formatOf(ByteBuffer payload) {
+        if (payload.hasRemaining() && payload.get(payload.position()) == BinaryCodec.VERSION)
+            return WireFormat.BINARY;
+        return WireFormat.SERIALIZATION;
+    }
+
+    /**
+     * Decodes the payload of a frame, in any format.
+     *
+     * @param payload the payload, from its position to its limit.
+     * @return the message.
+     * @throws IOException if the payload isn't a valid message.
+     */
+    public static Message decode(ByteBuffer payload) throws IOException {
+        return decode(payload, EnumSet.allOf(Command.class));
+    }
+
+    /**
+     * Decodes the payload of a frame, in any format, if its command is one
+     * of the expected ones.
+     *
+     * @param payload  the payload, from its position to its limit.
+     * @param accepted the commands that are expected.
+     * @return the message.
+     * @throws IOException if the payload isn't a valid message, or its command
+     *                     isn't expected.
+     */
+    public static Message decode(ByteBuffer payload, Set<Command> accepted) throws IOException {
+        if (!payload.hasRemaining())
+            throw new StreamCorruptedException("Empty frame");
+        if (payload.get(payload.position()) != SERIALIZATION_MAGIC)
+            return BinaryCodec.decode(payload, accepted);
+        byte[] bytes = new byte[payload.remaining()];
+        payload.get(bytes);
+        Message message;
+        try (ObjectInputStream in = new ObjectInputStream(new ByteArrayInputStream(bytes))) {
+            in.setObjectInputFilter(FILTER);
+            message = (Message) in.readObject();
+        } catch (ClassNotFoundException | ClassCastException e) {
+            throw new StreamCorruptedException("Invalid message: " + e.getMessage());
+        }
+        if (!accepted.contains(message.getCommand()))
+            throw new StreamCorruptedException("Unexpected command: " + message.getCommand());
+        return message;
+    }
+
+    /**
+     * Reads a frame from a blocking stream.
+     *
+     * @param in the stream.
+     * @return the message.
+     * @throws IOException if the stream is closed or the frame isn't valid.
+     */
+    public static Message read(DataInputStream in) throws IOException {
+        return decode(readPayload(in));
+    }
+
+    /**
+     * Reads the payload of a frame from a blocking stream, without decoding it.
+     *
+     * @param in the stream.
+     * @return the payload.
+     * @throws IOException if the stream is closed or the frame isn't valid.
+     */
+    public static ByteBuffer readPayload(DataInputStream in) throws IOException {
+        int length = checkLength(in.readInt());
+        byte[] payload = new byte[length];
+        in.readFully(payload);
+        return ByteBuffer.wrap(payload);
+    }
+
+    /**
+     * Writes a message as a frame on a blocking stream, in the binary format.
+     *
+     * @param out     the stream.
+     * @param message the message.
+     * @throws IOException if the message can't be written.
+     */
+    public static void write(OutputStream out, Message message) throws IOException {
+        write(out, message, WireFormat.BINARY);
+    }
+
+    /**
+     * Writes a message as a frame on a blocking stream.
+     *
+     * @param out     the stream.
+     * @param message the message.
+     * @param format  the format of the payload.
+     * @throws IOException if the message can't be written.
+     */
+    public static void write(OutputStream out, Message message, WireFormat format) throws IOException {
+        ByteBuffer frame = encode(message, format);
+        out.write(frame.array(), frame.arrayOffset() + frame.position(), frame.remaining());
+        out.flush();
+    }
+
+    /**
+     * Checks the length of a payload.
+     *
+     * @param length the length.
+     * @return the length.
+     * @throws StreamCorruptedException if the length isn't valid.
+     */
+    private static int checkLength(int length) throws StreamCorruptedException {
+        if (length < 0 || length > MAX_PAYLOAD_LENGTH)
+            throw new StreamCorruptedException("Invalid frame length: " + length);
+        return length;
+    }
+
+    /**
+     * A stream that leaves room for the header before the payload,
+     * so that the frame is built without copying the payload.
+     * <p>It's used by one thread only, so it's not synchronized.</p>
+     */
+    private static class FrameOutputStream extends ByteArrayOutputStream {
+
+        /**
+         * The constructor of the class.
+         */
+        FrameOutputStream() {
+            super(256);
+            count = HEADER_LENGTH;
+        }
+
+        /**
+         * Writes a byte.
+         *
+         * @param b the byte.
+         */
+        @Override
+        public void write(int b) {
+            if (count == buf.length)
+                buf = Arrays.copyOf(buf, buf.length * 2);
+            buf[count++] = (byte) b;
+        }
+
+        /**
+         * Writes some bytes.
+         *
+         * @param b      the bytes.
+         * @param offset the index of the first byte.
+         * @param length the number of bytes.
+         */
+        @Override
+        public void write(byte[] b, int offset, int length) {
+            if (count + length > buf.length)
+                buf = Arrays.copyOf(buf, Math.max(buf.length * 2, count + length));
+            System.arraycopy(b, offset, buf, count, length);
+            count += length;
+        }
+
+        /**
+         * Discards the payload written so far.
+         */
+        @Override
+        public void reset() {
+            count = HEADER_LENGTH;
+        }
+
+        /**
+         * Writes the header and wraps the frame.
+         *
+         * @return the frame.
+         */
+        ByteBuffer toFrame() {
+            ByteBuffer frame = ByteBuffer.wrap(buf, 0, count);
+            frame.putInt(0, count - HEADER_LENGTH);
+            return frame;
+        }
+    }
+
+    /**
+     * The class that splits the bytes read from a non-blocking
+     * connection in frames.
+     * <p>The bytes can arrive in chunks of any size: the bytes of a frame that
+     * is not complete are kept until the following chunk. This class is not thread-safe.</p>
+     */
+    public static class Reader {
+
+        /**
+         * The header of the frame, while it's incomplete.
+         */
+        private final ByteBuffer header = ByteBuffer.allocate(HEADER_LENGTH);
+
+        /**
+         * The payload of the frame, while it's incomplete, or {@code null}.
+         */
+        private ByteBuffer payload;
+
+        /**
+         * Extracts the next complete frame from a chunk of bytes.
+         * <p>If the whole frame is in the chunk, the payload is a view of the
+         * chunk, and it must be consumed before the chunk is reused.</p>
+         *
+         * @param chunk the bytes read, from its position to its limit;
+         *              the position is moved after the bytes consumed.
+         * @return the payload of the frame, or {@code null} if the chunk has
+         * been consumed without completing a frame.
+         * @throws StreamCorruptedException if the length of the frame isn't valid.
+         */
+        public ByteBuffer next(ByteBuffer chunk) throws StreamCorruptedException {
+            while (chunk.hasRemaining()) {
+                if (payload == null) {
+                    if (header.position() == 0 && chunk.remaining() >= HEADER_LENGTH) {
+                        //fast path: the whole frame is in the chunk
+                        int length = checkLength(chunk.getInt(chunk.position()));
+                        if (chunk.remaining() >= HEADER_LENGTH + length) {
+                            chunk.position(chunk.position() + HEADER_LENGTH);
+                            ByteBuffer frame = chunk.slice();
+                            frame.limit(length);
+                            chunk.position(chunk.position() + length);
+                            return frame;
+                        }
+                    }
+                    transfer(chunk, header);
+                    if (header.hasRemaining())
+                        return null;
+                    int length = checkLength(header.getInt(0));
+                    header.clear();
+                    payload = ByteBuffer.allocate(length);
+                }
+                transfer(chunk, payload);
+                if (!payload.hasRemaining()) {
+                    ByteBuffer frame = payload;
+                    payload = null;
+                    frame.flip();
+                    return frame;
+                }
+            }
+            return null;
+        }
+
+        /**
+         * Copies as many bytes as possible from a buffer to another one.
+         *
+         * @param from the source.
+         * @param to   the destination.
+         */
+        private static void transfer(ByteBuffer from, ByteBuffer to) {
+            int length = Math.min(from.remaining(), to.remaining());
+            ByteBuffer slice = from.slice();
+            slice.limit(length);
+            to.put(slice);
+            from.position(from.position() + length);
+        }
+    }
+}
@@ -1,6 +1,7 @@
 package it.polimi.se2018.networking.messages;
 
 import java.io.Serializable;
+import java.nio.ByteBuffer;
 
 /**
  * The messages that are exchanged in the network.
@@ -19,6 +20,16 @@ public class Message implements Serializable {
      */
     private Command command;
 
+    /**
+     * The frame of the message in the binary format, once it has been encoded.
+     */
+    private transient volatile ByteBuffer binaryFrame;
+
+    /**
+     * The frame of the message with Java serialization, once it has been encoded.
+     */
+    private transient volatile ByteBuffer serializedFrame;
+
     /**
      * The constructor of the class.
      *
@@ -47,4 +58,27 @@ public class Message implements Serializable {
     public Command getCommand() {
         return command;
     }
+
+    /**
+     * Getter for the frame of the message, if it has already been encoded.
+     *
+     * @param format the format of the frame.
+     * @return the read-only frame, or {@code null}.
+     */
+    ByteBuffer getFrame(WireFormat format) {
+        return format == WireFormat.BINARY ? binaryFrame : serializedFrame;
+    }
+
+    /**
+     * Setter for the frame of the message.
+     *
+     * @param format the format of the frame.
+     * @param frame  the read-only frame.
+     */
+    void setFrame(WireFormat format, ByteBuffer frame) {
+        if (format == WireFormat.BINARY)
+            binaryFrame = frame;
+        else
+            serializedFrame = frame;
+    }
 }
@@ -0,0 +1,24 @@
+package it.polimi.se2018.networking.messages;
+
+/**
+ * The formats of the payload of a frame (see {@link FrameCodec}).
+ * <p>The format of a connection is negotiated at login: the client sends the
+ * login in the format it prefers, and the server answers, and then sends all
+ * the messages, in the same format if it supports it, or with Java
+ * serialization, which is understood by every version.</p>
+ *
+ * @author giorgiolabate
+ */
+public enum WireFormat {
+
+    /**
+     * Java serialization of the whole {@link Message}: it supports any body,
+     * and it's the fallback of the binary format.
+     */
+    SERIALIZATION,
+
+    /**
+     * The compact binary format of {@link BinaryCodec}.
+     */
+    BINARY
+}
@@ -5,10 +5,11 @@ import it.polimi.se2018.model.events.ViewMessage;
 import it.polimi.se2018.networking.client.ClientNetInterface;
 import it.polimi.se2018.networking.messages.Command;
 import it.polimi.se2018.networking.messages.Message;
+import it.polimi.se2018.utils.Logger;
 import it.polimi.se2018.view.VirtualView;
 
-import java.util.HashMap;
 import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
 
 /**
  * This class represents the default behaviour of servers.
@@ -25,7 +26,7 @@ public class DefaultNetInterface implements ServerNetInterface {
      * Map associating the player names with their view. Only keeps track
      * of active view.
      */
-    private final Map<String, VirtualView> views = new HashMap<>();
+    private final Map<String, VirtualView> views = new ConcurrentHashMap<>();
 
     /**
      * The server that handles the connections.
@@ -51,9 +52,13 @@ public class DefaultNetInterface implements ServerNetInterface {
      */
     @Override
     public void send(Message message) {
+        if (!(message.getBody() instanceof ViewMessage)) {
+            Logger.getDefaultLogger().log("Discarding an invalid message from a client");
+            return;
+        }
         ViewMessage viewMessage = (ViewMessage) message.getBody();
         String playerName = viewMessage.getPlayerName();
-        VirtualView view = views.get(playerName);
+        VirtualView view = playerName == null ? null : views.get(playerName);
         if (view != null)
             view.handle(viewMessage);
     }
@@ -0,0 +1,247 @@
+package it.polimi.se2018.networking.server;
+
+import it.polimi.se2018.model.events.ModelUpdate;
+import it.polimi.se2018.model.events.ModelUpdateBatch;
+import it.polimi.se2018.networking.messages.Command;
+import it.polimi.se2018.networking.messages.Message;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Deque;
+import java.util.Iterator;
+import java.util.List;
+
+/**
+ * The bounded queue of the messages waiting to be sent to a client.
+ * <p>Any thread can add the messages, so the thread that notifies a client never
+ * waits for the network: a single writer takes them and sends them. When the
+ * queue is full the {@link SlowConsumerPolicy} is applied: the superseded model
+ * updates are dropped, also from the batches, and, if there is still no room,
+ * the message is refused, and the client must be disconnected.</p>
+ * <p>The queue records the number of messages waiting and the time between the
+ * moment a message is added and the moment it has been written.</p>
+ *
+ * @author giorgiolabate
+ */
+public class OutboundQueue {
+
+    /**
+     * A message waiting in the queue.
+     */
+    private static class Entry {
+
+        /**
+         * The message.
+         */
+        private final Message message;
+
+        /**
+         * The time the message was added to the queue, in nanoseconds.
+         */
+        private final long enqueued;
+
+        /**
+         * Constructor of the class.
+         *
+         * @param message  the message.
+         * @param enqueued the time the message was added.
+         */
+        Entry(Message message, long enqueued) {
+            this.message = message;
+            this.enqueued = enqueued;
+        }
+    }
+
+    /**
+     * The policy applied when the queue is full.
+     */
+    private final SlowConsumerPolicy policy;
+
+    /**
+     * The messages waiting.
+     */
+    private Deque<Entry> entries = new ArrayDeque<>();
+
+    /**
+     * The time the last message taken by the writer was added, in nanoseconds.
+     */
+    private long lastTaken;
+
+    /**
+     * The number of the superseded updates dropped.
+     */
+    private long coalesced;
+
+    /**
+     * The time between the addition and the writing of the last message
+     * written, in microseconds.
+     */
+    private volatile long lastLatency;
+
+    /**
+     * The maximum time between the addition and the writing of a message,
+     * in microseconds.
+     */
+    private volatile long maxLatency;
+
+    /**
+     * Constructor of the class.
+     *
+     * @param policy the policy applied when the queue is full.
+     */
+    public OutboundQueue(SlowConsumerPolicy policy) {
+        this.policy = policy;
+    }
+
+    /**
+     * Adds a message to the queue.
+     *
+     * @param message the message.
+     * @return {@code true} if the message has been added; {@code false} if the
+     * queue is full: then the client is too slow and must be disconnected.
+     */
+    public synchronized boolean offer(Message message) {
+        if (entries.size() >= policy.getMaxPending() && policy.isCoalescing())
+            coalesce(message);
+        if (entries.size() >= policy.getMaxPending())
+            return false;
+        entries.add(new Entry(message, System.nanoTime()));
+        return true;
+    }
+
+    /**
+     * Drops the model updates that are superseded by a later one. The updates
+     * of a batch are checked one by one: the batch is sent without the
+     * superseded ones, or it's dropped if all of them are superseded.
+     *
+     * @param last the message that is being added.
+     */
+    private void coalesce(Message last) {
+        List<ModelUpdate> later = new ArrayList<>();
+        if (last.getCommand() == Command.MODEL_UPDATE)
+            later.addAll(updatesOf((ModelUpdate) last.getBody()));
+        Deque<Entry> kept = new ArrayDeque<>(entries.size());
+        Iterator<Entry> iterator = entries.descendingIterator();
+        while (iterator.hasNext()) {
+            Entry entry = iterator.next();
+            if (entry.message.getCommand() != Command.MODEL_UPDATE) {
+                kept.addFirst(entry);
+                continue;
+            }
+            List<ModelUpdate> updates = updatesOf((ModelUpdate) entry.message.getBody());
+            List<ModelUpdate> remaining = new ArrayList<>(updates.size());
+            for (ModelUpdate update : updates) {
+                if (later.stream().noneMatch(l -> l.supersedes(update)))
+                    remaining.add(update);
+            }
+            coalesced += updates.size() - remaining.size();
+            later.addAll(remaining);
+            if (remaining.size() == updates.size())
+                kept.addFirst(entry);
+            else if (!remaining.isEmpty())
+                kept.addFirst(new Entry(new Message(Command.MODEL_UPDATE, remaining.size() == 1 ?
+                        remaining.get(0) : new ModelUpdateBatch(remaining)), entry.enqueued));
+        }
+        entries = kept;
+    }
+
+    /**
+     * Gets the updates carried by a model update.
+     *
+     * @param update the model update.
+     * @return the updates of the batch, or the update itself if it's not a batch.
+     */
+    private static List<ModelUpdate> updatesOf(ModelUpdate update) {
+        if (update instanceof ModelUpdateBatch)
+            return ((ModelUpdateBatch) update).getUpdates();
+        return Collections.singletonList(update);
+    }
+
+    /**
+     * Takes the first message of the queue, to write it.
+     * It must be called by the writer only.
+     *
+     * @return the message, or {@code null} if the queue is empty.
+     */
+    public synchronized Message poll() {
+        Entry entry = entries.poll();
+        if (entry == null)
+            return null;
+        lastTaken = entry.enqueued;
+        return entry.message;
+    }
+
+    /**
+     * Records that the last message taken has been written.
+     * It must be called by the writer only.
+     */
+    public synchronized void written() {
+        long latency = (System.nanoTime() - lastTaken) / 1000;
+        lastLatency = latency;
+        if (latency > maxLatency)
+            maxLatency = latency;
+    }
+
+    /**
+     * Removes all the messages.
+     */
+    public synchronized void clear() {
+        entries.clear();
+    }
+
+    /**
+     * Tells if there are no messages waiting.
+     *
+     * @return {@code true} if the queue is empty.
+     */
+    public synchronized boolean isEmpty() {
+        return entries.isEmpty();
+    }
+
+    /**
+     * Getter for the number of messages waiting.
+     *
+     * @return the depth of the queue.
+     */
+    public synchronized int size() {
+        return entries.size();
+    }
+
+    /**
+     * Getter for the policy applied to the queue.
+     *
+     * @return the policy.
+     */
+    public SlowConsumerPolicy getPolicy() {
+        return policy;
+    }
+
+    /**
+     * Getter for the number of superseded updates that have been dropped.
+     *
+     * @return the number of updates.
+     */
+    public synchronized long getCoalesced() {
+        return coalesced;
+    }
+
+    /**
+     * Getter for the time between the addition and the writing of the last
+     * message written.
+     *
+     * @return the latency, in microseconds.
+     */
+    public long getLastLatency() {
+        return lastLatency;
+    }
+
+    /**
+     * Getter for the maximum time between the addition and the writing of a message.
+     *
+     * @return the latency, in microseconds.
+     */
+    public long getMaxLatency() {
+        return maxLatency;
+    }
+}
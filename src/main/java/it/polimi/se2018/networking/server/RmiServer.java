@@ -22,6 +22,12 @@ public class RmiServer extends Server {
      */
     private static final int PORT = 1099;
 
+    /**
+     * The property of the time RMI waits for the answer to a remote call,
+     * in milliseconds.
+     */
+    private static final String RESPONSE_TIMEOUT = "sun.rmi.transport.tcp.responseTimeout";
+
     /**
      * The url of the server.
      */
@@ -52,6 +58,9 @@ public class RmiServer extends Server {
     /**
      * The constructor of the class.
      *
+     * <p>The calls to the clients are given the timeout of the current
+     * {@link SlowConsumerPolicy}, unless it has been set on the command line.</p>
+     *
      * @param superSystem the super-system to which the rmi server refers to.
      * @param address     the address.
      * @param serviceName the name of the service.
@@ -60,6 +69,8 @@ public class RmiServer extends Server {
         super(superSystem);
         this.url = "//" + address + "/" + serviceName;
         System.setProperty("java.rmi.server.hostname", address);
+        if (System.getProperty(RESPONSE_TIMEOUT) == null)
+            System.setProperty(RESPONSE_TIMEOUT, String.valueOf(SlowConsumerPolicy.getCurrent().getTimeout()));
     }
 
     /**
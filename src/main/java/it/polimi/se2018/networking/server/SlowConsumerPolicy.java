@@ -0,0 +1,127 @@
+package it.polimi.se2018.networking.server;
+
+/**
+ * The policy for the clients that don't read their messages as fast as
+ * the server sends them (see {@link OutboundQueue}).
+ * <p>When the queue of a client is full, the model updates that are superseded by
+ * later ones are dropped, if the policy allows it; if the queue is still full,
+ * the client is disconnected, so that it doesn't hold memory indefinitely.
+ * A client is also disconnected when it takes too long to receive a message,
+ * so that it doesn't hold the thread that sends it.</p>
+ * <p>This class is immutable.</p>
+ *
+ * @author giorgiolabate
+ */
+public class SlowConsumerPolicy {
+
+    /**
+     * The default time a client has to receive a message, in milliseconds.
+     */
+    public static final int DEFAULT_TIMEOUT = 10000;
+
+    /**
+     * The default policy: updates are coalesced and a client is disconnected
+     * when it has 256 messages waiting, or when it takes 10 seconds to receive one.
+     */
+    public static final SlowConsumerPolicy DEFAULT = new SlowConsumerPolicy(true, 256, DEFAULT_TIMEOUT);
+
+    /**
+     * The policy of the new connections.
+     */
+    private static volatile SlowConsumerPolicy current = DEFAULT;
+
+    /**
+     * Tells if the superseded updates are dropped when the queue is full.
+     */
+    private final boolean coalescing;
+
+    /**
+     * The number of messages that can wait in the queue of a client.
+     */
+    private final int maxPending;
+
+    /**
+     * The time a client has to receive a message, in milliseconds.
+     */
+    private final int timeout;
+
+    /**
+     * Constructor of the class, with the default timeout.
+     *
+     * @param coalescing {@code true} if the superseded updates are dropped when
+     *                   the queue is full.
+     * @param maxPending the number of messages that can wait in the queue
+     *                   of a client before it's disconnected.
+     * @throws IllegalArgumentException if {@code maxPending} isn't positive.
+     */
+    public SlowConsumerPolicy(boolean coalescing, int maxPending) {
+        this(coalescing, maxPending, DEFAULT_TIMEOUT);
+    }
+
+    /**
+     * Constructor of the class.
+     *
+     * @param coalescing {@code true} if the superseded updates are dropped when
+     *                   the queue is full.
+     * @param maxPending the number of messages that can wait in the queue
+     *                   of a client before it's disconnected.
+     * @param timeout    the time a client has to receive a message before it's
+     *                   disconnected, in milliseconds.
+     * @throws IllegalArgumentException if {@code maxPending} or {@code timeout}
+     *                                  isn't positive.
+     */
+    public SlowConsumerPolicy(boolean coalescing, int maxPending, int timeout) {
+        if (maxPending <= 0)
+            throw new IllegalArgumentException("The queue must hold at least a message");
+        if (timeout <= 0)
+            throw new IllegalArgumentException("The timeout must be positive");
+        this.coalescing = coalescing;
+        this.maxPending = maxPending;
+        this.timeout = timeout;
+    }
+
+    /**
+     * Getter for the policy of the new connections.
+     *
+     * @return the policy.
+     */
+    public static SlowConsumerPolicy getCurrent() {
+        return current;
+    }
+
+    /**
+     * Setter for the policy of the new connections.
+     *
+     * @param policy the policy.
+     */
+    public static void setCurrent(SlowConsumerPolicy policy) {
+        current = policy;
+    }
+
+    /**
+     * Tells if the superseded updates are dropped when the queue is full.
+     *
+     * @return {@code true} if the updates are coalesced.
+     */
+    public boolean isCoalescing() {
+        return coalescing;
+    }
+
+    /**
+     * Getter for the number of messages that can wait in the queue of a client.
+     *
+     * @return the number of messages.
+     */
+    public int getMaxPending() {
+        return maxPending;
+    }
+
+    /**
+     * Getter for the time a client has to receive a message.
+     *
+     * @return the time, in milliseconds.
+     */
+    public int getTimeout() {
+        return timeout;
+    }
+}
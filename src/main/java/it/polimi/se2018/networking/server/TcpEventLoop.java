@@ -0,0 +1,183 @@
+package it.polimi.se2018.networking.server;
+
+import it.polimi.se2018.utils.Logger;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.ClosedChannelException;
+import java.nio.channels.SelectionKey;
+import java.nio.channels.Selector;
+import java.nio.channels.SocketChannel;
+import java.util.Iterator;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+
+/**
+ * An event loop of the TCP server: a thread that serves many
+ * {@link VirtualTcpClient}s with a {@link Selector}.
+ * <p>The connections are non-blocking: the thread reads the bytes that have
+ * arrived on any connection, and writes the pending messages when a connection
+ * can accept them, so it never waits for a single client. The bytes are read
+ * in a direct buffer shared by all the connections of the loop.</p>
+ * <p>The other threads interact with the loop only through {@code execute},
+ * which wakes the loop up.</p>
+ *
+ * @author giorgiolabate
+ */
+public class TcpEventLoop implements Runnable {
+
+    /**
+     * The size of the buffer to read from the connections.
+     */
+    private static final int READ_BUFFER_SIZE = 64 * 1024;
+
+    /**
+     * The selector of the connections of the loop.
+     */
+    private final Selector selector;
+
+    /**
+     * The tasks to be executed by the loop.
+     */
+    private final Queue<Runnable> tasks = new ConcurrentLinkedQueue<>();
+
+    /**
+     * The buffer to read from the connections.
+     */
+    private final ByteBuffer readBuffer = ByteBuffer.allocateDirect(READ_BUFFER_SIZE);
+
+    /**
+     * Flag to indicate if the loop is running.
+     */
+    private volatile boolean running = true;
+
+    /**
+     * Constructor of the class.
+     *
+     * @throws IOException if the selector can't be opened.
+     */
+    public TcpEventLoop() throws IOException {
+        selector = Selector.open();
+    }
+
+    /**
+     * Executes a task on the thread of the loop.
+     *
+     * @param task the task.
+     */
+    void execute(Runnable task) {
+        tasks.add(task);
+        selector.wakeup();
+    }
+
+    /**
+     * Executes a task of a client on the thread of the loop: if the task
+     * fails, only that client is terminated.
+     *
+     * @param client the client.
+     * @param task   the task.
+     */
+    void execute(VirtualTcpClient client, Runnable task) {
+        execute(() -> {
+            try {
+                task.run();
+            } catch (RuntimeException e) {
+                drop(client, e);
+            }
+        });
+    }
+
+    /**
+     * Adds a connection to the loop.
+     *
+     * @param channel the connection, in non-blocking mode.
+     * @param client  the client of the connection.
+     */
+    void register(SocketChannel channel, VirtualTcpClient client) {
+        execute(client, () -> {
+            try {
+                client.setKey(channel.register(selector, SelectionKey.OP_READ, client));
+            } catch (ClosedChannelException e) {
+                client.close();
+            }
+        });
+    }
+
+    /**
+     * Serves the connections until the loop is closed.
+     */
+    @Override
+    public void run() {
+        while (running) {
+            try {
+                selector.select();
+            } catch (IOException e) {
+                Logger.getDefaultLogger().log("An error occurred in the event loop: " + e.getMessage());
+                break;
+            }
+            Runnable task;
+            while ((task = tasks.poll()) != null) {
+                try {
+                    task.run();
+                } catch (RuntimeException e) {
+                    Logger.getDefaultLogger().log("A task of the event loop failed: " + e);
+                }
+            }
+
+            Iterator<SelectionKey> keys = selector.selectedKeys().iterator();
+            while (keys.hasNext()) {
+                SelectionKey key = keys.next();
+                keys.remove();
+                VirtualTcpClient client = (VirtualTcpClient) key.attachment();
+                try {
+                    if (key.isValid() && key.isReadable()) {
+                        readBuffer.clear();
+                        client.onReadable(readBuffer);
+                    }
+                    if (key.isValid() && key.isWritable())
+                        client.flush();
+                } catch (RuntimeException | StackOverflowError e) {
+                    drop(client, e);
+                }
+            }
+        }
+        closeAll();
+    }
+
+    /**
+     * Terminates a client whose messages or tasks caused an error, so that
+     * the other connections of the loop are still served.
+     *
+     * @param client the client.
+     * @param e      the error.
+     */
+    private static void drop(VirtualTcpClient client, Throwable e) {
+        Logger.getDefaultLogger().log("Closing TCP connection of " + client.getUsername() + ": " + e);
+        try {
+            client.terminate();
+        } catch (RuntimeException again) {
+            client.close();
+        }
+    }
+
+    /**
+     * Closes all the connections of the loop and the selector.
+     */
+    private void closeAll() {
+        for (SelectionKey key : selector.keys())
+            ((VirtualTcpClient) key.attachment()).terminate();
+        try {
+            selector.close();
+        } catch (IOException ignored) {
+            //Do nothing
+        }
+    }
+
+    /**
+     * Stops the loop: the connections are terminated.
+     */
+    public void close() {
+        running = false;
+        selector.wakeup();
+    }
+}
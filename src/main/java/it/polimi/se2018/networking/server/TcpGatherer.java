@@ -3,21 +3,20 @@ package it.polimi.se2018.networking.server;
 import it.polimi.se2018.utils.Logger;
 
 import java.io.IOException;
-import java.net.ServerSocket;
-import java.net.Socket;
-import java.net.SocketException;
-import java.util.concurrent.ExecutorService;
-import java.util.concurrent.Executors;
+import java.net.InetSocketAddress;
+import java.nio.channels.ClosedChannelException;
+import java.nio.channels.ServerSocketChannel;
+import java.nio.channels.SocketChannel;
 
 
 /**
- * This class' task is to handle connections: it adds new clients to
- * the server creating {@link VirtualTcpClient} that are immediately started
- * only if a thread in threadPool is idle (otherwise is queued)
- * to be ready to handle messages received through the socket.
+ * This class' task is to handle connections: it accepts the connections of
+ * the clients and hands each of them to one of a few {@link TcpEventLoop}s,
+ * creating a {@link VirtualTcpClient}, so that a fixed and small number of
+ * threads serves all the connections, however many they are.
  * It implements Runnable because the server needs to start a new thread of
  * execution when launching TcpGatherer because the accept method of
- * {@link ServerSocket} is a blocking method.
+ * {@link ServerSocketChannel} is a blocking method.
  *
  * @author giorgiolabate
  */
@@ -29,18 +28,20 @@ public class TcpGatherer implements Runnable {
     private ServerNetInterface server;
 
     /**
-     * The {@link ServerSocket} of the server: it represents the ending point
-     * of the connection on server's side.
+     * The channel of the server: it represents the ending point
+     * of the connections on server's side.
      */
-    private ServerSocket serverSocket;
+    private ServerSocketChannel serverChannel;
 
     /**
-     * ThreadPool that uses a fixed number of threads (256). At any point,
-     * at most the fixed number of threads will be active processing tasks.
-     * If incoming requests are submitted when all threads are active,
-     * they will wait in a queue until a thread is available.
+     * The event loops that serve the connections.
      */
-    private ExecutorService threadPool = Executors.newFixedThreadPool(256);
+    private final TcpEventLoop[] loops;
+
+    /**
+     * The number of connections accepted, used to choose their loop.
+     */
+    private long accepted;
 
     /**
      * Constructor of the class.
@@ -48,35 +49,47 @@ public class TcpGatherer implements Runnable {
      * @param server The {@link ServerNetInterface} of the TcpServer that
      *               represent the server implementation.
      * @param port   The port of the server to which the gatherer has to bind
-     *               the {@link ServerSocket}.
+     *               the {@link ServerSocketChannel}.
+     * @param loops  The number of event loops.
+     * @throws IOException if the port can't be bound.
      */
-    public TcpGatherer(ServerNetInterface server, int port) throws IOException {
+    public TcpGatherer(ServerNetInterface server, int port, int loops) throws IOException {
         this.server = server;
-        //Creates the serverSocket binding it to the specified port.
-        this.serverSocket = new ServerSocket(port);
+        //Creates the serverChannel binding it to the specified port.
+        this.serverChannel = ServerSocketChannel.open();
+        try {
+            serverChannel.bind(new InetSocketAddress(port));
+            this.loops = new TcpEventLoop[loops];
+            for (int i = 0; i < loops; i++) {
+                this.loops[i] = new TcpEventLoop();
+                Thread thread = new Thread(this.loops[i], "Tcp-event-loop-" + i);
+                thread.setDaemon(true);
+                thread.start();
+            }
+        } catch (IOException e) {
+            serverChannel.close();
+            throw e;
+        }
     }
 
     /**
      * The gatherer is immediately run after creation. It puts itself on hold of
-     * clients' request of connection and when it receives them and their socket it
-     * creates and run a {@link VirtualTcpClient} (if a thread in threadPool is idle)
-     * that is added to server's clients. Before adding the new virtual client it must be
-     * sure that the userName has been correctly set, so this action is made in {@link VirtualTcpClient}
-     * constructor.
+     * clients' request of connection and when it receives them it creates a
+     * {@link VirtualTcpClient}, in turn on each event loop. The client is added
+     * to server's clients by the loop, when the first message with the username
+     * is received.
      */
     public void run() {
 
-        while (!serverSocket.isClosed()) {
+        while (serverChannel.isOpen()) {
             try {
-                Socket clientSocket;
-                clientSocket = serverSocket.accept();
-                //Creates a new VirtualTcpClient binding it to its socket and to the server implementation.
-                VirtualTcpClient client = new VirtualTcpClient(server, clientSocket);
-                //The VirtualTcpClient is not executed a priori, but only if a
-                //thread is currently idle to avoid server overloading.
-                this.threadPool.execute(client);
+                SocketChannel channel = serverChannel.accept();
+                channel.configureBlocking(false);
+                TcpEventLoop loop = loops[(int) (accepted++ % loops.length)];
+                //Creates a new VirtualTcpClient binding it to its channel and to the server implementation.
+                loop.register(channel, new VirtualTcpClient(server, channel, loop));
 
-            } catch (SocketException e) {
+            } catch (ClosedChannelException e) {
                 Logger.getDefaultLogger().log("Shutting down TCP gatherer...");
                 close();
             } catch (IOException e) {
@@ -87,14 +100,15 @@ public class TcpGatherer implements Runnable {
     }
 
     /**
-     * Terminates the loop in TcpGatherer and frees resources.
+     * Terminates the loop in TcpGatherer and the event loops, and frees resources.
      */
     public void close() {
         try {
-            serverSocket.close();
+            serverChannel.close();
         } catch (IOException ignored) {
             //Do nothing
         }
-        threadPool.shutdown();
+        for (TcpEventLoop loop : loops)
+            loop.close();
     }
 }
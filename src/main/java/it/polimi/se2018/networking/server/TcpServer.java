@@ -15,6 +15,11 @@ import java.io.IOException;
  */
 public class TcpServer extends Server {
 
+    /**
+     * The number of event loops that serve the connections.
+     */
+    private static final int EVENT_LOOPS = Math.min(4, Runtime.getRuntime().availableProcessors());
+
     /**
      * The port associated to the server.
      */
@@ -64,7 +69,7 @@ public class TcpServer extends Server {
     @Override
     public void start() {
         try {
-            gatherer = new TcpGatherer(getServerNetInterface(), port);
+            gatherer = new TcpGatherer(getServerNetInterface(), port, EVENT_LOOPS);
             gathererThread = new Thread(gatherer);
             gathererThread.start();
             isRunning = true;
@@ -75,8 +80,8 @@ public class TcpServer extends Server {
 
     /**
      * Stops the server imposing the {@link TcpGatherer} to close the
-     * {@link java.net.ServerSocket} on which it is waiting for client connections,
-     * to shutdown the {@code threadPool} and setting isRunning to false:
+     * {@link java.nio.channels.ServerSocketChannel} on which it is waiting for client
+     * connections, to stop the event loops and setting isRunning to false:
      * the server is not active anymore and it is not ready to receive client connections.
      */
     @Override
@@ -99,7 +104,7 @@ public class TcpServer extends Server {
      * Tells if the server is active or not.
      *
      * @return {@code true} if the server has been correctly started creating
-     * a {@link java.net.ServerSocket} through the gatherer, {@code false} otherwise.
+     * a {@link java.nio.channels.ServerSocketChannel} through the gatherer, {@code false} otherwise.
      */
     @Override
     public boolean isRunning() {
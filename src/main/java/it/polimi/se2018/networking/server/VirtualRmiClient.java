@@ -5,16 +5,41 @@ import it.polimi.se2018.networking.client.RmiClientInterface;
 import it.polimi.se2018.networking.messages.Message;
 import it.polimi.se2018.utils.Logger;
 
+import java.net.SocketTimeoutException;
 import java.rmi.ConnectException;
 import java.rmi.RemoteException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
 
 /**
  * The class that simulates the client on the server.
+ * <p>The remote calls block until the client has received the message, so the
+ * messages are queued in an {@link OutboundQueue} and sent by a writer, and the
+ * thread that notifies the client never waits for it. The writers are taken from
+ * a bounded pool shared by all the clients. A client that doesn't receive its
+ * messages is disconnected when its queue is full, or when a remote call takes
+ * longer than the timeout of the {@link SlowConsumerPolicy}: the call itself is
+ * interrupted by RMI after that time (see {@link RmiServer}), so a dead client
+ * doesn't hold its writer.</p>
  *
  * @author michelemarzollo
  */
 public class VirtualRmiClient implements ClientNetInterface {
 
+    /**
+     * The maximum number of threads that send the messages to the clients.
+     */
+    private static final int MAX_WRITERS = 16;
+
+    /**
+     * The pool of the threads that send the messages to the clients.
+     */
+    private static final ExecutorService WRITERS = createWriters();
+
     /**
      * The interface of the server.
      */
@@ -30,6 +55,46 @@ public class VirtualRmiClient implements ClientNetInterface {
      */
     private final String username;
 
+    /**
+     * The messages waiting to be sent.
+     */
+    private final OutboundQueue outbound = new OutboundQueue(SlowConsumerPolicy.getCurrent());
+
+    /**
+     * Tells if a writer has been asked to send the queued messages.
+     */
+    private final AtomicBoolean draining = new AtomicBoolean();
+
+    /**
+     * Flag to indicate if the client is connected.
+     */
+    private volatile boolean alive = true;
+
+    /**
+     * The time the remote call in progress started, in nanoseconds,
+     * or 0 if no call is in progress.
+     */
+    private volatile long callStarted;
+
+    /**
+     * Creates the pool of the writers: they are daemon threads,
+     * so that they don't keep the server alive, and they are stopped
+     * when they have been idle for a minute.
+     *
+     * @return the pool.
+     */
+    private static ExecutorService createWriters() {
+        AtomicInteger count = new AtomicInteger();
+        ThreadPoolExecutor writers = new ThreadPoolExecutor(MAX_WRITERS, MAX_WRITERS, 60, TimeUnit.SECONDS,
+                new LinkedBlockingQueue<>(), task -> {
+            Thread thread = new Thread(task, "Rmi-writer-" + count.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+        writers.allowCoreThreadTimeOut(true);
+        return writers;
+    }
+
     /**
      * The constructor of the class.
      *
@@ -59,26 +124,86 @@ public class VirtualRmiClient implements ClientNetInterface {
     }
 
     /**
-     * The method to notify the client.
+     * Getter for the queue of the messages to the client, with its statistics.
+     *
+     * @return the queue.
+     */
+    public OutboundQueue getOutboundQueue() {
+        return outbound;
+    }
+
+    /**
+     * The method to notify the client: the message is queued, and it will
+     * be sent by a writer.
      *
      * @param message the message that the client receives.
      */
     @Override
     public void notify(Message message) {
-        try {
-            client.notify(message);
-        } catch (ConnectException e) {
-            server.removeClient(this);
-        } catch (RemoteException e) {
-            Logger.getDefaultLogger().log("Connection error: " + e.getMessage() + "!");
+        if (!alive)
+            return;
+        long started = callStarted;
+        if (started != 0 && System.nanoTime() - started >
+                TimeUnit.MILLISECONDS.toNanos(outbound.getPolicy().getTimeout())) {
+            disconnect("a message has not been received in time");
+            return;
+        }
+        if (!outbound.offer(message)) {
+            disconnect("too many messages waiting");
+            return;
+        }
+        if (draining.compareAndSet(false, true))
+            WRITERS.execute(this::drain);
+    }
+
+    /**
+     * Disconnects the client, since it doesn't receive its messages.
+     *
+     * @param reason the reason, for the log.
+     */
+    private void disconnect(String reason) {
+        Logger.getDefaultLogger().log("Disconnecting " + username + ": " + reason);
+        alive = false;
+        outbound.clear();
+        WRITERS.execute(() -> server.removeClient(this));
+    }
+
+    /**
+     * Sends the queued messages to the client.
+     */
+    private void drain() {
+        Message message;
+        while (alive && (message = outbound.poll()) != null) {
+            callStarted = System.nanoTime();
+            try {
+                client.notify(message);
+                outbound.written();
+            } catch (ConnectException e) {
+                alive = false;
+                server.removeClient(this);
+            } catch (RemoteException e) {
+                if (e.getCause() instanceof SocketTimeoutException) {
+                    if (alive)
+                        disconnect("a message has not been received in time");
+                } else {
+                    Logger.getDefaultLogger().log("Connection error: " + e.getMessage() + "!");
+                }
+            } finally {
+                callStarted = 0;
+            }
         }
+        draining.set(false);
+        if (alive && !outbound.isEmpty() && draining.compareAndSet(false, true))
+            WRITERS.execute(this::drain);
     }
 
     /**
-     * Does nothing, since RMI connections are handled automatically.
+     * Discards the messages that haven't been sent, since RMI connections
+     * are handled automatically.
      */
     @Override
-    public void close(){
-        //Does nothing, since RMI connections are handled automatically.
+    public void close() {
+        alive = false;
+        outbound.clear();
     }
 }
@@ -1,26 +1,45 @@
 package it.polimi.se2018.networking.server;
 
+import it.polimi.se2018.model.events.ViewMessage;
 import it.polimi.se2018.networking.client.ClientNetInterface;
 import it.polimi.se2018.networking.messages.Command;
+import it.polimi.se2018.networking.messages.FrameCodec;
 import it.polimi.se2018.networking.messages.Message;
+import it.polimi.se2018.networking.messages.WireFormat;
 import it.polimi.se2018.utils.Logger;
 
 import java.io.IOException;
-import java.io.ObjectInputStream;
-import java.io.ObjectOutputStream;
-import java.net.Socket;
-import java.net.SocketException;
+import java.nio.ByteBuffer;
+import java.nio.channels.SelectionKey;
+import java.nio.channels.SocketChannel;
+import java.util.EnumSet;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicBoolean;
 
 /**
  * This class represents a Client on the server side (it implements
  * {@link ClientNetInterface}): it is the access point to client on the server.
- * It implements Runnable because the gatherer needs to start a new thread of
- * execution when launching VirtualTcpClient because the interaction with the
- * socket's stream (that are present here) are blocking methods.
+ * <p>The connection is a non-blocking {@link SocketChannel} served by a
+ * {@link TcpEventLoop}, so the client doesn't need a thread of its own: the
+ * loop passes it the bytes that arrive, and the messages are exchanged as
+ * frames (see {@link FrameCodec}).</p>
+ * <p>The messages to the client can be sent by any thread: they are queued
+ * in an {@link OutboundQueue}, and the loop encodes and writes them when the
+ * connection is ready. A client that doesn't read its
+ * messages is disconnected when its queue is full.</p>
+ * <p>The messages are sent in the format of the login of the client, if the
+ * server supports it, or with Java serialization (see {@link WireFormat}).</p>
  *
  * @author giorgiolabate
  */
-public class VirtualTcpClient implements ClientNetInterface, Runnable {
+public class VirtualTcpClient implements ClientNetInterface {
+
+    /**
+     * The commands that a client can send: the frames with other commands
+     * are rejected before their body is decoded.
+     */
+    private static final Set<Command> CLIENT_COMMANDS =
+            EnumSet.of(Command.LOGIN_MP, Command.LOGIN_SP, Command.VIEW_MESSAGE, Command.PING);
 
     /**
      * The server implementation.
@@ -30,72 +49,77 @@ public class VirtualTcpClient implements ClientNetInterface, Runnable {
     /**
      * The client's username.
      */
-    private String username;
+    private volatile String username;
+
+    /**
+     * The channel of the connection with the client.
+     */
+    private final SocketChannel channel;
+
+    /**
+     * The event loop that serves the connection.
+     */
+    private final TcpEventLoop loop;
+
+    /**
+     * The key of the channel in the selector of the loop.
+     */
+    private volatile SelectionKey key;
 
     /**
-     * The client socket that represents the ending point of the connection
-     * on client's side, so this is the link with the actual client since we are on
-     * server side.
+     * The object that splits the incoming bytes in frames.
      */
-    private final Socket connection;
+    private final FrameCodec.Reader reader = new FrameCodec.Reader();
 
     /**
-     * The output stream used to write to the socket.
+     * The format of the messages sent to the client, chosen at login.
      */
-    private final ObjectOutputStream outputStream;
+    private volatile WireFormat format = WireFormat.SERIALIZATION;
+
+    /**
+     * The messages waiting to be written.
+     */
+    private final OutboundQueue outbound = new OutboundQueue(SlowConsumerPolicy.getCurrent());
+
     /**
-     * The input stream used to read from the socket.
+     * The frame that is being written, used only by the loop.
      */
-    private final ObjectInputStream inputStream;
+    private ByteBuffer pending;
 
     /**
-     * Flag to indicate the game mode the player has chosen.
+     * Tells if the loop has been asked to write the queued frames.
      */
-    private boolean isMultiPlayer;
+    private final AtomicBoolean flushScheduled = new AtomicBoolean();
 
     /**
      * Flag to indicate if the connection is alive.
      */
-    private boolean alive;
+    private final AtomicBoolean alive = new AtomicBoolean(true);
 
     /**
      * Constructor of the class.
      *
-     * @param server     The {@link ServerNetInterface} of the VirtualTcpClient that
-     *                   represent the server implementation.
-     * @param connection The socket representing client's connection.
+     * @param server  The {@link ServerNetInterface} of the VirtualTcpClient that
+     *                represent the server implementation.
+     * @param channel The channel of the client's connection, in non-blocking mode.
+     * @param loop    The event loop that serves the connection.
      */
-    public VirtualTcpClient(ServerNetInterface server, Socket connection) throws IOException {
+    public VirtualTcpClient(ServerNetInterface server, SocketChannel channel, TcpEventLoop loop) {
         this.server = server;
-        this.connection = connection;
-        outputStream = new ObjectOutputStream(connection.getOutputStream());
-        inputStream = new ObjectInputStream(connection.getInputStream());
-        alive = true;
+        this.channel = channel;
+        this.loop = loop;
     }
 
     /**
-     * Tries to retrieve the username from the client.
-     * <p>The username must be the first message sent by the client.</p>
+     * Setter for the key of the channel, called by the loop when the
+     * channel is registered.
      *
-     * @return {@code true} if the username has been received; {@code false} otherwise.
+     * @param key the key.
      */
-    private boolean receiveUsername() {
-        try {
-            //Read the message
-            Message message = (Message) inputStream.readObject();
-            //First message is the username
-            if (message.getCommand() == Command.LOGIN_MP
-                    || message.getCommand() == Command.LOGIN_SP) {
-                this.isMultiPlayer = message.getCommand() == Command.LOGIN_MP;
-                this.username = (String) message.getBody();
-            }
-            return true;
-        } catch (ClassNotFoundException e) {
-            Logger.getDefaultLogger().log("Serialized class cannot be found" + e.getMessage());
-        } catch (IOException e) {
-            Logger.getDefaultLogger().log(e.getMessage());
-        }
-        return false;
+    void setKey(SelectionKey key) {
+        this.key = key;
+        if (!alive.get())
+            key.cancel();
     }
 
     /**
@@ -109,39 +133,78 @@ public class VirtualTcpClient implements ClientNetInterface, Runnable {
     }
 
     /**
-     * This method is invoked when starting a VirtualTcpClient.
-     * When launched, the VirtualTcpClient puts itself on hold of messages that are
-     * the messages sent from the real clients (that will be ViewMessages), so the server
-     * receives messages through VirtualTcpClients. When a message is received its management
-     * is delegated to the server implementation (that will be the DelegateNetInterface)
-     * through the {@code server.send(message)} invocation.
+     * Getter for the queue of the messages to the client, with its statistics.
+     *
+     * @return the queue.
      */
-    @Override
-    public void run() {
-        initializeConnection();
-        while (alive) {
-            try {
-                //Here the messages that arrive on the socket (when the send method is invoked
-                //in the NetWorkHandler) are read.
-                Message message = (Message) inputStream.readObject();
-
-                if (message == null)
-                    //The client has disconnected.
-                    terminate();
-                else
-                    server.send(message);
-            } catch (SocketException e) {
-                Logger.getDefaultLogger().log("Closing TCP connection.");
-                terminate();
-            } catch (IOException e) {
-                Logger.getDefaultLogger().log("An error occurred: " + e.getMessage());
+    public OutboundQueue getOutboundQueue() {
+        return outbound;
+    }
+
+    /**
+     * Reads the bytes that have arrived and handles the complete messages.
+     * It's called by the loop.
+     * <p>The first message must be the login, with the username: then the client
+     * is added to the server. The following messages (that will be ViewMessages)
+     * are delegated to the server implementation (that will be the
+     * DelegateNetInterface) through the {@code server.send(message)} invocation.</p>
+     *
+     * @param buffer the buffer where the bytes are read.
+     */
+    void onReadable(ByteBuffer buffer) {
+        try {
+            if (channel.read(buffer) < 0) {
+                //The client has disconnected.
                 terminate();
-            } catch (ClassNotFoundException e) {
-                Logger.getDefaultLogger().log("Serialized class cannot be found" + e.getMessage());
+                return;
             }
+            buffer.flip();
+            ByteBuffer frame;
+            while (alive.get() && (frame = reader.next(buffer)) != null) {
+                if (username == null)
+                    format = FrameCodec.formatOf(frame);
+                handle(FrameCodec.decode(frame, CLIENT_COMMANDS));
+            }
+        } catch (IOException e) {
+            Logger.getDefaultLogger().log("Closing TCP connection: " + e.getMessage());
+            terminate();
+        } catch (RuntimeException | StackOverflowError e) {
+            //A malformed message mustn't stop the loop, that serves the other connections too
+            Logger.getDefaultLogger().log("Closing TCP connection of " + username + ": " + e);
+            terminate();
         }
     }
 
+    /**
+     * Handles a message from the client.
+     *
+     * @param message the message.
+     */
+    private void handle(Message message) {
+        if (message.getCommand() == Command.PING)
+            return;
+        if (username != null) {
+            if (!(message.getBody() instanceof ViewMessage)) {
+                Logger.getDefaultLogger().log("Closing TCP connection of " + username + ": invalid message");
+                terminate();
+                return;
+            }
+            //The binary format doesn't carry the player of a view message
+            ((ViewMessage) message.getBody()).setPlayerName(username);
+            server.send(message);
+            return;
+        }
+        //First message is the username
+        if ((message.getCommand() != Command.LOGIN_MP && message.getCommand() != Command.LOGIN_SP) ||
+                !(message.getBody() instanceof String)) {
+            terminate();
+            return;
+        }
+        username = (String) message.getBody();
+        boolean added = server.addClient(this, message.getCommand() == Command.LOGIN_MP);
+        if (!added)
+            terminate();
+    }
 
     /**
      * With this method a message is sent on the socket connection to the real client.
@@ -151,9 +214,39 @@ public class VirtualTcpClient implements ClientNetInterface, Runnable {
      */
     @Override
     public void notify(Message message) {
+        if (!alive.get())
+            return;
+        if (!outbound.offer(message)) {
+            Logger.getDefaultLogger().log("Disconnecting " + username + ": too many messages waiting");
+            loop.execute(this, this::terminate);
+            return;
+        }
+        if (flushScheduled.compareAndSet(false, true))
+            loop.execute(this, this::flush);
+    }
+
+    /**
+     * Writes the queued messages, until the connection can't accept more bytes:
+     * then the loop is asked to call the method again when it can.
+     * It's called by the loop.
+     */
+    void flush() {
+        if (key == null || !key.isValid())
+            return;
         try {
-            outputStream.writeObject(message);
-            outputStream.flush();
+            while (pending != null || (pending = nextFrame()) != null) {
+                channel.write(pending);
+                if (pending.hasRemaining()) {
+                    key.interestOps(key.interestOps() | SelectionKey.OP_WRITE);
+                    return;
+                }
+                pending = null;
+                outbound.written();
+            }
+            key.interestOps(key.interestOps() & ~SelectionKey.OP_WRITE);
+            flushScheduled.set(false);
+            if (!outbound.isEmpty() && flushScheduled.compareAndSet(false, true))
+                loop.execute(this, this::flush);
         } catch (IOException e) {
             Logger.getDefaultLogger().log("An error occurred: " + e.getMessage());
             terminate();
@@ -161,26 +254,33 @@ public class VirtualTcpClient implements ClientNetInterface, Runnable {
     }
 
     /**
-     * Retrieves the username and adds the connection to the server.
-     * <p>If at least one of the two operations fails, the client connection is terminated.</p>
-     * <p>If the initialization is successful, the client is notified with an ack</p>
+     * Takes the next message of the queue and encodes it. The messages that
+     * can't be encoded are discarded.
+     * It's called by the loop.
+     *
+     * @return the frame of the message, or {@code null} if the queue is empty.
      */
-    private void initializeConnection() {
-        boolean gotUsername = receiveUsername();
-        if (!gotUsername)
-            terminate();
-
-        boolean added = server.addClient(this, isMultiPlayer);
-        if (!added)
-            terminate();
+    private ByteBuffer nextFrame() {
+        Message message;
+        while ((message = outbound.poll()) != null) {
+            try {
+                return FrameCodec.encodeShared(message, format);
+            } catch (IOException e) {
+                Logger.getDefaultLogger().log("An error occurred: " + e.getMessage());
+                outbound.written();
+            }
+        }
+        return null;
     }
 
     /**
      * Terminates the client connection.
-     * <p>The server is informed that the connection is dropped.</p>
+     * <p>The server is informed that the connection is dropped, if the
+     * client had been added.</p>
      */
-    private void terminate() {
-        server.removeClient(this);
+    void terminate() {
+        if (alive.get() && username != null)
+            server.removeClient(this);
         close();
     }
 
@@ -189,11 +289,13 @@ public class VirtualTcpClient implements ClientNetInterface, Runnable {
      */
     @Override
     public void close() {
-        alive = false;
+        if (!alive.compareAndSet(true, false))
+            return;
+        outbound.clear();
+        if (key != null)
+            key.cancel();
         try {
-            outputStream.close();
-            inputStream.close();
-            connection.close();
+            channel.close();
         } catch (IOException e) {
             //Do nothing
         }
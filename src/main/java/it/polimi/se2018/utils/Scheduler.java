@@ -0,0 +1,153 @@
+package it.polimi.se2018.utils;
+
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.ScheduledThreadPoolExecutor;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * The service that runs the delayed and periodic tasks of the application:
+ * the deadlines of the turns, the countdown of the lobbies and the pings
+ * of the connections.
+ * <p>All the tasks share a small pool of daemon threads, instead of having a
+ * {@link java.util.Timer} (and a thread) for each game or connection. Each
+ * scheduled task returns a {@link ScheduledFuture} which can be used to cancel
+ * it: cancelled tasks are removed from the queue immediately.</p>
+ * <p>The service keeps track of the number of pending tasks and of the lag,
+ * that is how late the tasks start with respect to the time they were scheduled for.</p>
+ * <p>This class is thread-safe.</p>
+ */
+public class Scheduler {
+
+    /**
+     * The holder of the instance of the singleton, which is created
+     * by the class loader the first time it's needed.
+     */
+    private static class Holder {
+        private static final Scheduler INSTANCE =
+                new Scheduler(Math.max(1, Runtime.getRuntime().availableProcessors() / 2));
+    }
+
+    /**
+     * The executor that runs the tasks.
+     */
+    private final ScheduledThreadPoolExecutor executor;
+
+    /**
+     * The lag of the last task that started, in nanoseconds.
+     */
+    private final AtomicLong lastLag = new AtomicLong();
+
+    /**
+     * The maximum lag of the tasks, in nanoseconds.
+     */
+    private final AtomicLong maxLag = new AtomicLong();
+
+    /**
+     * The constructor of the class.
+     *
+     * @param threads the number of threads that run the tasks.
+     */
+    Scheduler(int threads) {
+        AtomicInteger count = new AtomicInteger();
+        ThreadFactory factory = task -> {
+            Thread thread = new Thread(task, "Scheduler-" + count.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        };
+        executor = new ScheduledThreadPoolExecutor(threads, factory);
+        executor.setRemoveOnCancelPolicy(true);
+    }
+
+    /**
+     * The method to get (and eventually create) the instance of the singleton.
+     *
+     * @return the instance of the singleton.
+     */
+    public static Scheduler getInstance() {
+        return Holder.INSTANCE;
+    }
+
+    /**
+     * Runs a task once, after a delay.
+     *
+     * @param task  the task.
+     * @param delay the delay.
+     * @param unit  the unit of the delay.
+     * @return the handle to cancel the task.
+     */
+    public ScheduledFuture<?> schedule(Runnable task, long delay, TimeUnit unit) {
+        long due = System.nanoTime() + unit.toNanos(delay);
+        return executor.schedule(() -> {
+            recordLag(System.nanoTime() - due);
+            task.run();
+        }, delay, unit);
+    }
+
+    /**
+     * Runs a task periodically, after a delay. The task is not run
+     * anymore if it's cancelled or if it throws an exception.
+     *
+     * @param task   the task.
+     * @param delay  the delay before the first run.
+     * @param period the time between the beginning of a run and the beginning of the following one.
+     * @param unit   the unit of the delay and of the period.
+     * @return the handle to cancel the task.
+     */
+    public ScheduledFuture<?> scheduleAtFixedRate(Runnable task, long delay, long period, TimeUnit unit) {
+        long first = System.nanoTime() + unit.toNanos(delay);
+        long nanos = unit.toNanos(period);
+        AtomicLong runs = new AtomicLong();
+        return executor.scheduleAtFixedRate(() -> {
+            recordLag(System.nanoTime() - (first + runs.getAndIncrement() * nanos));
+            task.run();
+        }, delay, period, unit);
+    }
+
+    /**
+     * Records the lag of a task.
+     *
+     * @param lag the lag, in nanoseconds.
+     */
+    private void recordLag(long lag) {
+        long positive = Math.max(0, lag);
+        lastLag.set(positive);
+        maxLag.accumulateAndGet(positive, Math::max);
+    }
+
+    /**
+     * Getter for the number of tasks waiting to be run, including the periodic ones.
+     *
+     * @return the number of pending tasks.
+     */
+    public int getPendingTimers() {
+        return executor.getQueue().size();
+    }
+
+    /**
+     * Getter for the lag of the last task that started.
+     *
+     * @return the lag, in milliseconds.
+     */
+    public long getLastLag() {
+        return TimeUnit.NANOSECONDS.toMillis(lastLag.get());
+    }
+
+    /**
+     * Getter for the maximum lag of the tasks.
+     *
+     * @return the lag, in milliseconds.
+     */
+    public long getMaxLag() {
+        return TimeUnit.NANOSECONDS.toMillis(maxLag.get());
+    }
+
+    /**
+     * Stops the service: the pending tasks are discarded.
+     */
+    void shutdown() {
+        executor.shutdownNow();
+    }
+}
@@ -182,13 +182,17 @@ public class ClientView extends View {
 
     /**
      * Updates the displayed data.
+     * <p>If the message revealed that a change of the game is missing, the
+     * whole status of the game is requested.</p>
      *
      * @param message An object containing the data to define
      */
     @Override
     public void update(ModelUpdate message) {
         organizer.push(message);
-        if (message.getEventType() == ModelEvent.GAME_SETUP)
+        if (organizer.isResyncNeeded())
+            notifyObservers(new ViewMessage(this, Action.RESYNC, getPlayerName()));
+        if (message.hasEvent(ModelEvent.GAME_SETUP))
             showPatternSelection();
         if (organizer.getScoreBoard() != null)
             showScoreBoard();
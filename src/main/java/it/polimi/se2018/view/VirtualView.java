@@ -18,6 +18,14 @@ import it.polimi.se2018.networking.messages.Message;
  */
 public class VirtualView extends View {
 
+    /**
+     * The message of the last update sent by the thread.
+     * <p>The observers of a game are notified one after the other by the same
+     * thread, so all the views share the message of an update, and the connections
+     * share its encoding.</p>
+     */
+    private static final ThreadLocal<Message> LAST_UPDATE = new ThreadLocal<>();
+
     /**
      * Flag to indicate if the view has expired.
      */
@@ -66,20 +74,25 @@ public class VirtualView extends View {
     /**
      * Retrieves the client connection currently associated with the view.
      * <p>If the connection has died, notifies the observers of the disconnection
-     * and returns null.</p>
+     * and returns null. The controller queues the disconnection in its mailbox,
+     * so it's handled after the action that is using the view.</p>
      *
      * @return The client connection currently in use or {@code null} if the connection
      * has died.
      */
-    private synchronized ClientNetInterface getClient() {
-        if (client == null && notifyDisconnection) {
-            notifyDisconnection = false;
-            // disconnected, notify controller
-            new Thread(() ->
-                    handle(new ViewMessage(this, Action.DISCONNECT_PLAYER, this.getPlayerName())))
-                    .start();
+    private ClientNetInterface getClient() {
+        ClientNetInterface current;
+        boolean disconnected;
+        synchronized (this) {
+            current = client;
+            disconnected = current == null && notifyDisconnection;
+            if (disconnected)
+                notifyDisconnection = false;
         }
-        return client;
+        // disconnected, notify controller
+        if (disconnected)
+            handle(new ViewMessage(this, Action.DISCONNECT_PLAYER, this.getPlayerName()));
+        return current;
     }
 
     /**
@@ -240,15 +253,33 @@ public class VirtualView extends View {
 
     /**
      * Propagates the messages notified by the observables to the network.
+     * <p>The player receives the message as it's projected for him, without
+     * the private data of the other players.</p>
      *
      * @param message The update message sent by the model.
      */
     @Override
     public void update(ModelUpdate message) {
         ClientNetInterface clientNetInterface = getClient();
-        expired |= message.getEventType() == ModelEvent.GAME_END;
+        expired |= message.hasEvent(ModelEvent.GAME_END);
         if (clientNetInterface != null)
-            clientNetInterface.notify(new Message(Command.MODEL_UPDATE, message));
+            clientNetInterface.notify(wrap(message.projectFor(getPlayerName())));
+    }
+
+    /**
+     * Wraps an update in a message, reusing the message of the last update
+     * sent by the thread if it's the same.
+     *
+     * @param update The update.
+     * @return The message.
+     */
+    private static Message wrap(ModelUpdate update) {
+        Message last = LAST_UPDATE.get();
+        if (last != null && last.getBody() == update)
+            return last;
+        Message message = new Message(Command.MODEL_UPDATE, update);
+        LAST_UPDATE.set(message);
+        return message;
     }
 
     /**
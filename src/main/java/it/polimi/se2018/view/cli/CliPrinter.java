@@ -233,7 +233,11 @@ public class CliPrinter {
         printSeparator(len);
         for (Die die : dice) {
             stream.print("| ");
-            printDie(die);
+            //an empty slot of the draft pool is left blank
+            if (die != null)
+                printDie(die);
+            else
+                stream.print("  ");
             stream.print(" ");
         }
         stream.print("|");
@@ -374,6 +378,13 @@ public class CliPrinter {
             stream.println(player.getPlayerName() + "'s Pattern");
             printPatternLarger(player.getPattern());
             printTokens(player.getTokens());
+            player.getLiveScore().ifPresent(score -> {
+                if (player.getPrivateScore().isPresent())
+                    stream.println("score: " + score + " (" + (score + player.getPrivateScore().getAsInt()) +
+                            " with your private objective)");
+                else
+                    stream.println("score: " + score);
+            });
         }
     }
 
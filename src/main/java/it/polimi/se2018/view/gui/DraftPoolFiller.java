@@ -121,9 +121,14 @@ public class DraftPoolFiller {
         sacrificeIndex = -1;
         diceContainer.getChildren().clear();
         for (Die die : dice) {
-            AnchorPane dieImage = getImageFor(die);
+            //an empty slot of the draft pool keeps its place in the container,
+            //so that the index of each node is the slot of its die
+            AnchorPane dieImage = die != null ? getImageFor(die) : new AnchorPane();
             fitDie(dieImage, dice.size());
-            dieImage.setOnMouseClicked(this::onClick);
+            if (die != null)
+                dieImage.setOnMouseClicked(this::onClick);
+            else
+                dieImage.setDisable(true);
             diceContainer.getChildren().add(dieImage);
         }
     }
@@ -13,7 +13,6 @@ import javafx.scene.layout.HBox;
 import java.util.ArrayList;
 import java.util.List;
 import java.util.Optional;
-import java.util.Random;
 
 /**
  * Set of events used when the player has to select a value for the die and place it
@@ -123,7 +122,7 @@ public class SelectValueEventPack extends BoardEventPack {
     private List<Die> getDice() {
         List<Die> dice = new ArrayList<>();
         for (int i = 1; i <= 6; ++i)
-            dice.add(new Die(i, new Random(), colour));
+            dice.add(Die.of(i, colour));
         return dice;
     }
 
@@ -151,7 +150,7 @@ public class SelectValueEventPack extends BoardEventPack {
      * @param board The GameBoard instance displaying the game.
      */
     private void insertAlteredDie(GameBoard board) {
-        Die die = new Die(value, new Random(), colour);
+        Die die = Die.of(value, colour);
         ViewDataOrganizer organizer = board.getDisplayer().getDataOrganizer();
         int index = organizer.getNextTurn().getForcedSelectionIndex();
         List<Die> draftPool = new ArrayList<>(organizer.getDraftPool());
@@ -0,0 +1,71 @@
+package it.polimi.se2018.controller;
+
+import it.polimi.se2018.model.Colour;
+import it.polimi.se2018.model.Die;
+
+import java.util.Random;
+import java.util.concurrent.ForkJoinPool;
+import java.util.stream.Stream;
+
+/**
+ * A throughput benchmark of {@link BatchScorer}: it reports the number of
+ * boards scored per second against all the public objectives, with pools
+ * of an increasing number of threads up to the number of cores.
+ * <p>It's not run with the tests: launch it with
+ * {@code java -cp <test and main classes> it.polimi.se2018.controller.BatchScorerBenchmark}.</p>
+ *
+ * @author michelemarzollo
+ */
+public class BatchScorerBenchmark {
+
+    /**
+     * The number of boards of each batch.
+     */
+    private static final int BOARDS = 1 << 18;
+
+    /**
+     * Creates the encoding of a random board.
+     *
+     * @param random the source of randomness.
+     * @return the encoding.
+     */
+    private static String randomBoard(Random random) {
+        StringBuilder board = new StringBuilder();
+        for (int i = 0; i < 20; i++) {
+            if (random.nextInt(8) == 0) {
+                board.append("--");
+            } else {
+                Die die = Die.random(random, Colour.values()[random.nextInt(Colour.values().length)]);
+                board.append(die.getColour().name().charAt(0)).append(die.getValue());
+            }
+        }
+        return board.toString();
+    }
+
+    /**
+     * Runs the benchmark.
+     *
+     * @param args not used.
+     */
+    public static void main(String[] args) {
+        BatchScorer scorer = BatchScorer.withAllObjectives();
+        Random random = new Random(5);
+        String[] boards = new String[BOARDS];
+        for (int i = 0; i < BOARDS; i++)
+            boards[i] = randomBoard(random);
+
+        int cores = Runtime.getRuntime().availableProcessors();
+        for (int threads = 1; threads <= cores; threads *= 2) {
+            ForkJoinPool pool = new ForkJoinPool(threads);
+            //warm up
+            scorer.score(Stream.of(boards), pool);
+            long start = System.nanoTime();
+            int rounds = 3;
+            for (int i = 0; i < rounds; i++)
+                scorer.score(Stream.of(boards), pool);
+            double seconds = (System.nanoTime() - start) / 1e9;
+            System.out.printf("%d threads: %.0f boards/s%n", threads, rounds * BOARDS / seconds);
+            pool.shutdown();
+        }
+    }
+}
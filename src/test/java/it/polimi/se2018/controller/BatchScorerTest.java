@@ -0,0 +1,131 @@
+package it.polimi.se2018.controller;
+
+import it.polimi.se2018.model.*;
+import it.polimi.se2018.utils.GridUtils;
+import org.junit.Assert;
+import org.junit.BeforeClass;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.ForkJoinPool;
+
+/**
+ * Unit tests for {@link BatchScorer}.
+ *
+ * @author michelemarzollo
+ */
+public class BatchScorerTest {
+
+    /**
+     * The scorer with all the public objectives.
+     */
+    private static BatchScorer scorer;
+
+    /**
+     * Loads all the public objectives.
+     */
+    @BeforeClass
+    public static void setUp() {
+        scorer = BatchScorer.withAllObjectives();
+    }
+
+    /**
+     * Creates a random pattern.
+     *
+     * @param random the source of randomness.
+     * @return the pattern.
+     */
+    private static Pattern randomPattern(Random random) {
+        Cell[][] grid = GridUtils.getEmptyUnrestrictedGrid(Pattern.ROWS, Pattern.COLS);
+        for (Cell[] row : grid) {
+            for (Cell cell : row) {
+                if (random.nextInt(5) == 0)
+                    continue;
+                try {
+                    cell.place(Die.random(random, Colour.values()[random.nextInt(Colour.values().length)]));
+                } catch (PlacementErrorException e) {
+                    Assert.fail("PlacementErrorException has occurred: " + e.getMessage());
+                }
+            }
+        }
+        return new Pattern("Archived", 4, grid);
+    }
+
+    /**
+     * Checks that the boards are scored in order, as they would be scored in
+     * a game, and that the histograms count all the boards.
+     */
+    @Test
+    public void testScore() {
+        Random random = new Random(11);
+        List<Pattern> patterns = new ArrayList<>();
+        for (int i = 0; i < 500; i++)
+            patterns.add(randomPattern(random));
+
+        ForkJoinPool pool = new ForkJoinPool(4);
+        BatchScorer.Result result = scorer.score(patterns.stream().map(BatchScorer::encode), pool);
+        pool.shutdown();
+        Assert.assertEquals(500, result.getBoards());
+        Assert.assertEquals(10, scorer.getCards().length);
+
+        for (int i = 0; i < patterns.size(); i++) {
+            Cell[][] grid = patterns.get(i).getGrid();
+            int[] scores = result.getScores(i);
+            for (int j = 0; j < scores.length; j++)
+                Assert.assertEquals(scorer.getScoreCalculators()[j].getScore(grid), scores[j]);
+        }
+        for (int j = 0; j < scorer.getCards().length; j++) {
+            long boards = 0;
+            for (long count : result.getHistogram(j))
+                boards += count;
+            Assert.assertEquals(500, boards);
+        }
+    }
+
+    /**
+     * Checks the encoding of the boards.
+     */
+    @Test
+    public void testEncoding() throws PlacementErrorException {
+        Cell[][] grid = GridUtils.getEmptyUnrestrictedGrid(Pattern.ROWS, Pattern.COLS);
+        grid[0][1].place(Die.of(4, Colour.YELLOW));
+        grid[3][4].place(Die.of(1, Colour.PURPLE));
+        String board = BatchScorer.encode(new Pattern("Name", 3, grid));
+
+        Assert.assertEquals("--Y4" + repeat("--", 17) + "P1", board);
+        BoardProfile profile = BatchScorer.decode(board);
+        Assert.assertEquals(18, profile.getEmptyCells());
+        Assert.assertEquals(4, profile.getColourSum(Colour.YELLOW));
+    }
+
+    /**
+     * Checks that the boards not encoded correctly are rejected.
+     */
+    @Test
+    public void testInvalidBoards() {
+        for (String board : new String[]{"--", repeat("--", 19) + "X1", repeat("--", 19) + "R7"}) {
+            try {
+                scorer.score(board);
+                Assert.fail();
+            } catch (IllegalArgumentException e) {
+                Assert.assertTrue(e.getMessage().startsWith("Invalid board"));
+            }
+        }
+    }
+
+    /**
+     * Repeats a string.
+     *
+     * @param string the string.
+     * @param times  the number of repetitions.
+     * @return the repeated string.
+     */
+    private static String repeat(String string, int times) {
+        StringBuilder builder = new StringBuilder();
+        for (int i = 0; i < times; i++)
+            builder.append(string);
+        return builder.toString();
+    }
+}
@@ -26,10 +26,10 @@ public class ColumnVarietyScoreTest {
         Cell[][] grid = GridUtils.getEmptyUnrestrictedGrid(4, 5);
 
         Die[] dice = {
-                new Die(new Random(), Colour.BLUE),
-                new Die(new Random(), Colour.GREEN),
-                new Die(new Random(), Colour.PURPLE),
-                new Die(new Random(), Colour.RED)
+                Die.random(new Random(), Colour.BLUE),
+                Die.random(new Random(), Colour.GREEN),
+                Die.random(new Random(), Colour.PURPLE),
+                Die.random(new Random(), Colour.RED)
         };
 
         for (int row = 0; row < 4; ++row)
@@ -57,10 +57,10 @@ public class ColumnVarietyScoreTest {
         Cell[][] grid = GridUtils.getEmptyUnrestrictedGrid(4, 5);
 
         Die[] dice = {
-                new Die(new Random(), Colour.BLUE),
-                new Die(new Random(), Colour.GREEN),
-                new Die(new Random(), Colour.PURPLE),
-                new Die(new Random(), Colour.BLUE)
+                Die.random(new Random(), Colour.BLUE),
+                Die.random(new Random(), Colour.GREEN),
+                Die.random(new Random(), Colour.PURPLE),
+                Die.random(new Random(), Colour.BLUE)
         };
 
         for (int row = 0; row < 4; ++row)
@@ -87,9 +87,9 @@ public class ColumnVarietyScoreTest {
         Cell[][] grid = GridUtils.getEmptyUnrestrictedGrid(4, 5);
 
         Die[] dice = {
-                new Die(new Random(), Colour.BLUE),
-                new Die(new Random(), Colour.GREEN),
-                new Die(new Random(), Colour.PURPLE)
+                Die.random(new Random(), Colour.BLUE),
+                Die.random(new Random(), Colour.GREEN),
+                Die.random(new Random(), Colour.PURPLE)
         };
 
         for (int row = 0; row < 3; ++row)
@@ -120,7 +120,7 @@ public class ColumnVarietyScoreTest {
 
         Die[] dice = new Die[4];
         for (int i = 0; i < dice.length; ++i)
-            dice[i] = new Die(i + 1, new Random(), Colour.YELLOW);
+            dice[i] = Die.of(i + 1, Colour.YELLOW);
 
         for (int row = 0; row < 4; ++row)
             for (int col = 0; col < 2; ++col)
@@ -148,9 +148,9 @@ public class ColumnVarietyScoreTest {
 
         Die[] dice = new Die[4];
         for (int i = 0; i < dice.length - 1; ++i)
-            dice[i] = new Die(i + 1, new Random(), Colour.YELLOW);
+            dice[i] = Die.of(i + 1, Colour.YELLOW);
 
-        dice[dice.length - 1] = new Die(1, new Random(), Colour.YELLOW);
+        dice[dice.length - 1] = Die.of(1, Colour.YELLOW);
 
         for (int row = 0; row < 4; ++row)
             for (int col = 0; col < 2; ++col)
@@ -177,7 +177,7 @@ public class ColumnVarietyScoreTest {
 
         Die[] dice = new Die[4];
         for (int i = 0; i < dice.length - 1; ++i)
-            dice[i] = new Die(i + 1, new Random(), Colour.YELLOW);
+            dice[i] = Die.of(i + 1, Colour.YELLOW);
 
         for (int row = 0; row < 3; ++row)
             for (int col = 0; col < 2; ++col)
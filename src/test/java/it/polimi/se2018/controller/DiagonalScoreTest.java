@@ -22,7 +22,7 @@ public class DiagonalScoreTest {
     @Test
     public void testSimpleScoreCalculation() {
         Cell[][] grid = GridUtils.getEmptyUnrestrictedGrid(4, 5);
-        Die blueDie = new Die(new Random(), Colour.BLUE);
+        Die blueDie = Die.random(new Random(), Colour.BLUE);
         for (int i = 0; i < 3; ++i)
             try {
                 grid[i][i].place(blueDie);
@@ -45,10 +45,10 @@ public class DiagonalScoreTest {
     public void testManyColoursScoreCalculation() {
         Cell[][] grid = GridUtils.getEmptyUnrestrictedGrid(4, 5);
 
-        Die blueDie = new Die(new Random(), Colour.BLUE);
-        Die greenDie = new Die(new Random(), Colour.GREEN);
-        Die purpleDie = new Die(new Random(), Colour.PURPLE);
-        Die redDie = new Die(new Random(), Colour.RED);
+        Die blueDie = Die.random(new Random(), Colour.BLUE);
+        Die greenDie = Die.random(new Random(), Colour.GREEN);
+        Die purpleDie = Die.random(new Random(), Colour.PURPLE);
+        Die redDie = Die.random(new Random(), Colour.RED);
 
         for (int i = 0; i < 3; ++i)
             try {
@@ -78,7 +78,7 @@ public class DiagonalScoreTest {
     public void testZigZagScoreCalculation() {
         Cell[][] grid = GridUtils.getEmptyUnrestrictedGrid(4, 5);
 
-        Die blueDie = new Die(new Random(), Colour.BLUE);
+        Die blueDie = Die.random(new Random(), Colour.BLUE);
         try {
             grid[0][0].place(blueDie);
             grid[0][2].place(blueDie);
@@ -104,11 +104,11 @@ public class DiagonalScoreTest {
     public void testNoScore() {
         Cell[][] grid = GridUtils.getEmptyUnrestrictedGrid(4, 5);
 
-        Die blueDie = new Die(new Random(), Colour.BLUE);
+        Die blueDie = Die.random(new Random(), Colour.BLUE);
         try {
             grid[0][0].place(blueDie);
             grid[0][1].place(blueDie);
-            grid[1][0].place(blueDie);
+            grid[2][0].place(blueDie);
             grid[1][4].place(blueDie);
 
         } catch (PlacementErrorException e) {
@@ -135,10 +135,10 @@ public class DiagonalScoreTest {
     public void testZigZagScoreCalculationValues() {
         Cell[][] grid = GridUtils.getEmptyUnrestrictedGrid(4, 5);
 
-        Die die1 = new Die(3, new Random(), Colour.BLUE);
-        Die die2 = new Die(3, new Random(), Colour.GREEN);
-        Die die3 = new Die(3, new Random(), Colour.BLUE);
-        Die die4 = new Die(3, new Random(), Colour.RED);
+        Die die1 = Die.of(3, Colour.BLUE);
+        Die die2 = Die.of(3, Colour.GREEN);
+        Die die3 = Die.of(3, Colour.BLUE);
+        Die die4 = Die.of(3, Colour.RED);
         try {
             grid[0][0].place(die1);
             grid[0][2].place(die2);
@@ -154,4 +154,46 @@ public class DiagonalScoreTest {
         int expectedScore = 4;
         Assert.assertEquals(expectedScore, actualScore);
     }
+
+    /**
+     * Tests that the dice in the first column are compared with the
+     * dice above and below them on the right.
+     */
+    @Test
+    public void testFirstColumn() throws PlacementErrorException {
+        Cell[][] grid = GridUtils.getEmptyUnrestrictedGrid(4, 5);
+        grid[0][1].place(Die.of(2, Colour.RED));
+        grid[1][0].place(Die.of(5, Colour.RED));
+        grid[3][4].place(Die.of(5, Colour.RED));
+
+        Assert.assertEquals(2, new DiagonalScore(1, true).getScore(grid));
+        Assert.assertEquals(2, new DiagonalScore(1, true)
+                .getScore(ScoringEngine.profile(new Pattern("Name", 4, grid))));
+    }
+
+    /**
+     * Tests the chains of diagonally adjacent dice.
+     */
+    @Test
+    public void testChain() throws PlacementErrorException {
+        Cell[][] grid = GridUtils.getEmptyUnrestrictedGrid(4, 5);
+        grid[0][0].place(Die.of(1, Colour.BLUE));
+        grid[1][1].place(Die.of(2, Colour.BLUE));
+        grid[2][0].place(Die.of(3, Colour.BLUE));
+        grid[3][1].place(Die.of(1, Colour.BLUE));
+        grid[2][2].place(Die.of(1, Colour.BLUE));
+        grid[0][4].place(Die.of(1, Colour.BLUE));
+        grid[0][2].place(Die.of(1, Colour.RED));
+        Pattern pattern = new Pattern("Name", 4, grid);
+
+        DiagonalScore colours = new DiagonalScore(1, true);
+        int chain = 1 | 1 << 6 | 1 << 10 | 1 << 16 | 1 << 12;
+        Assert.assertEquals(chain, colours.getChain(pattern, 3, 1));
+        Assert.assertEquals(1 << 4, colours.getChain(pattern, 0, 4));
+        Assert.assertEquals(0, colours.getChain(pattern, 3, 4));
+
+        DiagonalScore values = new DiagonalScore(1, false);
+        Assert.assertEquals(1 << 2, values.getChain(pattern, 0, 2));
+        Assert.assertEquals(1 << 16 | 1 << 12, values.getChain(pattern, 2, 2));
+    }
 }
@@ -28,7 +28,7 @@ public class GridVarietyScoreTest {
 
         Die[] dice = new Die[6];
         for (int i = 0; i < dice.length; ++i)
-            dice[i] = new Die(i + 1, new Random(), Colour.YELLOW);
+            dice[i] = Die.of(i + 1, Colour.YELLOW);
 
         try {
             for (int i = 0; i < grid[0].length; ++i)
@@ -59,7 +59,7 @@ public class GridVarietyScoreTest {
 
         Die[] dice = new Die[6];
         for (int i = 0; i < dice.length; ++i)
-            dice[i] = new Die(i + 1, new Random(), Colour.YELLOW);
+            dice[i] = Die.of(i + 1, Colour.YELLOW);
 
         try {
             for (int i = 0; i < grid[0].length; ++i)
@@ -90,7 +90,7 @@ public class GridVarietyScoreTest {
 
         Die[] dice = new Die[6];
         for (int i = 0; i < dice.length; ++i)
-            dice[i] = new Die(i + 1, new Random(), Colour.YELLOW);
+            dice[i] = Die.of(i + 1, Colour.YELLOW);
 
         try {
             for (int row = 0; row < 2; ++row)
@@ -120,7 +120,7 @@ public class GridVarietyScoreTest {
 
         Die[] dice = new Die[6];
         for (int i = 0; i < dice.length; ++i)
-            dice[i] = new Die(i + 1, new Random(), Colour.YELLOW);
+            dice[i] = Die.of(i + 1, Colour.YELLOW);
 
 
         for (int row = 0; row < 2; ++row)
@@ -151,11 +151,11 @@ public class GridVarietyScoreTest {
         Cell[][] grid = GridUtils.getEmptyUnrestrictedGrid(4, 5);
 
         Die[] dice = {
-                new Die(new Random(), Colour.BLUE),
-                new Die(new Random(), Colour.GREEN),
-                new Die(new Random(), Colour.PURPLE),
-                new Die(new Random(), Colour.RED),
-                new Die(new Random(), Colour.YELLOW)
+                Die.random(new Random(), Colour.BLUE),
+                Die.random(new Random(), Colour.GREEN),
+                Die.random(new Random(), Colour.PURPLE),
+                Die.random(new Random(), Colour.RED),
+                Die.random(new Random(), Colour.YELLOW)
         };
 
         for (int row = 0; row < 2; ++row) {
@@ -184,11 +184,11 @@ public class GridVarietyScoreTest {
         Cell[][] grid = GridUtils.getEmptyUnrestrictedGrid(4, 5);
 
         Die[] dice = {
-                new Die(new Random(), Colour.BLUE),
-                new Die(new Random(), Colour.GREEN),
-                new Die(new Random(), Colour.PURPLE),
-                new Die(new Random(), Colour.RED),
-                new Die(new Random(), Colour.RED)
+                Die.random(new Random(), Colour.BLUE),
+                Die.random(new Random(), Colour.GREEN),
+                Die.random(new Random(), Colour.PURPLE),
+                Die.random(new Random(), Colour.RED),
+                Die.random(new Random(), Colour.RED)
         };
 
         for (int row = 0; row < 2; ++row)
@@ -0,0 +1,88 @@
+package it.polimi.se2018.controller;
+
+import it.polimi.se2018.model.*;
+import it.polimi.se2018.model.events.PlayerStatus;
+import it.polimi.se2018.utils.GridUtils;
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.util.Random;
+
+/**
+ * Unit tests for {@link LiveScore}: the score tracked while the pattern of a
+ * {@link Player} changes must be the same that is calculated from scratch.
+ *
+ * @author michelemarzollo
+ */
+public class LiveScoreTest {
+
+    /**
+     * The public objectives of the game.
+     */
+    private static final PublicObjectiveScore[] OBJECTIVES = {
+            new RowVarietyScore(6, true),
+            new ColumnVarietyScore(4, false),
+            new DiagonalScore(1, true),
+            new GridVarietyScore(2, false, new Integer[]{3, 4})
+    };
+
+    /**
+     * Checks after every random change of the pattern that the live score
+     * is the same calculated by the {@link ScoringEngine}.
+     */
+    @Test
+    public void testRandomChanges() {
+        Random random = new Random(3);
+        Game game = new Game();
+        Player player = new Player("Pippo");
+        game.addPlayer(player);
+        player.setTokens(4);
+        player.setScoreTracker(new LiveScore(OBJECTIVES, 1, 1));
+        Cell[][] grid = GridUtils.getEmptyUnrestrictedGrid(Pattern.ROWS, Pattern.COLS);
+        ScoringEngine engine = new ScoringEngine(OBJECTIVES);
+
+        for (int i = 0; i < 3000; i++) {
+            Cell cell = grid[random.nextInt(Pattern.ROWS)][random.nextInt(Pattern.COLS)];
+            cell.remove();
+            if (random.nextInt(4) != 0) {
+                try {
+                    cell.place(Die.of(1 + random.nextInt(6), Colour.values()[random.nextInt(3)]));
+                } catch (PlacementErrorException e) {
+                    Assert.fail("PlacementErrorException has occurred: " + e.getMessage());
+                }
+            }
+            Pattern pattern = new Pattern("Random", 4, grid);
+            player.setPattern(pattern);
+
+            int expected = engine.getScore(pattern, Colour.RED)
+                    - PrivateObjectiveScore.getInstance().getScore(grid, Colour.RED)
+                    + 4 - pattern.emptyCells();
+            Assert.assertEquals(expected, player.getLiveScore().getAsInt());
+            Assert.assertEquals(PrivateObjectiveScore.getInstance().getScore(grid, Colour.RED),
+                    player.getScoreTracker().getPrivateScore(Colour.RED));
+        }
+    }
+
+    /**
+     * Checks that the tracker counts the dice already placed and that the
+     * live score is carried by {@link PlayerStatus}.
+     */
+    @Test
+    public void testPlayerStatus() throws PlacementErrorException {
+        Game game = new Game();
+        Player player = new Player("Pippo");
+        game.addPlayer(player);
+        Cell[][] grid = GridUtils.getEmptyUnrestrictedGrid(Pattern.ROWS, Pattern.COLS);
+        grid[0][0].place(Die.of(3, Colour.RED));
+        player.setPattern(new Pattern("Name", 3, grid));
+        Assert.assertFalse(new PlayerStatus(player).getLiveScore().isPresent());
+
+        player.setScoreTracker(new LiveScore(new PublicObjectiveScore[]{
+                new GridVarietyScore(2, false, new Integer[]{3})}, 3, 0));
+        Assert.assertEquals(2 - 3 * 19, new PlayerStatus(player).getLiveScore().getAsInt());
+        Assert.assertFalse(new PlayerStatus(player).getPrivateScore().isPresent());
+
+        player.setCards(new PrivateObjectiveCard[]{new PrivateObjectiveCard("Red", Colour.RED, "")});
+        Assert.assertEquals(3, new PlayerStatus(player).getPrivateScore().getAsInt());
+    }
+}
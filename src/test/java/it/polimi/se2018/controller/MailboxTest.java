@@ -0,0 +1,115 @@
+package it.polimi.se2018.controller;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Unit tests for {@link Mailbox}.
+ *
+ * @author michelemarzollo
+ */
+public class MailboxTest {
+
+    /**
+     * Checks that the actions sent by many threads are executed one at a
+     * time, on the workers, and in the order each thread sent them.
+     */
+    @Test
+    public void testSerialExecution() throws InterruptedException {
+        ExecutorService workers = Executors.newFixedThreadPool(4);
+        Mailbox mailbox = new Mailbox(workers);
+        AtomicBoolean running = new AtomicBoolean();
+        AtomicBoolean overlapped = new AtomicBoolean();
+        List<Integer> executed = new ArrayList<>();
+        int senders = 4;
+        int actions = 1000;
+        CountDownLatch done = new CountDownLatch(senders * actions);
+
+        Thread[] threads = new Thread[senders];
+        for (int t = 0; t < senders; t++) {
+            int sender = t;
+            threads[t] = new Thread(() -> {
+                for (int i = 0; i < actions; i++) {
+                    int action = sender * actions + i;
+                    mailbox.execute(() -> {
+                        if (!running.compareAndSet(false, true))
+                            overlapped.set(true);
+                        executed.add(action);
+                        running.set(false);
+                        done.countDown();
+                    });
+                }
+            });
+            threads[t].start();
+        }
+        for (Thread thread : threads)
+            thread.join();
+
+        Assert.assertTrue(done.await(10, TimeUnit.SECONDS));
+        workers.shutdown();
+        Assert.assertFalse(overlapped.get());
+        Assert.assertEquals(senders * actions, executed.size());
+        int[] last = new int[senders];
+        for (int action : executed) {
+            Assert.assertTrue(action % actions >= last[action / actions]);
+            last[action / actions] = action % actions;
+        }
+    }
+
+    /**
+     * Checks that an action sent while another one is executed, on the
+     * same thread, is executed after it.
+     */
+    @Test
+    public void testNestedAction() {
+        Mailbox mailbox = new Mailbox(Runnable::run);
+        List<String> executed = new ArrayList<>();
+        mailbox.execute(() -> {
+            mailbox.execute(() -> executed.add("nested"));
+            executed.add("outer");
+        });
+        Assert.assertEquals("outer", executed.get(0));
+        Assert.assertEquals("nested", executed.get(1));
+    }
+
+    /**
+     * Checks that an action that fails doesn't stop the following ones.
+     */
+    @Test
+    public void testFailingAction() {
+        Mailbox mailbox = new Mailbox(Runnable::run);
+        List<String> executed = new ArrayList<>();
+        mailbox.execute(() -> {
+            throw new IllegalStateException("failure");
+        });
+        mailbox.execute(() -> executed.add("next"));
+        Assert.assertEquals(1, executed.size());
+    }
+
+    /**
+     * Checks that an action that throws an error doesn't stop the mailbox.
+     */
+    @Test
+    public void testErrorInAction() {
+        Mailbox mailbox = new Mailbox(Runnable::run);
+        List<String> executed = new ArrayList<>();
+        Error error = new Error("failure");
+        try {
+            mailbox.execute(() -> {
+                throw error;
+            });
+        } catch (Error e) {
+            Assert.assertSame(error, e);
+        }
+        mailbox.execute(() -> executed.add("next"));
+        Assert.assertEquals(1, executed.size());
+    }
+}
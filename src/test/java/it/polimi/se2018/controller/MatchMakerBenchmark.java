@@ -0,0 +1,67 @@
+package it.polimi.se2018.controller;
+
+import it.polimi.se2018.model.Game;
+import it.polimi.se2018.utils.MockView;
+
+import java.util.concurrent.CountDownLatch;
+
+/**
+ * A load test of {@link MatchMaker}: many threads link new views to the
+ * multi player lobbies at the same time, as the threads of the connections do
+ * during a burst of logins, and the rate of the links is measured.
+ * <p>It's not run with the tests: launch it with
+ * {@code java -cp <test and main classes> it.polimi.se2018.controller.MatchMakerBenchmark}.</p>
+ *
+ * @author michelemarzollo
+ */
+public class MatchMakerBenchmark {
+
+    /**
+     * The number of views linked by each thread in a round.
+     */
+    private static final int VIEWS = 20000;
+
+    /**
+     * Runs the benchmark.
+     *
+     * @param args not used.
+     * @throws InterruptedException if the main thread is interrupted.
+     */
+    public static void main(String[] args) throws InterruptedException {
+        int cores = Runtime.getRuntime().availableProcessors();
+        for (MatchMaker.FillPolicy policy : MatchMaker.FillPolicy.values()) {
+            for (int threads : new int[]{1, cores, 4 * cores}) {
+                MatchMaker matchMaker = new MatchMaker(() -> new MultiPlayerController(new Game(), 100, 100));
+                matchMaker.setFillPolicy(policy);
+                MockView[] views = new MockView[threads * VIEWS];
+                for (int i = 0; i < views.length; i++)
+                    views[i] = new MockView("Player" + i);
+
+                CountDownLatch start = new CountDownLatch(1);
+                Thread[] linkers = new Thread[threads];
+                for (int t = 0; t < threads; t++) {
+                    int first = t * VIEWS;
+                    linkers[t] = new Thread(() -> {
+                        try {
+                            start.await();
+                        } catch (InterruptedException e) {
+                            Thread.currentThread().interrupt();
+                            return;
+                        }
+                        for (int i = first; i < first + VIEWS; i++)
+                            matchMaker.makeMultiPlayerMatchFor(views[i]);
+                    });
+                    linkers[t].start();
+                }
+                long begin = System.nanoTime();
+                start.countDown();
+                for (Thread linker : linkers)
+                    linker.join();
+                long elapsed = System.nanoTime() - begin;
+
+                System.out.printf("%s, %d threads: %.0f logins/s, %d lobbies%n", policy, threads,
+                        views.length * 1e9 / elapsed, matchMaker.getOpenLobbies());
+            }
+        }
+    }
+}
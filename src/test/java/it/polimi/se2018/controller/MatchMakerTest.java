@@ -0,0 +1,168 @@
+package it.polimi.se2018.controller;
+
+import it.polimi.se2018.model.Game;
+import it.polimi.se2018.model.events.Action;
+import it.polimi.se2018.model.events.ViewMessage;
+import it.polimi.se2018.utils.MockView;
+import it.polimi.se2018.utils.Observer;
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Unit tests for {@link MatchMaker}.
+ *
+ * @author michelemarzollo
+ */
+public class MatchMakerTest {
+
+    /**
+     * A view that remembers the controller it was linked to.
+     */
+    private static class LinkedView extends MockView {
+
+        private Observer<ViewMessage> controller;
+
+        LinkedView(String playerName) {
+            super(playerName);
+        }
+
+        @Override
+        public synchronized void registerObserver(Observer<ViewMessage> observer) {
+            super.registerObserver(observer);
+            controller = observer;
+        }
+
+        void send(Action action) {
+            controller.update(new ViewMessage(this, action, getPlayerName()));
+        }
+    }
+
+    /**
+     * Creates a match maker whose controllers execute the actions on the calling thread.
+     *
+     * @return the match maker.
+     */
+    private static MatchMaker newMatchMaker() {
+        return new MatchMaker(() -> new MultiPlayerController(new Game(), 100, 100));
+    }
+
+    /**
+     * Links some views to a lobby.
+     *
+     * @param matchMaker the match maker.
+     * @param number     the number of views.
+     * @return the views.
+     */
+    private static List<LinkedView> join(MatchMaker matchMaker, int number) {
+        List<LinkedView> views = new ArrayList<>();
+        for (int i = 0; i < number; i++) {
+            LinkedView view = new LinkedView("Player" + i);
+            matchMaker.makeMultiPlayerMatchFor(view);
+            views.add(view);
+        }
+        return views;
+    }
+
+    /**
+     * Tests that the players fill a lobby before a new one is opened, and that
+     * the lobby is closed when the game is set up.
+     */
+    @Test
+    public void testFillFirst() {
+        MatchMaker matchMaker = newMatchMaker();
+        List<LinkedView> views = join(matchMaker, 5);
+        Assert.assertEquals(1, matchMaker.getOpenLobbies());
+        for (int i = 1; i < 4; i++)
+            Assert.assertSame(views.get(0).controller, views.get(i).controller);
+        Assert.assertNotSame(views.get(0).controller, views.get(4).controller);
+
+        for (int i = 0; i < 4; i++)
+            views.get(i).send(Action.REGISTER_PLAYER);
+        Assert.assertEquals(1, matchMaker.getOpenLobbies());
+        Assert.assertEquals(1, matchMaker.getClosedLobbies());
+        Assert.assertTrue(matchMaker.getMaxWait() >= matchMaker.getAverageWait());
+    }
+
+    /**
+     * Tests that with the spread policy a player joins the lobby with the
+     * fewest players, and that the seat of a player who left is freed.
+     */
+    @Test
+    public void testSpread() {
+        MatchMaker matchMaker = newMatchMaker();
+        List<LinkedView> views = join(matchMaker, 5);
+        views.get(0).send(Action.REGISTER_PLAYER);
+        views.get(0).send(Action.DISCONNECT_PLAYER);
+
+        LinkedView fillFirst = new LinkedView("FillFirst");
+        matchMaker.makeMultiPlayerMatchFor(fillFirst);
+        Assert.assertSame(views.get(0).controller, fillFirst.controller);
+
+        matchMaker.setFillPolicy(MatchMaker.FillPolicy.SPREAD);
+        LinkedView spread = new LinkedView("Spread");
+        matchMaker.makeMultiPlayerMatchFor(spread);
+        Assert.assertSame(views.get(4).controller, spread.controller);
+        Assert.assertEquals(1, matchMaker.getOpenLobbies());
+    }
+
+    /**
+     * Tests that the seat reserved for a view is freed when the view leaves
+     * before registering its player, and only once.
+     */
+    @Test
+    public void testUnregisteredViewLeft() {
+        MatchMaker matchMaker = newMatchMaker();
+        List<LinkedView> views = join(matchMaker, 4);
+        Assert.assertEquals(0, matchMaker.getOpenLobbies());
+
+        views.get(3).send(Action.DISCONNECT_PLAYER);
+        views.get(3).send(Action.DISCONNECT_PLAYER);
+        Assert.assertEquals(1, matchMaker.getOpenLobbies());
+
+        List<LinkedView> others = join(matchMaker, 2);
+        Assert.assertSame(views.get(0).controller, others.get(0).controller);
+        Assert.assertNotSame(views.get(0).controller, others.get(1).controller);
+    }
+
+    /**
+     * Tests that no lobby gets more than four players when the views
+     * are linked concurrently.
+     */
+    @Test
+    public void testConcurrentLinks() throws InterruptedException {
+        MatchMaker matchMaker = newMatchMaker();
+        Map<Observer<ViewMessage>, Integer> players = new ConcurrentHashMap<>();
+        int threads = 8;
+        int views = 500;
+
+        Thread[] linkers = new Thread[threads];
+        for (int t = 0; t < threads; t++) {
+            linkers[t] = new Thread(() -> {
+                for (int i = 0; i < views; i++) {
+                    LinkedView view = new LinkedView("Player");
+                    matchMaker.makeMultiPlayerMatchFor(view);
+                    players.merge(view.controller, 1, Integer::sum);
+                }
+            });
+            linkers[t].start();
+        }
+        for (Thread linker : linkers)
+            linker.join();
+
+        int total = 0;
+        int notFull = 0;
+        for (int count : players.values()) {
+            Assert.assertTrue(count <= 4);
+            total += count;
+            if (count < 4)
+                notFull++;
+        }
+        Assert.assertEquals(threads * views, total);
+        Assert.assertEquals(notFull, matchMaker.getOpenLobbies());
+    }
+}
@@ -12,7 +12,6 @@ import org.junit.Assert;
 import org.junit.Before;
 import org.junit.Test;
 
-import java.util.Random;
 
 public class MoveDiceBehaviourTest {
 
@@ -92,8 +91,8 @@ public class MoveDiceBehaviourTest {
         Assert.assertNull(grid[1][0].getDie());
         Assert.assertNull(grid[1][1].getDie());
 
-        Die yellow6 = new Die(6, new Random(0), Colour.YELLOW);
-        Die red2 = new Die(2, new Random(0), Colour.RED);
+        Die yellow6 = Die.of(6, Colour.YELLOW);
+        Die red2 = Die.of(2, Colour.RED);
         Assert.assertTrue(DieUtils.areEqual(yellow6, grid[1][4].getDie()));
         Assert.assertTrue(DieUtils.areEqual(red2, grid[0][4].getDie()));
     }
@@ -108,7 +107,7 @@ public class MoveDiceBehaviourTest {
      */
     private boolean placeAnotherDie(Player player) {
         Pattern pattern = player.getPattern();
-        Die red2 = new Die(2, new Random(0), Colour.RED);
+        Die red2 = Die.of(2, Colour.RED);
         try {
             pattern = pattern.placeDie(red2, new Coordinates(1, 1));
         } catch (PlacementErrorException e) {
@@ -161,8 +160,8 @@ public class MoveDiceBehaviourTest {
         Assert.assertNull(grid[1][4].getDie());
         Assert.assertNull(grid[3][4].getDie());
 
-        Die yellow6 = new Die(6, new Random(0), Colour.YELLOW);
-        Die red2 = new Die(2, new Random(0), Colour.RED);
+        Die yellow6 = Die.of(6, Colour.YELLOW);
+        Die red2 = Die.of(2, Colour.RED);
         Assert.assertTrue(DieUtils.areEqual(yellow6, grid[1][0].getDie()));
         Assert.assertTrue(DieUtils.areEqual(red2, grid[1][1].getDie()));
     }
@@ -210,8 +209,8 @@ public class MoveDiceBehaviourTest {
         Assert.assertNull(grid[1][4].getDie());
         Assert.assertNull(grid[3][4].getDie());
 
-        Die yellow6 = new Die(6, new Random(0), Colour.YELLOW);
-        Die red2 = new Die(2, new Random(0), Colour.RED);
+        Die yellow6 = Die.of(6, Colour.YELLOW);
+        Die red2 = Die.of(2, Colour.RED);
         Assert.assertTrue(DieUtils.areEqual(yellow6, grid[1][0].getDie()));
         Assert.assertTrue(DieUtils.areEqual(red2, grid[1][1].getDie()));
     }
@@ -257,8 +256,8 @@ public class MoveDiceBehaviourTest {
         Assert.assertNull(grid[1][4].getDie());
         Assert.assertNull(grid[3][4].getDie());
 
-        Die yellow6 = new Die(6, new Random(0), Colour.YELLOW);
-        Die red2 = new Die(2, new Random(0), Colour.RED);
+        Die yellow6 = Die.of(6, Colour.YELLOW);
+        Die red2 = Die.of(2, Colour.RED);
         Assert.assertTrue(DieUtils.areEqual(yellow6, grid[1][0].getDie()));
         Assert.assertTrue(DieUtils.areEqual(red2, grid[1][1].getDie()));
     }
@@ -13,7 +13,6 @@ import org.junit.Test;
 
 import java.util.ArrayList;
 import java.util.List;
-import java.util.Random;
 
 /**
  * Unit tests for MoveSomeDiceBehaviour class.
@@ -65,8 +64,8 @@ public class MoveSomeDiceBehaviourTest {
 
         Assert.assertEquals(0, mockView.getCalledMethods().size());
 
-        Die yellow6 = new Die(6, new Random(0), Colour.YELLOW);
-        Die yellow3 = new Die(3, new Random(0), Colour.YELLOW);
+        Die yellow6 = Die.of(6, Colour.YELLOW);
+        Die yellow3 = Die.of(3, Colour.YELLOW);
 
         Cell[][] grid = player.getPattern().getGrid();
         Assert.assertTrue(DieUtils.areEqual(yellow3, grid[1][0].getDie()));
@@ -106,8 +105,8 @@ public class MoveSomeDiceBehaviourTest {
      */
     private boolean placeSomeDice(Player player) {
         Pattern pattern = player.getPattern();
-        Die red2 = new Die(2, new Random(0), Colour.RED);
-        Die yellow3 = new Die(3, new Random(0), Colour.YELLOW);
+        Die red2 = Die.of(2, Colour.RED);
+        Die yellow3 = Die.of(3, Colour.YELLOW);
         try {
             pattern = pattern.placeDie(red2, new Coordinates(1, 1));
             pattern = pattern.placeDie(yellow3, new Coordinates(2, 2));
@@ -134,10 +133,10 @@ public class MoveSomeDiceBehaviourTest {
      */
     private List<Die> getLeftovers(boolean insertYellow) {
         List<Die> dice = new ArrayList<>();
-        dice.add(new Die(2, new Random(0), Colour.PURPLE));
-        dice.add(new Die(5, new Random(0), Colour.PURPLE));
+        dice.add(Die.of(2, Colour.PURPLE));
+        dice.add(Die.of(5, Colour.PURPLE));
         if (insertYellow)
-            dice.add(new Die(6, new Random(0), Colour.YELLOW));
+            dice.add(Die.of(6, Colour.YELLOW));
         return dice;
     }
 
@@ -224,8 +223,8 @@ public class MoveSomeDiceBehaviourTest {
         boolean isError = mockView.getCalledMethods().get(0).startsWith("showError");
         Assert.assertTrue(isError);
 
-        Die yellow6 = new Die(6, new Random(0), Colour.YELLOW);
-        Die yellow3 = new Die(3, new Random(0), Colour.YELLOW);
+        Die yellow6 = Die.of(6, Colour.YELLOW);
+        Die yellow3 = Die.of(3, Colour.YELLOW);
 
         Cell[][] grid = player.getPattern().getGrid();
         Assert.assertTrue(DieUtils.areEqual(yellow6, grid[1][0].getDie()));
@@ -248,8 +247,8 @@ public class MoveSomeDiceBehaviourTest {
         boolean isError = mockView.getCalledMethods().get(0).startsWith("showError");
         Assert.assertTrue(isError);
 
-        Die yellow6 = new Die(6, new Random(0), Colour.YELLOW);
-        Die yellow3 = new Die(3, new Random(0), Colour.YELLOW);
+        Die yellow6 = Die.of(6, Colour.YELLOW);
+        Die yellow3 = Die.of(3, Colour.YELLOW);
 
         Cell[][] grid = player.getPattern().getGrid();
         Assert.assertTrue(DieUtils.areEqual(yellow6, grid[1][0].getDie()));
@@ -10,7 +10,6 @@ import org.junit.Assert;
 import org.junit.Test;
 import org.xml.sax.SAXException;
 
-import java.util.Random;
 
 import static org.junit.Assert.*;
 
@@ -213,8 +212,8 @@ public class MultiPlayerControllerTest {
         Controller controller = new MultiPlayerController(game, 100, 100);
         //The score calculators in controller are set, but they will give no points
         controller.setPublicScoreCalculators(new PublicObjectiveScore[]{new DiagonalScore(1, true)});
-        Die blue6 = new Die(6, new Random(), Colour.BLUE);
-        Die red5 = new Die(5, new Random(), Colour.RED);
+        Die blue6 = Die.of(6, Colour.BLUE);
+        Die red5 = Die.of(5, Colour.RED);
         Player pippo = game.getPlayers().get(0);
         Player pluto = game.getPlayers().get(1);
         try {
@@ -245,8 +244,8 @@ public class MultiPlayerControllerTest {
         MultiPlayerController controller = new MultiPlayerController(game, 100, 100);
 
 
-        Die blue6 = new Die(6, new Random(), Colour.BLUE);
-        Die red5 = new Die(5, new Random(), Colour.RED);
+        Die blue6 = Die.of(6, Colour.BLUE);
+        Die red5 = Die.of(5, Colour.RED);
         Player pippo = game.getPlayers().get(0);
         Player pluto = game.getPlayers().get(1);
 
@@ -493,4 +492,29 @@ public class MultiPlayerControllerTest {
         assertFalse(player.isConnected());
     }
 
-}
\ No newline at end of file
+    /**
+     * Tests that a view that missed a change receives the whole status
+     * of the game in a single update, and nothing before the game starts.
+     */
+    @Test
+    public void testResync() {
+        Game game = GameUtils.getSetUpGame(true);
+        if (game == null)
+            Assert.fail("Error on game initialization");
+        Controller controller = new MultiPlayerController(game, 100, 100);
+        MockView view = new MockView("Pippo");
+        ViewMessage resync = new ViewMessage(view, Action.RESYNC, "Pippo");
+
+        controller.performAction(resync);
+        assertTrue(view.getCalledMethods().isEmpty());
+
+        game = GameUtils.getStartedGame(true);
+        if (game == null)
+            Assert.fail("Error on game initialization");
+        controller = new MultiPlayerController(game, 100, 100);
+        controller.performAction(resync);
+        assertEquals(1, view.getCalledMethods().size());
+        assertEquals("update: " + ModelEvent.BATCH, view.getCalledMethods().get(0));
+    }
+
+}
@@ -0,0 +1,59 @@
+package it.polimi.se2018.controller;
+
+import it.polimi.se2018.model.PublicObjectiveCard;
+import org.junit.Test;
+
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.Random;
+import java.util.Set;
+
+import static org.junit.Assert.*;
+
+/**
+ * Unit tests for {@link ObjectiveRegistry}.
+ *
+ * @author michelemarzollo
+ */
+public class ObjectiveRegistryTest {
+
+    /**
+     * Checks that the registry contains all the cards of the game, and
+     * that it's built only once.
+     */
+    @Test
+    public void testGetAll() {
+        ObjectiveRegistry registry = ObjectiveRegistry.getInstance();
+        assertSame(registry, ObjectiveRegistry.getInstance());
+        assertEquals(10, registry.size());
+
+        PublicObjectiveElements all = registry.getAll();
+        assertEquals(10, all.getCards().length);
+        assertEquals(10, all.getScoreCalculators().length);
+        assertSame(all.getScoreCalculators()[0], registry.getAll().getScoreCalculators()[0]);
+    }
+
+    /**
+     * Checks that the sampled cards are different and keep their score calculators.
+     */
+    @Test
+    public void testSample() {
+        ObjectiveRegistry registry = ObjectiveRegistry.getInstance();
+        PublicObjectiveElements all = registry.getAll();
+        Random random = new Random(0);
+
+        for (int i = 0; i < 100; i++) {
+            PublicObjectiveElements sample = registry.sample(3, random);
+            Set<Integer> positions = new HashSet<>();
+            for (int j = 0; j < 3; j++) {
+                PublicObjectiveCard card = sample.getCards()[j];
+                int position = Arrays.asList(all.getCards()).indexOf(card);
+                positions.add(position);
+                assertSame(all.getScoreCalculators()[position], sample.getScoreCalculators()[j]);
+            }
+            assertEquals(3, positions.size());
+        }
+
+        assertEquals(10, registry.sample(20).getCards().length);
+    }
+}
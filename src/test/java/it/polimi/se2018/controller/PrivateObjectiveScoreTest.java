@@ -5,7 +5,6 @@ import it.polimi.se2018.utils.GridUtils;
 import org.junit.Assert;
 import org.junit.Test;
 
-import java.util.Random;
 
 public class PrivateObjectiveScoreTest {
 
@@ -17,7 +16,7 @@ public class PrivateObjectiveScoreTest {
     @Test
     public void testSimpleScoreCalculation() {
         Cell[][] grid = GridUtils.getEmptyUnrestrictedGrid(4, 5);
-        Die redDie = new Die(4, new Random(), Colour.RED);
+        Die redDie = Die.of(4, Colour.RED);
 
         try {
             grid[0][0].place(redDie);
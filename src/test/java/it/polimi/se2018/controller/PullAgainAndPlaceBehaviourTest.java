@@ -16,7 +16,6 @@ import org.junit.Assert;
 import org.junit.Test;
 
 import java.util.List;
-import java.util.Random;
 
 /**
  * Unit tests for PullAgainAndPlaceBehaviour class.
@@ -179,7 +178,7 @@ public class PullAgainAndPlaceBehaviourTest {
         game.getDraftPool().setDice(GameUtils.getDice(false));
         //force select red die
         game.getTurnManager().getCurrentTurn().setForcedSelectionIndex(0);
-        Die red2 = new Die(2, new Random(), Colour.RED);
+        Die red2 = Die.of(2, Colour.RED);
 
         ToolCardBehaviourResponse response = behaviour.useToolCard(game, message);
 
@@ -228,7 +227,7 @@ public class PullAgainAndPlaceBehaviourTest {
         game.getDraftPool().setDice(GameUtils.getDice(false));
         //force select red die
         game.getTurnManager().getCurrentTurn().setForcedSelectionIndex(0);
-        Die red2 = new Die(2, new Random(), Colour.RED);
+        Die red2 = Die.of(2, Colour.RED);
 
         ToolCardBehaviourResponse response = behaviour.useToolCard(game, message);
 
@@ -247,4 +246,31 @@ public class PullAgainAndPlaceBehaviourTest {
         Assert.assertEquals(oldDraftPool.size(), newDraftPool.size());
 
     }
+
+    /**
+     * Tests that the same behaviour can be used in two games at the same
+     * time: the step of each game is kept in its current turn.
+     */
+    @Test
+    public void testSharedBehaviour() {
+        MockView mockView = new MockView("Pippo");
+        Game firstGame = GameUtils.getHalfwayGame();
+        Game secondGame = GameUtils.getHalfwayGame();
+        if (firstGame == null || secondGame == null)
+            Assert.fail("Error on game initialization");
+
+        PullAgainAndPlaceBehaviour behaviour = applyFirstStep(firstGame, mockView);
+        Assert.assertEquals(1, firstGame.getTurnManager().getCurrentTurn().getToolCardStep());
+        Assert.assertEquals(0, secondGame.getTurnManager().getCurrentTurn().getToolCardStep());
+
+        //the second game starts from the first step
+        secondGame.getDiceBag().draft(73);
+        ToolCardBehaviourResponse response = behaviour.useToolCard(secondGame,
+                new SelectDie(1, mockView, Action.APPLY_TOOL_CARD, "Pippo"));
+        Assert.assertEquals(ToolCardBehaviourResponse.CONSUME, response);
+
+        //selecting a tool card starts it from the first step
+        firstGame.getTurnManager().getCurrentTurn().setSelectedToolCard(null);
+        Assert.assertEquals(0, firstGame.getTurnManager().getCurrentTurn().getToolCardStep());
+    }
 }
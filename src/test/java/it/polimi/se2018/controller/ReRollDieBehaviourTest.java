@@ -77,9 +77,11 @@ public class ReRollDieBehaviourTest {
         Assert.assertEquals(0, mockView.getCalledMethods().size());
 
         List<Die> expectedDraftPool = GameUtils.getDice(false);
-        Die die = expectedDraftPool.remove(1).roll();
-        expectedDraftPool.add(die);
         List<Die> actualDraftPool = game.getDraftPool().getDice();
+        Die oldDie = expectedDraftPool.remove(1);
+        Die die = actualDraftPool.get(1);
+        Assert.assertEquals(oldDie.getColour(), die.getColour());
+        expectedDraftPool.add(die);
 
         Assert.assertEquals(expectedDraftPool.size(), actualDraftPool.size());
 
@@ -93,28 +95,12 @@ public class ReRollDieBehaviourTest {
             Assert.assertTrue(match);
         }
 
-        int expectedIndex = findIndex(die, actualDraftPool);
+        int expectedIndex = 1;
         int actualIndex = game.getTurnManager().getCurrentTurn().getForcedSelectionIndex();
         Assert.assertEquals(expectedIndex, actualIndex);
 
     }
 
-    /**
-     * Helper function to retrieve the index of a die among a list.
-     *
-     * @param die  The die to look for.
-     * @param dice The list of dice where to search.
-     * @return In case of success, the index of the die is returned, or -1
-     * in the case in which it can't be found.
-     */
-    private int findIndex(Die die, List<Die> dice) {
-        for (int i = 0; i < dice.size(); i++) {
-            if (DieUtils.areEqual(die, dice.get(i)))
-                return i;
-        }
-        return -1;
-    }
-
     /**
      * Tests a case in which the usage of the tool card is unsuccessful because
      * of a bad selection index.
@@ -26,11 +26,11 @@ public class RowVarietyScoreTest {
         Cell[][] grid = GridUtils.getEmptyUnrestrictedGrid(4, 5);
 
         Die[] dice = {
-                new Die(new Random(), Colour.BLUE),
-                new Die(new Random(), Colour.GREEN),
-                new Die(new Random(), Colour.PURPLE),
-                new Die(new Random(), Colour.RED),
-                new Die(new Random(), Colour.YELLOW)
+                Die.random(new Random(), Colour.BLUE),
+                Die.random(new Random(), Colour.GREEN),
+                Die.random(new Random(), Colour.PURPLE),
+                Die.random(new Random(), Colour.RED),
+                Die.random(new Random(), Colour.YELLOW)
         };
 
         for (int row = 0; row < 2; ++row)
@@ -58,11 +58,11 @@ public class RowVarietyScoreTest {
         Cell[][] grid = GridUtils.getEmptyUnrestrictedGrid(4, 5);
 
         Die[] dice = {
-                new Die(new Random(), Colour.BLUE),
-                new Die(new Random(), Colour.GREEN),
-                new Die(new Random(), Colour.PURPLE),
-                new Die(new Random(), Colour.RED),
-                new Die(new Random(), Colour.RED)
+                Die.random(new Random(), Colour.BLUE),
+                Die.random(new Random(), Colour.GREEN),
+                Die.random(new Random(), Colour.PURPLE),
+                Die.random(new Random(), Colour.RED),
+                Die.random(new Random(), Colour.RED)
         };
 
         for (int row = 0; row < 2; ++row)
@@ -89,10 +89,10 @@ public class RowVarietyScoreTest {
         Cell[][] grid = GridUtils.getEmptyUnrestrictedGrid(4, 5);
 
         Die[] dice = {
-                new Die(new Random(), Colour.BLUE),
-                new Die(new Random(), Colour.GREEN),
-                new Die(new Random(), Colour.PURPLE),
-                new Die(new Random(), Colour.RED)
+                Die.random(new Random(), Colour.BLUE),
+                Die.random(new Random(), Colour.GREEN),
+                Die.random(new Random(), Colour.PURPLE),
+                Die.random(new Random(), Colour.RED)
         };
 
         for (int row = 0; row < 2; ++row)
@@ -123,7 +123,7 @@ public class RowVarietyScoreTest {
 
         Die[] dice = new Die[5];
         for (int i = 0; i < dice.length; ++i)
-            dice[i] = new Die(i + 1, new Random(), Colour.YELLOW);
+            dice[i] = Die.of(i + 1, Colour.YELLOW);
 
         for (int row = 0; row < 2; ++row)
             for (int col = 0; col < 5; ++col)
@@ -151,9 +151,9 @@ public class RowVarietyScoreTest {
 
         Die[] dice = new Die[5];
         for (int i = 0; i < dice.length - 1; ++i)
-            dice[i] = new Die(i + 1, new Random(), Colour.YELLOW);
+            dice[i] = Die.of(i + 1, Colour.YELLOW);
 
-        dice[dice.length - 1] = new Die(1, new Random(), Colour.YELLOW);
+        dice[dice.length - 1] = Die.of(1, Colour.YELLOW);
 
         for (int row = 0; row < 2; ++row)
             for (int col = 0; col < 5; ++col)
@@ -180,7 +180,7 @@ public class RowVarietyScoreTest {
 
         Die[] dice = new Die[4];
         for (int i = 0; i < dice.length - 1; ++i)
-            dice[i] = new Die(i + 1, new Random(), Colour.YELLOW);
+            dice[i] = Die.of(i + 1, Colour.YELLOW);
 
         for (int row = 0; row < 2; ++row)
             for (int col = 0; col < 4; ++col)
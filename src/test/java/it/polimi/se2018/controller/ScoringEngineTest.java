@@ -0,0 +1,107 @@
+package it.polimi.se2018.controller;
+
+import it.polimi.se2018.model.*;
+import it.polimi.se2018.utils.GridUtils;
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.util.Random;
+
+/**
+ * Unit tests for {@link ScoringEngine}: the scores calculated on the
+ * {@link BoardProfile} must be the same of the ones calculated on the grid.
+ *
+ * @author michelemarzollo
+ */
+public class ScoringEngineTest {
+
+    /**
+     * The number of random boards checked.
+     */
+    private static final int BOARDS = 2000;
+
+    /**
+     * All the public objectives that can be dealt.
+     */
+    private static final PublicObjectiveScore[] OBJECTIVES = {
+            new RowVarietyScore(6, true),
+            new RowVarietyScore(5, false),
+            new ColumnVarietyScore(5, true),
+            new ColumnVarietyScore(4, false),
+            new DiagonalScore(1, true),
+            new DiagonalScore(1, false),
+            new GridVarietyScore(2, false, new Integer[]{1, 2}),
+            new GridVarietyScore(2, false, new Integer[]{3, 4}),
+            new GridVarietyScore(2, false, new Integer[]{5, 6}),
+            new GridVarietyScore(5, false, new Integer[]{1, 2, 3, 4, 5, 6}),
+            new GridVarietyScore(4, true, Colour.values())
+    };
+
+    /**
+     * Creates a random board: the dice have few colours and values,
+     * so that lines of different dice and diagonals of equal dice are
+     * both frequent.
+     *
+     * @param random the source of randomness.
+     * @return the grid of the board.
+     */
+    private Cell[][] randomGrid(Random random) {
+        Cell[][] grid = GridUtils.getEmptyUnrestrictedGrid(Pattern.ROWS, Pattern.COLS);
+        int colours = 2 + random.nextInt(Colour.values().length - 1);
+        int values = 2 + random.nextInt(5);
+        int density = random.nextInt(11);
+        for (Cell[] row : grid) {
+            for (Cell cell : row) {
+                if (random.nextInt(10) < density) {
+                    try {
+                        cell.place(Die.of(1 + random.nextInt(values),
+                                Colour.values()[random.nextInt(colours)]));
+                    } catch (PlacementErrorException e) {
+                        Assert.fail("PlacementErrorException has occurred: " + e.getMessage());
+                    }
+                }
+            }
+        }
+        return grid;
+    }
+
+    /**
+     * Checks on random boards that every objective gives the same score
+     * on the grid and on the profile.
+     */
+    @Test
+    public void testSameScores() {
+        Random random = new Random(42);
+        for (int i = 0; i < BOARDS; i++) {
+            Cell[][] grid = randomGrid(random);
+            Pattern pattern = new Pattern("Random", 4, grid);
+            BoardProfile profile = ScoringEngine.profile(pattern);
+
+            for (PublicObjectiveScore objective : OBJECTIVES)
+                Assert.assertEquals(objective.getScore(grid), objective.getScore(profile));
+            for (Colour colour : Colour.values()) {
+                int expected = PrivateObjectiveScore.getInstance().getScore(grid, colour);
+                Assert.assertEquals(expected, PrivateObjectiveScore.getInstance().getScore(profile, colour));
+            }
+        }
+    }
+
+    /**
+     * Checks that the engine adds the scores of all the public objectives
+     * and of the private objective.
+     */
+    @Test
+    public void testTotalScore() {
+        Random random = new Random(7);
+        ScoringEngine engine = new ScoringEngine(OBJECTIVES);
+        for (int i = 0; i < BOARDS / 10; i++) {
+            Cell[][] grid = randomGrid(random);
+            Colour colour = Colour.values()[random.nextInt(Colour.values().length)];
+            int expected = PrivateObjectiveScore.getInstance().getScore(grid, colour);
+            for (PublicObjectiveScore objective : OBJECTIVES)
+                expected += objective.getScore(grid);
+
+            Assert.assertEquals(expected, engine.getScore(new Pattern("Random", 4, grid), colour));
+        }
+    }
+}
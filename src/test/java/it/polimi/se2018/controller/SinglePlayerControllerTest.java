@@ -363,10 +363,10 @@ public class SinglePlayerControllerTest {
         game.setToolCards(toolCards);
 
         List<Die> dice = new ArrayList<>(Arrays.asList(
-                new Die(4, new Random(), Colour.YELLOW),
-                new Die(5, new Random(), Colour.RED),
-                new Die(3, new Random(), Colour.BLUE),
-                new Die(6, new Random(), Colour.PURPLE)));
+                Die.of(4, Colour.YELLOW),
+                Die.of(5, Colour.RED),
+                Die.of(3, Colour.BLUE),
+                Die.of(6, Colour.PURPLE)));
 
         game.getDraftPool().setDice(dice);
         Controller controller = new SinglePlayerController(game, 100);
@@ -395,10 +395,10 @@ public class SinglePlayerControllerTest {
         game.setToolCards(toolCards);
 
         List<Die> dice = new ArrayList<>(Arrays.asList(
-                new Die(4, new Random(), Colour.YELLOW),
-                new Die(5, new Random(), Colour.RED),
-                new Die(3, new Random(), Colour.BLUE),
-                new Die(6, new Random(), Colour.PURPLE)));
+                Die.of(4, Colour.YELLOW),
+                Die.of(5, Colour.RED),
+                Die.of(3, Colour.BLUE),
+                Die.of(6, Colour.PURPLE)));
 
         game.getDraftPool().setDice(dice);
         toolCards[0].use();
@@ -429,10 +429,10 @@ public class SinglePlayerControllerTest {
         game.setToolCards(toolCards);
 
         List<Die> dice = new ArrayList<>(Arrays.asList(
-                new Die(4, new Random(), Colour.YELLOW),
-                new Die(5, new Random(), Colour.RED),
-                new Die(3, new Random(), Colour.BLUE),
-                new Die(6, new Random(), Colour.PURPLE)));
+                Die.of(4, Colour.YELLOW),
+                Die.of(5, Colour.RED),
+                Die.of(3, Colour.BLUE),
+                Die.of(6, Colour.PURPLE)));
 
         game.getDraftPool().setDice(dice);
 
@@ -499,10 +499,10 @@ public class SinglePlayerControllerTest {
         game.setToolCards(toolCards);
 
         List<Die> dice = new ArrayList<>(Arrays.asList(
-                new Die(4, new Random(), Colour.YELLOW),
-                new Die(5, new Random(), Colour.RED),
-                new Die(3, new Random(), Colour.BLUE),
-                new Die(6, new Random(), Colour.PURPLE)));
+                Die.of(4, Colour.YELLOW),
+                Die.of(5, Colour.RED),
+                Die.of(3, Colour.BLUE),
+                Die.of(6, Colour.PURPLE)));
         game.getDraftPool().setDice(dice);
         game.getTurnManager().getCurrentTurn().setSacrificeIndex(3);
 
@@ -511,11 +511,11 @@ public class SinglePlayerControllerTest {
         IncrementDieValue msg = new IncrementDieValue(2, true, view, Action.APPLY_TOOL_CARD, playerName);
         controller.consumeResources(msg);
 
-        Die removedDie = new Die(6, new Random(), Colour.PURPLE);
+        Die removedDie = Die.of(6, Colour.PURPLE);
         List<Die> dice2 = new ArrayList<>(Arrays.asList(
-                new Die(4, new Random(), Colour.YELLOW),
-                new Die(5, new Random(), Colour.RED),
-                new Die(3, new Random(), Colour.BLUE)));
+                Die.of(4, Colour.YELLOW),
+                Die.of(5, Colour.RED),
+                Die.of(3, Colour.BLUE)));
 
         assertEquals(3, game.getDraftPool().getDice().size());
         assertFalse(game.getDraftPool().getDice().contains(removedDie));
@@ -15,7 +15,6 @@ import org.junit.Test;
 
 import java.util.ArrayList;
 import java.util.List;
-import java.util.Random;
 
 /**
  * Unit tests for SwapDiceBehaviour class.
@@ -144,13 +143,13 @@ public class SwapDiceBehaviourTest {
         }
 
         Assert.assertTrue(DieUtils.areEqual(
-                new Die(4, new Random(), Colour.PURPLE),
+                Die.of(4, Colour.PURPLE),
                 newDraftPool.get(0)));
 
         List<Die> roundOneLeftovers = game.getRoundTrack().getLeftovers().get(0);
         List<Die> expectedRoundLeftovers = new ArrayList<>();
         expectedRoundLeftovers.add(swappedDie);
-        expectedRoundLeftovers.add(new Die(1, new Random(0), Colour.PURPLE));
+        expectedRoundLeftovers.add(Die.of(1, Colour.PURPLE));
 
         for (Die die : expectedRoundLeftovers) {
             boolean match = false;
@@ -174,8 +173,8 @@ public class SwapDiceBehaviourTest {
      */
     private List<Die> getRoundOneLeftovers() {
         List<Die> dice = new ArrayList<>();
-        dice.add(new Die(4, new Random(0), Colour.PURPLE));
-        dice.add(new Die(1, new Random(0), Colour.PURPLE));
+        dice.add(Die.of(4, Colour.PURPLE));
+        dice.add(Die.of(1, Colour.PURPLE));
         return dice;
     }
 
@@ -0,0 +1,42 @@
+package it.polimi.se2018.controller;
+
+import it.polimi.se2018.model.ToolCard;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+import org.xml.sax.SAXException;
+
+/**
+ * Unit tests for {@link ToolCardType}.
+ *
+ * @author michelemarzollo
+ */
+public class ToolCardTypeTest {
+
+    @Before
+    public void setUp() {
+        ToolCardFactory.reset();
+    }
+
+    /**
+     * Tests that each tool card loaded from the xml files has a type.
+     */
+    @Test
+    public void testAllCardsHaveAType() throws SAXException {
+        new XmlToolCardLoader().createToolCardFactory();
+        ToolCard[] toolCards = ToolCardFactory.getInstance().newInstances(ToolCardType.values().length);
+        for (ToolCard toolCard : toolCards) {
+            ToolCardType type = ToolCardType.fromName(toolCard.getName());
+            Assert.assertNotNull(toolCard.getName(), type);
+            Assert.assertEquals(toolCard.getName(), type.getName());
+        }
+    }
+
+    /**
+     * Tests that an unknown name has no type.
+     */
+    @Test
+    public void testUnknownName() {
+        Assert.assertNull(ToolCardType.fromName("Fake Card"));
+    }
+}
@@ -0,0 +1,173 @@
+package it.polimi.se2018.controller;
+
+import it.polimi.se2018.model.*;
+import it.polimi.se2018.utils.GridUtils;
+
+import java.util.Arrays;
+import java.util.Random;
+
+/**
+ * A micro benchmark of the variety objectives: it compares the table-driven
+ * {@link RowVarietyScore}, {@link ColumnVarietyScore} and {@link GridVarietyScore}
+ * with the previous implementation, which boxed the properties of the dice
+ * and compared them pairwise with {@code equals}.
+ * <p>It's not run with the tests: launch it with
+ * {@code java -cp <test and main classes> it.polimi.se2018.controller.VarietyScoreBenchmark}.
+ * Before timing, it checks that the two implementations give the same scores.</p>
+ *
+ * @author michelemarzollo
+ */
+public class VarietyScoreBenchmark {
+
+    /**
+     * The number of random boards.
+     */
+    private static final int BOARDS = 1024;
+
+    /**
+     * The number of times each board is scored in a round.
+     */
+    private static final int ROUNDS = 200;
+
+    /**
+     * The property of the dice, boxed as in the previous implementation.
+     *
+     * @param die              the die.
+     * @param propertyIsColour the property.
+     * @return the colour or the value of the die.
+     */
+    private static Object property(Die die, boolean propertyIsColour) {
+        return propertyIsColour ? die.getColour() : (Object) die.getValue();
+    }
+
+    /**
+     * The previous check of a line, with the pairwise comparison of the dice.
+     *
+     * @param cells            the line.
+     * @param propertyIsColour the property.
+     * @return {@code true} if the dice of the line are all different.
+     */
+    private static boolean allDifferent(Cell[] cells, boolean propertyIsColour) {
+        for (int i = 0; i < cells.length - 1; i++) {
+            for (int j = i + 1; j < cells.length; j++) {
+                Die die1 = cells[i].getDie();
+                Die die2 = cells[j].getDie();
+                if (die1 == null || die2 == null ||
+                        property(die1, propertyIsColour).equals(property(die2, propertyIsColour)))
+                    return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * The previous score of the rows and of the columns, with 1 point for each line.
+     *
+     * @param grid             the grid.
+     * @param propertyIsColour the property.
+     * @return the number of lines with all different dice.
+     */
+    private static int lines(Cell[][] grid, boolean propertyIsColour) {
+        int lines = 0;
+        for (Cell[] row : grid) {
+            if (allDifferent(row, propertyIsColour))
+                lines++;
+        }
+        Cell[] column = new Cell[grid.length];
+        for (int col = 0; col < grid[0].length; col++) {
+            for (int row = 0; row < grid.length; row++)
+                column[row] = grid[row][col];
+            if (allDifferent(column, propertyIsColour))
+                lines++;
+        }
+        return lines;
+    }
+
+    /**
+     * The previous score of a set of elements, with 1 point for each occurrence.
+     *
+     * @param grid             the grid.
+     * @param propertyIsColour the property.
+     * @param elements         the elements of the set.
+     * @return the number of complete occurrences of the set.
+     */
+    private static int sets(Cell[][] grid, boolean propertyIsColour, Object[] elements) {
+        int[] occurrences = new int[elements.length];
+        for (Cell[] row : grid) {
+            for (Cell cell : row) {
+                for (int i = 0; i < elements.length; i++)
+                    if (cell.getDie() != null && property(cell.getDie(), propertyIsColour).equals(elements[i]))
+                        occurrences[i]++;
+            }
+        }
+        Arrays.sort(occurrences);
+        return occurrences[0];
+    }
+
+    /**
+     * Runs the benchmark.
+     *
+     * @param args not used.
+     */
+    public static void main(String[] args) {
+        Random random = new Random(1);
+        Cell[][][] grids = new Cell[BOARDS][][];
+        for (int i = 0; i < BOARDS; i++) {
+            grids[i] = GridUtils.getEmptyUnrestrictedGrid(Pattern.ROWS, Pattern.COLS);
+            for (Cell[] row : grids[i]) {
+                for (Cell cell : row) {
+                    if (random.nextInt(10) == 0)
+                        continue;
+                    try {
+                        cell.place(Die.random(random, Colour.values()[random.nextInt(Colour.values().length)]));
+                    } catch (PlacementErrorException e) {
+                        throw new IllegalStateException(e);
+                    }
+                }
+            }
+        }
+
+        Integer[] shades = {1, 2, 3, 4, 5, 6};
+        Object[] colours = Colour.values();
+        PublicObjectiveScore[] objectives = {
+                new RowVarietyScore(1, true), new ColumnVarietyScore(1, true),
+                new RowVarietyScore(1, false), new ColumnVarietyScore(1, false),
+                new GridVarietyScore(1, false, shades), new GridVarietyScore(1, true, colours)
+        };
+
+        int expected = 0;
+        int actual = 0;
+        for (Cell[][] grid : grids) {
+            expected += lines(grid, true) + lines(grid, false)
+                    + sets(grid, false, shades) + sets(grid, true, colours);
+            for (PublicObjectiveScore objective : objectives)
+                actual += objective.getScore(grid);
+        }
+        if (expected != actual)
+            throw new IllegalStateException("Different scores: " + expected + " and " + actual);
+
+        for (int round = 0; round < 5; round++) {
+            long start = System.nanoTime();
+            int sink = 0;
+            for (int n = 0; n < ROUNDS; n++) {
+                for (Cell[][] grid : grids)
+                    sink += lines(grid, true) + lines(grid, false)
+                            + sets(grid, false, shades) + sets(grid, true, colours);
+            }
+            long previous = System.nanoTime() - start;
+
+            start = System.nanoTime();
+            for (int n = 0; n < ROUNDS; n++) {
+                for (Cell[][] grid : grids) {
+                    for (PublicObjectiveScore objective : objectives)
+                        sink -= objective.getScore(grid);
+                }
+            }
+            long current = System.nanoTime() - start;
+
+            System.out.printf("round %d: previous %.1f ns/board, table-driven %.1f ns/board, speedup %.2fx (%d)%n",
+                    round, (double) previous / (ROUNDS * BOARDS), (double) current / (ROUNDS * BOARDS),
+                    (double) previous / current, sink);
+        }
+    }
+}
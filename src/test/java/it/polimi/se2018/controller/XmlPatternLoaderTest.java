@@ -123,4 +123,25 @@ public class XmlPatternLoaderTest {
             Assert.fail(e.getMessage());
         }
     }
+
+    /**
+     * Checks that the patterns loaded by different loaders share the
+     * same template but not the placed dice.
+     */
+    @Test
+    public void testSharedTemplate() {
+        String listPath = "it/polimi/se2018/model/patternSources/duomo/";
+
+        try {
+            Pattern first = new XmlPatternLoader(listPath, "duomo.list").load(1)[0];
+            Pattern second = new XmlPatternLoader(listPath, "duomo.list").load(1)[0];
+
+            Assert.assertNotSame(first, second);
+            Assert.assertSame(first.getTemplate(), second.getTemplate());
+            Assert.assertEquals(first.getTemplate().getName(), first.getName());
+            Assert.assertEquals(first.emptyCells(), Pattern.ROWS * Pattern.COLS);
+        } catch (SAXException e) {
+            Assert.fail(e.getMessage());
+        }
+    }
 }
@@ -2,7 +2,6 @@ package it.polimi.se2018.model;
 
 import org.junit.Test;
 
-import java.util.Random;
 
 import static org.junit.Assert.*;
 
@@ -65,7 +64,7 @@ public class CellTest {
      */
     @Test
     public void testPlaceOccupied() {
-        Die die1 = new Die(5, new Random(), Colour.BLUE);
+        Die die1 = Die.of(5, Colour.BLUE);
         Cell cell = new Cell();
         //Puts the first die in the cell
         try {
@@ -75,7 +74,7 @@ public class CellTest {
         }
 
         //Tries to put a second die
-        Die die2 = new Die(5, new Random(), Colour.BLUE);
+        Die die2 = Die.of(5, Colour.BLUE);
         try {
             cell.place(die2);
             fail();
@@ -92,7 +91,7 @@ public class CellTest {
      */
     @Test
     public void testPlaceValueRestriction() {
-        Die die = new Die(6, new Random(), Colour.GREEN);
+        Die die = Die.of(6, Colour.GREEN);
         Cell cell = new Cell(5);
         try {
             cell.place(die);
@@ -110,7 +109,7 @@ public class CellTest {
      */
     @Test
     public void testPlaceColourRestriction() {
-        Die die = new Die(3, new Random(), Colour.GREEN);
+        Die die = Die.of(3, Colour.GREEN);
         Cell cell = new Cell(Colour.PURPLE);
         try {
             cell.place(die);
@@ -127,7 +126,7 @@ public class CellTest {
      */
     @Test
     public void testPositivePlaceNoRestriction() {
-        Die die = new Die(2, new Random(), Colour.PURPLE);
+        Die die = Die.of(2, Colour.PURPLE);
         Cell cell = new Cell();
         try {
             cell.place(die);
@@ -145,7 +144,7 @@ public class CellTest {
      */
     @Test
     public void testPositivePlaceColourRestriction() {
-        Die die = new Die(3, new Random(), Colour.PURPLE);
+        Die die = Die.of(3, Colour.PURPLE);
         Cell cell = new Cell(Colour.PURPLE);
         try {
             cell.place(die);
@@ -163,7 +162,7 @@ public class CellTest {
      */
     @Test
     public void testPositivePlaceValueRestriction() {
-        Die die = new Die(3, new Random(), Colour.PURPLE);
+        Die die = Die.of(3, Colour.PURPLE);
         Cell cell = new Cell(3);
         try {
             cell.place(die);
@@ -182,7 +181,7 @@ public class CellTest {
     public void testRemove() {
         //Creation of a cell, with a die on it
         Cell cell = new Cell();
-        Die die = new Die(2, new Random(), Colour.RED);
+        Die die = Die.of(2, Colour.RED);
         try {
             cell.place(die);
         } catch (PlacementErrorException e) {
@@ -195,7 +194,7 @@ public class CellTest {
 
     @Test
     public void testLoosePlaceSuccess(){
-        Die die = new Die(3, new Random(), Colour.PURPLE);
+        Die die = Die.of(3, Colour.PURPLE);
         Cell cell = new Cell(3);
         try {
             cell.place(die, Restriction.ONLY_COLOUR);
@@ -207,7 +206,7 @@ public class CellTest {
 
     @Test
     public void testLoosePlaceFailure(){
-        Die die = new Die(3, new Random(), Colour.PURPLE);
+        Die die = Die.of(3, Colour.PURPLE);
         Cell cell = new Cell(3);
         try {
             cell.place(die, Restriction.ONLY_VALUE);
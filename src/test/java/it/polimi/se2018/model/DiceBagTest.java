@@ -3,8 +3,8 @@ package it.polimi.se2018.model;
 import org.junit.Before;
 import org.junit.Test;
 
+import java.util.ArrayList;
 import java.util.List;
-import java.util.Random;
 
 import static org.junit.Assert.*;
 
@@ -47,7 +47,7 @@ public class DiceBagTest {
     @Test
     public void testPushBack() {
         bag.draft(90);
-        Die die = new Die(4, new Random(), Colour.GREEN);
+        Die die = Die.of(4, Colour.GREEN);
         bag.pushBack(die);
         List<Die> list1 = bag.draft(1);
         assertEquals(die, list1.get(0));
@@ -90,4 +90,46 @@ public class DiceBagTest {
             assertTrue(true);
         }
     }
-}
\ No newline at end of file
+
+    /**
+     * Checks that the dice bag contains 18 dice for each colour.
+     */
+    @Test
+    public void testColours() {
+        int[] counts = new int[Colour.values().length];
+        for (Die die : bag.draft(90))
+            counts[die.getColour().ordinal()]++;
+        for (int count : counts)
+            assertEquals(18, count);
+        assertEquals(0, bag.size());
+    }
+
+    /**
+     * Tests the method {@code draft()} that adds the dice to a list:
+     * the dice are appended and the size of the bag is updated.
+     */
+    @Test
+    public void testBulkDraft() {
+        List<Die> out = new ArrayList<>();
+        out.add(Die.of(1, Colour.RED));
+        bag.draft(5, out);
+        assertEquals(6, out.size());
+        assertSame(Die.of(1, Colour.RED), out.get(0));
+        assertEquals(85, bag.size());
+
+        //the returned dice are drafted together with the others
+        bag.pushBack(Die.of(2, Colour.BLUE));
+        bag.pushBack(Die.of(3, Colour.BLUE));
+        assertEquals(87, bag.size());
+        out.clear();
+        bag.draft(87, out);
+        assertTrue(out.contains(Die.of(2, Colour.BLUE)));
+        assertTrue(out.contains(Die.of(3, Colour.BLUE)));
+        try {
+            bag.draft(1, out);
+            fail();
+        } catch (IllegalArgumentException e) {
+            assertEquals(87, out.size());
+        }
+    }
+}
@@ -2,8 +2,13 @@ package it.polimi.se2018.model;
 
 import org.junit.Test;
 
-import java.util.Objects;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
+import java.util.HashSet;
 import java.util.Random;
+import java.util.Set;
 
 import static org.junit.Assert.*;
 
@@ -21,7 +26,7 @@ public class DieTest {
     @Test
     public void testFailedConstructor() {
         try {
-            new Die(0, new Random(), Colour.RED);
+            Die.of(0, Colour.RED);
             fail();
         } catch (DieValueException e) {
             assertTrue(true);
@@ -35,7 +40,7 @@ public class DieTest {
     @Test
     public void testFailedConstructor2() {
         try {
-            new Die(7, new Random(), Colour.RED);
+            Die.of(7, Colour.RED);
             fail();
         } catch (DieValueException e) {
             assertTrue(true);
@@ -48,11 +53,60 @@ public class DieTest {
      */
     @Test
     public void testRoll() {
-        Die d1 = new Die(new Random(), Colour.GREEN);
-        Die d2 = d1.roll();
+        Die d1 = Die.random(new Random(), Colour.GREEN);
+        Die d2 = d1.roll(new Random());
         assertEquals(d2.getColour(), d1.getColour());
     }
 
+    /**
+     * Checks that the value of a rolled die only depends on the random
+     * number generator passed by the caller.
+     */
+    @Test
+    public void testRollUsesCallerRandom() {
+        Die d1 = Die.of(1, Colour.BLUE);
+        int expectedValue = new Random(0).nextInt(6) + 1;
+        assertEquals(expectedValue, d1.roll(new Random(0)).getValue());
+        assertSame(Die.of(expectedValue, Colour.BLUE), Die.random(new Random(0), Colour.BLUE));
+    }
+
+    /**
+     * Checks that the factory methods and the methods that alter a die
+     * return the shared instances.
+     */
+    @Test
+    public void testSharedInstances() {
+        for (Colour colour : Colour.values()) {
+            for (int value = 1; value <= 6; ++value) {
+                Die die = Die.of(value, colour);
+                assertSame(die, Die.of(value, colour));
+                assertEquals(value, die.getValue());
+                assertEquals(colour, die.getColour());
+                assertSame(Die.of(7 - value, colour), die.flip());
+            }
+        }
+        assertSame(Die.of(5, Colour.RED), Die.of(4, Colour.RED).increase());
+        assertSame(Die.of(3, Colour.RED), Die.of(4, Colour.RED).decrease());
+        assertNotEquals(Die.of(4, Colour.RED), Die.of(4, Colour.BLUE));
+    }
+
+    /**
+     * Checks that a deserialized die is replaced by the shared instance.
+     *
+     * @throws Exception if the serialization fails.
+     */
+    @Test
+    public void testDeserializationResolvesSharedInstance() throws Exception {
+        Die die = Die.of(2, Colour.PURPLE);
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        try (ObjectOutputStream out = new ObjectOutputStream(bytes)) {
+            out.writeObject(die);
+        }
+        try (ObjectInputStream in = new ObjectInputStream(new ByteArrayInputStream(bytes.toByteArray()))) {
+            assertSame(die, in.readObject());
+        }
+    }
+
     /**
      * Tests the method {@code flip()}: when a die d is flipped the new die must have
      * a value equal to {@code 7-d.getValue()} and the colour mustn't change.
@@ -60,7 +114,7 @@ public class DieTest {
      */
     @Test
     public void testFlip() {
-        Die d1 = new Die(new Random(), Colour.GREEN);
+        Die d1 = Die.random(new Random(), Colour.GREEN);
         Die d2 = d1.flip();
         assertTrue(d1.getValue() == 7 - d2.getValue() && d1.getColour() == d2.getColour());
     }
@@ -70,7 +124,7 @@ public class DieTest {
      */
     @Test
     public void testDecrease() {
-        Die d1 = new Die(4, new Random(), Colour.GREEN);
+        Die d1 = Die.of(4, Colour.GREEN);
         Die d2 = d1.decrease();
         assertTrue(d2.getValue() == 3 && d1.getColour() == d2.getColour());
     }
@@ -81,7 +135,7 @@ public class DieTest {
      */
     @Test
     public void testInvalidDecrease() {
-        Die d1 = new Die(1, new Random(), Colour.GREEN);
+        Die d1 = Die.of(1, Colour.GREEN);
         try {
             d1.decrease();
             fail();
@@ -95,7 +149,7 @@ public class DieTest {
      */
     @Test
     public void testIncrease() {
-        Die d1 = new Die(4, new Random(), Colour.GREEN);
+        Die d1 = Die.of(4, Colour.GREEN);
         Die d2 = d1.increase();
         assertTrue(d2.getValue() == 5 && d1.getColour() == d2.getColour());
     }
@@ -106,7 +160,7 @@ public class DieTest {
      */
     @Test
     public void testInvalidIncrease() {
-        Die d1 = new Die(6, new Random(), Colour.GREEN);
+        Die d1 = Die.of(6, Colour.GREEN);
         try {
             d1.increase();
             fail();
@@ -116,13 +170,17 @@ public class DieTest {
     }
 
     /**
-     * Tests the method {@code hashCode()}.
+     * Tests the method {@code hashCode()}: each of the 30 dice
+     * must have a different hash code.
      */
     @Test
     public void testHashCode(){
-        Die die = new Die(3, new Random(), Colour.YELLOW);
-        int hashCode = Objects.hash(die.getValue(), die.getColour());
-        assertEquals(hashCode, die.hashCode());
+        Set<Integer> hashCodes = new HashSet<>();
+        for (Colour colour : Colour.values())
+            for (int value = 1; value <= 6; ++value)
+                hashCodes.add(Die.of(value, colour).hashCode());
+        assertEquals(30, hashCodes.size());
+        assertEquals(Die.of(3, Colour.YELLOW).hashCode(), Die.of(3, Colour.YELLOW).hashCode());
     }
 
 }
\ No newline at end of file
@@ -0,0 +1,100 @@
+package it.polimi.se2018.model;
+
+import org.junit.Before;
+import org.junit.Test;
+
+import java.util.Arrays;
+import java.util.List;
+
+import static org.junit.Assert.*;
+
+/**
+ * The class to test the class {@link DraftPool}.
+ */
+public class DraftPoolTest {
+
+    /**
+     * The DraftPool that will be used for all tests.
+     */
+    private DraftPool draftPool;
+
+    /**
+     * Initialization of the draft pool with three dice.
+     */
+    @Before
+    public void setUp() {
+        draftPool = new DraftPool(new Game());
+        draftPool.setDice(Arrays.asList(
+                Die.of(1, Colour.RED),
+                Die.of(2, Colour.BLUE),
+                Die.of(3, Colour.GREEN)));
+    }
+
+    /**
+     * Checks that drafting a die doesn't change the slot of the others.
+     */
+    @Test
+    public void testDraftKeepsSlots() {
+        draftPool.draft(0);
+        assertEquals(2, draftPool.size());
+        assertEquals(Die.of(2, Colour.BLUE), draftPool.get(1));
+        assertEquals(Die.of(3, Colour.GREEN), draftPool.get(2));
+        assertEquals(Arrays.asList(Die.of(2, Colour.BLUE), Die.of(3, Colour.GREEN)),
+                draftPool.getDice());
+        assertEquals(Arrays.asList(null, Die.of(2, Colour.BLUE), Die.of(3, Colour.GREEN)),
+                draftPool.getSlots());
+    }
+
+    /**
+     * Checks that an empty slot or a slot out of range can't be selected.
+     */
+    @Test
+    public void testInvalidSlots() {
+        draftPool.draft(1);
+        try {
+            draftPool.get(1);
+            fail();
+        } catch (IndexOutOfBoundsException e) {
+            assertTrue(true);
+        }
+        try {
+            draftPool.draft(1);
+            fail();
+        } catch (IndexOutOfBoundsException e) {
+            assertEquals(2, draftPool.size());
+        }
+        try {
+            draftPool.get(3);
+            fail();
+        } catch (IndexOutOfBoundsException e) {
+            assertTrue(true);
+        }
+    }
+
+    /**
+     * Tests the methods that replace the dice in their slots.
+     */
+    @Test
+    public void testReplace() {
+        draftPool.draft(0);
+        assertEquals(Die.of(2, Colour.BLUE), draftPool.replace(1, Die.of(6, Colour.BLUE)));
+        assertEquals(Die.of(6, Colour.BLUE), draftPool.get(1));
+
+        draftPool.replaceAll(Die::flip);
+        List<Die> slots = draftPool.getSlots();
+        assertNull(slots.get(0));
+        assertEquals(Die.of(1, Colour.BLUE), slots.get(1));
+        assertEquals(Die.of(4, Colour.GREEN), slots.get(2));
+    }
+
+    /**
+     * Checks that the lists returned don't expose the rep.
+     */
+    @Test
+    public void testNoRepExposure() {
+        draftPool.getDice().clear();
+        draftPool.getSlots().clear();
+        assertEquals(3, draftPool.size());
+        assertEquals(Die.of(1, Colour.RED), draftPool.get(0));
+    }
+}
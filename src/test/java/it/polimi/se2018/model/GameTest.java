@@ -0,0 +1,59 @@
+package it.polimi.se2018.model;
+
+import org.junit.Before;
+import org.junit.Test;
+
+import static org.junit.Assert.*;
+
+/**
+ * The class to test the registry of the players of {@link Game}.
+ */
+public class GameTest {
+
+    /**
+     * The game used in the tests.
+     */
+    private Game game;
+
+    /**
+     * Initialization of the game with three players.
+     */
+    @Before
+    public void setUp() {
+        game = new Game();
+        game.addPlayer(new Player("Pippo"));
+        game.addPlayer(new Player("Pluto"));
+        game.addPlayer(new Player("Paperino"));
+    }
+
+    /**
+     * Checks that the players can be found by name and by seat.
+     */
+    @Test
+    public void testFindPlayer() {
+        Player pluto = game.findPlayer("Pluto").orElseThrow(AssertionError::new);
+        assertEquals(1, pluto.getSeat());
+        assertSame(pluto, game.getPlayerAt(1));
+        assertFalse(game.findPlayer("Topolino").isPresent());
+        assertEquals(-1, new Player("Topolino").getSeat());
+    }
+
+    /**
+     * Checks that the seat of a removed player is given to the next one
+     * and that the other players keep their seat.
+     */
+    @Test
+    public void testSeatReuse() {
+        Player pluto = game.findPlayer("Pluto").orElseThrow(AssertionError::new);
+        game.removePlayer(pluto);
+        assertFalse(game.findPlayer("Pluto").isPresent());
+        assertNull(game.getPlayerAt(1));
+        assertEquals(2, game.findPlayer("Paperino").orElseThrow(AssertionError::new).getSeat());
+
+        Player topolino = new Player("Topolino");
+        game.addPlayer(topolino);
+        assertEquals(1, topolino.getSeat());
+        assertSame(topolino, game.getPlayerAt(1));
+        assertEquals(3, game.getPlayers().size());
+    }
+}
@@ -119,7 +119,7 @@ public class PatternTest {
     @Test
     public void testPlaceDieNotOnBorder() {
 
-        Die d1 = new Die(3, new Random(), Colour.GREEN);
+        Die d1 = Die.of(3, Colour.GREEN);
 
         try {
             sunCatcher.placeDie(d1, new Coordinates(2, 1));
@@ -138,7 +138,7 @@ public class PatternTest {
     @Test
     public void testPlaceDieOutOfBound() {
 
-        Die d1 = new Die(3, new Random(), Colour.GREEN);
+        Die d1 = Die.of(3, Colour.GREEN);
 
         try {
             sunCatcher.placeDie(d1, new Coordinates(50, 50));
@@ -159,7 +159,7 @@ public class PatternTest {
     @Test
     public void testPlaceDieOnBorder() {
 
-        Die d1 = new Die(2, new Random(), Colour.GREEN);
+        Die d1 = Die.of(2, Colour.GREEN);
         Coordinates c = new Coordinates(0, 2);
 
         try {
@@ -185,8 +185,8 @@ public class PatternTest {
     @Test
     public void testPlaceDieAdjacentFail() {
 
-        Die d1 = new Die(3, new Random(), Colour.GREEN);
-        Die d2 = new Die(4, new Random(), Colour.RED);
+        Die d1 = Die.of(3, Colour.GREEN);
+        Die d2 = Die.of(4, Colour.RED);
 
         try {
             sunCatcher = sunCatcher.placeDie(d1, new Coordinates(3, 2));
@@ -214,8 +214,8 @@ public class PatternTest {
     @Test
     public void testPlaceDieAdjacentSuccessful() {
 
-        Die d1 = new Die(3, new Random(), Colour.GREEN);
-        Die d2 = new Die(4, new Random(), Colour.RED);
+        Die d1 = Die.of(3, Colour.GREEN);
+        Die d2 = Die.of(4, Colour.RED);
 
         Coordinates c1 = new Coordinates(3, 2);
         Coordinates c2 = new Coordinates(2, 1);
@@ -248,8 +248,8 @@ public class PatternTest {
     @Test
     public void testPlaceDieColourRestrictionFail() {
 
-        Die d1 = new Die(3, new Random(), Colour.GREEN);
-        Die d2 = new Die(4, new Random(), Colour.GREEN);
+        Die d1 = Die.of(3, Colour.GREEN);
+        Die d2 = Die.of(4, Colour.GREEN);
 
         try {
             sunCatcher = sunCatcher.placeDie(d1, new Coordinates(2, 0));
@@ -278,8 +278,8 @@ public class PatternTest {
     @Test
     public void testPlaceDieColourRestrictionSuccessful() {
 
-        Die d1 = new Die(4, new Random(), Colour.GREEN);
-        Die d2 = new Die(2, new Random(), Colour.RED);
+        Die d1 = Die.of(4, Colour.GREEN);
+        Die d2 = Die.of(2, Colour.RED);
 
         Coordinates c = new Coordinates(0, 3);
 
@@ -313,8 +313,8 @@ public class PatternTest {
     @Test
     public void testPlaceDieValueRestrictionFail() {
 
-        Die d1 = new Die(4, new Random(), Colour.PURPLE);
-        Die d2 = new Die(4, new Random(), Colour.RED);
+        Die d1 = Die.of(4, Colour.PURPLE);
+        Die d2 = Die.of(4, Colour.RED);
 
         Coordinates c1 = new Coordinates(3, 4);
         Coordinates c2 = new Coordinates(2, 4);
@@ -345,8 +345,8 @@ public class PatternTest {
     @Test
     public void testPlaceDieValueRestrictionSuccessful() {
 
-        Die d1 = new Die(2, new Random(), Colour.GREEN);
-        Die d2 = new Die(3, new Random(), Colour.BLUE);
+        Die d1 = Die.of(2, Colour.GREEN);
+        Die d2 = Die.of(3, Colour.BLUE);
 
         Coordinates c1 = new Coordinates(0, 0);
         Coordinates c2 = new Coordinates(0, 1);
@@ -377,11 +377,11 @@ public class PatternTest {
     @Test
     public void testOrthogonalAdjacent() {
 
-        Die d1 = new Die(3, new Random(), Colour.BLUE);
-        Die d2 = new Die(5, new Random(), Colour.PURPLE);
-        Die d3 = new Die(6, new Random(), Colour.PURPLE);
-        Die d4 = new Die(1, new Random(), Colour.YELLOW);
-        Die d5 = new Die(4, new Random(), Colour.RED);
+        Die d1 = Die.of(3, Colour.BLUE);
+        Die d2 = Die.of(5, Colour.PURPLE);
+        Die d3 = Die.of(6, Colour.PURPLE);
+        Die d4 = Die.of(1, Colour.YELLOW);
+        Die d5 = Die.of(4, Colour.RED);
 
         Coordinates c1 = new Coordinates(0, 1);
         Coordinates c2 = new Coordinates(1, 0);
@@ -407,7 +407,7 @@ public class PatternTest {
      */
     @Test
     public void testOnlyColourRestrictionPlacementSuccess(){
-        Die die = new Die(4, new Random(), Colour.BLUE);
+        Die die = Die.of(4, Colour.BLUE);
 
         try{
             sunCatcher = sunCatcher.placeDie(
@@ -429,7 +429,7 @@ public class PatternTest {
      */
     @Test
     public void testOnlyColourRestrictionPlacementFailure(){
-        Die die = new Die(2, new Random(), Colour.RED);
+        Die die = Die.of(2, Colour.RED);
         try{
             sunCatcher = sunCatcher.placeDie(
                     die,
@@ -447,7 +447,7 @@ public class PatternTest {
      */
     @Test
     public void testOnlyValueRestrictionPlacementSuccess(){
-        Die die = new Die(2, new Random(), Colour.RED);
+        Die die = Die.of(2, Colour.RED);
 
         try{
             sunCatcher = sunCatcher.placeDie(
@@ -469,7 +469,7 @@ public class PatternTest {
      */
     @Test
     public void testOnlyValueRestrictionPlacementFailure(){
-        Die die = new Die(4, new Random(), Colour.BLUE);
+        Die die = Die.of(4, Colour.BLUE);
 
         try{
             sunCatcher = sunCatcher.placeDie(
@@ -488,8 +488,8 @@ public class PatternTest {
      */
     @Test
     public void testOnlyNotAdjacentPlacementSuccess(){
-        Die firstDie = new Die(2, new Random(), Colour.BLUE);
-        Die secondDie = new Die(2, new Random(), Colour.BLUE);
+        Die firstDie = Die.of(2, Colour.BLUE);
+        Die secondDie = Die.of(2, Colour.BLUE);
 
         try{
             sunCatcher = sunCatcher.placeDie(firstDie, new Coordinates(0, 0));
@@ -517,8 +517,8 @@ public class PatternTest {
      */
     @Test
     public void testOnlyNotAdjacentPlacementFailure(){
-        Die firstDie = new Die(2, new Random(), Colour.BLUE);
-        Die secondDie = new Die(2, new Random(), Colour.BLUE);
+        Die firstDie = Die.of(2, Colour.BLUE);
+        Die secondDie = Die.of(2, Colour.BLUE);
 
         try{
             sunCatcher = sunCatcher.placeDie(firstDie, new Coordinates(0, 0));
@@ -544,8 +544,8 @@ public class PatternTest {
      */
     @Test
     public void testMoveDieSuccessful(){
-        Die firstDie = new Die(2, new Random(), Colour.YELLOW);
-        Die secondDie = new Die(3, new Random(), Colour.BLUE);
+        Die firstDie = Die.of(2, Colour.YELLOW);
+        Die secondDie = Die.of(3, Colour.BLUE);
 
         try{
             sunCatcher = sunCatcher.placeDie(firstDie, new Coordinates(0, 0));
@@ -574,8 +574,8 @@ public class PatternTest {
      */
     @Test
     public void testMoveDieFailure(){
-        Die firstDie = new Die(2, new Random(), Colour.YELLOW);
-        Die secondDie = new Die(3, new Random(), Colour.BLUE);
+        Die firstDie = Die.of(2, Colour.YELLOW);
+        Die secondDie = Die.of(3, Colour.BLUE);
 
         try{
             sunCatcher = sunCatcher.placeDie(firstDie, new Coordinates(0, 0));
@@ -603,8 +603,8 @@ public class PatternTest {
      */
     @Test
     public void testMoveDiceSuccessful(){
-        Die firstDie = new Die(2, new Random(), Colour.YELLOW);
-        Die secondDie = new Die(3, new Random(), Colour.BLUE);
+        Die firstDie = Die.of(2, Colour.YELLOW);
+        Die secondDie = Die.of(3, Colour.BLUE);
 
         try{
             sunCatcher = sunCatcher.placeDie(firstDie, new Coordinates(0, 0));
@@ -642,8 +642,8 @@ public class PatternTest {
      */
     @Test
     public void testMoveDiceFailure(){
-        Die firstDie = new Die(2, new Random(), Colour.YELLOW);
-        Die secondDie = new Die(3, new Random(), Colour.BLUE);
+        Die firstDie = Die.of(2, Colour.YELLOW);
+        Die secondDie = Die.of(3, Colour.BLUE);
 
         try{
             sunCatcher = sunCatcher.placeDie(firstDie, new Coordinates(0, 0));
@@ -689,11 +689,11 @@ public class PatternTest {
     public void testCountEmptyOnPattern(){
         Random random = new Random();
         Die[] dice = {
-                new Die(2, random, Colour.RED),
-                new Die(5, random, Colour.BLUE),
-                new Die(2, random, Colour.RED),
-                new Die(1, random, Colour.GREEN),
-                new Die(2, random, Colour.YELLOW),
+                Die.of(2, Colour.RED),
+                Die.of(5, Colour.BLUE),
+                Die.of(2, Colour.RED),
+                Die.of(1, Colour.GREEN),
+                Die.of(2, Colour.YELLOW),
         };
 
         try {
@@ -708,4 +708,199 @@ public class PatternTest {
         Assert.assertEquals(expected, sunCatcher.emptyCells());
     }
 
+    /**
+     * Tests that the cell getters return the same restrictions and dice
+     * of the grid.
+     */
+    @Test
+    public void testCellGetters() {
+        Die die = Die.of(2, Colour.GREEN);
+        try {
+            sunCatcher = sunCatcher.placeDie(die, new Coordinates(0, 2));
+        } catch (PlacementErrorException e) {
+            Assert.fail(e.getMessage());
+        }
+
+        Cell[][] patternGrid = sunCatcher.getGrid();
+        for (int i = 0; i < Pattern.ROWS; ++i) {
+            for (int j = 0; j < Pattern.COLS; ++j) {
+                Assert.assertEquals(grid[i][j].getColour(), sunCatcher.getColourRestriction(i, j));
+                Assert.assertEquals(grid[i][j].getValue(), sunCatcher.getValueRestriction(i, j));
+                Assert.assertEquals(patternGrid[i][j].getDie(), sunCatcher.getDie(i, j));
+            }
+        }
+        Assert.assertEquals(die, sunCatcher.getDie(0, 2));
+    }
+
+    /**
+     * Tests that the patterns built from a template share it and keep
+     * their own dice.
+     */
+    @Test
+    public void testTemplate() {
+        PatternTemplate template = new PatternTemplate("Sun Catcher", 3, grid);
+        Pattern first = new Pattern(template);
+        Pattern second = new Pattern(template);
+        try {
+            first = first.placeDie(Die.of(2, Colour.GREEN), new Coordinates(0, 2));
+        } catch (PlacementErrorException e) {
+            Assert.fail(e.getMessage());
+        }
+
+        Assert.assertSame(template, first.getTemplate());
+        Assert.assertSame(template, second.getTemplate());
+        Assert.assertEquals("Sun Catcher", second.getName());
+        Assert.assertEquals(3, second.getDifficulty());
+        Assert.assertEquals(Pattern.ROWS * Pattern.COLS - 1, first.emptyCells());
+        Assert.assertEquals(Pattern.ROWS * Pattern.COLS, second.emptyCells());
+        for (int i = 0; i < Pattern.ROWS; ++i) {
+            for (int j = 0; j < Pattern.COLS; ++j) {
+                Assert.assertEquals(sunCatcher.getColourRestriction(i, j), second.getColourRestriction(i, j));
+                Assert.assertEquals(sunCatcher.getValueRestriction(i, j), second.getValueRestriction(i, j));
+            }
+        }
+    }
+
+    /**
+     * Tests that modifying the grid returned by {@code getGrid} leaves
+     * the pattern unchanged.
+     */
+    @Test
+    public void testGetGridDoesNotExposeRep() {
+        try {
+            sunCatcher.getGrid()[0][0].place(Die.of(2, Colour.GREEN));
+        } catch (PlacementErrorException e) {
+            Assert.fail(e.getMessage());
+        }
+
+        Assert.assertNull(sunCatcher.getDie(0, 0));
+        Assert.assertNull(sunCatcher.getGrid()[0][0].getDie());
+    }
+
+    /**
+     * Tests that a pattern built from a grid with dice already placed
+     * contains the same dice.
+     */
+    @Test
+    public void testConstructorWithPlacedDice() {
+        Die die = Die.of(4, Colour.RED);
+        try {
+            grid[1][3].place(die);
+        } catch (PlacementErrorException e) {
+            Assert.fail(e.getMessage());
+        }
+
+        Pattern pattern = new Pattern("SunCatcher", 3, grid);
+
+        Assert.assertEquals(die, pattern.getDie(1, 3));
+        Assert.assertEquals(Pattern.ROWS * Pattern.COLS - 1, pattern.emptyCells());
+    }
+
+    /**
+     * Tests that {@code canPlace} returns the correct code for each
+     * broken rule on the first placement.
+     */
+    @Test
+    public void testCanPlaceFirstDie() {
+        Random random = new Random();
+
+        Assert.assertEquals(PlacementResult.NO_DIE,
+                sunCatcher.canPlace(null, new Coordinates(0, 0), Restriction.DEFAULT));
+        Assert.assertEquals(PlacementResult.NOT_EDGE,
+                sunCatcher.canPlace(Die.of(3, Colour.GREEN),
+                        new Coordinates(2, 1), Restriction.DEFAULT));
+        Assert.assertEquals(PlacementResult.ADJACENT,
+                sunCatcher.canPlace(Die.of(3, Colour.GREEN),
+                        new Coordinates(0, 0), Restriction.NOT_ADJACENT));
+        Assert.assertEquals(PlacementResult.CELL_COLOUR,
+                sunCatcher.canPlace(Die.of(3, Colour.GREEN),
+                        new Coordinates(0, 1), Restriction.DEFAULT));
+        Assert.assertEquals(PlacementResult.CELL_VALUE,
+                sunCatcher.canPlace(Die.of(3, Colour.GREEN),
+                        new Coordinates(0, 2), Restriction.DEFAULT));
+        Assert.assertEquals(PlacementResult.OK,
+                sunCatcher.canPlace(Die.of(3, Colour.GREEN),
+                        new Coordinates(0, 2), Restriction.ONLY_COLOUR));
+    }
+
+    /**
+     * Tests that {@code canPlace} returns the correct code for each
+     * broken rule on a pattern that already contains dice.
+     */
+    @Test
+    public void testCanPlaceAdjacencyRules() {
+        Random random = new Random();
+        try {
+            sunCatcher = sunCatcher.placeDie(Die.of(3, Colour.GREEN), new Coordinates(3, 2));
+        } catch (PlacementErrorException e) {
+            Assert.fail(e.getMessage());
+        }
+
+        Assert.assertEquals(PlacementResult.NOT_ADJACENT,
+                sunCatcher.canPlace(Die.of(4, Colour.RED),
+                        new Coordinates(0, 3), Restriction.DEFAULT));
+        Assert.assertEquals(PlacementResult.COLOUR_CLASH,
+                sunCatcher.canPlace(Die.of(4, Colour.GREEN),
+                        new Coordinates(2, 2), Restriction.DEFAULT));
+        Assert.assertEquals(PlacementResult.VALUE_CLASH,
+                sunCatcher.canPlace(Die.of(3, Colour.RED),
+                        new Coordinates(3, 3), Restriction.DEFAULT));
+        Assert.assertEquals(PlacementResult.OCCUPIED,
+                sunCatcher.canPlace(Die.of(4, Colour.RED),
+                        new Coordinates(3, 2), Restriction.NOT_ADJACENT));
+        Assert.assertEquals(PlacementResult.OK,
+                sunCatcher.canPlace(Die.of(3, Colour.RED),
+                        new Coordinates(3, 3), Restriction.ONLY_COLOUR));
+        Assert.assertEquals(PlacementResult.OK,
+                sunCatcher.canPlace(Die.of(4, Colour.RED),
+                        new Coordinates(2, 1), Restriction.DEFAULT));
+    }
+
+    /**
+     * Tests that the message of the exception thrown by {@code placeDie}
+     * is the one of the code returned by {@code canPlace}.
+     */
+    @Test
+    public void testCanPlaceAgreesWithPlaceDie() {
+        Die die = Die.of(3, Colour.GREEN);
+        Coordinates coordinates = new Coordinates(0, 2);
+
+        PlacementResult result = sunCatcher.canPlace(die, coordinates, Restriction.DEFAULT);
+        try {
+            sunCatcher.placeDie(die, coordinates);
+            Assert.fail();
+        } catch (PlacementErrorException e) {
+            Assert.assertEquals(result.getMessage(), e.getMessage());
+        }
+    }
+
+    /**
+     * Tests that {@code canMoveDice} agrees with {@code moveDice} both on
+     * valid and invalid moves.
+     */
+    @Test
+    public void testCanMoveDice() {
+        Die firstDie = Die.of(2, Colour.YELLOW);
+        Die secondDie = Die.of(3, Colour.BLUE);
+
+        try {
+            sunCatcher = sunCatcher.placeDie(firstDie, new Coordinates(0, 0));
+            sunCatcher = sunCatcher.placeDie(secondDie, new Coordinates(0, 1));
+        } catch (PlacementErrorException e) {
+            Assert.fail("Dice cannot be placed");
+        }
+
+        Coordinates[] sources = {new Coordinates(0, 0), new Coordinates(0, 1)};
+        Coordinates[] validDestinations = {new Coordinates(0, 4), new Coordinates(1, 4)};
+        Coordinates[] invalidDestinations = {new Coordinates(0, 4), new Coordinates(1, 1)};
+
+        Assert.assertEquals(PlacementResult.OK,
+                sunCatcher.canMoveDice(sources, validDestinations, Restriction.DEFAULT));
+        Assert.assertEquals(PlacementResult.NOT_ADJACENT,
+                sunCatcher.canMoveDice(sources, invalidDestinations, Restriction.DEFAULT));
+        Assert.assertEquals(PlacementResult.NO_DIE,
+                sunCatcher.canMoveDice(new Coordinates[]{new Coordinates(3, 3)},
+                        new Coordinates[]{new Coordinates(1, 0)}, Restriction.DEFAULT));
+    }
+
 }
\ No newline at end of file
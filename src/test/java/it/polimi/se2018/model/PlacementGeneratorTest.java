@@ -0,0 +1,165 @@
+package it.polimi.se2018.model;
+
+import it.polimi.se2018.utils.Coordinates;
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+
+/**
+ * Tests the class {@link PlacementGenerator}, comparing its results
+ * with the ones of {@link Pattern}'s {@code placeDie}.
+ */
+public class PlacementGeneratorTest {
+
+    /**
+     * The number of random patterns to be checked.
+     */
+    private static final int PATTERNS = 200;
+
+    /**
+     * Creates a grid with random restrictions.
+     *
+     * @param random The random number generator.
+     * @return The grid.
+     */
+    private Cell[][] randomGrid(Random random) {
+        Cell[][] grid = new Cell[Pattern.ROWS][Pattern.COLS];
+        for (int i = 0; i < Pattern.ROWS; ++i) {
+            for (int j = 0; j < Pattern.COLS; ++j) {
+                int kind = random.nextInt(3);
+                if (kind == 0)
+                    grid[i][j] = new Cell();
+                else if (kind == 1)
+                    grid[i][j] = new Cell(Colour.values()[random.nextInt(5)]);
+                else
+                    grid[i][j] = new Cell(random.nextInt(6) + 1);
+            }
+        }
+        return grid;
+    }
+
+    /**
+     * Creates a pattern with random restrictions and some dice placed
+     * respecting all the rules.
+     *
+     * @param random The random number generator.
+     * @return The pattern.
+     */
+    private Pattern randomPattern(Random random) {
+        Pattern pattern = new Pattern("Random", 3, randomGrid(random));
+        int attempts = random.nextInt(60);
+        for (int i = 0; i < attempts; ++i) {
+            Die die = Die.of(random.nextInt(6) + 1, Colour.values()[random.nextInt(5)]);
+            Coordinates coordinates = new Coordinates(
+                    random.nextInt(Pattern.ROWS), random.nextInt(Pattern.COLS));
+            try {
+                pattern = pattern.placeDie(die, coordinates);
+            } catch (PlacementErrorException e) {
+                // the die is simply not placed
+            }
+        }
+        return pattern;
+    }
+
+    /**
+     * Computes the legal mask of a die by trying every placement.
+     *
+     * @param pattern     The pattern.
+     * @param die         The die to be placed.
+     * @param restriction The restriction to be respected.
+     * @return The mask of the cells where the placement succeeds.
+     */
+    private int bruteForceMask(Pattern pattern, Die die, Restriction restriction) {
+        int mask = 0;
+        for (int i = 0; i < Pattern.ROWS; ++i) {
+            for (int j = 0; j < Pattern.COLS; ++j) {
+                try {
+                    pattern.placeDie(die, new Coordinates(i, j), restriction);
+                    mask |= 1 << (i * Pattern.COLS + j);
+                } catch (PlacementErrorException e) {
+                    // illegal placement
+                }
+            }
+        }
+        return mask;
+    }
+
+    /**
+     * Checks, on many random patterns, that the legal cells of every
+     * possible die are exactly the ones where {@code placeDie} succeeds.
+     */
+    @Test
+    public void testAgreesWithPlaceDie() {
+        Random random = new Random(42);
+        for (int p = 0; p < PATTERNS; ++p) {
+            Pattern pattern = randomPattern(random);
+            for (Restriction restriction : Restriction.values()) {
+                PlacementGenerator generator = new PlacementGenerator(pattern, restriction);
+                for (Colour colour : Colour.values()) {
+                    for (int value = 1; value <= 6; ++value) {
+                        Die die = Die.of(value, colour);
+                        Assert.assertEquals(
+                                bruteForceMask(pattern, die, restriction),
+                                generator.getLegalMask(die));
+                    }
+                }
+            }
+        }
+    }
+
+    /**
+     * Tests that the bulk queries are consistent with the single-die mask.
+     */
+    @Test
+    public void testBulkQueries() {
+        Random random = new Random(7);
+        Pattern pattern = randomPattern(random);
+        List<Die> dice = new ArrayList<>();
+        for (int i = 0; i < 9; ++i)
+            dice.add(Die.of(random.nextInt(6) + 1, Colour.values()[random.nextInt(5)]));
+
+        PlacementGenerator generator = new PlacementGenerator(pattern, Restriction.DEFAULT);
+        int[] masks = generator.getLegalMasks(dice);
+        List<PlacementGenerator.Placement> placements = generator.getLegalPlacements(dice);
+
+        int expectedPlacements = 0;
+        for (int i = 0; i < dice.size(); ++i) {
+            Assert.assertEquals(generator.getLegalMask(dice.get(i)), masks[i]);
+            Assert.assertEquals(Integer.bitCount(masks[i]),
+                    generator.getLegalCells(dice.get(i)).size());
+            expectedPlacements += Integer.bitCount(masks[i]);
+        }
+        Assert.assertEquals(expectedPlacements, placements.size());
+        for (PlacementGenerator.Placement placement : placements)
+            Assert.assertTrue(generator.isLegal(
+                    dice.get(placement.getDieIndex()), placement.getCoordinates()));
+
+        Assert.assertEquals(expectedPlacements != 0, generator.anyLegalMove(dice));
+    }
+
+    /**
+     * Tests that the first die can only be placed on the edges and never
+     * with the not-adjacent restriction.
+     */
+    @Test
+    public void testFirstPlacement() {
+        Cell[][] grid = new Cell[Pattern.ROWS][Pattern.COLS];
+        for (Cell[] row : grid)
+            Arrays.fill(row, new Cell());
+        Pattern pattern = new Pattern("Empty", 3, grid);
+        Die die = Die.of(3, Colour.RED);
+
+        PlacementGenerator generator = new PlacementGenerator(pattern, Restriction.DEFAULT);
+        Assert.assertEquals(14, generator.getLegalCells(die).size());
+        Assert.assertFalse(generator.isLegal(die, new Coordinates(1, 1)));
+        Assert.assertTrue(generator.isLegal(die, new Coordinates(0, 0)));
+        Assert.assertFalse(generator.isLegal(die, new Coordinates(50, 50)));
+
+        generator = new PlacementGenerator(pattern, Restriction.NOT_ADJACENT);
+        Assert.assertFalse(generator.anyLegalMove(Arrays.asList(die)));
+    }
+}
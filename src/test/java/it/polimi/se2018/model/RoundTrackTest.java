@@ -5,7 +5,7 @@ import org.junit.Before;
 import org.junit.Test;
 
 import java.util.ArrayList;
-import java.util.Random;
+import java.util.List;
 
 import static org.junit.Assert.*;
 
@@ -22,8 +22,8 @@ public class RoundTrackTest {
     @Test
     public void testAddAllForRound() {
         ArrayList<Die> draft = new ArrayList<>();
-        draft.add(new Die(3, new Random(), Colour.GREEN));
-        draft.add(new Die(6, new Random(), Colour.GREEN));
+        draft.add(Die.of(3, Colour.GREEN));
+        draft.add(Die.of(6, Colour.GREEN));
         track.addAllForRound(2, draft);
         assertEquals(track.getLeftovers().get(1), draft); //verifies that draft has been
         //effectively added to the RoundTrack at the specified position
@@ -32,8 +32,8 @@ public class RoundTrackTest {
     @Test
     public void testGetSum() {
         ArrayList<Die> draft1 = new ArrayList<>();
-        draft1.add(new Die(3, new Random(), Colour.GREEN));
-        draft1.add(new Die(6, new Random(), Colour.GREEN));
+        draft1.add(Die.of(3, Colour.GREEN));
+        draft1.add(Die.of(6, Colour.GREEN));
         track.addAllForRound(2, draft1);
         track.addAllForRound(9, draft1);
         assertEquals(18, track.getSum()); //verifies that the sum is computed correctly
@@ -48,10 +48,10 @@ public class RoundTrackTest {
     @Test
     public void testValidSwap() {
         ArrayList<Die> draft1 = new ArrayList<>();
-        draft1.add(new Die(3, new Random(), Colour.GREEN));
-        draft1.add(new Die(6, new Random(), Colour.GREEN));
+        draft1.add(Die.of(3, Colour.GREEN));
+        draft1.add(Die.of(6, Colour.GREEN));
         track.addAllForRound(2, draft1);
-        Die substitute = new Die(3, new Random(), Colour.PURPLE);
+        Die substitute = Die.of(3, Colour.PURPLE);
         Die old = track.getLeftovers().get(1).get(1);
         int oldSize = track.getLeftovers().size();
         assertEquals(old, track.swap(new Coordinates(1,1), substitute)); //verifies that the swap method
@@ -66,12 +66,55 @@ public class RoundTrackTest {
     @Test
     public void testInvalidSwap() {
         ArrayList<Die> draft1 = new ArrayList<>();
-        draft1.add(new Die(3, new Random(), Colour.GREEN));
-        draft1.add(new Die(6, new Random(), Colour.GREEN));
+        draft1.add(Die.of(3, Colour.GREEN));
+        draft1.add(Die.of(6, Colour.GREEN));
         track.addAllForRound(2, draft1);
-        Die substitute = new Die(3, new Random(), Colour.PURPLE);
+        Die substitute = Die.of(3, Colour.PURPLE);
         assertNull(track.swap(new Coordinates(2, 2), substitute));
         assertEquals(draft1, track.getLeftovers().get(1));
     }
 
-}
\ No newline at end of file
+    @Test
+    public void testColourAggregates() {
+        ArrayList<Die> draft1 = new ArrayList<>();
+        draft1.add(Die.of(3, Colour.GREEN));
+        draft1.add(Die.of(6, Colour.GREEN));
+        track.addAllForRound(2, draft1);
+        assertEquals(2, track.getColourCount(Colour.GREEN));
+        assertTrue(track.containsColour(Colour.GREEN));
+        assertFalse(track.containsColour(Colour.PURPLE));
+
+        track.swap(new Coordinates(1, 0), Die.of(1, Colour.PURPLE));
+        assertEquals(1, track.getColourCount(Colour.GREEN));
+        assertEquals(1, track.getColourCount(Colour.PURPLE));
+        assertEquals(7, track.getSum());
+        assertEquals(1 << Colour.GREEN.ordinal() | 1 << Colour.PURPLE.ordinal(), track.getColourMask());
+
+        track.swap(new Coordinates(1, 0), Die.of(2, Colour.PURPLE));
+        assertFalse(track.containsColour(Colour.GREEN));
+        assertEquals(3, track.getSum());
+    }
+
+    @Test
+    public void testSnapshot() {
+        List<List<Die>> empty = track.getSnapshot();
+        assertSame(empty, track.getSnapshot()); //verifies that the snapshot is rebuilt only on changes
+        int version = track.getVersion();
+
+        ArrayList<Die> draft1 = new ArrayList<>();
+        draft1.add(Die.of(3, Colour.GREEN));
+        track.addAllForRound(1, draft1);
+        assertEquals(version + 1, track.getVersion());
+        List<List<Die>> snapshot = track.getSnapshot();
+        assertNotSame(empty, snapshot);
+        assertEquals(track.getLeftovers(), snapshot);
+        assertTrue(empty.get(0).isEmpty());
+        try {
+            snapshot.get(0).add(Die.of(1, Colour.RED));
+            fail();
+        } catch (UnsupportedOperationException e) {
+            assertEquals(1, track.getSnapshot().get(0).size());
+        }
+    }
+
+}
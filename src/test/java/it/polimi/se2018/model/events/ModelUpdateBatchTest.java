@@ -0,0 +1,166 @@
+package it.polimi.se2018.model.events;
+
+import it.polimi.se2018.model.Cell;
+import it.polimi.se2018.model.Colour;
+import it.polimi.se2018.model.Die;
+import it.polimi.se2018.model.Game;
+import it.polimi.se2018.model.Pattern;
+import it.polimi.se2018.utils.GridUtils;
+import it.polimi.se2018.utils.Observer;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.OptionalInt;
+
+import static org.junit.Assert.*;
+
+/**
+ * Unit tests for {@link ModelUpdateBatch} and for the transactions
+ * of {@link Game} that produce it.
+ */
+public class ModelUpdateBatchTest {
+
+    /**
+     * An observer that records the received updates.
+     */
+    private static class Recorder implements Observer<ModelUpdate> {
+
+        private final List<ModelUpdate> received = new ArrayList<>();
+
+        @Override
+        public void update(ModelUpdate message) {
+            received.add(message);
+        }
+    }
+
+    /**
+     * Creates the status of a player with an empty pattern.
+     *
+     * @param name The name of the player.
+     * @param tokens The tokens of the player.
+     * @return The status message.
+     */
+    private PlayerStatus status(String name, int tokens) {
+        Cell[][] grid = GridUtils.getEmptyUnrestrictedGrid(4, 5);
+        return new PlayerStatus(name, tokens, new Pattern("Name", 5, grid));
+    }
+
+    /**
+     * Checks that only the superseded updates are removed and that the
+     * order of the others is kept.
+     */
+    @Test
+    public void testCoalesce() {
+        PlayerStatus pippo = status("Pippo", 3);
+        PlayerStatus pluto = status("Pluto", 4);
+        PlayerStatus newPippo = status("Pippo", 1);
+        DraftPoolUpdate oldDraftPool = new DraftPoolUpdate(Collections.emptyList());
+        DraftPoolUpdate draftPool = new DraftPoolUpdate(Arrays.asList(Die.of(1, Colour.RED)));
+        UseToolCard first = new UseToolCard("Lens Cutter");
+        UseToolCard second = new UseToolCard("Lens Cutter");
+
+        List<ModelUpdate> result = ModelUpdateBatch.coalesce(Arrays.asList(
+                pippo, oldDraftPool, first, pluto, newPippo, draftPool, second));
+
+        assertEquals(Arrays.asList(first, pluto, newPippo, draftPool, second), result);
+    }
+
+    /**
+     * Checks that a full update supersedes the deltas of the same data,
+     * while a delta never supersedes another update.
+     */
+    @Test
+    public void testCoalesceDeltas() {
+        DraftPoolDelta drafted = new DraftPoolDelta(0, null, 1);
+        RoundTrackDelta swapped = new RoundTrackDelta(0, 0, Collections.singletonList(Die.of(1, Colour.RED)), 1);
+        PlayerStatusDelta pippoDelta = new PlayerStatusDelta("Pippo", 0, Collections.emptyList(), 2,
+                OptionalInt.empty(), 1);
+        PlayerStatusDelta plutoDelta = new PlayerStatusDelta("Pluto", 0, Collections.emptyList(), 2,
+                OptionalInt.empty(), 1);
+        DraftPoolDelta inserted = new DraftPoolDelta(0, Die.of(2, Colour.RED), 2);
+        PlayerStatus pippo = status("Pippo", 1);
+        DraftPoolUpdate draftPool = new DraftPoolUpdate(Arrays.asList(Die.of(1, Colour.RED)), 3);
+
+        List<ModelUpdate> result = ModelUpdateBatch.coalesce(Arrays.asList(
+                drafted, swapped, pippoDelta, plutoDelta, inserted, pippo, draftPool));
+        assertEquals(Arrays.asList(swapped, plutoDelta, pippo, draftPool), result);
+
+        RoundTrackUpdate roundTrack = new RoundTrackUpdate(Collections.emptyList(), 2);
+        assertEquals(Collections.singletonList(roundTrack),
+                ModelUpdateBatch.coalesce(Arrays.asList(swapped, roundTrack)));
+        assertEquals(Arrays.asList(roundTrack, swapped),
+                ModelUpdateBatch.coalesce(Arrays.asList(roundTrack, swapped)));
+    }
+
+    /**
+     * Checks that the updates generated in a transaction are delivered
+     * together when the outermost transaction is committed.
+     */
+    @Test
+    public void testTransaction() {
+        Game game = new Game();
+        Recorder recorder = new Recorder();
+        game.registerObserver(recorder);
+
+        game.beginTransaction();
+        game.notifyObservers(status("Pippo", 3));
+        game.beginTransaction();
+        game.notifyObservers(status("Pippo", 2));
+        game.notifyObservers(new UseToolCard("Lens Cutter"));
+        game.commit();
+        assertTrue(recorder.received.isEmpty());
+        game.commit();
+
+        assertEquals(1, recorder.received.size());
+        ModelUpdate update = recorder.received.get(0);
+        assertEquals(ModelEvent.BATCH, update.getEventType());
+        assertTrue(update.hasEvent(ModelEvent.USE_TOOL_CARD));
+        assertFalse(update.hasEvent(ModelEvent.GAME_END));
+        List<ModelUpdate> updates = ((ModelUpdateBatch) update).getUpdates();
+        assertEquals(2, updates.size());
+        assertEquals(2, ((PlayerStatus) updates.get(0)).getTokens());
+
+        //a single update is sent as it is, and outside a transaction nothing is collected
+        game.beginTransaction();
+        game.notifyObservers(new UseToolCard("Lens Cutter"));
+        game.commit();
+        game.notifyObservers(new UseToolCard("Lens Cutter"));
+        assertEquals(3, recorder.received.size());
+        assertEquals(ModelEvent.USE_TOOL_CARD, recorder.received.get(1).getEventType());
+    }
+
+    /**
+     * Checks that a commit without a transaction is not allowed.
+     */
+    @Test(expected = IllegalStateException.class)
+    public void testCommitWithoutTransaction() {
+        new Game().commit();
+    }
+
+    /**
+     * Checks that a batch is projected for each player: the owner of the
+     * private score receives the batch itself, the other players share a
+     * batch without it.
+     */
+    @Test
+    public void testProjection() {
+        Cell[][] grid = GridUtils.getEmptyUnrestrictedGrid(4, 5);
+        PlayerStatus pippo = new PlayerStatus("Pippo", 3, new Pattern("Name", 5, grid),
+                OptionalInt.of(5), OptionalInt.of(2), 1);
+        DraftPoolUpdate draftPool = new DraftPoolUpdate(Collections.emptyList());
+        ModelUpdateBatch batch = new ModelUpdateBatch(Arrays.asList(pippo, draftPool));
+
+        assertSame(batch, batch.projectFor("Pippo"));
+        ModelUpdateBatch projected = (ModelUpdateBatch) batch.projectFor("Pluto");
+        assertNotSame(batch, projected);
+        assertFalse(((PlayerStatus) projected.getUpdates().get(0)).getPrivateScore().isPresent());
+        assertSame(draftPool, projected.getUpdates().get(1));
+        assertSame(projected, batch.projectFor("Paperino"));
+
+        ModelUpdateBatch publicBatch = new ModelUpdateBatch(Collections.singletonList(draftPool));
+        assertSame(publicBatch, publicBatch.projectFor("Pluto"));
+    }
+}
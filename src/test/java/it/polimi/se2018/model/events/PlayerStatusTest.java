@@ -5,6 +5,8 @@ import it.polimi.se2018.model.Pattern;
 import it.polimi.se2018.utils.GridUtils;
 import org.junit.Test;
 
+import java.util.OptionalInt;
+
 import static org.junit.Assert.*;
 
 /**
@@ -49,4 +51,24 @@ public class PlayerStatusTest {
         assertEquals(pattern, pattern1);
     }
 
+    /**
+     * Tests that the score given by the private objective is sent only to
+     * the player, and that the other players share the same projection.
+     */
+    @Test
+    public void testProjection() {
+        Pattern pattern = new Pattern("Name", 5, GridUtils.getEmptyUnrestrictedGrid(4, 5));
+        PlayerStatus playerStatus = new PlayerStatus("Pippo", 3, pattern, OptionalInt.of(10),
+                OptionalInt.of(4), 2);
+
+        assertSame(playerStatus, playerStatus.projectFor("Pippo"));
+        PlayerStatus projected = (PlayerStatus) playerStatus.projectFor("Pluto");
+        assertFalse(projected.getPrivateScore().isPresent());
+        assertEquals(OptionalInt.of(10), projected.getLiveScore());
+        assertEquals(2, projected.getSequence());
+        assertSame(projected, playerStatus.projectFor("Paperino"));
+
+        PlayerStatus withoutPrivate = new PlayerStatus("Pippo", 3, pattern);
+        assertSame(withoutPrivate, withoutPrivate.projectFor("Pluto"));
+    }
 }
@@ -3,8 +3,11 @@ package it.polimi.se2018.model.viewmodel;
 import it.polimi.se2018.model.Colour;
 import it.polimi.se2018.model.Die;
 import it.polimi.se2018.model.Game;
+import it.polimi.se2018.model.NotEnoughTokensException;
+import it.polimi.se2018.model.Pattern;
 import it.polimi.se2018.model.Player;
 import it.polimi.se2018.model.events.*;
+import it.polimi.se2018.utils.Coordinates;
 import it.polimi.se2018.utils.GameUtils;
 import org.junit.Assert;
 import org.junit.Test;
@@ -57,7 +60,7 @@ public class ViewDataOrganizerTest {
     @Test
     public void testPushDraftPoolUpdate() {
         List<Die> draftPool = Collections.singletonList(
-                new Die(new Random(), Colour.YELLOW)
+                Die.random(new Random(), Colour.YELLOW)
         );
         ModelUpdate draftPoolUpdate = new DraftPoolUpdate(draftPool);
         ViewDataOrganizer organizer = new ViewDataOrganizer();
@@ -73,7 +76,7 @@ public class ViewDataOrganizerTest {
     public void testPushRoundTrackUpdate() {
         List<List<Die>> roundTrack = Collections.singletonList(
                 Collections.singletonList(
-                        new Die(new Random(), Colour.YELLOW)
+                        Die.random(new Random(), Colour.YELLOW)
                 ));
         ModelUpdate roundTrackUpdate = new RoundTrackUpdate(roundTrack);
         ViewDataOrganizer organizer = new ViewDataOrganizer();
@@ -196,4 +199,125 @@ public class ViewDataOrganizerTest {
         Assert.assertNull(organizer.getLocalPlayer());
     }
 
+
+    /**
+     * Tests that the changes of the draft pool, of the round track and of the
+     * status of a player are sent as deltas, and that the data organizer
+     * applied to its copy keeps it equal to the model.
+     */
+    @Test
+    public void testPushDeltas() throws NotEnoughTokensException {
+        Game game = GameUtils.getStartedGame(true);
+        if (game == null)
+            Assert.fail("Error on game initialization");
+        Player player = game.getPlayers().get(0);
+        ViewDataOrganizer organizer = new ViewDataOrganizer();
+        for (Player p : game.getPlayers())
+            organizer.push(new PlayerStatus(p));
+        organizer.push(game.getDraftPool().createUpdate());
+        organizer.push(game.getRoundTrack().createUpdate());
+        List<ModelUpdate> received = new ArrayList<>();
+        game.registerObserver(update -> {
+            received.add(update);
+            organizer.push(update);
+            Assert.assertFalse(organizer.isResyncNeeded());
+        });
+
+        game.getDraftPool().draft(0);
+        game.getDraftPool().replace(1, Die.of(6, Colour.PURPLE));
+        game.getRoundTrack().addAllForRound(1, Arrays.asList(Die.of(1, Colour.RED), Die.of(2, Colour.BLUE)));
+        game.getRoundTrack().swap(new Coordinates(0, 0), Die.of(3, Colour.GREEN));
+        player.setPattern(player.getPattern().withDie(0, 0, Die.of(4, Colour.YELLOW)).withDie(3, 4, Die.of(5, Colour.RED)));
+        player.setPattern(player.getPattern().withDie(0, 0, null));
+        player.consumeTokens(2);
+
+        for (ModelUpdate update : received)
+            Assert.assertTrue(update.hasEvent(ModelEvent.DRAFT_POOL_DELTA) ||
+                    update.hasEvent(ModelEvent.ROUND_TRACK_DELTA) ||
+                    update.hasEvent(ModelEvent.PLAYER_STATUS_DELTA));
+        Assert.assertEquals(game.getDraftPool().getSlots(), organizer.getDraftPool());
+        Assert.assertEquals(game.getRoundTrack().getLeftovers(), organizer.getRoundTrack());
+        PlayerStatus status = organizer.getPlayerStatus(player.getName());
+        Assert.assertEquals(2, status.getTokens());
+        Assert.assertEquals(player.getStatusSequence(), status.getSequence());
+        for (int row = 0; row < Pattern.ROWS; row++)
+            for (int col = 0; col < Pattern.COLS; col++)
+                Assert.assertEquals(player.getPattern().getDie(row, col), status.getPattern().getDie(row, col));
+    }
+
+    /**
+     * Tests that the updates received with the seat of the player only are
+     * stored with the name of the player, as sent by the game setup.
+     */
+    @Test
+    public void testSeats() {
+        Game game = GameUtils.getSetUpGame(true);
+        if (game == null)
+            Assert.fail("Error on game initialization");
+        Player player = game.getPlayers().get(1);
+        int seat = player.getSeat();
+        ViewDataOrganizer organizer = new ViewDataOrganizer();
+
+        //nothing can be stored before the setup
+        push(organizer, new PlayerConnectionStatus(null, seat, false));
+        Assert.assertTrue(organizer.getAllConnectionStatus().isEmpty());
+
+        push(organizer, new GameSetup(game));
+        push(organizer, new PlayerStatus(null, seat, 3, null, OptionalInt.empty(), OptionalInt.empty(), 1));
+        Assert.assertEquals(3, organizer.getPlayerStatus(player.getName()).getTokens());
+        push(organizer, new PlayerStatusDelta(null, seat, 0, Collections.emptyList(), 2,
+                OptionalInt.of(4), OptionalInt.empty(), 2));
+        Assert.assertFalse(organizer.isResyncNeeded());
+        Assert.assertEquals(2, organizer.getPlayerStatus(player.getName()).getTokens());
+        Assert.assertEquals(seat, organizer.getPlayerStatus(player.getName()).getSeat());
+
+        push(organizer, new PlayerConnectionStatus(null, seat, false));
+        Assert.assertFalse(organizer.getConnectionStatus(player.getName()).isConnected());
+        push(organizer, new NextTurn(null, seat, false, false, false, -1, -1, null));
+        Assert.assertEquals(player.getName(), organizer.getNextTurn().getPlayerName());
+
+        push(organizer, new PlayerStatusDelta(null, game.getPlayers().size(), 0, Collections.emptyList(), 1,
+                OptionalInt.empty(), OptionalInt.empty(), 1));
+        Assert.assertTrue(organizer.isResyncNeeded());
+    }
+
+    /**
+     * Pushes an update as the view does, as a generic ModelUpdate.
+     *
+     * @param organizer The data organizer.
+     * @param update    The update to push.
+     */
+    private static void push(ViewDataOrganizer organizer, ModelUpdate update) {
+        organizer.push(update);
+    }
+
+    /**
+     * Tests that when a change is missing the data isn't updated until it's
+     * received again, and that the resync is requested only once.
+     */
+    @Test
+    public void testSequenceGap() {
+        ViewDataOrganizer organizer = new ViewDataOrganizer();
+        push(organizer, new DraftPoolUpdate(Arrays.asList(Die.of(1, Colour.RED), Die.of(2, Colour.RED)), 4));
+        push(organizer, new DraftPoolDelta(0, null, 5));
+        Assert.assertFalse(organizer.isResyncNeeded());
+
+        push(organizer, new DraftPoolDelta(1, null, 7));
+        Assert.assertTrue(organizer.isResyncNeeded());
+        push(organizer, new DraftPoolDelta(1, Die.of(6, Colour.RED), 8));
+        Assert.assertFalse(organizer.isResyncNeeded());
+        Assert.assertEquals(Arrays.asList(null, Die.of(2, Colour.RED)), organizer.getDraftPool());
+
+        push(organizer, new DraftPoolUpdate(Arrays.asList(null, Die.of(6, Colour.RED)), 8));
+        push(organizer, new DraftPoolDelta(0, Die.of(3, Colour.BLUE), 9));
+        Assert.assertFalse(organizer.isResyncNeeded());
+        Assert.assertEquals(Arrays.asList(Die.of(3, Colour.BLUE), Die.of(6, Colour.RED)), organizer.getDraftPool());
+
+        //the change of an unknown player or of an unknown round can't be applied
+        push(organizer, new PlayerStatusDelta("Pippo", 0, Collections.emptyList(), 1, OptionalInt.empty(), 1));
+        Assert.assertTrue(organizer.isResyncNeeded());
+        Assert.assertNull(organizer.getPlayerStatus("Pippo"));
+        push(organizer, new RoundTrackDelta(0, 0, Collections.singletonList(Die.of(1, Colour.RED)), 1));
+        Assert.assertTrue(organizer.isResyncNeeded());
+    }
 }
@@ -0,0 +1,453 @@
+package it.polimi.se2018.networking.messages;
+
+import it.polimi.se2018.model.*;
+import it.polimi.se2018.model.events.*;
+import it.polimi.se2018.utils.Coordinates;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.io.IOException;
+import java.io.InvalidClassException;
+import java.io.Serializable;
+import java.io.StreamCorruptedException;
+import java.nio.ByteBuffer;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.EnumSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.OptionalInt;
+import java.util.Set;
+
+/**
+ * Unit tests for {@link BinaryCodec}.
+ *
+ * @author giorgiolabate
+ */
+public class BinaryCodecTest {
+
+    /**
+     * A pattern with some restrictions and some dice.
+     */
+    private Pattern pattern;
+
+    /**
+     * Creates the pattern.
+     *
+     * @throws PlacementErrorException if the dice can't be placed.
+     */
+    @Before
+    public void setUp() throws PlacementErrorException {
+        Cell[][] grid = new Cell[Pattern.ROWS][Pattern.COLS];
+        for (Cell[] row : grid)
+            Arrays.setAll(row, i -> new Cell());
+        grid[0][0] = new Cell(Colour.BLUE);
+        grid[0][1] = new Cell(6);
+        grid[2][3] = new Cell(Colour.PURPLE);
+        grid[3][4] = new Cell(1);
+        pattern = new Pattern("Pattern", 4, grid)
+                .placeDie(Die.of(3, Colour.BLUE), new Coordinates(0, 0))
+                .placeDie(Die.of(5, Colour.GREEN), new Coordinates(0, 1), Restriction.ONLY_COLOUR);
+    }
+
+    /**
+     * Encodes and decodes a message in the binary format.
+     *
+     * @param message the message.
+     * @return the decoded message.
+     * @throws IOException if the message can't be encoded or decoded.
+     */
+    private static Message roundTrip(Message message) throws IOException {
+        ByteBuffer payload = payload(message);
+        Assert.assertEquals(WireFormat.BINARY, FrameCodec.formatOf(payload));
+        Message decoded = FrameCodec.decode(payload);
+        Assert.assertEquals(message.getCommand(), decoded.getCommand());
+        return decoded;
+    }
+
+    /**
+     * Encodes and decodes a model update in the binary format.
+     *
+     * @param update the update.
+     * @param <T>    the type of the update.
+     * @return the decoded update.
+     * @throws IOException if the update can't be encoded or decoded.
+     */
+    @SuppressWarnings("unchecked")
+    private static <T extends Serializable> T roundTrip(T update) throws IOException {
+        Command command = update instanceof ModelUpdate ? Command.MODEL_UPDATE : Command.VIEW_MESSAGE;
+        Serializable body = roundTrip(new Message(command, update)).getBody();
+        Assert.assertSame(update.getClass(), body.getClass());
+        return (T) body;
+    }
+
+    /**
+     * Encodes a message in a frame and returns its payload.
+     *
+     * @param message the message.
+     * @return the payload.
+     * @throws IOException if the message can't be encoded.
+     */
+    private static ByteBuffer payload(Message message) throws IOException {
+        ByteBuffer frame = FrameCodec.encode(message);
+        frame.position(FrameCodec.HEADER_LENGTH);
+        return frame.slice();
+    }
+
+    /**
+     * Asserts that two patterns have the same name, difficulty, restrictions and dice.
+     *
+     * @param expected the expected pattern.
+     * @param actual   the actual pattern.
+     */
+    private static void assertPatternEquals(Pattern expected, Pattern actual) {
+        Assert.assertEquals(expected.getName(), actual.getName());
+        Assert.assertEquals(expected.getDifficulty(), actual.getDifficulty());
+        for (int row = 0; row < Pattern.ROWS; row++) {
+            for (int col = 0; col < Pattern.COLS; col++) {
+                Assert.assertEquals(expected.getColourRestriction(row, col), actual.getColourRestriction(row, col));
+                Assert.assertEquals(expected.getValueRestriction(row, col), actual.getValueRestriction(row, col));
+                Assert.assertSame(expected.getDie(row, col), actual.getDie(row, col));
+            }
+        }
+    }
+
+    /**
+     * Tests that the common strings to show are encoded as one byte,
+     * and that the others are encoded as they are.
+     */
+    @Test
+    public void testShow() throws IOException {
+        Message known = new Message(Command.SHOW, "showMoveSelection2");
+        Assert.assertEquals(3, payload(known).remaining());
+        Assert.assertEquals("showMoveSelection2", roundTrip(known).getBody());
+        Assert.assertEquals("showSomethingNew", roundTrip(new Message(Command.SHOW, "showSomethingNew")).getBody());
+        Assert.assertEquals("Error", roundTrip(new Message(Command.SHOW_ERROR, "Error")).getBody());
+        Assert.assertEquals(true, roundTrip(new Message(Command.ACK, true)).getBody());
+        Assert.assertNull(roundTrip(new Message(Command.PING, null)).getBody());
+    }
+
+    /**
+     * Tests the status of a player, with its pattern: the player is sent by seat.
+     */
+    @Test
+    public void testPlayerStatus() throws IOException {
+        PlayerStatus status = roundTrip(new PlayerStatus("Player", 2, 3, pattern, OptionalInt.of(-2),
+                OptionalInt.of(7), 300));
+        Assert.assertNull(status.getPlayerName());
+        Assert.assertEquals(2, status.getSeat());
+        Assert.assertEquals(3, status.getTokens());
+        Assert.assertEquals(300, status.getSequence());
+        Assert.assertEquals(OptionalInt.of(-2), status.getLiveScore());
+        Assert.assertEquals(OptionalInt.of(7), status.getPrivateScore());
+        assertPatternEquals(pattern, status.getPattern());
+
+        status = roundTrip(new PlayerStatus("Player", 0, 0, null, OptionalInt.empty(), OptionalInt.empty(), 0));
+        Assert.assertNull(status.getPattern());
+        Assert.assertFalse(status.getLiveScore().isPresent());
+        Assert.assertFalse(status.getPrivateScore().isPresent());
+    }
+
+    /**
+     * Tests the setup of a game.
+     */
+    @Test
+    public void testGameSetup() throws IOException {
+        ToolCard toolCard = new ToolCard("Tool", "Description", Colour.RED);
+        toolCard.use();
+        GameSetup setup = roundTrip(new GameSetup(new String[]{"A", "B"}, new int[]{0, 2},
+                new PrivateObjectiveCard[][]{{new PrivateObjectiveCard("Private", Colour.GREEN, "Shades")}, {}},
+                new ToolCard[]{toolCard},
+                new PublicObjectiveCard[]{new PublicObjectiveCard("Public", "Rows", 5)},
+                new Pattern[][]{{pattern, new Pattern(pattern.getTemplate())}, {}}));
+
+        Assert.assertArrayEquals(new String[]{"A", "B"}, setup.getPlayers());
+        Assert.assertArrayEquals(new int[]{0, 2}, setup.getSeats());
+        Assert.assertEquals("Private", setup.getPrivateObjectives()[0][0].getName());
+        Assert.assertEquals(Colour.GREEN, setup.getPrivateObjectives()[0][0].getColour());
+        Assert.assertEquals("Shades", setup.getPrivateObjectives()[0][0].getDescription());
+        Assert.assertEquals(0, setup.getPrivateObjectives()[1].length);
+        Assert.assertEquals("Tool", setup.getToolCards()[0].getName());
+        Assert.assertEquals(Colour.RED, setup.getToolCards()[0].getColour());
+        Assert.assertTrue(setup.getToolCards()[0].isUsed());
+        Assert.assertEquals(5, setup.getPublicObjectives()[0].getVictoryPoints());
+        assertPatternEquals(pattern, setup.getCandidates()[0][0]);
+        Assert.assertEquals(Pattern.ROWS * Pattern.COLS, setup.getCandidates()[0][1].emptyCells());
+    }
+
+    /**
+     * Tests the updates of a turn, of the dice and of the end of the game, in a batch.
+     */
+    @Test
+    public void testBatch() throws IOException {
+        Map<String, Integer> scoreBoard = new LinkedHashMap<>();
+        scoreBoard.put("B", 40);
+        scoreBoard.put("A", -3);
+        List<ModelUpdate> updates = Arrays.asList(
+                new NextTurn("A", 0, true, false, true, -1, 2, new ToolCard("Tool", "Description", null)),
+                new DraftPoolUpdate(Arrays.asList(Die.of(1, Colour.BLUE), null, Die.of(6, Colour.YELLOW)), 7),
+                new RoundTrackUpdate(Arrays.asList(Collections.singletonList(Die.of(4, Colour.RED)),
+                        Collections.emptyList()), 2),
+                new PlayerConnectionStatus("B", 1, false),
+                new UseToolCard("Tool"),
+                new GameEnd(scoreBoard));
+        List<ModelUpdate> decoded = roundTrip(new ModelUpdateBatch(updates)).getUpdates();
+
+        NextTurn nextTurn = (NextTurn) decoded.get(0);
+        Assert.assertNull(nextTurn.getPlayerName());
+        Assert.assertEquals(0, nextTurn.getSeat());
+        Assert.assertTrue(nextTurn.isSecondTurnAvailable());
+        Assert.assertFalse(nextTurn.isAlreadyPlacedDie());
+        Assert.assertTrue(nextTurn.isAlreadyUsedToolCard());
+        Assert.assertEquals(-1, nextTurn.getForcedSelectionIndex());
+        Assert.assertEquals(2, nextTurn.getSacrificeIndex());
+        Assert.assertNull(nextTurn.getActiveToolCard().getColour());
+        Assert.assertEquals(((DraftPoolUpdate) updates.get(1)).getDice(), ((DraftPoolUpdate) decoded.get(1)).getDice());
+        Assert.assertEquals(7, ((DraftPoolUpdate) decoded.get(1)).getSequence());
+        Assert.assertEquals(2, ((RoundTrackUpdate) decoded.get(2)).getSequence());
+        Assert.assertEquals(((RoundTrackUpdate) updates.get(2)).getRoundTrack(),
+                ((RoundTrackUpdate) decoded.get(2)).getRoundTrack());
+        Assert.assertEquals(1, ((PlayerConnectionStatus) decoded.get(3)).getSeat());
+        Assert.assertFalse(((PlayerConnectionStatus) decoded.get(3)).isConnected());
+        Assert.assertEquals("Tool", ((UseToolCard) decoded.get(4)).getToolCardName());
+        Assert.assertEquals(Arrays.asList("B", "A"),
+                Arrays.asList(((GameEnd) decoded.get(5)).getScoreBoard().keySet().toArray()));
+        Assert.assertEquals(scoreBoard, ((GameEnd) decoded.get(5)).getScoreBoard());
+    }
+
+    /**
+     * Tests the changes of the draft pool, of the round track and of the
+     * status of a player, and that they take a few bytes.
+     */
+    @Test
+    public void testDeltas() throws IOException {
+        DraftPoolDelta draftPool = roundTrip(new DraftPoolDelta(3, null, 130));
+        Assert.assertEquals(3, draftPool.getSlot());
+        Assert.assertNull(draftPool.getDie());
+        Assert.assertEquals(130, draftPool.getSequence());
+
+        RoundTrackDelta roundTrack = roundTrip(new RoundTrackDelta(9, -1,
+                Arrays.asList(Die.of(2, Colour.PURPLE), Die.of(5, Colour.GREEN)), 11));
+        Assert.assertEquals(9, roundTrack.getRound());
+        Assert.assertEquals(-1, roundTrack.getRemoved());
+        Assert.assertEquals(Arrays.asList(Die.of(2, Colour.PURPLE), Die.of(5, Colour.GREEN)), roundTrack.getAdded());
+        Assert.assertEquals(11, roundTrack.getSequence());
+
+        int changedCells = 1 | 1 << 19;
+        PlayerStatusDelta status = roundTrip(new PlayerStatusDelta("Player", 3, changedCells,
+                Arrays.asList(null, Die.of(6, Colour.BLUE)), 1, OptionalInt.of(-4), OptionalInt.of(3), 5));
+        Assert.assertNull(status.getPlayerName());
+        Assert.assertEquals(3, status.getSeat());
+        Assert.assertEquals(changedCells, status.getChangedCells());
+        Assert.assertEquals(Arrays.asList(null, Die.of(6, Colour.BLUE)), status.getDice());
+        Assert.assertEquals(1, status.getTokens());
+        Assert.assertEquals(OptionalInt.of(-4), status.getLiveScore());
+        Assert.assertEquals(OptionalInt.of(3), status.getPrivateScore());
+        Assert.assertEquals(5, status.getSequence());
+        Assert.assertTrue(payload(new Message(Command.MODEL_UPDATE, new PlayerStatusDelta("Player", 3, 1,
+                Collections.singletonList(Die.of(6, Colour.BLUE)), 1, OptionalInt.empty(), OptionalInt.empty(),
+                6))).remaining() <= 10);
+
+        Assert.assertTrue(payload(new Message(Command.MODEL_UPDATE,
+                new DraftPoolDelta(3, Die.of(1, Colour.RED), 1))).remaining() <= 6);
+    }
+
+    /**
+     * Tests the messages of the views: they don't carry the player, which is
+     * the one of the connection.
+     */
+    @Test
+    public void testViewMessages() throws IOException {
+        Coordinates coordinates = new Coordinates(2, 3);
+
+        ViewMessage message = roundTrip(new ViewMessage(null, Action.END_TURN, "A"));
+        Assert.assertEquals(Action.END_TURN, message.getAction());
+        Assert.assertNull(message.getPlayerName());
+        Assert.assertNull(message.getView());
+
+        PlaceDie placeDie = roundTrip(new PlaceDie(4, coordinates, null, Action.PLACE_DIE, "A"));
+        Assert.assertEquals(4, placeDie.getDieIndex());
+        Assert.assertEquals(3, placeDie.getDestination().getCol());
+
+        IncrementDieValue increment = roundTrip(new IncrementDieValue(1, true, null, Action.INCREMENT_DIE, "A"));
+        Assert.assertEquals(1, increment.getDieIndex());
+        Assert.assertTrue(increment.isIncrement());
+
+        MoveDice moveDice = roundTrip(new MoveDice(new Coordinates[]{coordinates, new Coordinates(0, 0)},
+                null, null, Action.APPLY_TOOL_CARD, "A"));
+        Assert.assertEquals(0, moveDice.getSources()[1].getRow());
+        Assert.assertNull(moveDice.getDestinations());
+
+        DiceSwap swap = roundTrip(new DiceSwap(7, null, null, Action.APPLY_TOOL_CARD, "A"));
+        Assert.assertEquals(7, swap.getSourceIndex());
+        Assert.assertNull(swap.getDestination());
+
+        ChooseValue chooseValue = roundTrip(new ChooseValue(null, Action.CHOOSE_VALUE, "A", 5, coordinates));
+        Assert.assertEquals(5, chooseValue.getValue());
+        Assert.assertEquals(2, chooseValue.getDestination().getRow());
+
+        SelectCardSP selectCard = roundTrip(new SelectCardSP("Tool", null, Action.ACTIVATE_TOOL_CARD, "A", 3));
+        Assert.assertEquals("Tool", selectCard.getName());
+        Assert.assertEquals(3, selectCard.getDieIndex());
+
+        Assert.assertEquals(4, roundTrip(new SelectDifficulty(4, null, "A")).getDifficulty());
+    }
+
+    /**
+     * Tests that a message whose body isn't supported by the binary
+     * format is sent with Java serialization.
+     */
+    @Test
+    public void testSerializationFallback() throws IOException {
+        ByteBuffer payload = payload(new Message(Command.SHOW, 42));
+        Assert.assertEquals(WireFormat.SERIALIZATION, FrameCodec.formatOf(payload));
+        Assert.assertEquals(42, FrameCodec.decode(payload).getBody());
+    }
+
+    /**
+     * Tests that the login of any version can be read, while the other messages
+     * of a version that isn't supported are rejected.
+     */
+    @Test
+    public void testUnsupportedVersion() throws IOException {
+        ByteBuffer login = payload(new Message(Command.LOGIN_MP, "Player"));
+        login.put(0, (byte) (BinaryCodec.VERSION + 1));
+        Assert.assertEquals(WireFormat.SERIALIZATION, FrameCodec.formatOf(login));
+        Assert.assertEquals("Player", FrameCodec.decode(login).getBody());
+
+        ByteBuffer ack = payload(new Message(Command.ACK, true));
+        ack.put(0, (byte) (BinaryCodec.VERSION + 1));
+        try {
+            FrameCodec.decode(ack);
+            Assert.fail();
+        } catch (StreamCorruptedException e) {
+            //expected
+        }
+    }
+
+    /**
+     * Tests that an incomplete message is rejected.
+     */
+    @Test(expected = StreamCorruptedException.class)
+    public void testTruncated() throws IOException {
+        ByteBuffer payload = payload(new Message(Command.MODEL_UPDATE, new PlayerStatus("Player", 0, 3, pattern,
+                OptionalInt.empty(), OptionalInt.empty(), 1)));
+        payload.limit(payload.limit() - 1);
+        FrameCodec.decode(payload);
+    }
+
+    /**
+     * Tests that a batch nested in another batch is rejected, so that a deep
+     * nesting can't exhaust the stack of the decoder.
+     */
+    @Test
+    public void testNestedBatch() throws IOException {
+        int depth = 200000;
+        ByteBuffer payload = ByteBuffer.allocate(2 + 2 * depth + 1);
+        payload.put((byte) BinaryCodec.VERSION).put((byte) Command.MODEL_UPDATE.ordinal());
+        for (int i = 0; i < depth; i++)
+            payload.put((byte) ModelEvent.BATCH.ordinal()).put((byte) 1);
+        payload.put((byte) ModelEvent.BATCH.ordinal());
+        payload.flip();
+        Assert.assertTrue(payload.remaining() < FrameCodec.MAX_PAYLOAD_LENGTH);
+        try {
+            FrameCodec.decode(payload);
+            Assert.fail();
+        } catch (StreamCorruptedException e) {
+            //expected
+        }
+
+        ModelUpdateBatch nested = new ModelUpdateBatch(Collections.singletonList(
+                new ModelUpdateBatch(Collections.singletonList(new UseToolCard("Tool")))));
+        //a nested batch is sent with Java serialization
+        Assert.assertEquals(WireFormat.SERIALIZATION,
+                FrameCodec.formatOf(payload(new Message(Command.MODEL_UPDATE, nested))));
+    }
+
+    /**
+     * Tests that a message encoded with Java serialization is rejected when
+     * its objects are nested too deeply.
+     */
+    @Test(expected = InvalidClassException.class)
+    public void testDeepSerialization() throws IOException {
+        Object[] outer = new Object[1];
+        Object[] array = outer;
+        for (int i = 0; i < 1000; i++) {
+            Object[] inner = new Object[1];
+            array[0] = inner;
+            array = inner;
+        }
+        FrameCodec.decode(payload(new Message(Command.VIEW_MESSAGE, outer)));
+    }
+
+    /**
+     * Tests that the updates of a game pass the filter of Java serialization.
+     */
+    @Test
+    public void testSerializedUpdates() throws IOException {
+        GameSetup setup = new GameSetup(new String[]{"Player"},
+                new PrivateObjectiveCard[][]{{new PrivateObjectiveCard("Red", Colour.RED, "Red shades")}},
+                new ToolCard[]{new ToolCard("Tool", "A tool", Colour.BLUE)},
+                new PublicObjectiveCard[]{new PublicObjectiveCard("Public", "A public objective", 4)},
+                new Pattern[][]{{pattern}});
+        Map<String, Integer> scoreBoard = new LinkedHashMap<>();
+        scoreBoard.put("Player", 30);
+        ModelUpdateBatch batch = new ModelUpdateBatch(Arrays.asList(setup,
+                new PlayerStatus("Player", 3, pattern, OptionalInt.of(5), OptionalInt.of(2), 1),
+                new RoundTrackUpdate(Collections.singletonList(Arrays.asList(Die.of(1, Colour.RED),
+                        Die.of(2, Colour.YELLOW))), 1),
+                new GameEnd(scoreBoard)));
+
+        ByteBuffer frame = FrameCodec.encode(new Message(Command.MODEL_UPDATE, batch), WireFormat.SERIALIZATION);
+        frame.position(FrameCodec.HEADER_LENGTH);
+        ModelUpdateBatch decoded = (ModelUpdateBatch) FrameCodec.decode(frame).getBody();
+        Assert.assertEquals(4, decoded.getUpdates().size());
+        assertPatternEquals(pattern, ((GameSetup) decoded.getUpdates().get(0)).getCandidates()[0][0]);
+    }
+
+    /**
+     * Tests that an update about a player without a seat is sent with
+     * Java serialization, which keeps the name.
+     */
+    @Test
+    public void testWithoutSeat() throws IOException {
+        Message message = new Message(Command.MODEL_UPDATE, new PlayerConnectionStatus("Player", true));
+        ByteBuffer payload = payload(message);
+        Assert.assertEquals(WireFormat.SERIALIZATION, FrameCodec.formatOf(payload));
+        Assert.assertEquals("Player", ((PlayerConnectionStatus) FrameCodec.decode(payload).getBody()).getPlayerName());
+    }
+
+    /**
+     * Tests that the messages whose command isn't expected are rejected,
+     * in both formats.
+     */
+    @Test
+    public void testUnexpectedCommand() throws IOException {
+        Set<Command> accepted = EnumSet.of(Command.LOGIN_MP, Command.VIEW_MESSAGE);
+        Assert.assertEquals("Player", FrameCodec.decode(payload(new Message(Command.LOGIN_MP, "Player")),
+                accepted).getBody());
+        for (Message message : Arrays.asList(new Message(Command.SHOW, "showPlaceDie"),
+                new Message(Command.SHOW, 42))) {
+            try {
+                FrameCodec.decode(payload(message), accepted);
+                Assert.fail();
+            } catch (StreamCorruptedException e) {
+                //expected
+            }
+        }
+    }
+
+    /**
+     * Tests that the binary format is much smaller than Java serialization.
+     */
+    @Test
+    public void testSize() throws IOException {
+        Message message = new Message(Command.MODEL_UPDATE, new PlayerStatus("Player", 0, 3, pattern,
+                OptionalInt.of(10), OptionalInt.empty(), 1));
+        int binary = FrameCodec.encode(message, WireFormat.BINARY).remaining();
+        int serialized = FrameCodec.encode(message, WireFormat.SERIALIZATION).remaining();
+        Assert.assertTrue(binary + " vs " + serialized, binary * 10 < serialized);
+    }
+}
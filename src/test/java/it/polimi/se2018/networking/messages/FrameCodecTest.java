@@ -0,0 +1,105 @@
+package it.polimi.se2018.networking.messages;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.IOException;
+import java.io.StreamCorruptedException;
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Unit tests for {@link FrameCodec}.
+ *
+ * @author giorgiolabate
+ */
+public class FrameCodecTest {
+
+    /**
+     * Tests that a message is decoded as it was encoded, and that the
+     * header contains the length of the payload.
+     */
+    @Test
+    public void testEncodeDecode() throws IOException {
+        ByteBuffer frame = FrameCodec.encode(new Message(Command.LOGIN_MP, "Player"));
+        Assert.assertEquals(frame.remaining() - FrameCodec.HEADER_LENGTH, frame.getInt(0));
+
+        frame.position(FrameCodec.HEADER_LENGTH);
+        Message message = FrameCodec.decode(frame);
+        Assert.assertEquals(Command.LOGIN_MP, message.getCommand());
+        Assert.assertEquals("Player", message.getBody());
+    }
+
+    /**
+     * Tests the frames on blocking streams.
+     */
+    @Test
+    public void testReadWrite() throws IOException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        FrameCodec.write(out, new Message(Command.ACK, true));
+        FrameCodec.write(out, new Message(Command.LOGIN_SP, "Player"));
+
+        DataInputStream in = new DataInputStream(new ByteArrayInputStream(out.toByteArray()));
+        Assert.assertEquals(true, FrameCodec.read(in).getBody());
+        Assert.assertEquals("Player", FrameCodec.read(in).getBody());
+    }
+
+    /**
+     * Tests that the reader rebuilds the frames when the bytes arrive in
+     * chunks of any size, and when a chunk contains more frames.
+     */
+    @Test
+    public void testReaderChunks() throws IOException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        for (int i = 0; i < 3; i++)
+            FrameCodec.write(out, new Message(Command.ACK, "Message" + i));
+        byte[] bytes = out.toByteArray();
+
+        for (int chunkSize : new int[]{1, 3, 7, bytes.length}) {
+            FrameCodec.Reader reader = new FrameCodec.Reader();
+            List<Object> bodies = new ArrayList<>();
+            for (int offset = 0; offset < bytes.length; offset += chunkSize) {
+                ByteBuffer chunk = ByteBuffer.wrap(bytes, offset, Math.min(chunkSize, bytes.length - offset));
+                ByteBuffer frame;
+                while ((frame = reader.next(chunk)) != null)
+                    bodies.add(FrameCodec.decode(frame).getBody());
+            }
+            Assert.assertEquals(3, bodies.size());
+            for (int i = 0; i < 3; i++)
+                Assert.assertEquals("Message" + i, bodies.get(i));
+        }
+    }
+
+    /**
+     * Tests that a frame with an invalid length is rejected.
+     */
+    @Test(expected = StreamCorruptedException.class)
+    public void testInvalidLength() throws IOException {
+        ByteBuffer chunk = ByteBuffer.allocate(FrameCodec.HEADER_LENGTH);
+        chunk.putInt(0, FrameCodec.MAX_PAYLOAD_LENGTH + 1);
+        new FrameCodec.Reader().next(chunk);
+    }
+
+    /**
+     * Tests that a shared frame is encoded once, and that each connection
+     * gets a read-only view of it, with its own position.
+     */
+    @Test
+    public void testEncodeShared() throws IOException {
+        Message message = new Message(Command.SHOW, "showPlaceDie");
+        ByteBuffer first = FrameCodec.encodeShared(message, WireFormat.BINARY);
+        ByteBuffer frame = message.getFrame(WireFormat.BINARY);
+        ByteBuffer second = FrameCodec.encodeShared(message, WireFormat.BINARY);
+
+        Assert.assertSame(frame, message.getFrame(WireFormat.BINARY));
+        Assert.assertNull(message.getFrame(WireFormat.SERIALIZATION));
+        Assert.assertTrue(first.isReadOnly());
+        first.position(first.limit());
+        Assert.assertEquals(0, second.position());
+        Assert.assertEquals(frame.remaining(), second.remaining());
+    }
+}
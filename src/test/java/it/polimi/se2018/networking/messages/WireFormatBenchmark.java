@@ -0,0 +1,89 @@
+package it.polimi.se2018.networking.messages;
+
+import it.polimi.se2018.model.*;
+import it.polimi.se2018.model.events.*;
+import it.polimi.se2018.utils.Coordinates;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.OptionalInt;
+
+/**
+ * Compares the {@link WireFormat}s: the size of the frames of the typical
+ * messages of a turn, with the whole data or with its changes, and the time
+ * to encode and decode them.
+ * <p>It's not run with the tests: launch it with
+ * {@code java -cp <test and main classes> it.polimi.se2018.networking.messages.WireFormatBenchmark}.</p>
+ *
+ * @author giorgiolabate
+ */
+public class WireFormatBenchmark {
+
+    /**
+     * The number of times each message is encoded and decoded in a round.
+     */
+    private static final int ITERATIONS = 20000;
+
+    /**
+     * Runs the benchmark.
+     *
+     * @param args not used.
+     * @throws Exception if a message can't be encoded or decoded.
+     */
+    public static void main(String[] args) throws Exception {
+        Cell[][] grid = new Cell[Pattern.ROWS][Pattern.COLS];
+        for (Cell[] row : grid)
+            Arrays.setAll(row, i -> new Cell());
+        grid[1][2] = new Cell(Colour.RED);
+        grid[3][3] = new Cell(4);
+        Pattern pattern = new Pattern("Pattern", 5, grid)
+                .placeDie(Die.of(2, Colour.BLUE), new Coordinates(0, 0))
+                .placeDie(Die.of(6, Colour.RED), new Coordinates(1, 1));
+
+        Message[] messages = {
+                new Message(Command.SHOW, "showMoveSelection2"),
+                new Message(Command.MODEL_UPDATE, new ModelUpdateBatch(Arrays.asList(
+                        new PlayerStatus("Player", 3, pattern, OptionalInt.of(12), 1),
+                        new DraftPoolUpdate(Arrays.asList(Die.of(1, Colour.BLUE), Die.of(5, Colour.GREEN),
+                                Die.of(3, Colour.YELLOW))),
+                        new NextTurn("Other", true, false, false, -1, -1, null)))),
+                new Message(Command.MODEL_UPDATE, new ModelUpdateBatch(Arrays.asList(
+                        new PlayerStatusDelta("Player", 1 << 7, Collections.singletonList(Die.of(5, Colour.GREEN)),
+                                3, OptionalInt.of(14), 2),
+                        new DraftPoolDelta(1, null, 2),
+                        new NextTurn("Other", true, false, false, -1, -1, null)))),
+                new Message(Command.VIEW_MESSAGE, new PlaceDie(2, new Coordinates(2, 1), null,
+                        Action.PLACE_DIE, "Player"))
+        };
+
+        for (int round = 0; round < 3; round++) {
+            for (Message message : messages) {
+                for (WireFormat format : WireFormat.values()) {
+                    long begin = System.nanoTime();
+                    int size = 0;
+                    for (int i = 0; i < ITERATIONS; i++)
+                        size = decode(FrameCodec.encode(message, format));
+                    long elapsed = System.nanoTime() - begin;
+                    System.out.printf("%s %s: %d bytes, %.2f us/message%n", message.getCommand(), format,
+                            size, elapsed / 1e3 / ITERATIONS);
+                }
+            }
+        }
+    }
+
+    /**
+     * Decodes a frame.
+     *
+     * @param frame the frame.
+     * @return the size of the frame.
+     * @throws IOException if the frame can't be decoded.
+     */
+    private static int decode(ByteBuffer frame) throws IOException {
+        int size = frame.remaining();
+        frame.position(frame.position() + FrameCodec.HEADER_LENGTH);
+        FrameCodec.decode(frame);
+        return size;
+    }
+}
@@ -0,0 +1,148 @@
+package it.polimi.se2018.networking.server;
+
+import it.polimi.se2018.model.Colour;
+import it.polimi.se2018.model.Die;
+import it.polimi.se2018.model.events.DraftPoolDelta;
+import it.polimi.se2018.model.events.DraftPoolUpdate;
+import it.polimi.se2018.model.events.ModelUpdateBatch;
+import it.polimi.se2018.model.events.RoundTrackDelta;
+import it.polimi.se2018.networking.messages.Command;
+import it.polimi.se2018.networking.messages.Message;
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.util.Arrays;
+import java.util.Collections;
+
+/**
+ * Unit tests for {@link OutboundQueue}.
+ *
+ * @author giorgiolabate
+ */
+public class OutboundQueueTest {
+
+    /**
+     * Creates a message that updates the draft pool.
+     *
+     * @param value the value of the only die of the pool.
+     * @return the message.
+     */
+    private static Message draftPool(int value) {
+        return new Message(Command.MODEL_UPDATE,
+                new DraftPoolUpdate(Collections.singletonList(Die.of(value, Colour.RED))));
+    }
+
+    /**
+     * Tests that the queue refuses the messages when it's full, and that
+     * the latency of the messages written is recorded.
+     */
+    @Test
+    public void testBounded() {
+        OutboundQueue queue = new OutboundQueue(new SlowConsumerPolicy(false, 2));
+        Message first = draftPool(1);
+        Assert.assertTrue(queue.offer(first));
+        Assert.assertTrue(queue.offer(draftPool(2)));
+        Assert.assertFalse(queue.offer(draftPool(3)));
+        Assert.assertEquals(2, queue.size());
+
+        Assert.assertSame(first, queue.poll());
+        queue.written();
+        Assert.assertTrue(queue.getMaxLatency() >= queue.getLastLatency());
+        Assert.assertEquals(1, queue.size());
+        Assert.assertEquals(0, queue.getCoalesced());
+    }
+
+    /**
+     * Tests that, when the queue is full, the updates that are superseded by
+     * later ones are dropped, while the other messages are kept in order.
+     */
+    @Test
+    public void testCoalescing() {
+        OutboundQueue queue = new OutboundQueue(new SlowConsumerPolicy(true, 3));
+        Message show = new Message(Command.SHOW, "showPlaceDie");
+        Message third = draftPool(3);
+        queue.offer(draftPool(1));
+        queue.offer(show);
+        queue.offer(draftPool(2));
+        Assert.assertTrue(queue.offer(third));
+
+        Assert.assertEquals(2, queue.getCoalesced());
+        Assert.assertSame(show, queue.poll());
+        Assert.assertSame(third, queue.poll());
+        Assert.assertNull(queue.poll());
+        Assert.assertTrue(queue.isEmpty());
+    }
+
+    /**
+     * Tests that the queue refuses the messages when there are no superseded updates.
+     */
+    @Test
+    public void testFullAfterCoalescing() {
+        OutboundQueue queue = new OutboundQueue(new SlowConsumerPolicy(true, 2));
+        queue.offer(new Message(Command.SHOW, "showPlaceDie"));
+        queue.offer(new Message(Command.SHOW, "showConfirm"));
+        Assert.assertFalse(queue.offer(draftPool(1)));
+    }
+
+    /**
+     * Tests that the updates of the batches are dropped one by one: a full
+     * update of the draft pool supersedes its deltas, while the deltas of the
+     * round track are still sent, in order.
+     */
+    @Test
+    public void testBatchCoalescing() {
+        OutboundQueue queue = new OutboundQueue(new SlowConsumerPolicy(true, 3));
+        Die die = Die.of(4, Colour.BLUE);
+        RoundTrackDelta firstRound = new RoundTrackDelta(0, -1, Collections.singletonList(die), 1);
+        RoundTrackDelta secondRound = new RoundTrackDelta(1, -1, Collections.singletonList(die), 2);
+        Message show = new Message(Command.SHOW, "showPlaceDie");
+        Message pool = draftPool(5);
+        queue.offer(new Message(Command.MODEL_UPDATE, new ModelUpdateBatch(Arrays.asList(
+                new DraftPoolDelta(0, die, 1), firstRound, secondRound))));
+        queue.offer(show);
+        queue.offer(new Message(Command.MODEL_UPDATE, new ModelUpdateBatch(
+                Collections.singletonList(new DraftPoolDelta(1, null, 2)))));
+        Assert.assertTrue(queue.offer(pool));
+
+        Assert.assertEquals(2, queue.getCoalesced());
+        Message batch = queue.poll();
+        Assert.assertEquals(Command.MODEL_UPDATE, batch.getCommand());
+        Assert.assertEquals(Arrays.asList(firstRound, secondRound),
+                ((ModelUpdateBatch) batch.getBody()).getUpdates());
+        Assert.assertSame(show, queue.poll());
+        Assert.assertSame(pool, queue.poll());
+        Assert.assertNull(queue.poll());
+    }
+
+    /**
+     * Tests that a batch left with a single update is replaced by the update.
+     */
+    @Test
+    public void testBatchReducedToUpdate() {
+        OutboundQueue queue = new OutboundQueue(new SlowConsumerPolicy(true, 1));
+        Die die = Die.of(2, Colour.GREEN);
+        RoundTrackDelta round = new RoundTrackDelta(0, -1, Collections.singletonList(die), 1);
+        queue.offer(new Message(Command.MODEL_UPDATE, new ModelUpdateBatch(Arrays.asList(
+                new DraftPoolDelta(0, die, 1), round))));
+        Assert.assertFalse(queue.offer(draftPool(1)));
+
+        Assert.assertEquals(1, queue.getCoalesced());
+        Assert.assertSame(round, queue.poll().getBody());
+    }
+
+    /**
+     * Tests that a policy must allow at least a message.
+     */
+    @Test(expected = IllegalArgumentException.class)
+    public void testInvalidPolicy() {
+        new SlowConsumerPolicy(true, 0);
+    }
+
+    /**
+     * Tests that a policy must have a positive timeout.
+     */
+    @Test(expected = IllegalArgumentException.class)
+    public void testInvalidTimeout() {
+        new SlowConsumerPolicy(true, 1, 0);
+    }
+}
@@ -0,0 +1,233 @@
+package it.polimi.se2018.networking.server;
+
+import it.polimi.se2018.model.events.Action;
+import it.polimi.se2018.model.events.ViewMessage;
+import it.polimi.se2018.networking.client.ClientNetInterface;
+import it.polimi.se2018.networking.messages.Command;
+import it.polimi.se2018.networking.messages.FrameCodec;
+import it.polimi.se2018.networking.messages.Message;
+import it.polimi.se2018.networking.messages.WireFormat;
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.net.Socket;
+import java.nio.ByteBuffer;
+import java.nio.channels.ServerSocketChannel;
+import java.nio.channels.SocketChannel;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * Unit tests for {@link TcpEventLoop}.
+ *
+ * @author giorgiolabate
+ */
+public class TcpEventLoopTest {
+
+    /**
+     * A server that records the usernames of the clients that logged in
+     * and the view messages they sent.
+     */
+    private static class LoginServer extends DummyServer {
+
+        /**
+         * The usernames of the clients added.
+         */
+        private final BlockingQueue<String> logins = new LinkedBlockingQueue<>();
+
+        /**
+         * The view messages received.
+         */
+        private final BlockingQueue<ViewMessage> messages = new LinkedBlockingQueue<>();
+
+        @Override
+        public void send(Message message) {
+            messages.add((ViewMessage) message.getBody());
+        }
+
+        @Override
+        public boolean addClient(ClientNetInterface client, boolean isMultiPlayer) {
+            logins.add(client.getUsername());
+            return true;
+        }
+
+        @Override
+        public void removeClient(ClientNetInterface client) {
+            //Do nothing
+        }
+    }
+
+    /**
+     * Opens a connection and adds it to the loop.
+     *
+     * @param acceptor the channel that accepts the connections.
+     * @param loop     the loop.
+     * @param server   the server of the clients.
+     * @return the socket of the client side.
+     * @throws IOException if the connection can't be opened.
+     */
+    private static Socket connect(ServerSocketChannel acceptor, TcpEventLoop loop, ServerNetInterface server)
+            throws IOException {
+        Socket socket = new Socket(InetAddress.getLoopbackAddress(), acceptor.socket().getLocalPort());
+        socket.setSoTimeout(5000);
+        SocketChannel channel = acceptor.accept();
+        channel.configureBlocking(false);
+        loop.register(channel, new VirtualTcpClient(server, channel, loop));
+        return socket;
+    }
+
+    /**
+     * Sends a message in a frame of the specified format.
+     *
+     * @param socket  the socket.
+     * @param message the message.
+     * @param format  the format of the frame.
+     * @throws IOException if the message can't be sent.
+     */
+    private static void send(Socket socket, Message message, WireFormat format) throws IOException {
+        ByteBuffer frame = FrameCodec.encode(message, format);
+        socket.getOutputStream().write(frame.array(), frame.arrayOffset() + frame.position(), frame.remaining());
+        socket.getOutputStream().flush();
+    }
+
+    /**
+     * Creates an array nested in other arrays.
+     *
+     * @param depth the number of arrays.
+     * @return the outer array.
+     */
+    private static Object[] nested(int depth) {
+        Object[] outer = new Object[1];
+        Object[] array = outer;
+        for (int i = 1; i < depth; i++) {
+            Object[] inner = new Object[1];
+            array[0] = inner;
+            array = inner;
+        }
+        return outer;
+    }
+
+    /**
+     * Encodes with Java serialization a message whose body is deeply nested:
+     * it's done by a thread with a large stack, since the encoder is recursive.
+     *
+     * @param depth the depth of the body.
+     * @return the frame.
+     * @throws InterruptedException if the thread is interrupted.
+     */
+    private static ByteBuffer deepFrame(int depth) throws InterruptedException {
+        AtomicReference<ByteBuffer> frame = new AtomicReference<>();
+        Thread encoder = new Thread(null, () -> {
+            try {
+                frame.set(FrameCodec.encode(new Message(Command.VIEW_MESSAGE, nested(depth)),
+                        WireFormat.SERIALIZATION));
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        }, "Deep-encoder", 1L << 29);
+        encoder.start();
+        encoder.join();
+        return frame.get();
+    }
+
+    /**
+     * Tests that a client that sends a malformed message is disconnected,
+     * while the loop keeps serving the other connections.
+     */
+    @Test
+    public void testMalformedFrame() throws Exception {
+        LoginServer server = new LoginServer();
+        TcpEventLoop loop = new TcpEventLoop();
+        Thread thread = new Thread(loop);
+        thread.start();
+        try (ServerSocketChannel acceptor = ServerSocketChannel.open()) {
+            acceptor.bind(new InetSocketAddress(InetAddress.getLoopbackAddress(), 0));
+            Socket malformed = connect(acceptor, loop, server);
+            Socket valid = connect(acceptor, loop, server);
+
+            send(malformed, new Message(Command.LOGIN_MP, 42), WireFormat.SERIALIZATION);
+            Assert.assertEquals(-1, malformed.getInputStream().read());
+
+            send(valid, new Message(Command.LOGIN_MP, "Player"), WireFormat.SERIALIZATION);
+            Assert.assertEquals("Player", server.logins.poll(5, TimeUnit.SECONDS));
+
+            //A logged client can only send messages of the views
+            send(valid, new Message(Command.VIEW_MESSAGE, "Not a view message"), WireFormat.SERIALIZATION);
+            Assert.assertEquals(-1, valid.getInputStream().read());
+
+            Socket other = connect(acceptor, loop, server);
+            send(other, new Message(Command.LOGIN_SP, "Other"), WireFormat.BINARY);
+            Assert.assertEquals("Other", server.logins.poll(5, TimeUnit.SECONDS));
+            Assert.assertTrue(thread.isAlive());
+        } finally {
+            loop.close();
+            thread.join(5000);
+        }
+    }
+
+    /**
+     * Tests that a message nested too deeply to be decoded disconnects only
+     * its client, while the loop keeps serving the other connections.
+     */
+    @Test
+    public void testDeepMessage() throws Exception {
+        ByteBuffer frame = deepFrame(50000);
+        Assert.assertNotNull(frame);
+        Assert.assertTrue(frame.remaining() < FrameCodec.MAX_PAYLOAD_LENGTH);
+
+        LoginServer server = new LoginServer();
+        TcpEventLoop loop = new TcpEventLoop();
+        Thread thread = new Thread(loop);
+        thread.start();
+        try (ServerSocketChannel acceptor = ServerSocketChannel.open()) {
+            acceptor.bind(new InetSocketAddress(InetAddress.getLoopbackAddress(), 0));
+            Socket deep = connect(acceptor, loop, server);
+            Socket valid = connect(acceptor, loop, server);
+
+            deep.getOutputStream().write(frame.array(), frame.arrayOffset() + frame.position(), frame.remaining());
+            deep.getOutputStream().flush();
+            Assert.assertEquals(-1, deep.getInputStream().read());
+
+            send(valid, new Message(Command.LOGIN_MP, "Player"), WireFormat.BINARY);
+            Assert.assertEquals("Player", server.logins.poll(5, TimeUnit.SECONDS));
+            Assert.assertTrue(thread.isAlive());
+        } finally {
+            loop.close();
+            thread.join(5000);
+        }
+    }
+
+    /**
+     * Tests that the view messages are given the player of the connection,
+     * whether they carry a name or not.
+     */
+    @Test
+    public void testViewMessagePlayer() throws Exception {
+        LoginServer server = new LoginServer();
+        TcpEventLoop loop = new TcpEventLoop();
+        Thread thread = new Thread(loop);
+        thread.start();
+        try (ServerSocketChannel acceptor = ServerSocketChannel.open()) {
+            acceptor.bind(new InetSocketAddress(InetAddress.getLoopbackAddress(), 0));
+            Socket socket = connect(acceptor, loop, server);
+            send(socket, new Message(Command.LOGIN_MP, "Player"), WireFormat.BINARY);
+            Assert.assertEquals("Player", server.logins.poll(5, TimeUnit.SECONDS));
+
+            send(socket, new Message(Command.VIEW_MESSAGE, new ViewMessage(null, Action.END_TURN, "Player")),
+                    WireFormat.BINARY);
+            Assert.assertEquals("Player", server.messages.poll(5, TimeUnit.SECONDS).getPlayerName());
+            send(socket, new Message(Command.VIEW_MESSAGE, new ViewMessage(null, Action.END_TURN, "Other")),
+                    WireFormat.SERIALIZATION);
+            Assert.assertEquals("Player", server.messages.poll(5, TimeUnit.SECONDS).getPlayerName());
+        } finally {
+            loop.close();
+            thread.join(5000);
+        }
+    }
+}
@@ -1,10 +1,17 @@
 package it.polimi.se2018.networking.server;
 
+import it.polimi.se2018.networking.client.ClientNetInterface;
 import it.polimi.se2018.networking.client.DummyClient;
 import it.polimi.se2018.networking.client.RmiClientImplementation;
+import it.polimi.se2018.networking.client.RmiClientInterface;
+import it.polimi.se2018.networking.messages.Command;
+import it.polimi.se2018.networking.messages.Message;
 import org.junit.Assert;
 import org.junit.Test;
 
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
 /**
  * Unit tests for VirtualRmiClient.
  */
@@ -24,4 +31,99 @@ public class VirtualRmiClientTest {
 
         Assert.assertEquals(name, client.getUsername());
     }
+
+    /**
+     * Tests that a client that doesn't receive its messages doesn't block the
+     * thread that notifies it, and that it's disconnected when its queue is full.
+     */
+    @Test
+    public void testSlowClient() throws InterruptedException {
+        CountDownLatch stalled = new CountDownLatch(1);
+        CountDownLatch removed = new CountDownLatch(1);
+        RmiClientInterface slowClient = new RmiClientInterface() {
+            @Override
+            public void notify(Message message) {
+                try {
+                    stalled.await();
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+            }
+
+            @Override
+            public String getUsername() {
+                return "Slow";
+            }
+        };
+        DummyServer server = new DummyServer() {
+            @Override
+            public void removeClient(ClientNetInterface client) {
+                removed.countDown();
+            }
+        };
+
+        SlowConsumerPolicy.setCurrent(new SlowConsumerPolicy(false, 4));
+        VirtualRmiClient client;
+        try {
+            client = new VirtualRmiClient(server, slowClient);
+        } finally {
+            SlowConsumerPolicy.setCurrent(SlowConsumerPolicy.DEFAULT);
+        }
+        //the first message is taken by the writer, the others wait in the queue
+        for (int i = 0; i < 10; i++)
+            client.notify(new Message(Command.SHOW, "showPlaceDie"));
+
+        Assert.assertTrue(removed.await(5, TimeUnit.SECONDS));
+        Assert.assertTrue(client.getOutboundQueue().size() <= 4);
+        stalled.countDown();
+    }
+
+    /**
+     * Tests that a client that takes too long to receive a message is
+     * disconnected, even if its queue isn't full.
+     */
+    @Test
+    public void testStalledClient() throws InterruptedException {
+        CountDownLatch stalled = new CountDownLatch(1);
+        CountDownLatch called = new CountDownLatch(1);
+        CountDownLatch removed = new CountDownLatch(1);
+        RmiClientInterface stalledClient = new RmiClientInterface() {
+            @Override
+            public void notify(Message message) {
+                called.countDown();
+                try {
+                    stalled.await();
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+            }
+
+            @Override
+            public String getUsername() {
+                return "Stalled";
+            }
+        };
+        DummyServer server = new DummyServer() {
+            @Override
+            public void removeClient(ClientNetInterface client) {
+                removed.countDown();
+            }
+        };
+
+        SlowConsumerPolicy.setCurrent(new SlowConsumerPolicy(false, 100, 50));
+        VirtualRmiClient client;
+        try {
+            client = new VirtualRmiClient(server, stalledClient);
+        } finally {
+            SlowConsumerPolicy.setCurrent(SlowConsumerPolicy.DEFAULT);
+        }
+        client.notify(new Message(Command.SHOW, "showPlaceDie"));
+        Assert.assertTrue(called.await(5, TimeUnit.SECONDS));
+        Thread.sleep(100);
+        client.notify(new Message(Command.SHOW, "showConfirm"));
+
+        Assert.assertTrue(removed.await(5, TimeUnit.SECONDS));
+        Assert.assertTrue(client.getOutboundQueue().isEmpty());
+        stalled.countDown();
+    }
 }
@@ -250,7 +250,7 @@ public class GameUtils {
 
 
         Player player = game.getPlayers().get(0);
-        Die yellow6 = new Die(6, new Random(), Colour.YELLOW);
+        Die yellow6 = Die.of(6, Colour.YELLOW);
 
         try {
             Pattern newPattern = player.getPattern()
@@ -282,12 +282,12 @@ public class GameUtils {
      */
     public static List<Die> getDice(boolean multiPlayer) {
         List<Die> dice = new ArrayList<>();
-        dice.add(new Die(1, new Random(0), Colour.RED));
-        dice.add(new Die(4, new Random(0), Colour.BLUE));
-        dice.add(new Die(6, new Random(0), Colour.YELLOW));
-        dice.add(new Die(2, new Random(0), Colour.RED));
+        dice.add(Die.of(1, Colour.RED));
+        dice.add(Die.of(4, Colour.BLUE));
+        dice.add(Die.of(6, Colour.YELLOW));
+        dice.add(Die.of(2, Colour.RED));
         if (multiPlayer)
-            dice.add(new Die(4, new Random(0), Colour.GREEN));
+            dice.add(Die.of(4, Colour.GREEN));
         return dice;
     }
 
@@ -300,15 +300,15 @@ public class GameUtils {
      */
     private static Pattern fillPattern(Pattern pattern, Random random) {
         try {
-            pattern = pattern.placeDie(new Die(6, random, Colour.PURPLE), new Coordinates(3, 4));
-            pattern = pattern.placeDie(new Die(4, random, Colour.YELLOW), new Coordinates(2, 3));
-            pattern = pattern.placeDie(new Die(5, random, Colour.RED), new Coordinates(2, 2));
-            pattern = pattern.placeDie(new Die(3, random, Colour.BLUE), new Coordinates(3, 1));
-            pattern = pattern.placeDie(new Die(1, random, Colour.GREEN), new Coordinates(3, 0));
-            pattern = pattern.placeDie(new Die(1, random, Colour.RED), new Coordinates(1, 3));
-            pattern = pattern.placeDie(new Die(2, random, Colour.YELLOW), new Coordinates(0, 3));
-            pattern = pattern.placeDie(new Die(5, random, Colour.GREEN), new Coordinates(1, 4));
-            pattern = pattern.placeDie(new Die(3, random, Colour.BLUE), new Coordinates(2, 0));
+            pattern = pattern.placeDie(Die.of(6, Colour.PURPLE), new Coordinates(3, 4));
+            pattern = pattern.placeDie(Die.of(4, Colour.YELLOW), new Coordinates(2, 3));
+            pattern = pattern.placeDie(Die.of(5, Colour.RED), new Coordinates(2, 2));
+            pattern = pattern.placeDie(Die.of(3, Colour.BLUE), new Coordinates(3, 1));
+            pattern = pattern.placeDie(Die.of(1, Colour.GREEN), new Coordinates(3, 0));
+            pattern = pattern.placeDie(Die.of(1, Colour.RED), new Coordinates(1, 3));
+            pattern = pattern.placeDie(Die.of(2, Colour.YELLOW), new Coordinates(0, 3));
+            pattern = pattern.placeDie(Die.of(5, Colour.GREEN), new Coordinates(1, 4));
+            pattern = pattern.placeDie(Die.of(3, Colour.BLUE), new Coordinates(2, 0));
         } catch (PlacementErrorException e) {
             System.out.println("Placement error");
         }
@@ -323,12 +323,12 @@ public class GameUtils {
      */
     private static void fillRoundTrack(Game game, Random random) {
         game.getRoundTrack().addAllForRound(1, new ArrayList<>(Arrays.asList(
-                new Die(6, random, Colour.PURPLE),
-                new Die(4, random, Colour.YELLOW))));
+                Die.of(6, Colour.PURPLE),
+                Die.of(4, Colour.YELLOW))));
         game.getRoundTrack().addAllForRound(2, new ArrayList<>(Arrays.asList(
-                new Die(5, random, Colour.RED),
-                new Die(3, random, Colour.BLUE),
-                new Die(1, random, Colour.GREEN))));
+                Die.of(5, Colour.RED),
+                Die.of(3, Colour.BLUE),
+                Die.of(1, Colour.GREEN))));
     }
 
     /**
@@ -339,10 +339,10 @@ public class GameUtils {
      */
     private static void fillDraftPool(Game game, Random random) {
         List<Die> dice = new ArrayList<>(Arrays.asList(
-                new Die(4, random, Colour.YELLOW),
-                new Die(5, random, Colour.RED),
-                new Die(3, random, Colour.BLUE),
-                new Die(6, random, Colour.PURPLE)));
+                Die.of(4, Colour.YELLOW),
+                Die.of(5, Colour.RED),
+                Die.of(3, Colour.BLUE),
+                Die.of(6, Colour.PURPLE)));
 
         game.getDraftPool().setDice(dice);
     }
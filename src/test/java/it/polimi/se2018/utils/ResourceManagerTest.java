@@ -8,7 +8,6 @@ import org.junit.Test;
 
 import java.io.InputStream;
 import java.net.URL;
-import java.util.Random;
 
 /**
  * Unit tests for ResourceManager.
@@ -42,7 +41,7 @@ public class ResourceManagerTest {
      */
     @Test
     public void testGetDieImageUrl(){
-        Die die = new Die(1, new Random(), Colour.BLUE);
+        Die die = Die.of(1, Colour.BLUE);
         String url = ResourceManager.getInstance().getDieImageUrl(die);
         URL expectedUrl = getClass().getClassLoader()
                 .getResource("it/polimi/se2018/view/gui/images/dice/Blue1.jpg");
@@ -0,0 +1,76 @@
+package it.polimi.se2018.utils;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.Assert.*;
+
+/**
+ * Unit tests for {@link Scheduler}.
+ */
+public class SchedulerTest {
+
+    private Scheduler scheduler;
+
+    @Before
+    public void setUp() {
+        scheduler = new Scheduler(1);
+    }
+
+    @After
+    public void tearDown() {
+        scheduler.shutdown();
+    }
+
+    /**
+     * Tests that a task is run once after its delay, and that its lag is recorded.
+     */
+    @Test
+    public void testSchedule() throws InterruptedException {
+        CountDownLatch latch = new CountDownLatch(1);
+        long start = System.nanoTime();
+        scheduler.schedule(latch::countDown, 50, TimeUnit.MILLISECONDS);
+        assertEquals(1, scheduler.getPendingTimers());
+
+        assertTrue(latch.await(5, TimeUnit.SECONDS));
+        assertTrue(System.nanoTime() - start >= TimeUnit.MILLISECONDS.toNanos(50));
+        assertTrue(scheduler.getLastLag() >= 0);
+        assertTrue(scheduler.getMaxLag() >= scheduler.getLastLag());
+    }
+
+    /**
+     * Tests that a cancelled task is removed from the queue and never run.
+     */
+    @Test
+    public void testCancel() throws InterruptedException {
+        AtomicInteger runs = new AtomicInteger();
+        ScheduledFuture<?> first = scheduler.schedule(runs::incrementAndGet, 100, TimeUnit.MILLISECONDS);
+        scheduler.schedule(runs::incrementAndGet, 10, TimeUnit.HOURS);
+        assertEquals(2, scheduler.getPendingTimers());
+
+        first.cancel(false);
+        assertEquals(1, scheduler.getPendingTimers());
+        Thread.sleep(200);
+        assertEquals(0, runs.get());
+    }
+
+    /**
+     * Tests that a periodic task is run until it's cancelled.
+     */
+    @Test
+    public void testScheduleAtFixedRate() throws InterruptedException {
+        CountDownLatch latch = new CountDownLatch(3);
+        ScheduledFuture<?> task = scheduler.scheduleAtFixedRate(latch::countDown, 0, 10, TimeUnit.MILLISECONDS);
+        assertTrue(latch.await(5, TimeUnit.SECONDS));
+
+        task.cancel(false);
+        assertTrue(task.isCancelled());
+        assertEquals(0, scheduler.getPendingTimers());
+    }
+}
@@ -0,0 +1,57 @@
+package it.polimi.se2018.view;
+
+import it.polimi.se2018.model.events.ModelUpdate;
+import it.polimi.se2018.model.events.UseToolCard;
+import it.polimi.se2018.networking.client.DummyClient;
+import it.polimi.se2018.networking.messages.Message;
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Unit tests for {@link VirtualView}.
+ *
+ * @author dvdmff
+ */
+public class VirtualViewTest {
+
+    /**
+     * A client that remembers the messages it receives.
+     */
+    private static class RecordingClient extends DummyClient {
+
+        private final List<Message> messages = new ArrayList<>();
+
+        RecordingClient(String username) {
+            super(username);
+        }
+
+        @Override
+        public void notify(Message message) {
+            messages.add(message);
+        }
+    }
+
+    /**
+     * Tests that the views notified of the same update share its message,
+     * so that it's encoded once, while a new update gets a new message.
+     */
+    @Test
+    public void testSharedUpdate() {
+        RecordingClient first = new RecordingClient("First");
+        RecordingClient second = new RecordingClient("Second");
+        VirtualView firstView = new VirtualView(first);
+        VirtualView secondView = new VirtualView(second);
+
+        ModelUpdate update = new UseToolCard("Tool");
+        firstView.update(update);
+        secondView.update(update);
+        firstView.update(new UseToolCard("Tool"));
+
+        Assert.assertSame(first.messages.get(0), second.messages.get(0));
+        Assert.assertSame(update, first.messages.get(0).getBody());
+        Assert.assertNotSame(first.messages.get(0), first.messages.get(1));
+    }
+}